@@ -0,0 +1,117 @@
+package com.spinyowl.legui.benchmark;
+
+import com.spinyowl.legui.animation.Animation;
+import com.spinyowl.legui.animation.AnimatorImpl;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures one animator update ({@link AnimatorImpl#runAnimations(double)}) with N running
+ * animations, and update where part of animations is finished and replaced with new ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnimatorBenchmark {
+
+  private static final double FRAME_TIME = 1 / 60d;
+
+  @Param({"10", "100", "1000"})
+  private int animations;
+
+  private AnimatorImpl animator;
+  private CounterAnimation[] running;
+  private int next;
+
+  @Setup
+  public void setup() {
+    checkRestart();
+    animator = new AnimatorImpl();
+    running = new CounterAnimation[animations];
+    for (int i = 0; i < animations; i++) {
+      running[i] = new CounterAnimation();
+      running[i].startAnimation(animator);
+    }
+    animator.runAnimations(FRAME_TIME);
+  }
+
+  /**
+   * Used to check that all animations are still running, so measured updates processed all of
+   * them.
+   */
+  @TearDown(Level.Iteration)
+  public void checkAnimationCount() {
+    if (animator.getAnimationCount() != animations) {
+      throw new IllegalStateException("Expected " + animations + " running animations but found "
+          + animator.getAnimationCount());
+    }
+  }
+
+  @Benchmark
+  public int runAnimations() {
+    animator.runAnimations(FRAME_TIME);
+    return running[0].frames;
+  }
+
+  /**
+   * One of ten animations is stopped and started again every update.
+   */
+  @Benchmark
+  public int runAnimationsWithRestarts() {
+    int restarts = Math.max(1, animations / 10);
+    for (int i = 0; i < restarts; i++) {
+      CounterAnimation animation = running[next];
+      next = (next + 1) % animations;
+      animation.stopAnimation();
+      animation.startAnimation(animator);
+    }
+    animator.runAnimations(FRAME_TIME);
+    return running[0].frames;
+  }
+
+  /**
+   * Used to check that animation which is stopped and started again before next update keeps
+   * running and is restarted.
+   */
+  private static void checkRestart() {
+    AnimatorImpl restartAnimator = new AnimatorImpl();
+    CounterAnimation animation = new CounterAnimation();
+    animation.startAnimation(restartAnimator);
+    restartAnimator.runAnimations(FRAME_TIME);
+    animation.stopAnimation();
+    animation.startAnimation(restartAnimator);
+    restartAnimator.runAnimations(FRAME_TIME);
+    restartAnimator.runAnimations(FRAME_TIME);
+    if (!animation.isAnimationStarted() || restartAnimator.getAnimationCount() != 1
+        || animation.frames != 3 || animation.starts != 2) {
+      throw new IllegalStateException("Restarted animation is not running: " + animation.frames
+          + " frames, " + restartAnimator.getAnimationCount() + " active animations");
+    }
+  }
+
+  private static final class CounterAnimation extends Animation {
+
+    private int frames;
+    private int starts;
+
+    @Override
+    protected void beforeAnimation() {
+      starts++;
+    }
+
+    @Override
+    protected boolean animate(double delta) {
+      frames++;
+      return false;
+    }
+  }
+}
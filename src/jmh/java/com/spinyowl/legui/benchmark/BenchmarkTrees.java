@@ -0,0 +1,118 @@
+package com.spinyowl.legui.benchmark;
+
+import com.spinyowl.legui.component.Button;
+import com.spinyowl.legui.component.CheckBox;
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Label;
+import com.spinyowl.legui.component.Panel;
+import com.spinyowl.legui.component.TextInput;
+import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.style.Style.DisplayType;
+import com.spinyowl.legui.style.Style.PositionType;
+import com.spinyowl.legui.style.flex.FlexStyle.FlexDirection;
+import org.joml.Vector2f;
+
+/**
+ * Synthetic component trees used by benchmarks.
+ */
+final class BenchmarkTrees {
+
+  /**
+   * Size of root component of synthetic trees.
+   */
+  static final float ROOT_SIZE = 1024;
+
+  private BenchmarkTrees() {
+  }
+
+  /**
+   * Used to fill parent with tree of panels. Every panel (except leaves) contains {@code width}
+   * child panels which split it along x axis on even levels and along y axis on odd levels, so
+   * every point of parent is covered by {@code depth} nested panels.
+   *
+   * @param parent parent component.
+   * @param depth  number of nested levels.
+   * @param width  number of child components of every panel.
+   * @param flex   true to make panels flex containers which split parent using flex grow.
+   */
+  static void fillPanels(Component parent, int depth, int width, boolean flex) {
+    fill(parent, depth, width, flex, false, 0);
+  }
+
+  /**
+   * Used to fill parent with tree of panels which contain leaves of different component types
+   * (buttons, labels, text inputs and check boxes). Used to measure theme applying.
+   *
+   * @param parent parent component.
+   * @param depth  number of nested levels.
+   * @param width  number of child components of every panel.
+   */
+  static void fillMixed(Component parent, int depth, int width) {
+    fill(parent, depth, width, false, true, 0);
+  }
+
+  private static void fill(Component parent, int depth, int width, boolean flex, boolean mixed,
+      int level) {
+    if (level >= depth) {
+      return;
+    }
+    boolean row = level % 2 == 0;
+    Vector2f size = parent.getSize();
+    float w = row ? size.x / width : size.x;
+    float h = row ? size.y : size.y / width;
+    if (flex) {
+      parent.getStyle().setDisplay(DisplayType.FLEX);
+      parent.getStyle().getFlexStyle()
+          .setFlexDirection(row ? FlexDirection.ROW : FlexDirection.COLUMN);
+    }
+    boolean leaf = level == depth - 1;
+    for (int i = 0; i < width; i++) {
+      float x = row ? i * w : 0;
+      float y = row ? 0 : i * h;
+      Component child = mixed && leaf ? createLeaf(i, x, y, w, h) : new Panel(x, y, w, h);
+      if (flex) {
+        child.getStyle().setPosition(PositionType.RELATIVE);
+        child.getStyle().getFlexStyle().setFlexGrow(1);
+      }
+      parent.add(child);
+      fill(child, depth, width, flex, mixed, level + 1);
+    }
+  }
+
+  private static Component createLeaf(int index, float x, float y, float w, float h) {
+    switch (index % 4) {
+      case 0:
+        return new Button("Button", x, y, w, h);
+      case 1:
+        return new Label("Label", x, y, w, h);
+      case 2:
+        return new TextInput("Text", x, y, w, h);
+      default:
+        return new CheckBox("Check", x, y, w, h);
+    }
+  }
+
+  /**
+   * Returns number of components in tree including root.
+   *
+   * @param root root component.
+   * @return number of components.
+   */
+  static int count(Component root) {
+    int count = 1;
+    for (Component child : root.getChildComponentsSnapshot()) {
+      count += count(child);
+    }
+    return count;
+  }
+
+  /**
+   * Used to process events pushed to default event processor (for example by {@link
+   * Component#add(Component)}), so they are not accumulated between benchmark invocations.
+   */
+  static void drainEvents() {
+    while (EventProcessorProvider.getInstance().hasEvents()) {
+      EventProcessorProvider.getInstance().processEvents();
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.spinyowl.legui.benchmark;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Panel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures how adding of child components scales with number of children. Every invocation adds
+ * all prepared children to new parent, one by one ({@link Component#add(Component)}) or at once
+ * ({@link Component#addAll(java.util.Collection)}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComponentAddBenchmark {
+
+  @Param({"16", "256", "4096"})
+  private int count;
+
+  private Component[] children;
+  private Panel parent;
+
+  @Setup(Level.Trial)
+  public void createChildren() {
+    children = new Component[count];
+    for (int i = 0; i < count; i++) {
+      children[i] = new Panel();
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void createParent() {
+    parent = new Panel();
+  }
+
+  @TearDown(Level.Invocation)
+  public void detachChildren() {
+    parent.clearChildComponents();
+    BenchmarkTrees.drainEvents();
+  }
+
+  @Benchmark
+  public Panel add() {
+    for (Component child : children) {
+      parent.add(child);
+    }
+    return parent;
+  }
+
+  @Benchmark
+  public Panel addAll() {
+    parent.addAll(Arrays.asList(children));
+    return parent;
+  }
+}
@@ -0,0 +1,83 @@
+package com.spinyowl.legui.benchmark;
+
+import com.spinyowl.legui.component.Panel;
+import com.spinyowl.legui.component.event.component.ChangeSizeEvent;
+import com.spinyowl.legui.event.CursorEnterEvent;
+import com.spinyowl.legui.listener.processor.EventProcessorImpl;
+import java.util.concurrent.TimeUnit;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures throughput of {@link EventProcessorImpl}: events are pushed in batches and processed
+ * with one {@link EventProcessorImpl#processEvents()} call. Results are reported per event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventProcessorBenchmark {
+
+  private static final int BATCH_SIZE = 256;
+  private static final int MAX_LISTENERS = 8;
+
+  @Param({"1", "8"})
+  private int listeners;
+
+  private final EventProcessorImpl eventProcessor = new EventProcessorImpl();
+  private final Panel[] targets = new Panel[BATCH_SIZE];
+  private final Vector2f delta = new Vector2f();
+  private final Vector2f cursorPosition = new Vector2f();
+  private final Vector2f oldSize = new Vector2f(10, 10);
+  private final Vector2f newSize = new Vector2f(20, 20);
+  private final int[] processed = new int[MAX_LISTENERS];
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      Panel target = new Panel();
+      for (int l = 0; l < listeners; l++) {
+        int index = l;
+        target.getListenerMap().addListener(CursorEnterEvent.class, e -> processed[index]++);
+        target.getListenerMap().addListener(ChangeSizeEvent.class, e -> processed[index]++);
+      }
+      targets[i] = target;
+    }
+    BenchmarkTrees.drainEvents();
+  }
+
+  /**
+   * Events of different components.
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public int pushAndProcess() {
+    for (Panel target : targets) {
+      eventProcessor.pushEvent(
+          new CursorEnterEvent<>(target, null, null, true, delta, cursorPosition));
+    }
+    eventProcessor.processEvents();
+    return processed[0];
+  }
+
+  /**
+   * Size events of few components which are merged by event processor.
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public int pushAndProcessCoalesced() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      eventProcessor.pushEvent(
+          new ChangeSizeEvent<>(targets[i & 7], null, null, oldSize, newSize));
+    }
+    eventProcessor.processEvents();
+    return processed[0];
+  }
+}
@@ -0,0 +1,68 @@
+package com.spinyowl.legui.benchmark;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Layer;
+import com.spinyowl.legui.system.handler.HitTestIndex;
+import com.spinyowl.legui.system.handler.SehUtil;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.joml.Vector2f;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures search of component under cursor ({@link SehUtil#getTargetComponent(Component,
+ * Vector2f)}) in synthetic trees of different depth and width, with and without {@link
+ * HitTestIndex} of layer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HitTestBenchmark {
+
+  private static final int POINT_COUNT = 64;
+
+  @Param({"2", "4", "5"})
+  private int depth;
+
+  @Param({"4", "8"})
+  private int width;
+
+  @Param({"false", "true"})
+  private boolean indexed;
+
+  private Layer layer;
+  private final Vector2f[] points = new Vector2f[POINT_COUNT];
+  private int pointIndex;
+
+  @Setup
+  public void setup() {
+    layer = new Layer();
+    layer.setSize(BenchmarkTrees.ROOT_SIZE, BenchmarkTrees.ROOT_SIZE);
+    BenchmarkTrees.fillPanels(layer, depth, width, false);
+    BenchmarkTrees.drainEvents();
+    if (indexed) {
+      HitTestIndex.update(layer);
+    } else {
+      layer.setHitTestIndex(null);
+    }
+    // fixed seed - every run uses the same points.
+    Random random = new Random(42);
+    for (int i = 0; i < POINT_COUNT; i++) {
+      points[i] = new Vector2f(random.nextFloat() * BenchmarkTrees.ROOT_SIZE,
+          random.nextFloat() * BenchmarkTrees.ROOT_SIZE);
+    }
+  }
+
+  @Benchmark
+  public Component getTargetComponent() {
+    Vector2f point = points[pointIndex++ & (POINT_COUNT - 1)];
+    return SehUtil.getTargetComponent(layer, point);
+  }
+}
@@ -0,0 +1,58 @@
+package com.spinyowl.legui.benchmark;
+
+import com.spinyowl.legui.component.Panel;
+import com.spinyowl.legui.system.layout.DefaultLayoutManager;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures flex layout of synthetic trees where every panel is flex container.
+ * <p>
+ * {@link #layoutUnchanged()} measures layout of tree which was not changed since previous layout
+ * (cached yoga nodes are validated only), {@link #layoutResized()} changes size of root component
+ * before every layout, so whole tree is recalculated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LayoutBenchmark {
+
+  @Param({"2", "4"})
+  private int depth;
+
+  @Param({"4", "8"})
+  private int width;
+
+  private final DefaultLayoutManager layoutManager = new DefaultLayoutManager();
+  private Panel root;
+  private boolean resized;
+
+  @Setup
+  public void setup() {
+    root = new Panel(0, 0, BenchmarkTrees.ROOT_SIZE, BenchmarkTrees.ROOT_SIZE);
+    BenchmarkTrees.fillPanels(root, depth, width, true);
+    BenchmarkTrees.drainEvents();
+    layoutManager.layout(root, null, null);
+  }
+
+  @Benchmark
+  public void layoutUnchanged() {
+    layoutManager.layout(root, null, null);
+  }
+
+  @Benchmark
+  public void layoutResized(Blackhole blackhole) {
+    resized = !resized;
+    root.setSize(BenchmarkTrees.ROOT_SIZE + (resized ? 1 : 0), BenchmarkTrees.ROOT_SIZE);
+    layoutManager.layout(root, null, null);
+    blackhole.consume(root.getChildComponentsSnapshot().get(0).getSize().x);
+  }
+}
@@ -0,0 +1,115 @@
+package com.spinyowl.legui.benchmark;
+
+import com.spinyowl.legui.component.TextAreaField;
+import com.spinyowl.legui.component.misc.listener.textarea.TextAreaFieldCharEventListener;
+import com.spinyowl.legui.component.misc.listener.textarea.TextAreaFieldKeyEventListener;
+import com.spinyowl.legui.component.optional.TextState;
+import com.spinyowl.legui.event.CharEvent;
+import com.spinyowl.legui.event.KeyboardEvent;
+import com.spinyowl.legui.input.KeyAction;
+import com.spinyowl.legui.input.KeyCode;
+import com.spinyowl.legui.input.KeyMod;
+import com.spinyowl.legui.input.KeyboardKey;
+import com.spinyowl.legui.system.context.Context;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.lwjgl.glfw.GLFW;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures text editing in the middle of text of different length: direct {@link TextState}
+ * edits and edits made by text area listeners (typed character followed by backspace, new line
+ * followed by backspace, caret movement).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextEditBenchmark {
+
+  private static final String LINE = "The quick brown fox jumps over the lazy dog.\n";
+  private static final Set<KeyMod> NO_MODS = Collections.emptySet();
+
+  @Param({"100", "10000"})
+  private int lines;
+
+  private TextState textState;
+  private int middle;
+
+  private TextAreaField textAreaField;
+  private Context context;
+  private final TextAreaFieldKeyEventListener keyListener = new TextAreaFieldKeyEventListener();
+  private final TextAreaFieldCharEventListener charListener = new TextAreaFieldCharEventListener();
+  private KeyboardKey backspace;
+  private KeyboardKey enter;
+  private KeyboardKey left;
+  private KeyboardKey right;
+
+  @Setup
+  public void setup() {
+    String text = LINE.repeat(lines);
+    middle = text.length() / 2;
+    textState = new TextState(text);
+
+    context = new Context(0, null);
+    textAreaField = new TextAreaField(text);
+    textAreaField.setFocused(true);
+    textAreaField.setCaretPosition(middle);
+    textAreaField.setStartSelectionIndex(middle);
+    textAreaField.setEndSelectionIndex(middle);
+    backspace = new KeyboardKey(KeyCode.BACKSPACE, GLFW.GLFW_KEY_BACKSPACE);
+    enter = new KeyboardKey(KeyCode.ENTER, GLFW.GLFW_KEY_ENTER);
+    left = new KeyboardKey(KeyCode.LEFT, GLFW.GLFW_KEY_LEFT);
+    right = new KeyboardKey(KeyCode.RIGHT, GLFW.GLFW_KEY_RIGHT);
+    BenchmarkTrees.drainEvents();
+  }
+
+  @Benchmark
+  public long textStateInsertDelete() {
+    textState.insert(middle, "x");
+    textState.delete(middle, middle + 1);
+    return textState.getVersion();
+  }
+
+  @Benchmark
+  public long textStateGetText() {
+    textState.insert(middle, "x");
+    textState.delete(middle, middle + 1);
+    return textState.getText().length();
+  }
+
+  @Benchmark
+  public long textAreaTypeAndBackspace() {
+    charListener.process(new CharEvent<>(textAreaField, context, null, 'x'));
+    keyListener.process(key(backspace));
+    BenchmarkTrees.drainEvents();
+    return textAreaField.getTextState().getVersion();
+  }
+
+  @Benchmark
+  public long textAreaNewLineAndBackspace() {
+    keyListener.process(key(enter));
+    keyListener.process(key(backspace));
+    BenchmarkTrees.drainEvents();
+    return textAreaField.getTextState().getVersion();
+  }
+
+  @Benchmark
+  public int textAreaMoveCaret() {
+    keyListener.process(key(left));
+    keyListener.process(key(right));
+    BenchmarkTrees.drainEvents();
+    return textAreaField.getCaretPosition();
+  }
+
+  private KeyboardEvent<TextAreaField> key(KeyboardKey key) {
+    return new KeyboardEvent<>(textAreaField, context, null, KeyAction.PRESS, key, NO_MODS);
+  }
+}
@@ -0,0 +1,49 @@
+package com.spinyowl.legui.benchmark;
+
+import com.spinyowl.legui.component.Panel;
+import com.spinyowl.legui.theme.Theme;
+import com.spinyowl.legui.theme.Themes;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures theme switch ({@link Theme#applyAll(com.spinyowl.legui.component.Component)}) on tree
+ * of panels with buttons, labels, text inputs and check boxes. Every invocation applies other
+ * theme than previous one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ThemeBenchmark {
+
+  @Param({"2", "3"})
+  private int depth;
+
+  @Param({"8"})
+  private int width;
+
+  private Panel root;
+  private boolean dark;
+
+  @Setup
+  public void setup() {
+    root = new Panel(0, 0, BenchmarkTrees.ROOT_SIZE, BenchmarkTrees.ROOT_SIZE);
+    BenchmarkTrees.fillMixed(root, depth, width);
+    BenchmarkTrees.drainEvents();
+  }
+
+  @Benchmark
+  public Panel applyAll() {
+    dark = !dark;
+    Theme theme = dark ? Themes.FLAT_DARK : Themes.FLAT_WHITE;
+    theme.applyAll(root);
+    return root;
+  }
+}
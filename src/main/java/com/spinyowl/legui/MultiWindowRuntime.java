@@ -0,0 +1,474 @@
+package com.spinyowl.legui;
+
+import static org.lwjgl.glfw.GLFW.GLFW_FALSE;
+import static org.lwjgl.glfw.GLFW.GLFW_TRUE;
+import static org.lwjgl.glfw.GLFW.GLFW_VISIBLE;
+import static org.lwjgl.glfw.GLFW.glfwCreateWindow;
+import static org.lwjgl.glfw.GLFW.glfwDestroyWindow;
+import static org.lwjgl.glfw.GLFW.glfwInit;
+import static org.lwjgl.glfw.GLFW.glfwMakeContextCurrent;
+import static org.lwjgl.glfw.GLFW.glfwPostEmptyEvent;
+import static org.lwjgl.glfw.GLFW.glfwShowWindow;
+import static org.lwjgl.glfw.GLFW.glfwSwapBuffers;
+import static org.lwjgl.glfw.GLFW.glfwSwapInterval;
+import static org.lwjgl.glfw.GLFW.glfwWaitEvents;
+import static org.lwjgl.glfw.GLFW.glfwWindowHint;
+import static org.lwjgl.opengl.GL11.GL_COLOR_BUFFER_BIT;
+import static org.lwjgl.opengl.GL11.GL_STENCIL_BUFFER_BIT;
+import static org.lwjgl.opengl.GL11.glClear;
+import static org.lwjgl.opengl.GL11.glClearColor;
+import static org.lwjgl.opengl.GL11.glViewport;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+import com.spinyowl.legui.animation.AnimatorImpl;
+import com.spinyowl.legui.component.Frame;
+import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.system.context.CallbackKeeper;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.context.DefaultCallbackKeeper;
+import com.spinyowl.legui.system.context.FrameScheduler;
+import com.spinyowl.legui.system.event.SystemEvent;
+import com.spinyowl.legui.system.handler.processor.SystemEventProcessor;
+import com.spinyowl.legui.system.handler.processor.SystemEventProcessorImpl;
+import com.spinyowl.legui.system.layout.LayoutManager;
+import com.spinyowl.legui.system.renderer.nvg.NvgRenderer;
+import com.spinyowl.legui.system.renderer.nvg.NvgSharedTextures;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.joml.Vector2i;
+import org.joml.Vector4f;
+import org.lwjgl.opengl.GL;
+
+/**
+ * Runtime which renders several windows in parallel.
+ * <p>
+ * Every window is rendered by its own render thread, which keeps OpenGL context of window current,
+ * processes system events of window, updates layout and renders frame. Render thread sleeps while
+ * frame of window does not need to be redrawn (see {@link FrameScheduler}) and frames are paced
+ * per window by swap interval and maximum frame rate, so slow or vsync-blocked window does not
+ * delay other windows.
+ * <p>
+ * OpenGL contexts of all windows share objects with hidden resource window, so image textures are
+ * uploaded once and used by all windows (see {@link NvgSharedTextures}).
+ * <p>
+ * UI events are processed by one event thread. Every window has its own animator (see {@link
+ * Context#getAnimator()}) which is run by render thread of window before layout, so animations of
+ * window components should be started on animator of window context. Every window should have its
+ * own {@link Frame}.
+ * <p>
+ * Runtime should be created and run from main thread:
+ * <pre>
+ * MultiWindowRuntime runtime = new MultiWindowRuntime();
+ * runtime.createWindow(400, 200, "First window", firstFrame);
+ * runtime.createWindow(400, 200, "Second window", secondFrame);
+ * runtime.run();
+ * </pre>
+ */
+public class MultiWindowRuntime {
+
+  private static final AtomicInteger RUNTIME_COUNTER = new AtomicInteger();
+
+  private final int runtimeIndex = RUNTIME_COUNTER.incrementAndGet();
+  private final AtomicInteger windowCounter = new AtomicInteger();
+  private final long resourceWindow;
+  private final NvgSharedTextures sharedTextures = new NvgSharedTextures();
+  private final List<RuntimeWindow> windows = new CopyOnWriteArrayList<>();
+  private volatile boolean running;
+  private Thread eventThread;
+
+  /**
+   * Used to create runtime. Initializes GLFW and creates hidden resource window which shares
+   * OpenGL objects with all windows of runtime. Should be called from main thread.
+   */
+  public MultiWindowRuntime() {
+    if (!glfwInit()) {
+      throw new RuntimeException("Can't initialize GLFW");
+    }
+    glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
+    resourceWindow = glfwCreateWindow(1, 1, "", NULL, NULL);
+    glfwWindowHint(GLFW_VISIBLE, GLFW_TRUE);
+    if (resourceWindow == NULL) {
+      throw new RuntimeException("Can't create resource window");
+    }
+  }
+
+  /**
+   * Used to create window. Window is shown and its render thread is started when runtime is
+   * running. Should be called from main thread.
+   *
+   * @param width  window width.
+   * @param height window height.
+   * @param title  window title.
+   * @param frame  frame to render in window.
+   * @return created window.
+   */
+  public RuntimeWindow createWindow(int width, int height, String title, Frame frame) {
+    long window = glfwCreateWindow(width, height, title, NULL, resourceWindow);
+    if (window == NULL) {
+      throw new RuntimeException("Can't create window");
+    }
+    RuntimeWindow runtimeWindow = new RuntimeWindow(window, frame);
+    windows.add(runtimeWindow);
+    if (running) {
+      runtimeWindow.start();
+    }
+    return runtimeWindow;
+  }
+
+  /**
+   * Used to run runtime. Starts event thread and render threads of windows and processes GLFW
+   * events until all windows are closed or runtime is stopped. Should be called from main thread.
+   */
+  public void run() {
+    running = true;
+    eventThread = new Thread(this::processEvents, "legui-events-" + runtimeIndex);
+    eventThread.start();
+    for (RuntimeWindow window : windows) {
+      window.start();
+    }
+    while (running && !windows.isEmpty()) {
+      glfwWaitEvents();
+      destroyClosedWindows(false);
+    }
+    stop();
+    join(eventThread);
+    destroyClosedWindows(true);
+
+    glfwMakeContextCurrent(resourceWindow);
+    GL.createCapabilities();
+    sharedTextures.destroy();
+    glfwMakeContextCurrent(NULL);
+    GL.setCapabilities(null);
+    glfwDestroyWindow(resourceWindow);
+  }
+
+  /**
+   * Used to stop runtime. All windows are closed.
+   */
+  public void stop() {
+    running = false;
+    for (RuntimeWindow window : windows) {
+      window.close();
+    }
+    glfwPostEmptyEvent();
+  }
+
+  /**
+   * Returns true if runtime is running.
+   *
+   * @return true if runtime is running.
+   */
+  public boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * Returns windows of runtime which are not destroyed yet.
+   *
+   * @return windows of runtime.
+   */
+  public List<RuntimeWindow> getWindows() {
+    return windows;
+  }
+
+  /**
+   * Returns textures shared by windows of runtime.
+   *
+   * @return shared textures.
+   */
+  public NvgSharedTextures getSharedTextures() {
+    return sharedTextures;
+  }
+
+  private void processEvents() {
+    try {
+      while (running) {
+        EventProcessorProvider.getInstance().processEvents(1, TimeUnit.SECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void destroyClosedWindows(boolean wait) {
+    for (RuntimeWindow window : windows) {
+      if (window.closeRequested) {
+        if (wait) {
+          join(window.thread);
+        } else if (window.thread != null && window.thread.isAlive()) {
+          continue;
+        }
+        glfwDestroyWindow(window.window);
+        windows.remove(window);
+      }
+    }
+  }
+
+  private static void join(Thread thread) {
+    if (thread == null) {
+      return;
+    }
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Window of runtime.
+   */
+  public final class RuntimeWindow {
+
+    private final long window;
+    private final Frame frame;
+    private final Context context;
+    private final CallbackKeeper callbackKeeper;
+    private final WindowEventProcessor systemEventProcessor;
+    private final Vector4f clearColor = new Vector4f(1, 1, 1, 1);
+    private volatile NvgRenderer renderer;
+    private volatile int swapInterval = 1;
+    private volatile double maxFrameRate;
+    private volatile boolean closeRequested;
+    private Thread thread;
+
+    private RuntimeWindow(long window, Frame frame) {
+      this.window = window;
+      this.frame = frame;
+
+      callbackKeeper = new DefaultCallbackKeeper();
+      CallbackKeeper.registerCallbacks(window, callbackKeeper);
+      callbackKeeper.getChainWindowCloseCallback().add(w -> close());
+
+      systemEventProcessor = new WindowEventProcessor();
+      SystemEventProcessor.addDefaultCallbacks(callbackKeeper, systemEventProcessor);
+      context = new Context(window, systemEventProcessor);
+      context.setAnimator(new AnimatorImpl());
+      systemEventProcessor.context = context;
+    }
+
+    private void start() {
+      glfwShowWindow(window);
+      thread = new Thread(this::render,
+          "legui-render-" + runtimeIndex + "-" + windowCounter.incrementAndGet());
+      thread.start();
+    }
+
+    private void render() {
+      glfwMakeContextCurrent(window);
+      GL.createCapabilities();
+      int currentSwapInterval = swapInterval;
+      glfwSwapInterval(currentSwapInterval);
+
+      NvgRenderer nvgRenderer = new NvgRenderer(true, sharedTextures);
+      nvgRenderer.initialize();
+      renderer = nvgRenderer;
+
+      FrameScheduler frameScheduler = context.getFrameScheduler();
+      long frameTime = System.nanoTime();
+      try {
+        while (running && !closeRequested) {
+          try {
+            // sleep until something should be redrawn.
+            if (!frameScheduler.awaitRedraw(1, TimeUnit.SECONDS)) {
+              continue;
+            }
+            frameTime = pace(frameTime);
+
+            systemEventProcessor.processEvents(frame, context);
+            frameScheduler.beginFrame();
+            // animations are updated before layout on render thread of window
+            context.getAnimator().runAnimations();
+
+            if (currentSwapInterval != swapInterval) {
+              currentSwapInterval = swapInterval;
+              glfwSwapInterval(currentSwapInterval);
+            }
+
+            context.updateGlfwWindow();
+            Vector2i framebufferSize = context.getFramebufferSize();
+
+            LayoutManager.getInstance().layout(frame, context);
+
+            glClearColor(clearColor.x, clearColor.y, clearColor.z, clearColor.w);
+            glViewport(0, 0, framebufferSize.x, framebufferSize.y);
+            glClear(GL_COLOR_BUFFER_BIT | GL_STENCIL_BUFFER_BIT);
+
+            nvgRenderer.render(frame, context);
+
+            glfwSwapBuffers(window);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closeRequested = true;
+          } catch (Throwable e) {
+            e.printStackTrace();
+          }
+        }
+      } finally {
+        nvgRenderer.destroy();
+        renderer = null;
+        glfwMakeContextCurrent(NULL);
+        GL.setCapabilities(null);
+        closeRequested = true;
+        glfwPostEmptyEvent();
+      }
+    }
+
+    /**
+     * Used to wait until next frame could be rendered according to maximum frame rate.
+     *
+     * @param lastFrameTime start time of previous frame.
+     * @return start time of next frame.
+     */
+    private long pace(long lastFrameTime) {
+      double frameRate = maxFrameRate;
+      long now = System.nanoTime();
+      if (frameRate > 0) {
+        long nextFrameTime = lastFrameTime + (long) (1_000_000_000L / frameRate);
+        while (now - nextFrameTime < 0 && !closeRequested) {
+          LockSupport.parkNanos(nextFrameTime - now);
+          now = System.nanoTime();
+        }
+      }
+      return now;
+    }
+
+    /**
+     * Used to close window. Render thread is stopped and window is destroyed by runtime.
+     */
+    public void close() {
+      closeRequested = true;
+      context.getFrameScheduler().requestRedraw();
+      glfwPostEmptyEvent();
+    }
+
+    /**
+     * Returns true if window is closed or closing.
+     *
+     * @return true if window is closed.
+     */
+    public boolean isClosed() {
+      return closeRequested;
+    }
+
+    /**
+     * Returns glfw window.
+     *
+     * @return glfw window.
+     */
+    public long getWindow() {
+      return window;
+    }
+
+    /**
+     * Returns frame rendered in window.
+     *
+     * @return frame.
+     */
+    public Frame getFrame() {
+      return frame;
+    }
+
+    /**
+     * Returns context of window.
+     *
+     * @return context.
+     */
+    public Context getContext() {
+      return context;
+    }
+
+    /**
+     * Returns callback keeper of window. Could be used to add own glfw callbacks.
+     *
+     * @return callback keeper.
+     */
+    public CallbackKeeper getCallbackKeeper() {
+      return callbackKeeper;
+    }
+
+    /**
+     * Returns system event processor of window.
+     *
+     * @return system event processor.
+     */
+    public SystemEventProcessor getSystemEventProcessor() {
+      return systemEventProcessor;
+    }
+
+    /**
+     * Returns renderer of window.
+     *
+     * @return renderer or null if render thread is not started.
+     */
+    public NvgRenderer getRenderer() {
+      return renderer;
+    }
+
+    /**
+     * Returns swap interval of window.
+     *
+     * @return swap interval.
+     */
+    public int getSwapInterval() {
+      return swapInterval;
+    }
+
+    /**
+     * Used to set swap interval of window. Default is 1 (vsync).
+     *
+     * @param swapInterval swap interval.
+     */
+    public void setSwapInterval(int swapInterval) {
+      this.swapInterval = swapInterval;
+      context.getFrameScheduler().requestRedraw();
+    }
+
+    /**
+     * Returns maximum frame rate of window.
+     *
+     * @return maximum frame rate or 0 if frame rate is not limited.
+     */
+    public double getMaxFrameRate() {
+      return maxFrameRate;
+    }
+
+    /**
+     * Used to limit frame rate of window. Useful when swap interval is 0.
+     *
+     * @param maxFrameRate maximum frame rate or 0 if frame rate should not be limited.
+     */
+    public void setMaxFrameRate(double maxFrameRate) {
+      this.maxFrameRate = Math.max(0, maxFrameRate);
+    }
+
+    /**
+     * Returns color used to clear window before rendering. Could be modified.
+     *
+     * @return clear color.
+     */
+    public Vector4f getClearColor() {
+      return clearColor;
+    }
+  }
+
+  /**
+   * System event processor which wakes render thread of window when new system event is pushed.
+   */
+  private static final class WindowEventProcessor extends SystemEventProcessorImpl {
+
+    private volatile Context context;
+
+    @Override
+    public void pushEvent(SystemEvent event) {
+      super.pushEvent(event);
+      Context current = context;
+      if (current != null) {
+        current.getFrameScheduler().requestRedraw();
+      }
+    }
+  }
+}
@@ -8,15 +8,60 @@ public abstract class Animation {
   /**
    * Flag that indicates if animation was started.
    */
-  private boolean animationStarted = false;
+  private volatile boolean animationStarted = false;
+  /**
+   * Animator which processes animation.
+   */
+  private volatile Animator animator;
+
+  /**
+   * Flag that indicates if animation should be removed by {@link AnimatorImpl} on next update.
+   */
+  volatile boolean removeRequested;
 
   /**
-   * Adds animation to animator.
+   * Flag that indicates if animation was stopped and started again before it was removed by
+   * {@link AnimatorImpl}, so animator should restart it instead of removing.
+   */
+  volatile boolean restartRequested;
+
+  /**
+   * Flag that indicates if {@link #beforeAnimation()} was called for current run of animation.
+   */
+  boolean initialized;
+
+  /**
+   * {@link AnimatorImpl} which holds animation in its active animations.
+   */
+  Animator processor;
+
+  /**
+   * Adds animation to default animator provided by {@link AnimatorProvider}.
    */
   public void startAnimation() {
+    startAnimation(AnimatorProvider.getAnimator());
+  }
+
+  /**
+   * Adds animation to provided animator (for example animator of context). If animation was stopped
+   * but not removed yet it is restarted on next update (and moved to provided animator if animator
+   * is changed).
+   *
+   * @param animator animator which should process animation.
+   */
+  public void startAnimation(Animator animator) {
     if (!animationStarted) {
-      AnimatorProvider.getAnimator().pushAnimation(this);
       animationStarted = true;
+      removeRequested = false;
+      this.animator = animator;
+      animator.pushAnimation(this);
+    } else if (removeRequested) {
+      restartRequested = true;
+      removeRequested = false;
+      if (this.animator != animator) {
+        this.animator = animator;
+        animator.pushAnimation(this);
+      }
     }
   }
 
@@ -45,10 +90,40 @@ public abstract class Animation {
   }
 
   /**
-   * Used to stop animation. Removes animation from animator.
+   * Called by animator before first update of animation. If animation was restarted, {@link
+   * #afterAnimation()} of previous run is called first.
+   */
+  void beginAnimation() {
+    if (restartRequested) {
+      restartRequested = false;
+      if (initialized) {
+        afterAnimation();
+      }
+    }
+    initialized = true;
+    beforeAnimation();
+  }
+
+  /**
+   * Called by animator when animation is finished or removed. Animation could be started again
+   * after this call.
+   */
+  void endAnimation() {
+    animationStarted = false;
+    removeRequested = false;
+    restartRequested = false;
+    initialized = false;
+    afterAnimation();
+  }
+
+  /**
+   * Used to stop animation. Removes animation from animator which processes it.
    */
   public void stopAnimation() {
-    AnimatorProvider.getAnimator().removeAnimation(this);
+    Animator current = animator;
+    if (animationStarted && current != null) {
+      current.removeAnimation(this);
+    }
   }
 
   /**
@@ -60,4 +135,13 @@ public abstract class Animation {
     return animationStarted;
   }
 
+  /**
+   * Returns animator which processes (or processed last time) this animation.
+   *
+   * @return animator of animation or null if animation was never started.
+   */
+  public Animator getAnimator() {
+    return animator;
+  }
+
 }
@@ -25,5 +25,15 @@ public interface Animator {
    */
   void removeAnimation(Animation animation);
 
+  /**
+   * Returns true if animator has animations to process. Used to decide if next frame should be
+   * rendered.
+   *
+   * @return true if animator has animations to process.
+   */
+  default boolean hasAnimations() {
+    return true;
+  }
+
 
 }
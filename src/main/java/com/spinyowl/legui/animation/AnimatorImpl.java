@@ -1,66 +1,149 @@
 package com.spinyowl.legui.animation;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import org.lwjgl.glfw.GLFW;
+import com.spinyowl.legui.system.profiler.FramePhase;
+import com.spinyowl.legui.system.profiler.FrameProfiler;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Default animator implementation.
+ * <p>
+ * Started animations are queued and added to array of active animations on next update, so
+ * animations could be started and stopped from any thread and from other animations. Stopped
+ * animations are only marked and removed during next update with one compacting pass over active
+ * animations, so adding and removing animation take constant time and animations keep their start
+ * order. Animation which is stopped and started again before next update is restarted ({@link
+ * Animation#afterAnimation()} and {@link Animation#beforeAnimation()} are called) instead of
+ * removed.
+ * <p>
+ * Delta time is calculated using {@link TimeSource} of animator. Animator should be updated from
+ * one thread, once per frame.
+ */
 public class AnimatorImpl implements Animator {
 
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final TimeSource timeSource;
   /**
-   * List of animations to initialize.
-   */
-  private List<Animation> animationsToInitialize = new CopyOnWriteArrayList<>();
-  /**
-   * List of animations to animate.
+   * Animations to initialize.
    */
-  private List<Animation> animations = new CopyOnWriteArrayList<>();
+  private final Queue<Animation> pending = new ConcurrentLinkedQueue<>();
   /**
-   * List of animation to destroy.
+   * Active animations.
    */
-  private List<Animation> animationsToDestroy = new CopyOnWriteArrayList<>();
+  private Animation[] animations = new Animation[INITIAL_CAPACITY];
   /**
-   * List of animation to destroy.
+   * Number of active animations.
    */
-  private List<Animation> animationsToRemove = new CopyOnWriteArrayList<>();
+  private volatile int size;
   /**
    * Used to store previous time.
    */
   private double previousTime;
+  /**
+   * Profiler which records time of animations.
+   */
+  private volatile FrameProfiler frameProfiler;
+
+  /**
+   * Used to create animator which uses {@link TimeSource#glfw()} time source.
+   */
+  public AnimatorImpl() {
+    this(TimeSource.glfw());
+  }
+
+  /**
+   * Used to create animator with provided time source.
+   *
+   * @param timeSource time source.
+   */
+  public AnimatorImpl(TimeSource timeSource) {
+    this.timeSource = timeSource;
+  }
+
+  /**
+   * Returns time source of animator.
+   *
+   * @return time source of animator.
+   */
+  public TimeSource getTimeSource() {
+    return timeSource;
+  }
 
   /**
    * This method used to process animations.
    */
+  @Override
   public void runAnimations() {
-    double currentTime = GLFW.glfwGetTime();
+    double currentTime = timeSource.getTime();
+    if (size == 0) {
+      // animator could be idle for a long time, so new animations should start from zero delta.
+      previousTime = currentTime;
+    }
     double delta = currentTime - previousTime;
+    previousTime = currentTime;
+    runAnimations(delta);
+  }
 
-    List<Animation> initializeList = new ArrayList<>(animationsToInitialize);
-    for (Animation animation : initializeList) {
-      animation.beforeAnimation();
-      animationsToInitialize.remove(animation);
-      animations.add(animation);
+  /**
+   * Used to process animations with provided delta time. Time source is not used.
+   *
+   * @param delta delta time in seconds.
+   */
+  public void runAnimations(double delta) {
+    FrameProfiler profiler = frameProfiler;
+    if (profiler != null && profiler.isEnabled()) {
+      long start = System.nanoTime();
+      processAnimations(delta);
+      profiler.recordAnimations(System.nanoTime() - start, size);
+    } else {
+      processAnimations(delta);
     }
+  }
 
-    List<Animation> processList = new ArrayList<>(animations);
-    for (Animation animation : processList) {
-      if (animationsToRemove.contains(animation)) {
-        animationsToRemove.remove(animation);
-        animations.remove(animation);
-        animationsToDestroy.add(animation);
-      } else if (animation.animate(delta)) {
-        animations.remove(animation);
-        animationsToDestroy.add(animation);
+  private void processAnimations(double delta) {
+    Animation animation;
+    while ((animation = pending.poll()) != null) {
+      // skip animations moved to another animator and restarted animations which are active
+      if (animation.getAnimator() != this || animation.processor == this) {
+        continue;
+      }
+      if (animation.removeRequested) {
+        animation.endAnimation();
+        continue;
+      }
+      animation.beginAnimation();
+      animation.processor = this;
+      if (size == animations.length) {
+        animations = Arrays.copyOf(animations, size * 2);
       }
+      animations[size++] = animation;
     }
 
-    List<Animation> destroyList = new ArrayList<>(animationsToDestroy);
-    for (Animation animation : destroyList) {
-      animation.afterAnimation();
-      animationsToDestroy.remove(animation);
+    int count = size;
+    int active = 0;
+    for (int i = 0; i < count; i++) {
+      animation = animations[i];
+      if (animation.getAnimator() != this) {
+        // animation was restarted on another animator
+        if (animation.processor == this) {
+          animation.processor = null;
+        }
+        continue;
+      }
+      if (animation.restartRequested && !animation.removeRequested) {
+        animation.beginAnimation();
+      }
+      if (animation.removeRequested || animation.animate(delta)) {
+        animation.processor = null;
+        animation.endAnimation();
+      } else {
+        animations[active++] = animation;
+      }
     }
-
-    previousTime = currentTime;
+    Arrays.fill(animations, active, count, null);
+    size = active;
   }
 
   /**
@@ -68,19 +151,61 @@ public class AnimatorImpl implements Animator {
    *
    * @param animation animation to add.
    */
+  @Override
   public void pushAnimation(Animation animation) {
-    animationsToInitialize.add(animation);
+    pending.add(animation);
   }
 
   /**
    * Used to remove animation from animator. In case if animation is not finished animation still
-   * should be removed and terminated.
+   * should be removed and terminated. Animation is removed on next update.
    *
    * @param animation animation to remove.
    */
   @Override
   public void removeAnimation(Animation animation) {
-    animationsToRemove.add(animation);
+    if (animation.isAnimationStarted()) {
+      animation.removeRequested = true;
+    }
+  }
+
+  /**
+   * Returns true if animator has animations to process.
+   *
+   * @return true if animator has animations to process.
+   */
+  @Override
+  public boolean hasAnimations() {
+    return size != 0 || !pending.isEmpty();
+  }
+
+  /**
+   * Returns frame profiler which records time of animations.
+   *
+   * @return frame profiler or null.
+   */
+  public FrameProfiler getFrameProfiler() {
+    return frameProfiler;
+  }
+
+  /**
+   * Used to set frame profiler which records time of animations. Profiler of context is attached
+   * when animator is set to context (see {@link
+   * com.spinyowl.legui.system.context.Context#setAnimator(Animator)}).
+   *
+   * @param frameProfiler frame profiler or null.
+   */
+  public void setFrameProfiler(FrameProfiler frameProfiler) {
+    this.frameProfiler = frameProfiler;
+  }
+
+  /**
+   * Returns number of active animations.
+   *
+   * @return number of active animations.
+   */
+  public int getAnimationCount() {
+    return size;
   }
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.spinyowl.legui.animation;
 
+import com.spinyowl.legui.system.context.Context;
+
 /**
  * Animation processor..
  */
@@ -22,6 +24,16 @@ public final class AnimatorProvider {
     return AnimatorProvider.animator;
   }
 
+  /**
+   * Returns animator of provided context or default animator if context is null.
+   *
+   * @param context context.
+   * @return animator of context.
+   */
+  public static Animator getAnimator(Context context) {
+    return context == null ? AnimatorProvider.animator : context.getAnimator();
+  }
+
   /**
    * Sets animator.
    *
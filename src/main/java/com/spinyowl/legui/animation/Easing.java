@@ -0,0 +1,82 @@
+package com.spinyowl.legui.animation;
+
+/**
+ * Easing function. Maps linear animation progress to eased progress.
+ * <p>
+ * Both values are in range [0, 1] for most of easing functions, but some of them (for example
+ * {@link #BACK_OUT} and {@link #ELASTIC_OUT}) overshoot target value.
+ */
+@FunctionalInterface
+public interface Easing {
+
+  Easing LINEAR = t -> t;
+
+  Easing QUAD_IN = t -> t * t;
+  Easing QUAD_OUT = t -> t * (2 - t);
+  Easing QUAD_IN_OUT = t -> t < 0.5 ? 2 * t * t : -1 + (4 - 2 * t) * t;
+
+  Easing CUBIC_IN = t -> t * t * t;
+  Easing CUBIC_OUT = t -> {
+    double f = t - 1;
+    return f * f * f + 1;
+  };
+  Easing CUBIC_IN_OUT = t -> {
+    if (t < 0.5) {
+      return 4 * t * t * t;
+    }
+    double f = 2 * t - 2;
+    return 0.5 * f * f * f + 1;
+  };
+
+  Easing SINE_IN = t -> 1 - Math.cos(t * Math.PI / 2);
+  Easing SINE_OUT = t -> Math.sin(t * Math.PI / 2);
+  Easing SINE_IN_OUT = t -> 0.5 * (1 - Math.cos(Math.PI * t));
+
+  Easing EXPO_OUT = t -> t >= 1 ? 1 : 1 - Math.pow(2, -10 * t);
+
+  Easing BACK_OUT = t -> {
+    double s = 1.70158;
+    double f = t - 1;
+    return f * f * ((s + 1) * f + s) + 1;
+  };
+
+  Easing ELASTIC_OUT = t -> {
+    if (t <= 0 || t >= 1) {
+      return t <= 0 ? 0 : 1;
+    }
+    return Math.pow(2, -10 * t) * Math.sin((t - 0.075) * (2 * Math.PI) / 0.3) + 1;
+  };
+
+  Easing BOUNCE_OUT = t -> {
+    double n = 7.5625;
+    double d = 2.75;
+    if (t < 1 / d) {
+      return n * t * t;
+    } else if (t < 2 / d) {
+      t -= 1.5 / d;
+      return n * t * t + 0.75;
+    } else if (t < 2.5 / d) {
+      t -= 2.25 / d;
+      return n * t * t + 0.9375;
+    }
+    t -= 2.625 / d;
+    return n * t * t + 0.984375;
+  };
+
+  /**
+   * Returns eased progress.
+   *
+   * @param t linear progress in range [0, 1].
+   * @return eased progress.
+   */
+  double ease(double t);
+
+  /**
+   * Returns reversed easing function, for example reversed {@link #QUAD_IN} is {@link #QUAD_OUT}.
+   *
+   * @return reversed easing function.
+   */
+  default Easing reversed() {
+    return t -> 1 - ease(1 - t);
+  }
+}
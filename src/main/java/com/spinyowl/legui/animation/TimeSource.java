@@ -0,0 +1,85 @@
+package com.spinyowl.legui.animation;
+
+import org.lwjgl.glfw.GLFW;
+
+/**
+ * Source of time used by {@link AnimatorImpl} to calculate delta time between animation updates.
+ * <p>
+ * Every animator has its own time source, so animators of different contexts could run with
+ * different clocks, and animations could be updated deterministically using {@link Manual} time
+ * source.
+ */
+@FunctionalInterface
+public interface TimeSource {
+
+  /**
+   * Returns time source which uses {@link GLFW#glfwGetTime()}. GLFW should be initialized.
+   *
+   * @return glfw time source.
+   */
+  static TimeSource glfw() {
+    return GLFW::glfwGetTime;
+  }
+
+  /**
+   * Returns time source which uses {@link System#nanoTime()}.
+   *
+   * @return system time source.
+   */
+  static TimeSource system() {
+    return () -> System.nanoTime() / 1_000_000_000d;
+  }
+
+  /**
+   * Returns current time in seconds.
+   *
+   * @return current time in seconds.
+   */
+  double getTime();
+
+  /**
+   * Time source which time is changed only manually.
+   */
+  class Manual implements TimeSource {
+
+    private volatile double time;
+
+    /**
+     * Used to create manual time source which starts from zero.
+     */
+    public Manual() {
+    }
+
+    /**
+     * Used to create manual time source.
+     *
+     * @param time initial time in seconds.
+     */
+    public Manual(double time) {
+      this.time = time;
+    }
+
+    @Override
+    public double getTime() {
+      return time;
+    }
+
+    /**
+     * Used to set current time.
+     *
+     * @param time time in seconds.
+     */
+    public void setTime(double time) {
+      this.time = time;
+    }
+
+    /**
+     * Used to advance current time.
+     *
+     * @param delta time to add in seconds.
+     */
+    public void advance(double delta) {
+      this.time += delta;
+    }
+  }
+}
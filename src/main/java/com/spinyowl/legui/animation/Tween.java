@@ -0,0 +1,389 @@
+package com.spinyowl.legui.animation;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.style.Style;
+import java.util.Arrays;
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+
+/**
+ * Declarative property animation of component. Interpolates component properties from their values
+ * at animation start to target values using easing function.
+ * <p>
+ * Usage example:
+ * <pre>
+ * Tween.of(button, 0.3)
+ *     .moveTo(100, 20)
+ *     .backgroundColorTo(ColorConstants.red())
+ *     .easing(Easing.QUAD_OUT)
+ *     .startAnimation(context.getAnimator());
+ * </pre>
+ * <p>
+ * Start and target values are stored in tween fields, so tween creates no intermediate objects
+ * while interpolating and large number of tweens could be processed every frame.
+ */
+public class Tween extends Animation {
+
+  private static final Track[] NO_TRACKS = new Track[0];
+
+  private final Component component;
+  private final double duration;
+  private double delay;
+  private Easing easing = Easing.LINEAR;
+  private Runnable onFinish;
+
+  private Track[] tracks = NO_TRACKS;
+  private double elapsed;
+
+  /**
+   * Used to create tween.
+   *
+   * @param component component to animate.
+   * @param duration  duration in seconds.
+   */
+  public Tween(Component component, double duration) {
+    this.component = component;
+    this.duration = Math.max(0, duration);
+  }
+
+  /**
+   * Used to create tween.
+   *
+   * @param component component to animate.
+   * @param duration  duration in seconds.
+   * @return new tween.
+   */
+  public static Tween of(Component component, double duration) {
+    return new Tween(component, duration);
+  }
+
+  /**
+   * Used to set easing function. Default is {@link Easing#LINEAR}.
+   *
+   * @param easing easing function.
+   * @return this tween.
+   */
+  public Tween easing(Easing easing) {
+    this.easing = easing == null ? Easing.LINEAR : easing;
+    return this;
+  }
+
+  /**
+   * Used to set delay before animation.
+   *
+   * @param delay delay in seconds.
+   * @return this tween.
+   */
+  public Tween delay(double delay) {
+    this.delay = Math.max(0, delay);
+    return this;
+  }
+
+  /**
+   * Used to set action which is called when tween is finished (but not stopped).
+   *
+   * @param onFinish action to call.
+   * @return this tween.
+   */
+  public Tween onFinish(Runnable onFinish) {
+    this.onFinish = onFinish;
+    return this;
+  }
+
+  /**
+   * Used to animate component position. Also updates left and top of component style if they are
+   * set.
+   *
+   * @param x target x position.
+   * @param y target y position.
+   * @return this tween.
+   */
+  public Tween moveTo(float x, float y) {
+    return addTrack(new PositionTrack(x, y));
+  }
+
+  /**
+   * Used to animate component size. Also updates width and height of component style if they are
+   * set.
+   *
+   * @param width  target width.
+   * @param height target height.
+   * @return this tween.
+   */
+  public Tween resizeTo(float width, float height) {
+    return addTrack(new SizeTrack(width, height));
+  }
+
+  /**
+   * Used to animate background color of component style.
+   *
+   * @param color target color.
+   * @return this tween.
+   */
+  public Tween backgroundColorTo(Vector4f color) {
+    return addTrack(new BackgroundColorTrack(color));
+  }
+
+  /**
+   * Used to animate text color of component style. If text color is not set in component style,
+   * animation starts from transparent target color.
+   *
+   * @param color target color.
+   * @return this tween.
+   */
+  public Tween textColorTo(Vector4f color) {
+    return addTrack(new TextColorTrack(color));
+  }
+
+  /**
+   * Used to animate opacity of component. Component style has no opacity, so alpha of background
+   * color and text color is animated (if they are set).
+   *
+   * @param opacity target opacity.
+   * @return this tween.
+   */
+  public Tween opacityTo(float opacity) {
+    return addTrack(new OpacityTrack(opacity));
+  }
+
+  private Tween addTrack(Track track) {
+    tracks = Arrays.copyOf(tracks, tracks.length + 1);
+    tracks[tracks.length - 1] = track;
+    return this;
+  }
+
+  /**
+   * Returns animated component.
+   *
+   * @return animated component.
+   */
+  public Component getComponent() {
+    return component;
+  }
+
+  /**
+   * Returns duration of tween in seconds.
+   *
+   * @return duration of tween.
+   */
+  public double getDuration() {
+    return duration;
+  }
+
+  @Override
+  protected void beforeAnimation() {
+    elapsed = 0;
+    for (Track track : tracks) {
+      track.started = false;
+    }
+  }
+
+  @Override
+  protected boolean animate(double delta) {
+    elapsed += delta;
+    double time = elapsed - delay;
+    if (time < 0) {
+      return false;
+    }
+    double progress = duration == 0 ? 1 : Math.min(time / duration, 1);
+    float value = (float) (progress >= 1 ? 1 : easing.ease(progress));
+    for (Track track : tracks) {
+      if (!track.started) {
+        track.start(component);
+        track.started = true;
+      }
+      track.apply(component, value);
+    }
+    if (progress >= 1) {
+      if (onFinish != null) {
+        onFinish.run();
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private static float lerp(float from, float to, float value) {
+    return from + (to - from) * value;
+  }
+
+  /**
+   * Animated property. Start value is captured when tween reaches its start (after delay).
+   */
+  private abstract static class Track {
+
+    private boolean started;
+
+    abstract void start(Component component);
+
+    abstract void apply(Component component, float value);
+  }
+
+  private static class PositionTrack extends Track {
+
+    private final Vector2f from = new Vector2f();
+    private final Vector2f to;
+
+    private PositionTrack(float x, float y) {
+      this.to = new Vector2f(x, y);
+    }
+
+    @Override
+    void start(Component component) {
+      from.set(component.getPosition());
+    }
+
+    @Override
+    void apply(Component component, float value) {
+      float x = lerp(from.x, to.x, value);
+      float y = lerp(from.y, to.y, value);
+      component.setPosition(x, y);
+      Style style = component.getStyle();
+      if (style.getLeft() != null) {
+        style.setLeft(x);
+      }
+      if (style.getTop() != null) {
+        style.setTop(y);
+      }
+    }
+  }
+
+  private static class SizeTrack extends Track {
+
+    private final Vector2f from = new Vector2f();
+    private final Vector2f to;
+
+    private SizeTrack(float width, float height) {
+      this.to = new Vector2f(width, height);
+    }
+
+    @Override
+    void start(Component component) {
+      from.set(component.getSize());
+    }
+
+    @Override
+    void apply(Component component, float value) {
+      float width = lerp(from.x, to.x, value);
+      float height = lerp(from.y, to.y, value);
+      component.setSize(width, height);
+      Style style = component.getStyle();
+      if (style.getWidth() != null) {
+        style.setWidth(width);
+      }
+      if (style.getHeight() != null) {
+        style.setHeight(height);
+      }
+    }
+  }
+
+  /**
+   * Color track. Colors of style are changed in place, so render cache of component is invalidated
+   * on every update.
+   */
+  private abstract static class ColorTrack extends Track {
+
+    private final Vector4f from = new Vector4f();
+    private final Vector4f to;
+    private Vector4f color;
+
+    private ColorTrack(Vector4f to) {
+      this.to = new Vector4f(to);
+    }
+
+    @Override
+    void start(Component component) {
+      color = getColor(component.getStyle());
+      if (color == null) {
+        color = new Vector4f(to.x, to.y, to.z, 0);
+        setColor(component.getStyle(), color);
+      }
+      from.set(color);
+    }
+
+    @Override
+    void apply(Component component, float value) {
+      color.set(
+          lerp(from.x, to.x, value),
+          lerp(from.y, to.y, value),
+          lerp(from.z, to.z, value),
+          lerp(from.w, to.w, value));
+      component.invalidateRenderCache();
+    }
+
+    abstract Vector4f getColor(Style style);
+
+    abstract void setColor(Style style, Vector4f color);
+  }
+
+  private static class BackgroundColorTrack extends ColorTrack {
+
+    private BackgroundColorTrack(Vector4f to) {
+      super(to);
+    }
+
+    @Override
+    Vector4f getColor(Style style) {
+      return style.getBackground().getColor();
+    }
+
+    @Override
+    void setColor(Style style, Vector4f color) {
+      style.getBackground().setColor(color);
+    }
+  }
+
+  private static class TextColorTrack extends ColorTrack {
+
+    private TextColorTrack(Vector4f to) {
+      super(to);
+    }
+
+    @Override
+    Vector4f getColor(Style style) {
+      return style.getTextColor();
+    }
+
+    @Override
+    void setColor(Style style, Vector4f color) {
+      style.setTextColor(color);
+    }
+  }
+
+  private static class OpacityTrack extends Track {
+
+    private final float to;
+    private Vector4f background;
+    private Vector4f text;
+    private float backgroundFrom;
+    private float textFrom;
+
+    private OpacityTrack(float to) {
+      this.to = to;
+    }
+
+    @Override
+    void start(Component component) {
+      Style style = component.getStyle();
+      background = style.getBackground().getColor();
+      text = style.getTextColor();
+      if (background != null) {
+        backgroundFrom = background.w;
+      }
+      if (text != null) {
+        textFrom = text.w;
+      }
+    }
+
+    @Override
+    void apply(Component component, float value) {
+      if (background != null) {
+        background.w = lerp(backgroundFrom, to, value);
+      }
+      if (text != null) {
+        text.w = lerp(textFrom, to, value);
+      }
+      component.invalidateRenderCache();
+    }
+  }
+}
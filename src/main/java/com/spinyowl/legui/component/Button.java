@@ -6,7 +6,6 @@ import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.style.font.TextDirection;
 import com.spinyowl.legui.theme.Theme;
-import com.spinyowl.legui.theme.Themes;
 import java.util.function.BiConsumer;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -98,7 +97,7 @@ public class Button extends AbstractTextComponent {
                     new ButtonContentChangeEvent(this, null, this.getFrame(), oldValue, newValue));
     this.textState = new TextState(text, callback);
     getStyle().setHorizontalAlign(HorizontalAlign.CENTER);
-    Themes.getDefaultTheme().applyAll(this);
+    applyTheme(getClass());
   }
 
   @Override
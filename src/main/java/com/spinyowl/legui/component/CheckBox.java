@@ -11,7 +11,6 @@ import com.spinyowl.legui.icon.CharIcon;
 import com.spinyowl.legui.icon.Icon;
 import com.spinyowl.legui.listener.EventListener;
 import com.spinyowl.legui.style.color.ColorConstants;
-import com.spinyowl.legui.theme.Themes;
 import java.util.List;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -123,7 +122,7 @@ public class CheckBox extends AbstractTextComponent {
     getListenerMap().addListener(MouseClickEvent.class, new CheckBoxMouseClickEventListener());
     iconChecked.setHorizontalAlign(HorizontalAlign.LEFT);
     iconUnchecked.setHorizontalAlign(HorizontalAlign.LEFT);
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(CheckBox.class).applyAll(this);
+    applyTheme(CheckBox.class);
   }
 
   /**
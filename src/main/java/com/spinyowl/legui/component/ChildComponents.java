@@ -0,0 +1,180 @@
+package com.spinyowl.legui.component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered set of child components of {@link Component}.
+ * <p>
+ * Components are compared by reference. Membership is checked by identity index, so add and
+ * contains take O(1) time. Readers get immutable snapshot which is created once after modification
+ * and shared until next modification, so traversal does not copy child components.
+ * <p>
+ * Modifications are synchronized, snapshot could be read from any thread.
+ */
+final class ChildComponents implements Serializable {
+
+  private static final Component[] EMPTY = new Component[0];
+
+  private final List<Component> components = new ArrayList<>(0);
+  /**
+   * Identity index of components. Created when first component is added, so leaf components do not
+   * allocate hash table.
+   */
+  private Map<Component, Boolean> index;
+  private transient volatile List<Component> snapshot;
+
+  /**
+   * Returns immutable snapshot of child components.
+   *
+   * @return snapshot of child components.
+   */
+  List<Component> snapshot() {
+    List<Component> result = snapshot;
+    if (result == null) {
+      synchronized (this) {
+        result = snapshot;
+        if (result == null) {
+          result = components.isEmpty() ? Collections.emptyList()
+              : Collections.unmodifiableList(Arrays.asList(components.toArray(EMPTY)));
+          snapshot = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  int size() {
+    return snapshot().size();
+  }
+
+  synchronized boolean contains(Component component) {
+    return index != null && index.containsKey(component);
+  }
+
+  private Map<Component, Boolean> index() {
+    if (index == null) {
+      index = new IdentityHashMap<>(4);
+    }
+    return index;
+  }
+
+  synchronized boolean add(Component component) {
+    if (index().put(component, Boolean.TRUE) != null) {
+      return false;
+    }
+    components.add(component);
+    snapshot = null;
+    return true;
+  }
+
+  synchronized boolean add(int position, Component component) {
+    if (contains(component)) {
+      return false;
+    }
+    components.add(position, component);
+    index().put(component, Boolean.TRUE);
+    snapshot = null;
+    return true;
+  }
+
+  /**
+   * Used to add components which are not contained yet.
+   *
+   * @param toAdd components to add.
+   * @return list of added components.
+   */
+  synchronized List<Component> addAll(Collection<? extends Component> toAdd) {
+    List<Component> added = new ArrayList<>(toAdd.size());
+    for (Component component : toAdd) {
+      if (component != null && index().put(component, Boolean.TRUE) == null) {
+        added.add(component);
+      }
+    }
+    if (!added.isEmpty()) {
+      components.addAll(added);
+      snapshot = null;
+    }
+    return added;
+  }
+
+  synchronized boolean remove(Component component) {
+    if (index == null || index.remove(component) == null) {
+      return false;
+    }
+    for (int i = components.size() - 1; i >= 0; i--) {
+      if (components.get(i) == component) {
+        components.remove(i);
+        break;
+      }
+    }
+    snapshot = null;
+    return true;
+  }
+
+  synchronized Component remove(int position) {
+    Component component = components.remove(position);
+    index.remove(component);
+    snapshot = null;
+    return component;
+  }
+
+  /**
+   * Used to remove contained components with one pass over child components.
+   *
+   * @param toRemove components to remove.
+   * @return list of removed components.
+   */
+  synchronized List<Component> removeAll(Collection<? extends Component> toRemove) {
+    if (index == null) {
+      return Collections.emptyList();
+    }
+    Map<Component, Boolean> removedIndex = new IdentityHashMap<>();
+    for (Component component : toRemove) {
+      if (component != null && index.remove(component) != null) {
+        removedIndex.put(component, Boolean.TRUE);
+      }
+    }
+    if (removedIndex.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<Component> removed = new ArrayList<>(removedIndex.size());
+    int size = components.size();
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      Component component = components.get(i);
+      if (removedIndex.containsKey(component)) {
+        removed.add(component);
+      } else {
+        components.set(count++, component);
+      }
+    }
+    components.subList(count, size).clear();
+    snapshot = null;
+    return removed;
+  }
+
+  synchronized List<Component> clear() {
+    List<Component> removed = snapshot();
+    components.clear();
+    index = null;
+    snapshot = null;
+    return removed;
+  }
+
+  int indexOf(Component component) {
+    List<Component> list = snapshot();
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i) == component) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -10,16 +10,18 @@ import com.spinyowl.legui.intersection.Intersector;
 import com.spinyowl.legui.intersection.RectangleIntersector;
 import com.spinyowl.legui.listener.ListenerMap;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.style.ComputedStyle;
 import com.spinyowl.legui.style.Style;
 import com.spinyowl.legui.theme.Themes;
+import com.spinyowl.legui.util.BoundsCache;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -37,33 +39,57 @@ public abstract class Component implements Serializable {
   //// COMPONENT BASE DATA
   ////////////////////////////////
   /**
-   * Metadata map, place where renderers or event processors can store state of component.
+   * Default tooltip listener. Listener is stateless, so it is shared by all components.
    */
-  private final Map<String, Object> metadata = new HashMap<>();
+  private static final TooltipCursorEnterListener TOOLTIP_CURSOR_ENTER_LISTENER =
+      new TooltipCursorEnterListener();
   /**
-   * Component style.
+   * Default tab key listener. Listener is stateless, so it is shared by all components.
    */
-  private final Style hoveredStyle = new Style();
+  private static final TabKeyEventListener TAB_KEY_EVENT_LISTENER = new TabKeyEventListener();
   /**
-   * Component style.
+   * Default intersector. Rectangle intersector is stateless, so it is shared by all components.
    */
-  private final Style focusedStyle = new Style();
+  private static final Intersector DEFAULT_INTERSECTOR = new RectangleIntersector();
+
   /**
-   * Component style.
+   * Metadata map, place where renderers or event processors can store state of component. Created
+   * on first access.
+   */
+  private Map<String, Object> metadata;
+  /**
+   * Component style. Created on first access.
+   */
+  private Style hoveredStyle;
+  /**
+   * Component style. Created on first access.
+   */
+  private Style focusedStyle;
+  /**
+   * Component style. Created on first access.
+   */
+  private Style pressedStyle;
+  /**
+   * Style values resolved for current state of component. Created on first access.
+   */
+  private ComputedStyle computedStyle;
+  /**
+   * Child components.
    */
-  private final Style pressedStyle = new Style();
+  private final ChildComponents childComponents = new ChildComponents();
   /**
-   * List of child components.
+   * Version of child component list. Incremented every time when child components are added or
+   * removed.
    */
-  private final List<Component> childComponents = new CopyOnWriteArrayList<>();
+  private int childComponentsVersion;
   /**
    * Parent component container. For root components it could be null.
    */
   private Component parent;
   /**
-   * Map for UI event listeners.
+   * Map for UI event listeners. Created with default listeners on first access.
    */
-  private ListenerMap listenerMap = new ListenerMap();
+  private ListenerMap listenerMap;
   /**
    * Position of component relative top left corner in parent component.
    * <p>
@@ -83,7 +109,7 @@ public abstract class Component implements Serializable {
    * Intersector which used to determine for example if cursor intersects component or not. Cannot
    * be null.
    */
-  private Intersector intersector = new RectangleIntersector();
+  private Intersector intersector = DEFAULT_INTERSECTOR;
   /**
    * Determines whether this component hovered or not (cursor is over this component).
    */
@@ -129,6 +155,28 @@ public abstract class Component implements Serializable {
    */
   private boolean keepRendering;
 
+  /**
+   * Used to render component with its child components into offscreen buffer and reuse rendered
+   * image until component subtree is changed.
+   */
+  private boolean renderCacheEnabled;
+  /**
+   * Incremented every time when render cache of component was invalidated manually.
+   */
+  private int renderCacheVersion;
+
+  /**
+   * Shows that default theme was not applied to component yet, because theme applying is postponed
+   * until component is attached to frame.
+   *
+   * @see Themes#setApplyOnAttach(boolean)
+   */
+  private boolean themePending;
+  /**
+   * Shows that some of child components have pending theme.
+   */
+  private boolean childThemePending;
+
   /**
    * Default constructor. Used to create component instance without any parameters.
    * <p>
@@ -168,17 +216,70 @@ public abstract class Component implements Serializable {
   ////////////////////////////////
 
   public Style getFocusedStyle() {
+    if (focusedStyle == null) {
+      focusedStyle = new Style();
+    }
     return focusedStyle;
   }
 
   public Style getHoveredStyle() {
+    if (hoveredStyle == null) {
+      hoveredStyle = new Style();
+    }
     return hoveredStyle;
   }
 
   public Style getPressedStyle() {
+    if (pressedStyle == null) {
+      pressedStyle = new Style();
+    }
     return pressedStyle;
   }
 
+  /**
+   * Returns true if focused style was created. Could be used to read state style without creating
+   * it.
+   *
+   * @return true if focused style was created.
+   */
+  public boolean hasFocusedStyle() {
+    return focusedStyle != null;
+  }
+
+  /**
+   * Returns true if hovered style was created. Could be used to read state style without creating
+   * it.
+   *
+   * @return true if hovered style was created.
+   */
+  public boolean hasHoveredStyle() {
+    return hoveredStyle != null;
+  }
+
+  /**
+   * Returns true if pressed style was created. Could be used to read state style without creating
+   * it.
+   *
+   * @return true if pressed style was created.
+   */
+  public boolean hasPressedStyle() {
+    return pressedStyle != null;
+  }
+
+  /**
+   * Returns style values resolved from component style and state styles which are applied to
+   * current state of component (focused, hovered, pressed). Values are resolved again only when
+   * one of these styles or component state is changed.
+   *
+   * @return computed style.
+   */
+  public ComputedStyle getComputedStyle() {
+    if (computedStyle == null) {
+      computedStyle = new ComputedStyle();
+    }
+    return computedStyle.update(this);
+  }
+
   /**
    * Returns component style.
    *
@@ -203,9 +304,68 @@ public abstract class Component implements Serializable {
    * Used to initialize component.
    */
   private void initialize() {
-    getListenerMap().addListener(CursorEnterEvent.class, new TooltipCursorEnterListener());
-    getListenerMap().addListener(KeyEvent.class, new TabKeyEventListener());
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(Component.class).applyAll(this);
+    applyTheme(Component.class);
+  }
+
+  /**
+   * Used to apply default theme of provided component class to component and its child components.
+   * If theme applying is postponed (see {@link Themes#setApplyOnAttach(boolean)}) component is only
+   * marked, and default theme of component class is applied when component is attached to frame.
+   *
+   * @param componentClass component class which theme should be applied.
+   * @param <T>            component type.
+   */
+  protected final <T extends Component> void applyTheme(Class<T> componentClass) {
+    if (Themes.isApplyOnAttach()) {
+      themePending = true;
+      return;
+    }
+    Themes.getDefaultTheme().getThemeManager().getComponentTheme(componentClass)
+        .applyAll(componentClass.cast(this));
+  }
+
+  /**
+   * Used to apply pending theme to attached child component or to mark ancestors if component is
+   * not attached to frame yet.
+   *
+   * @param component attached child component.
+   */
+  private void attachTheme(Component component) {
+    if (!component.themePending && !component.childThemePending) {
+      return;
+    }
+    if (getFrame() != null) {
+      applyPendingTheme(component);
+      return;
+    }
+    for (Component c = this; c != null && !c.childThemePending; c = c.parent) {
+      c.childThemePending = true;
+    }
+  }
+
+  /**
+   * Used to apply postponed default theme to components of subtree.
+   *
+   * @param component root of subtree.
+   */
+  static void applyPendingTheme(Component component) {
+    if (component.themePending) {
+      Themes.getDefaultTheme().applyAll(component);
+      clearPendingTheme(component);
+    } else if (component.childThemePending) {
+      component.childThemePending = false;
+      for (Component child : component.getChildComponentsSnapshot()) {
+        applyPendingTheme(child);
+      }
+    }
+  }
+
+  private static void clearPendingTheme(Component component) {
+    component.themePending = false;
+    component.childThemePending = false;
+    for (Component child : component.getChildComponentsSnapshot()) {
+      clearPendingTheme(child);
+    }
   }
 
   /**
@@ -246,6 +406,11 @@ public abstract class Component implements Serializable {
    * @return event listeners map.
    */
   public ListenerMap getListenerMap() {
+    if (listenerMap == null) {
+      listenerMap = new ListenerMap();
+      listenerMap.addListener(CursorEnterEvent.class, TOOLTIP_CURSOR_ENTER_LISTENER);
+      listenerMap.addListener(KeyEvent.class, TAB_KEY_EVENT_LISTENER);
+    }
     return listenerMap;
   }
 
@@ -335,11 +500,25 @@ public abstract class Component implements Serializable {
    * @return position vector.
    */
   public Vector2f getAbsolutePosition() {
-    Vector2f screenPos = new Vector2f(this.position);
+    return getAbsolutePosition(new Vector2f());
+  }
+
+  /**
+   * Used to store absolute position of component in provided vector without allocation.
+   *
+   * @param dest vector to store position.
+   * @return dest vector.
+   */
+  public Vector2f getAbsolutePosition(Vector2f dest) {
+    BoundsCache.Bounds bounds = BoundsCache.get(this);
+    if (bounds != null) {
+      return dest.set(bounds.getX(), bounds.getY());
+    }
+    dest.set(this.position);
     for (Component p = this.getParent(); p != null; p = p.getParent()) {
-      screenPos.add(p.getPosition());
+      dest.add(p.getPosition());
     }
-    return screenPos;
+    return dest;
   }
 
   /**
@@ -411,6 +590,9 @@ public abstract class Component implements Serializable {
    * @return map of objects.
    */
   public Map<String, Object> getMetadata() {
+    if (metadata == null) {
+      metadata = new HashMap<>();
+    }
     return metadata;
   }
 
@@ -578,18 +760,18 @@ public abstract class Component implements Serializable {
    * @see List#isEmpty()
    */
   public boolean isEmpty() {
-    return childComponents.isEmpty();
+    return childComponents.size() == 0;
   }
 
   /**
-   * Returns true if component contains specified component.
+   * Returns true if component contains specified component. Checked by reference.
    *
    * @param component component to check.
    * @return true if component contains specified component.
    * @see List#contains(Object)
    */
   public boolean contains(Component component) {
-    return isContains(component);
+    return component != null && childComponents.contains(component);
   }
 
   /**
@@ -600,7 +782,7 @@ public abstract class Component implements Serializable {
    * @see List#iterator()
    */
   public Iterator<Component> containerIterator() {
-    return childComponents.iterator();
+    return childComponents.snapshot().iterator();
   }
 
   /**
@@ -611,43 +793,61 @@ public abstract class Component implements Serializable {
    * @see List#add(Object)
    */
   public boolean add(Component component) {
-    if (component == null || component == this || isContains(component)) {
+    if (component == null || component == this || !childComponents.add(component)) {
       return false;
     }
-    boolean added = childComponents.add(component);
+    childComponentsVersion++;
     changeParent(component);
+    attachTheme(component);
     EventProcessorProvider.getInstance().pushEvent(new AddChildEvent<>(this, component));
-    return added;
+    return true;
   }
 
   public void add(int index, Component component) {
-    if (component == null || component == this || isContains(component)) {
+    if (component == null || component == this || !childComponents.add(index, component)) {
       return;
     }
-    childComponents.add(index, component);
+    childComponentsVersion++;
     changeParent(component);
+    attachTheme(component);
     EventProcessorProvider.getInstance().pushEvent(new AddChildEvent<>(this, component));
   }
 
   /**
-   * Used to check if component collection contains component or not. Checked by reference.
-   *
-   * @param component component to check.
-   * @return true if collection contains provided component.
-   */
-  private boolean isContains(Component component) {
-    return childComponents.stream().anyMatch(c -> c == component);
-  }
-
-  /**
-   * Used to add components.
+   * Used to add components. Components which are already added are skipped. Only one {@link
+   * AddChildEvent} is pushed for all added components.
    *
    * @param components components nodes to add.
    */
   public void addAll(Collection<? extends Component> components) {
-    if (components != null) {
-      components.forEach(this::add);
+    if (components == null || components.isEmpty()) {
+      return;
     }
+    List<Component> toAdd = new ArrayList<>(components.size());
+    for (Component component : components) {
+      if (component != null && component != this) {
+        toAdd.add(component);
+      }
+    }
+    List<Component> added = childComponents.addAll(toAdd);
+    if (added.isEmpty()) {
+      return;
+    }
+    childComponentsVersion++;
+    // detach components from previous parents in batches
+    Map<Component, List<Component>> previousParents = new IdentityHashMap<>();
+    for (Component component : added) {
+      Component p = component.getParent();
+      if (p != null && p != this) {
+        previousParents.computeIfAbsent(p, k -> new ArrayList<>()).add(component);
+      }
+    }
+    previousParents.forEach(Component::removeAll);
+    for (Component component : added) {
+      changeParent(component);
+      attachTheme(component);
+    }
+    EventProcessorProvider.getInstance().pushEvent(new AddChildEvent<>(this, added));
   }
 
   /**
@@ -674,20 +874,19 @@ public abstract class Component implements Serializable {
    * @see List#remove(Object)
    */
   public boolean remove(Component component) {
-    if (component != null) {
-      Component p = component.getParent();
-      if (p == this && isContains(component)) {
-        boolean removed = childComponents.remove(component);
-        component.setParent(null);
-        EventProcessorProvider.getInstance().pushEvent(new RemoveChildEvent<>(this, component));
-        return removed;
-      }
+    if (component == null || component.getParent() != this
+        || !childComponents.remove(component)) {
+      return false;
     }
-    return false;
+    childComponentsVersion++;
+    component.setParent(null);
+    EventProcessorProvider.getInstance().pushEvent(new RemoveChildEvent<>(this, component));
+    return true;
   }
 
   public Component remove(int index) {
     Component component = childComponents.remove(index);
+    childComponentsVersion++;
     if (component != null) {
       component.setParent(null);
       EventProcessorProvider.getInstance().pushEvent(new RemoveChildEvent<>(this, component));
@@ -696,15 +895,31 @@ public abstract class Component implements Serializable {
   }
 
   /**
-   * Used to remove components.
+   * Used to remove components. Only one {@link RemoveChildEvent} is pushed for all removed
+   * components.
    *
    * @param components components to remove.
    * @see List#removeAll(Collection)
    */
   public void removeAll(Collection<? extends Component> components) {
-    if (components != null) {
-      components.forEach(this::remove);
+    if (components == null || components.isEmpty()) {
+      return;
     }
+    List<Component> toRemove = new ArrayList<>(components.size());
+    for (Component component : components) {
+      if (component != null && component.getParent() == this) {
+        toRemove.add(component);
+      }
+    }
+    List<Component> removed = childComponents.removeAll(toRemove);
+    if (removed.isEmpty()) {
+      return;
+    }
+    childComponentsVersion++;
+    for (Component component : removed) {
+      component.setParent(null);
+    }
+    EventProcessorProvider.getInstance().pushEvent(new RemoveChildEvent<>(this, removed));
   }
 
   /**
@@ -715,7 +930,13 @@ public abstract class Component implements Serializable {
    * @see List#removeIf(Predicate)
    */
   public void removeIf(Predicate<? super Component> filter) {
-    childComponents.stream().filter(filter).forEach(this::remove);
+    List<Component> toRemove = new ArrayList<>();
+    for (Component component : childComponents.snapshot()) {
+      if (filter.test(component)) {
+        toRemove.add(component);
+      }
+    }
+    removeAll(toRemove);
   }
 
   /**
@@ -724,8 +945,9 @@ public abstract class Component implements Serializable {
    * @see List#clear()
    */
   public void clearChildComponents() {
-    childComponents.forEach(compo -> compo.setParent(null));
-    childComponents.clear();
+    List<Component> removed = childComponents.clear();
+    childComponentsVersion++;
+    removed.forEach(compo -> compo.setParent(null));
   }
 
   /**
@@ -736,7 +958,12 @@ public abstract class Component implements Serializable {
    * @see List#containsAll(Collection)
    */
   public boolean containsAll(Collection<Component> components) {
-    return this.childComponents.containsAll(components);
+    for (Component component : components) {
+      if (!contains(component)) {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -746,7 +973,7 @@ public abstract class Component implements Serializable {
    * @see List#stream()
    */
   public Stream<Component> stream() {
-    return childComponents.stream();
+    return childComponents.snapshot().stream();
   }
 
   /**
@@ -757,7 +984,7 @@ public abstract class Component implements Serializable {
    * @see List#parallelStream()
    */
   public Stream<Component> parallelStream() {
-    return childComponents.parallelStream();
+    return childComponents.snapshot().parallelStream();
   }
 
   /**
@@ -767,18 +994,41 @@ public abstract class Component implements Serializable {
    * @param action The action to be performed for each element.
    */
   public void forEach(Consumer<? super Component> action) {
-    childComponents.forEach(action);
+    childComponents.snapshot().forEach(action);
+  }
+
+  /**
+   * Returns version of child component list which is changed every time when child components are
+   * added or removed. Could be used to detect changes of child component list without comparing
+   * it.
+   *
+   * @return version of child component list.
+   */
+  public int getChildComponentsVersion() {
+    return childComponentsVersion;
   }
 
   /**
    * Used to retrieve child components as {@link List}.
    * <p>
-   * <span style="color:red">NOTE: this method returns NEW {@link List} of components</span>.
+   * <span style="color:red">NOTE: this method returns NEW {@link List} of components</span>. Use
+   * {@link #getChildComponentsSnapshot()} to iterate over child components without copying.
    *
    * @return list of child components.
    */
   public List<Component> getChildComponents() {
-    return new ArrayList<>(childComponents);
+    return new ArrayList<>(childComponents.snapshot());
+  }
+
+  /**
+   * Returns read-only snapshot of child components. Snapshot is not copied on every call, it is
+   * shared until child components are changed, and it is not affected by later changes, so child
+   * components could be added or removed during iteration over it.
+   *
+   * @return unmodifiable list of child components.
+   */
+  public List<Component> getChildComponentsSnapshot() {
+    return childComponents.snapshot();
   }
 
   @Override
@@ -805,7 +1055,7 @@ public abstract class Component implements Serializable {
         .append(this.getTabIndex(), component.getTabIndex())
         .append(this.isTabFocusable(), component.isTabFocusable())
         .append(this.isFocusable(), component.isFocusable())
-        .append(childComponents, component.childComponents)
+        .append(childComponents.snapshot(), component.childComponents.snapshot())
         .isEquals();
   }
 
@@ -822,7 +1072,7 @@ public abstract class Component implements Serializable {
         .append(tabIndex)
         .append(tabFocusable)
         .append(focusable)
-        .append(childComponents)
+        .append(childComponents.snapshot())
         .toHashCode();
   }
 
@@ -876,4 +1126,44 @@ public abstract class Component implements Serializable {
   public void keepRendering(boolean keepRendering) {
     this.keepRendering = keepRendering;
   }
+
+  /**
+   * Shows if component subtree should be rendered into offscreen buffer and reused while it is not
+   * changed.
+   *
+   * @return true if render cache is enabled for component.
+   */
+  public boolean isRenderCacheEnabled() {
+    return renderCacheEnabled;
+  }
+
+  /**
+   * Used to enable or disable render cache for component. When enabled component and its child
+   * components are rendered once into offscreen buffer and the buffer is reused until style, size,
+   * position, state or child components of subtree are changed.
+   * <p>
+   * Should be used for complex and rarely changed subtrees.
+   *
+   * @param renderCacheEnabled set to true to enable render cache.
+   */
+  public void setRenderCacheEnabled(boolean renderCacheEnabled) {
+    this.renderCacheEnabled = renderCacheEnabled;
+  }
+
+  /**
+   * Used to invalidate render cache of component when subtree was changed in a way that could not
+   * be tracked automatically (for example custom renderer state).
+   */
+  public void invalidateRenderCache() {
+    renderCacheVersion++;
+  }
+
+  /**
+   * Returns render cache version. Changed every time when {@link #invalidateRenderCache()} called.
+   *
+   * @return render cache version.
+   */
+  public int getRenderCacheVersion() {
+    return renderCacheVersion;
+  }
 }
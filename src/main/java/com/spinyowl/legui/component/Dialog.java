@@ -2,7 +2,6 @@ package com.spinyowl.legui.component;
 
 import com.spinyowl.legui.component.event.widget.WidgetCloseEvent;
 import com.spinyowl.legui.component.misc.listener.dialog.DialogCloseEventListener;
-import com.spinyowl.legui.theme.Themes;
 import org.joml.Vector2f;
 
 /**
@@ -97,7 +96,7 @@ public class Dialog extends Widget {
 
     this.setMinimizable(false);
     this.getListenerMap().addListener(WidgetCloseEvent.class, new DialogCloseEventListener(this));
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(Dialog.class).applyAll(this);
+    applyTheme(Dialog.class);
   }
 
   /**
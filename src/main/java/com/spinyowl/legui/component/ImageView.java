@@ -1,7 +1,8 @@
 package com.spinyowl.legui.component;
 
 import com.spinyowl.legui.image.Image;
-import com.spinyowl.legui.theme.Themes;
+import com.spinyowl.legui.image.LoadableImage;
+import com.spinyowl.legui.image.loader.ImageLoader;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -38,7 +39,7 @@ public class ImageView extends Component {
    * This method used to initialize image view component.
    */
   private void initialize() {
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(ImageView.class).applyAll(this);
+    applyTheme(ImageView.class);
   }
 
   /**
@@ -56,9 +57,32 @@ public class ImageView extends Component {
    * @param image image to set.
    */
   public void setImage(Image image) {
+    if (this.image != image) {
+      cancelLoading();
+    }
     this.image = image;
   }
 
+  /**
+   * Used to set parent component. If image view is removed from parent, loading of its image is
+   * cancelled (if image is loaded asynchronously). Loading is resumed when image is rendered.
+   *
+   * @param parent component container.
+   */
+  @Override
+  public void setParent(Component parent) {
+    super.setParent(parent);
+    if (parent == null) {
+      cancelLoading();
+    }
+  }
+
+  private void cancelLoading() {
+    if (image instanceof LoadableImage) {
+      ImageLoader.cancelLoading((LoadableImage) image);
+    }
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
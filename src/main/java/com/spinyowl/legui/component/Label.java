@@ -5,7 +5,6 @@ import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.style.color.ColorConstants;
 import com.spinyowl.legui.style.font.TextDirection;
-import com.spinyowl.legui.theme.Themes;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -108,7 +107,7 @@ public class Label extends AbstractTextComponent {
 
     getStyle().getBackground().setColor(ColorConstants.transparent());
     getStyle().setBorder(null);
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(Label.class).applyAll(this);
+    applyTheme(Label.class);
   }
 
   public TextDirection getTextDirection() {
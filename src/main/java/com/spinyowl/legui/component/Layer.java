@@ -3,7 +3,7 @@ package com.spinyowl.legui.component;
 import com.spinyowl.legui.component.misc.listener.layercontainer.LayerContainerWindowSizeEventListener;
 import com.spinyowl.legui.event.WindowSizeEvent;
 import com.spinyowl.legui.style.color.ColorConstants;
-import com.spinyowl.legui.theme.Themes;
+import com.spinyowl.legui.system.handler.HitTestIndex;
 
 /**
  * Layer one of base structures. Holds layer containers which are used to hold all of other
@@ -27,6 +27,10 @@ public class Layer extends Component {
    * Determines if current layer and all of it components can receive events.
    */
   private boolean eventReceivable = true;
+  /**
+   * Spatial index used to find components under cursor. Updated by layout manager.
+   */
+  private volatile HitTestIndex hitTestIndex;
 
   /**
    * Default constructor. Used to create component instance without any parameters.
@@ -41,7 +45,7 @@ public class Layer extends Component {
     getStyle().setBorder(null);
     setFocusable(false);
     setTabFocusable(false);
-    Themes.getDefaultTheme().applyAll(this);
+    applyTheme(getClass());
   }
 
   /**
@@ -69,6 +73,7 @@ public class Layer extends Component {
     this.frame = frame;
     if (frame != null) {
       frame.addLayer(this);
+      applyPendingTheme(this);
     }
   }
 
@@ -108,4 +113,21 @@ public class Layer extends Component {
     this.eventReceivable = eventReceivable;
   }
 
+  /**
+   * Returns spatial index of layer components or null if index was not built yet.
+   *
+   * @return spatial index of layer components.
+   */
+  public HitTestIndex getHitTestIndex() {
+    return hitTestIndex;
+  }
+
+  /**
+   * Used to set spatial index of layer components.
+   *
+   * @param hitTestIndex spatial index of layer components.
+   */
+  public void setHitTestIndex(HitTestIndex hitTestIndex) {
+    this.hitTestIndex = hitTestIndex;
+  }
 }
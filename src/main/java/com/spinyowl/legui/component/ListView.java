@@ -0,0 +1,422 @@
+package com.spinyowl.legui.component;
+
+import com.spinyowl.legui.component.misc.animation.listview.ListViewAnimation;
+import com.spinyowl.legui.style.Style.DisplayType;
+import com.spinyowl.legui.system.context.Context;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.joml.Vector2f;
+
+/**
+ * Virtualized list. Scrollable panel which shows items of data model using cells created by cell
+ * factory.
+ * <p>
+ * Only cells for visible rows are materialized. Cells which are scrolled out of viewport are hidden
+ * and reused for other rows, so number of cells does not depend on number of items. All rows have
+ * the same height.
+ * <p>
+ * Cells are updated when list is scrolled or resized and when number of items is changed. {@link
+ * #refresh()} should be used to update cells if items were replaced or changed.
+ *
+ * @param <T> item type.
+ */
+public class ListView<T> extends ScrollablePanel {
+
+  /**
+   * Default cell height.
+   */
+  private static final float DEFAULT_CELL_HEIGHT = 16f;
+
+  private List<T> items = Collections.emptyList();
+  private Function<ListView<T>, ? extends ListCell<T>> cellFactory = listView -> new ListCell<>();
+  private float cellHeight = DEFAULT_CELL_HEIGHT;
+
+  /**
+   * Cells which are shown. Cell with index i shows item with index (firstIndex + i).
+   */
+  private final List<ListCell<T>> visibleCells = new ArrayList<>();
+  /**
+   * Hidden cells which could be reused.
+   */
+  private final List<ListCell<T>> freeCells = new ArrayList<>();
+  private final List<ListCell<T>> updatedCells = new ArrayList<>();
+  private int firstIndex;
+  private boolean refreshRequired;
+
+  /**
+   * State used for last cell update.
+   */
+  private int lastItemCount = -1;
+  private float lastContainerY;
+  private final Vector2f lastViewportSize = new Vector2f();
+
+  /**
+   * Default constructor. Used to create component instance without any parameters.
+   *
+   * <p>Also if you want to make it easy to use with Json marshaller/unmarshaller component should
+   * contain empty constructor.
+   */
+  public ListView() {
+    initialize();
+  }
+
+  /**
+   * Constructor with position and size parameters.
+   *
+   * @param x      x position position in parent component.
+   * @param y      y position position in parent component.
+   * @param width  width of component.
+   * @param height height of component.
+   */
+  public ListView(float x, float y, float width, float height) {
+    super(x, y, width, height);
+    initialize();
+  }
+
+  /**
+   * Constructor with position and size parameters.
+   *
+   * @param position position position in parent component.
+   * @param size     size of component.
+   */
+  public ListView(Vector2f position, Vector2f size) {
+    super(position, size);
+    initialize();
+  }
+
+  /**
+   * Constructor with items.
+   *
+   * @param items items to show.
+   */
+  public ListView(List<T> items) {
+    initialize();
+    setItems(items);
+  }
+
+  private void initialize() {
+    setHorizontalScrollBarVisible(false);
+    getContainer().getStyle().setDisplay(DisplayType.MANUAL);
+    setAnimation(new ListViewAnimation(this));
+  }
+
+  /**
+   * Returns items (data model) of list.
+   *
+   * @return items of list.
+   */
+  public List<T> getItems() {
+    return items;
+  }
+
+  /**
+   * Used to set items (data model) of list.
+   *
+   * @param items items to set.
+   */
+  public void setItems(List<T> items) {
+    this.items = items == null ? Collections.emptyList() : items;
+    refresh();
+  }
+
+  /**
+   * Returns cell factory.
+   *
+   * @return cell factory.
+   */
+  public Function<ListView<T>, ? extends ListCell<T>> getCellFactory() {
+    return cellFactory;
+  }
+
+  /**
+   * Used to set cell factory. All existing cells are removed.
+   *
+   * @param cellFactory cell factory to set.
+   */
+  public void setCellFactory(Function<ListView<T>, ? extends ListCell<T>> cellFactory) {
+    this.cellFactory = cellFactory;
+    for (ListCell<T> cell : visibleCells) {
+      getContainer().remove(cell);
+    }
+    for (ListCell<T> cell : freeCells) {
+      getContainer().remove(cell);
+    }
+    visibleCells.clear();
+    freeCells.clear();
+    updateCells();
+  }
+
+  /**
+   * Returns height of row.
+   *
+   * @return height of row.
+   */
+  public float getCellHeight() {
+    return cellHeight;
+  }
+
+  /**
+   * Used to set height of row.
+   *
+   * @param cellHeight height of row.
+   */
+  public void setCellHeight(float cellHeight) {
+    this.cellHeight = cellHeight;
+    refresh();
+  }
+
+  /**
+   * Used to update all visible cells on next update.
+   */
+  public void refresh() {
+    refreshRequired = true;
+    updateCells();
+  }
+
+  /**
+   * Returns cells which are currently shown.
+   *
+   * @return shown cells.
+   */
+  public List<ListCell<T>> getVisibleCells() {
+    return Collections.unmodifiableList(visibleCells);
+  }
+
+  /**
+   * Returns index of first shown item.
+   *
+   * @return index of first shown item.
+   */
+  public int getFirstVisibleIndex() {
+    return firstIndex;
+  }
+
+  /**
+   * Used to scroll list to make item with provided index visible.
+   *
+   * @param index item index.
+   */
+  public void scrollTo(int index) {
+    ScrollBar scrollBar = getVerticalScrollBar();
+    float viewportHeight = getViewport().getSize().y;
+    float contentHeight = items.size() * cellHeight;
+    if (contentHeight <= viewportHeight) {
+      return;
+    }
+    float top = Math.max(0, Math.min(index * cellHeight, contentHeight - viewportHeight));
+    float range = scrollBar.getMaxValue() - scrollBar.getMinValue();
+    scrollBar.setCurValue(scrollBar.getMinValue() + top / (contentHeight - viewportHeight) * range);
+  }
+
+  /**
+   * Used to update cells if list was scrolled, resized or number of items was changed, and to start
+   * scroll animation if needed.
+   *
+   * @param context context of frame.
+   */
+  @Override
+  public void updateViewport(Context context) {
+    if (refreshRequired
+        || lastItemCount != items.size()
+        || lastContainerY != getContainer().getPosition().y
+        || !lastViewportSize.equals(getViewport().getSize())) {
+      updateCells();
+    }
+    super.updateViewport(context);
+  }
+
+  /**
+   * Used to update size of container and to show cells for items in viewport. Called by list
+   * animation after container position is updated.
+   */
+  public void updateCells() {
+    Component container = getContainer();
+    Vector2f viewportSize = getViewport().getSize();
+    int count = items.size();
+    lastItemCount = count;
+    lastContainerY = container.getPosition().y;
+    lastViewportSize.set(viewportSize);
+    container.getSize().set(viewportSize.x, count * cellHeight);
+
+    int first = 0;
+    int last = -1;
+    if (cellHeight > 0 && count > 0) {
+      float top = -container.getPosition().y;
+      first = Math.max(0, Math.min(count - 1, (int) (top / cellHeight)));
+      last = Math.max(first,
+          Math.min(count - 1, (int) Math.ceil((top + viewportSize.y) / cellHeight) - 1));
+    }
+
+    // release cells which are out of new range
+    int shown = visibleCells.size();
+    for (int i = shown - 1; i >= 0; i--) {
+      int index = firstIndex + i;
+      if (index < first || index > last || refreshRequired) {
+        ListCell<T> cell = visibleCells.get(i);
+        cell.getStyle().setDisplay(DisplayType.NONE);
+        freeCells.add(cell);
+        visibleCells.set(i, null);
+      }
+    }
+
+    // reorder cells which are still visible and fill gaps with free cells
+    for (int index = first; index <= last; index++) {
+      int oldPosition = index - firstIndex;
+      ListCell<T> cell = oldPosition >= 0 && oldPosition < shown ? visibleCells.get(oldPosition)
+          : null;
+      T item = items.get(index);
+      if (cell == null) {
+        cell = obtainCell();
+        cell.update(this, item, index);
+      } else if (cell.getItem() != item) {
+        cell.update(this, item, index);
+      }
+      cell.setPosition(0, index * cellHeight);
+      cell.setSize(viewportSize.x, cellHeight);
+      updatedCells.add(cell);
+    }
+    visibleCells.clear();
+    visibleCells.addAll(updatedCells);
+    updatedCells.clear();
+    firstIndex = first;
+    refreshRequired = false;
+  }
+
+  private ListCell<T> obtainCell() {
+    ListCell<T> cell;
+    if (freeCells.isEmpty()) {
+      cell = cellFactory.apply(this);
+      getContainer().add(cell);
+    } else {
+      cell = freeCells.remove(freeCells.size() - 1);
+    }
+    cell.getStyle().setDisplay(DisplayType.MANUAL);
+    return cell;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof ListView)) {
+      return false;
+    }
+
+    ListView<?> listView = (ListView<?>) o;
+
+    return new EqualsBuilder()
+        .appendSuper(super.equals(o))
+        .append(cellHeight, listView.cellHeight)
+        .append(items, listView.items)
+        .isEquals();
+  }
+
+  @Override
+  public int hashCode() {
+    return new HashCodeBuilder(17, 37)
+        .appendSuper(super.hashCode())
+        .append(cellHeight)
+        .append(items)
+        .toHashCode();
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+        .append("items", items.size())
+        .append("cellHeight", cellHeight)
+        .append("firstIndex", firstIndex)
+        .append("visibleCells", visibleCells.size())
+        .toString();
+  }
+
+  /**
+   * Cell of list which shows one item. Cells are reused, so cell should update all its state in
+   * {@link #updateItem(Object, int)}. Default implementation shows string representation of item.
+   *
+   * @param <T> item type.
+   */
+  public static class ListCell<T> extends Button {
+
+    private ListView<T> listView;
+    private T item;
+    private int index = -1;
+
+    /**
+     * Default constructor.
+     */
+    public ListCell() {
+      super("");
+    }
+
+    private void update(ListView<T> listView, T item, int index) {
+      this.listView = listView;
+      this.item = item;
+      this.index = index;
+      updateItem(item, index);
+    }
+
+    /**
+     * Used to update cell with new item. Called when cell is bound to another item.
+     *
+     * @param item  item to show.
+     * @param index item index.
+     */
+    protected void updateItem(T item, int index) {
+      getTextState().setText(item == null ? "null" : item.toString());
+    }
+
+    /**
+     * Returns list view which shows this cell.
+     *
+     * @return list view or null if cell was not bound yet.
+     */
+    public ListView<T> getListView() {
+      return listView;
+    }
+
+    /**
+     * Returns item shown by cell.
+     *
+     * @return item.
+     */
+    public T getItem() {
+      return item;
+    }
+
+    /**
+     * Returns index of item shown by cell.
+     *
+     * @return item index or -1 if cell was not bound yet.
+     */
+    public int getIndex() {
+      return index;
+    }
+
+    @Override
+    public String toString() {
+      return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+          .append("index", index)
+          .append("item", item)
+          .toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(this);
+    }
+  }
+}
@@ -1,6 +1,5 @@
 package com.spinyowl.legui.component;
 
-import com.spinyowl.legui.theme.Themes;
 import org.joml.Vector2f;
 
 /**
@@ -14,7 +13,7 @@ public class Panel extends Component {
    * constructor.
    */
   public Panel() {
-    Themes.getDefaultTheme().applyAll(this);
+    applyTheme(getClass());
   }
 
   /**
@@ -27,7 +26,7 @@ public class Panel extends Component {
    */
   public Panel(float x, float y, float width, float height) {
     super(x, y, width, height);
-    Themes.getDefaultTheme().applyAll(this);
+    applyTheme(getClass());
   }
 
   /**
@@ -38,7 +37,7 @@ public class Panel extends Component {
    */
   public Panel(Vector2f position, Vector2f size) {
     super(position, size);
-    Themes.getDefaultTheme().applyAll(this);
+    applyTheme(getClass());
   }
 
 }
@@ -1,7 +1,6 @@
 package com.spinyowl.legui.component;
 
 import com.spinyowl.legui.style.color.ColorConstants;
-import com.spinyowl.legui.theme.Themes;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -68,7 +67,7 @@ public class ProgressBar extends Component {
   }
 
   private void initialize() {
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(ProgressBar.class).applyAll(this);
+    applyTheme(ProgressBar.class);
   }
 
   /**
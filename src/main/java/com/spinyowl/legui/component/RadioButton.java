@@ -8,7 +8,6 @@ import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.event.MouseClickEvent;
 import com.spinyowl.legui.icon.CharIcon;
 import com.spinyowl.legui.icon.Icon;
-import com.spinyowl.legui.theme.Themes;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -127,7 +126,7 @@ public class RadioButton extends AbstractTextComponent {
     getListenerMap().addListener(MouseClickEvent.class, new RadioButtonClickEventListener());
     iconUnchecked.setHorizontalAlign(HorizontalAlign.LEFT);
     iconChecked.setHorizontalAlign(HorizontalAlign.LEFT);
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(RadioButton.class).applyAll(this);
+    applyTheme(RadioButton.class);
   }
 
   /**
@@ -1,8 +1,8 @@
 package com.spinyowl.legui.component;
 
 import com.spinyowl.legui.animation.Animation;
+import com.spinyowl.legui.animation.AnimatorProvider;
 import com.spinyowl.legui.component.event.scrollbar.ScrollBarChangeValueEvent;
-import com.spinyowl.legui.component.misc.animation.scrollbar.ScrollBarAnimation;
 import com.spinyowl.legui.component.misc.listener.scrollbar.ScrollBarMouseClickEventListener;
 import com.spinyowl.legui.component.misc.listener.scrollbar.ScrollBarMouseDragEventListener;
 import com.spinyowl.legui.component.misc.listener.scrollbar.ScrollBarScrollListener;
@@ -12,7 +12,7 @@ import com.spinyowl.legui.event.MouseDragEvent;
 import com.spinyowl.legui.event.ScrollEvent;
 import com.spinyowl.legui.listener.EventListener;
 import com.spinyowl.legui.style.color.ColorConstants;
-import com.spinyowl.legui.theme.Themes;
+import com.spinyowl.legui.system.context.Context;
 import java.util.List;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -89,6 +89,10 @@ public class ScrollBar extends Component {
    */
   private Viewport viewport;
   private Animation animation;
+  /**
+   * Shows if animation should be started by next layout.
+   */
+  private boolean animationStartRequired;
 
   /**
    * Default constructor. Used to create component instance without any parameters. <p> Also if you
@@ -169,10 +173,7 @@ public class ScrollBar extends Component {
     getListenerMap().addListener(MouseDragEvent.class, new ScrollBarMouseDragEventListener());
     getListenerMap().addListener(MouseClickEvent.class, new ScrollBarMouseClickEventListener());
 
-    animation = new ScrollBarAnimation(this);
-    animation.startAnimation();
-
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(ScrollBar.class).applyAll(this);
+    applyTheme(ScrollBar.class);
   }
 
   /**
@@ -435,7 +436,38 @@ public class ScrollBar extends Component {
   }
 
   /**
-   * Returns ScrollBarAnimation.
+   * Used to update visible amount of scroll bar according to viewport size and viewport view size.
+   * Called by layout manager for visible scroll bars. Also starts scroll bar animation on animator
+   * of context if animation was set.
+   *
+   * @param context context of frame.
+   */
+  public void updateVisibleAmount(Context context) {
+    if (animationStartRequired) {
+      animationStartRequired = false;
+      if (animation != null) {
+        animation.startAnimation(AnimatorProvider.getAnimator(context));
+      }
+    }
+    if (viewport == null) {
+      return;
+    }
+    Vector2f viewportSize = viewport.getViewportSize();
+    Vector2f viewportViewSize = viewport.getViewportViewSize();
+    if (viewportSize == null || viewportViewSize == null) {
+      return;
+    }
+
+    float range = maxValue - minValue;
+    boolean horizontal = Orientation.HORIZONTAL.equals(orientation);
+    float allSize = horizontal ? viewportViewSize.x : viewportViewSize.y;
+    float viewSize = horizontal ? viewportSize.x : viewportSize.y;
+
+    setVisibleAmount(allSize >= viewSize ? (range * viewSize / allSize) : range);
+  }
+
+  /**
+   * Returns scroll bar animation. Scroll bar has no animation by default.
    *
    * @return scroll bar animation.
    */
@@ -444,7 +476,8 @@ public class ScrollBar extends Component {
   }
 
   /**
-   * Used to set scroll bar animation. Automatically starts animation.
+   * Used to set scroll bar animation. Animation is started automatically on animator of context by
+   * next layout (see {@link #updateVisibleAmount(Context)}).
    *
    * @param animation scroll bar animation to set.
    */
@@ -453,9 +486,7 @@ public class ScrollBar extends Component {
       this.animation.stopAnimation();
     }
     this.animation = animation;
-    if (animation != null) {
-      this.animation.startAnimation();
-    }
+    this.animationStartRequired = animation != null;
   }
 
   @Override
@@ -3,6 +3,8 @@ package com.spinyowl.legui.component;
 import static com.spinyowl.legui.style.length.LengthType.pixel;
 
 import com.spinyowl.legui.animation.Animation;
+import com.spinyowl.legui.animation.AnimatorProvider;
+import com.spinyowl.legui.component.misc.animation.ViewportAnimation;
 import com.spinyowl.legui.component.misc.animation.scrollablepanel.ScrollablePanelAnimation;
 import com.spinyowl.legui.component.misc.listener.scrollablepanel.ScrollablePanelViewportScrollListener;
 import com.spinyowl.legui.component.optional.Orientation;
@@ -13,7 +15,7 @@ import com.spinyowl.legui.style.Style.DisplayType;
 import com.spinyowl.legui.style.color.ColorConstants;
 import com.spinyowl.legui.style.flex.FlexStyle.AlignItems;
 import com.spinyowl.legui.style.length.Unit;
-import com.spinyowl.legui.theme.Themes;
+import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.util.Utilites;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -90,7 +92,8 @@ public class ScrollablePanel extends Component implements Viewport {
   }
 
   /**
-   * Used to set scrollable panel animation. Automatically starts animation.
+   * Used to set scrollable panel animation. Animation is started by {@link
+   * #updateViewport(Context)} when container position should be changed.
    *
    * @param animation scroll bar animation to set.
    */
@@ -99,8 +102,20 @@ public class ScrollablePanel extends Component implements Viewport {
       this.animation.stopAnimation();
     }
     this.animation = animation;
-    if (animation != null) {
-      this.animation.startAnimation();
+  }
+
+  /**
+   * Used to start animation on animator of context if container position does not match scroll
+   * bars.
+   *
+   * @param context context of frame.
+   */
+  @Override
+  public void updateViewport(Context context) {
+    if (animation != null && !animation.isAnimationStarted()
+        && ViewportAnimation.isUpdateRequired(viewport, container, verticalScrollBar,
+        horizontalScrollBar)) {
+      animation.startAnimation(AnimatorProvider.getAnimator(context));
     }
   }
 
@@ -140,12 +155,8 @@ public class ScrollablePanel extends Component implements Viewport {
     autoRecalculateSize();
 
     animation = new ScrollablePanelAnimation(this);
-    animation.startAnimation();
 
-    Themes.getDefaultTheme()
-        .getThemeManager()
-        .getComponentTheme(ScrollablePanel.class)
-        .applyAll(this);
+    applyTheme(ScrollablePanel.class);
   }
 
   private void autoRecalculateSize() {
@@ -157,7 +168,7 @@ public class ScrollablePanel extends Component implements Viewport {
   public void recalculateSize() {
     Vector2f viewportSize = calculateViewportSize();
 
-    for (Component childComponent : container.getChildComponents()) {
+    for (Component childComponent : container.getChildComponentsSnapshot()) {
       float right = childComponent.getPosition().x + childComponent.getSize().x;
       float bottom = childComponent.getPosition().y + childComponent.getSize().y;
       if (right > viewportSize.x) {
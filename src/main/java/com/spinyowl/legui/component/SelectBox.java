@@ -2,8 +2,10 @@ package com.spinyowl.legui.component;
 
 import static com.spinyowl.legui.style.font.FontRegistry.MATERIAL_ICONS_REGULAR;
 
+import com.spinyowl.legui.animation.AnimatorProvider;
 import com.spinyowl.legui.component.event.selectbox.SelectBoxChangeSelectionEvent;
 import com.spinyowl.legui.component.event.selectbox.SelectBoxChangeSelectionEventListener;
+import com.spinyowl.legui.component.ListView.ListCell;
 import com.spinyowl.legui.component.misc.animation.selectbox.SelectBoxAnimation;
 import com.spinyowl.legui.component.misc.listener.selectbox.SelectBoxClickListener;
 import com.spinyowl.legui.component.misc.listener.selectbox.SelectBoxElementClickListener;
@@ -16,12 +18,14 @@ import com.spinyowl.legui.listener.EventListener;
 import com.spinyowl.legui.listener.FocusEventListener;
 import com.spinyowl.legui.listener.MouseClickEventListener;
 import com.spinyowl.legui.style.Style.DisplayType;
-import com.spinyowl.legui.style.Style.PositionType;
 import com.spinyowl.legui.style.color.ColorConstants;
-import com.spinyowl.legui.style.flex.FlexStyle.FlexDirection;
-import com.spinyowl.legui.theme.Themes;
+import com.spinyowl.legui.system.context.Context;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -33,6 +37,9 @@ import org.joml.Vector2f;
 
 /**
  * Creates drop-down list with select options.
+ * <p>
+ * Options are shown by virtualized {@link ListView}, so select box elements are created only for
+ * visible options.
  */
 public class SelectBox<T> extends Component {
 
@@ -49,7 +56,6 @@ public class SelectBox<T> extends Component {
   private Icon expandIcon;
   private Icon collapseIcon;
 
-  private List<SelectBoxElement<T>> selectBoxElements = new CopyOnWriteArrayList<>();
   private List<T> elements = new CopyOnWriteArrayList<>();
 
   private SelectBoxScrollablePanel selectionListPanel = new SelectBoxScrollablePanel();
@@ -63,6 +69,10 @@ public class SelectBox<T> extends Component {
   private Lock lock = new ReentrantLock(false);
 
   private SelectBoxLayer selectBoxLayer = new SelectBoxLayer();
+  /**
+   * Animation which places selection list near selectbox. Runs while selectbox is expanded.
+   */
+  private SelectBoxAnimation animation;
 
   /**
    * Default constructor. Used to create component instance without any parameters. <p> Also if you
@@ -138,10 +148,10 @@ public class SelectBox<T> extends Component {
    */
   private void initialize() {
     selectionListPanel.setHorizontalScrollBarVisible(false);
+    selectionListPanel.setCellHeight(elementHeight);
+    selectionListPanel.setCellFactory(listView -> createSelectBoxElement());
+    selectionListPanel.setItems(elements);
 
-    selectionListPanel.getContainer().getStyle().setDisplay(DisplayType.FLEX);
-    selectionListPanel.getContainer().getStyle().getFlexStyle()
-        .setFlexDirection(FlexDirection.COLUMN);
     selectionListPanel.getContainer().getStyle().getBackground()
         .setColor(ColorConstants.lightBlue());
 
@@ -173,17 +183,16 @@ public class SelectBox<T> extends Component {
     selectBoxLayer.getListenerMap().addListener(MouseClickEvent.class, mouseClickEventListener);
 
     FocusEventListener focusEventListener = new SelectBoxFocusListener<>(this);
-    selectionListPanel.getVerticalScrollBar().getListenerMap().getListeners(FocusEvent.class)
-        .add(focusEventListener);
-    selectionButton.getListenerMap().getListeners(FocusEvent.class).add(focusEventListener);
-    expandButton.getListenerMap().getListeners(FocusEvent.class).add(focusEventListener);
+    selectionListPanel.getVerticalScrollBar().getListenerMap()
+        .addListener(FocusEvent.class, focusEventListener);
+    selectionButton.getListenerMap().addListener(FocusEvent.class, focusEventListener);
+    expandButton.getListenerMap().addListener(FocusEvent.class, focusEventListener);
 
     selectBoxLayer.add(selectionListPanel);
 
-    SelectBoxAnimation animation = new SelectBoxAnimation(this, selectionListPanel);
-    animation.startAnimation();
+    animation = new SelectBoxAnimation(this, selectionListPanel);
 
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(SelectBox.class).applyAll(this);
+    applyTheme(SelectBox.class);
   }
 
   public Icon getCollapseIcon() {
@@ -248,14 +257,39 @@ public class SelectBox<T> extends Component {
   }
 
   /**
-   * Used to set selectbox to collapsed or expanded state.
+   * Used to set selectbox to collapsed or expanded state. Animation of expanded selectbox is
+   * started by next layout of selection list.
    *
    * @param collapsed collapsed state to set.
    */
   public void setCollapsed(boolean collapsed) {
+    setCollapsed(collapsed, null);
+  }
+
+  /**
+   * Used to set selectbox to collapsed or expanded state. Animation of expanded selectbox is
+   * started on animator of provided context.
+   *
+   * @param collapsed collapsed state to set.
+   * @param context   context of frame (if null animation is started by next layout of selection
+   *                  list).
+   */
+  public void setCollapsed(boolean collapsed, Context context) {
     this.collapsed = collapsed;
     if (!collapsed) {
       selectionListPanel.getVerticalScrollBar().setCurValue(0);
+      if (context != null) {
+        startAnimation(context);
+      }
+    }
+  }
+
+  /**
+   * Used to start animation of expanded selectbox on animator of context if it is not started.
+   */
+  private void startAnimation(Context context) {
+    if (!collapsed && animation != null && !animation.isAnimationStarted()) {
+      animation.startAnimation(AnimatorProvider.getAnimator(context));
     }
   }
 
@@ -264,9 +298,7 @@ public class SelectBox<T> extends Component {
    */
   private void resize() {
     updateIcons();
-    for (SelectBoxElement<T> selectBoxElement : selectBoxElements) {
-      selectBoxElement.getStyle().setMinimumSize(0, elementHeight);
-    }
+    selectionListPanel.setCellHeight(elementHeight);
   }
 
 
@@ -279,16 +311,11 @@ public class SelectBox<T> extends Component {
     lock.lock();
     try {
       if (!elements.contains(element)) {
-
-        SelectBoxElement<T> boxElement = createSelectBoxElement(element);
         if (elements.isEmpty()) {
           selectedElement = element;
           selectionButton.getTextState().setText(element == null ? NULL : element.toString());
         }
         elements.add(element);
-        selectBoxElements.add(boxElement);
-        selectionListPanel.getContainer().add(boxElement);
-        selectionListPanel.getContainer().getSize().y = selectBoxElements.size() * elementHeight;
       }
     } finally {
       lock.unlock();
@@ -296,18 +323,45 @@ public class SelectBox<T> extends Component {
   }
 
   /**
-   * Used to create {@link SelectBoxElement}.
+   * Used to add elements to selectbox. Elements which are already added are skipped.
+   * <p>
+   * Should be used to add many elements, because elements are checked and added at once.
    *
-   * @param element element.
-   * @return {@link SelectBoxElement} created on base of element.
-   */
-  private SelectBoxElement<T> createSelectBoxElement(T element) {
-    SelectBoxElement<T> boxElement = new SelectBoxElement<>(element, false);
-    boxElement.getStyle().setHeight(elementHeight);
-    boxElement.getStyle().setMinHeight(elementHeight);
-    boxElement.getStyle().setPosition(PositionType.RELATIVE);
-    boxElement.getListenerMap().getListeners(MouseClickEvent.class)
-        .add(new SelectBoxElementClickListener<>(this));
+   * @param elements elements to add.
+   */
+  public void addElements(Collection<? extends T> elements) {
+    lock.lock();
+    try {
+      Set<T> added = new HashSet<>(this.elements);
+      List<T> newElements = new ArrayList<>();
+      for (T element : elements) {
+        if (added.add(element)) {
+          newElements.add(element);
+        }
+      }
+      if (!newElements.isEmpty()) {
+        if (this.elements.isEmpty()) {
+          T element = newElements.get(0);
+          selectedElement = element;
+          selectionButton.getTextState().setText(element == null ? NULL : element.toString());
+        }
+        this.elements.addAll(newElements);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Used to create {@link SelectBoxElement}. Elements are reused by list view for different
+   * options.
+   *
+   * @return new {@link SelectBoxElement}.
+   */
+  private SelectBoxElement<T> createSelectBoxElement() {
+    SelectBoxElement<T> boxElement = new SelectBoxElement<>();
+    boxElement.getListenerMap()
+        .addListener(MouseClickEvent.class, new SelectBoxElementClickListener<>(this));
     return boxElement;
   }
 
@@ -339,14 +393,7 @@ public class SelectBox<T> extends Component {
     lock.lock();
     try {
       if (!elements.isEmpty()) {
-        T s = elements.get(index);
-        elements.remove(index);
-        SelectBoxElement<T> element = selectBoxElements.get(index);
-        selectBoxElements.remove(index);
-        selectionListPanel.getContainer().remove(element);
-        for (int i = index; i < selectBoxElements.size(); i++) {
-          selectBoxElements.get(i).getPosition().y -= elementHeight;
-        }
+        T s = elements.remove(index);
         if (selectedElement == s) {
           setSelected(0, true);
         }
@@ -386,24 +433,19 @@ public class SelectBox<T> extends Component {
   private void setSelected(T element, boolean selected, int index) {
     if (selected) {
       if (index != -1) {
-        SelectBoxElement<T> tSelectBoxElement = selectBoxElements.get(index);
-        tSelectBoxElement.selected = true;
-        int selectedIndex = elements.indexOf(selectedElement);
-        if (selectedIndex != -1) {
-          selectBoxElements.get(index).selected = false;
-        }
         selectedElement = element;
         selectionButton.getTextState().setText(element == null ? NULL : element.toString());
+        selectionListPanel.refresh();
       } else {
         addElement(element);
         setSelected(element, true);
       }
     } else {
       if (index != -1) {
-        selectBoxElements.get(index).selected = false;
         if (Objects.equals(element, selectedElement)) {
           selectionButton.getTextState().setText(NULL);
         }
+        selectionListPanel.refresh();
       } else {
         addElement(element);
       }
@@ -490,7 +532,6 @@ public class SelectBox<T> extends Component {
         .append(buttonWidth, selectBox.buttonWidth)
         .append(visibleCount, selectBox.visibleCount)
         .append(collapsed, selectBox.collapsed)
-        .append(selectBoxElements, selectBox.selectBoxElements)
         .append(elements, selectBox.elements)
         .append(selectionListPanel, selectBox.selectionListPanel)
         .append(selectionButton, selectBox.selectionButton)
@@ -500,11 +541,15 @@ public class SelectBox<T> extends Component {
   }
 
   /**
-   * Gets select box elements.
+   * Gets select box elements which are created for visible options.
    *
    * @return the select box elements
    */
   public List<SelectBoxElement<T>> getSelectBoxElements() {
+    List<SelectBoxElement<T>> selectBoxElements = new ArrayList<>();
+    for (ListCell<T> cell : selectionListPanel.getVisibleCells()) {
+      selectBoxElements.add((SelectBoxElement<T>) cell);
+    }
     return selectBoxElements;
   }
 
@@ -512,7 +557,6 @@ public class SelectBox<T> extends Component {
   public int hashCode() {
     return new HashCodeBuilder(17, 37)
         .appendSuper(super.hashCode())
-        .append(selectBoxElements)
         .append(elements)
         .append(selectionListPanel)
         .append(selectionButton)
@@ -542,24 +586,26 @@ public class SelectBox<T> extends Component {
   }
 
   /**
-   * Selectbox element which is subclass of button.
+   * Selectbox element which is subclass of button. Shows option of select box.
    */
-  public class SelectBoxElement<T> extends Button {
+  public class SelectBoxElement<T> extends ListCell<T> {
 
     private boolean selected;
-    private T object;
 
-    private SelectBoxElement(T object, boolean selected) {
-      super(object == null ? "null" : object.toString());
-      this.selected = selected;
-      this.object = object;
+    private SelectBoxElement() {
       this.getStyle().setBorder(null);
 
-      Themes.getDefaultTheme().apply(this);
+      applyTheme(getClass());
+    }
+
+    @Override
+    protected void updateItem(T item, int index) {
+      super.updateItem(item, index);
+      this.selected = Objects.equals(item, selectedElement);
     }
 
     public T getObject() {
-      return object;
+      return getItem();
     }
 
     /**
@@ -602,7 +648,7 @@ public class SelectBox<T> extends Component {
       return new EqualsBuilder()
           .appendSuper(super.equals(o))
           .append(selected, that.selected)
-          .append(object, that.object)
+          .append(getObject(), that.getObject())
           .isEquals();
     }
 
@@ -616,9 +662,19 @@ public class SelectBox<T> extends Component {
   }
 
   /**
-   * Scrollable panel of selectbox.
+   * Scrollable panel of selectbox. Virtualized list of options.
    */
-  public class SelectBoxScrollablePanel extends ScrollablePanel {
+  public class SelectBoxScrollablePanel extends ListView<T> {
 
+    /**
+     * Used to update list and to start animation of expanded selectbox if it is not started.
+     *
+     * @param context context of frame.
+     */
+    @Override
+    public void updateViewport(Context context) {
+      super.updateViewport(context);
+      startAnimation(context);
+    }
   }
 }
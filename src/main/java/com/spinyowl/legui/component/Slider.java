@@ -12,7 +12,6 @@ import com.spinyowl.legui.intersection.Intersector;
 import com.spinyowl.legui.intersection.RectangleIntersector;
 import com.spinyowl.legui.listener.EventListener;
 import com.spinyowl.legui.style.color.ColorConstants;
-import com.spinyowl.legui.theme.Themes;
 import java.util.List;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -153,7 +152,7 @@ public class Slider extends Component {
     getListenerMap().addListener(ScrollEvent.class, new SliderScrollEventListener());
     getListenerMap().addListener(MouseClickEvent.class, new SliderMouseClickEventListener());
     getListenerMap().addListener(MouseDragEvent.class, new SliderMouseDragEventListener());
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(Slider.class).applyAll(this);
+    applyTheme(Slider.class);
   }
 
   /**
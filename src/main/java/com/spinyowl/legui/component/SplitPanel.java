@@ -16,7 +16,6 @@ import com.spinyowl.legui.style.Style;
 import com.spinyowl.legui.style.color.ColorConstants;
 import com.spinyowl.legui.style.flex.FlexStyle;
 import com.spinyowl.legui.style.font.TextDirection;
-import com.spinyowl.legui.theme.Themes;
 import java.util.Objects;
 import org.joml.Vector2f;
 
@@ -78,7 +77,7 @@ public class SplitPanel extends Panel {
 
     resetStyle();
 
-    Themes.getDefaultTheme().applyAll(this);
+    applyTheme(getClass());
 
     topLeft.getStyle().getBackground().setColor(ColorConstants.lightGreen());
     bottomRight.getStyle().getBackground().setColor(ColorConstants.lightBlue());
@@ -4,7 +4,9 @@ import static com.spinyowl.legui.style.length.LengthType.pixel;
 import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
 
 import com.spinyowl.legui.animation.Animation;
+import com.spinyowl.legui.animation.AnimatorProvider;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldUpdateEvent;
+import com.spinyowl.legui.component.misc.animation.ViewportAnimation;
 import com.spinyowl.legui.component.misc.animation.textarea.TextAreaScrollAnimation;
 import com.spinyowl.legui.component.misc.listener.textarea.TextAreaFieldUpdateListener;
 import com.spinyowl.legui.component.misc.listener.textarea.TextAreaViewportScrollListener;
@@ -14,7 +16,7 @@ import com.spinyowl.legui.event.ScrollEvent;
 import com.spinyowl.legui.style.Style.DisplayType;
 import com.spinyowl.legui.style.color.ColorConstants;
 import com.spinyowl.legui.style.length.Unit;
-import com.spinyowl.legui.theme.Themes;
+import com.spinyowl.legui.system.context.Context;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -98,7 +100,8 @@ public class TextArea extends Component implements TextComponent, Viewport {
   }
 
   /**
-   * Used to set scrollable panel animation. Automatically starts animation.
+   * Used to set scrollable panel animation. Animation is started by {@link
+   * #updateViewport(Context)} when container position should be changed.
    *
    * @param animation scroll bar animation to set.
    */
@@ -107,8 +110,20 @@ public class TextArea extends Component implements TextComponent, Viewport {
       this.animation.stopAnimation();
     }
     this.animation = animation;
-    if (animation != null) {
-      this.animation.startAnimation();
+  }
+
+  /**
+   * Used to start animation on animator of context if container position does not match scroll
+   * bars.
+   *
+   * @param context context of frame.
+   */
+  @Override
+  public void updateViewport(Context context) {
+    if (animation != null && !animation.isAnimationStarted()
+        && ViewportAnimation.isUpdateRequired(viewport, textAreaField, verticalScrollBar,
+        horizontalScrollBar)) {
+      animation.startAnimation(AnimatorProvider.getAnimator(context));
     }
   }
 
@@ -138,7 +153,6 @@ public class TextArea extends Component implements TextComponent, Viewport {
     this.getStyle().getBackground().setColor(ColorConstants.transparent());
 
     animation = new TextAreaScrollAnimation(this);
-    animation.startAnimation();
 
     verticalScrollBar = new ScrollBar();
     verticalScrollBar.getStyle().setWidth(INITIAL_SCROLL_SIZE);
@@ -165,7 +179,7 @@ public class TextArea extends Component implements TextComponent, Viewport {
     textAreaField.getListenerMap()
         .addListener(TextAreaFieldUpdateEvent.class, new TextAreaFieldUpdateListener(this));
 
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(TextArea.class).applyAll(this);
+    applyTheme(TextArea.class);
   }
 
   /**
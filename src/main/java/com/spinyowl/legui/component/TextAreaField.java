@@ -15,7 +15,6 @@ import com.spinyowl.legui.event.KeyboardEvent;
 import com.spinyowl.legui.event.MouseClickEvent;
 import com.spinyowl.legui.event.MouseDragEvent;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
-import com.spinyowl.legui.theme.Themes;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -122,8 +121,7 @@ public class TextAreaField extends AbstractTextComponent {
     getListenerMap().addListener(KeyboardEvent.class, new TextAreaFieldKeyEventListener());
     getListenerMap().addListener(CharEvent.class, new TextAreaFieldCharEventListener());
 
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(TextAreaField.class)
-        .applyAll(this);
+    applyTheme(TextAreaField.class);
   }
 
   /**
@@ -15,7 +15,6 @@ import com.spinyowl.legui.event.KeyboardEvent;
 import com.spinyowl.legui.event.MouseClickEvent;
 import com.spinyowl.legui.event.MouseDragEvent;
 import com.spinyowl.legui.listener.EventListener;
-import com.spinyowl.legui.theme.Themes;
 import java.util.List;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -115,7 +114,7 @@ public class TextInput extends AbstractTextComponent {
     getListenerMap().addListener(MouseDragEvent.class, new TextInputDragEventListener());
     getListenerMap().addListener(CharEvent.class, new TextInputCharEventListener());
 
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(TextInput.class).applyAll(this);
+    applyTheme(TextInput.class);
   }
 
   /**
@@ -5,7 +5,6 @@ import com.spinyowl.legui.event.MouseClickEvent;
 import com.spinyowl.legui.icon.Icon;
 import com.spinyowl.legui.listener.MouseClickEventListener;
 import com.spinyowl.legui.style.color.ColorConstants;
-import com.spinyowl.legui.theme.Themes;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -88,7 +87,7 @@ public class ToggleButton extends Button {
     MouseClickEventListener toggleButtonClickListener = new ToggleButtonMouseClickListener();
     getListenerMap().addListener(MouseClickEvent.class, toggleButtonClickListener);
 
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(ToggleButton.class).applyAll(this);
+    applyTheme(ToggleButton.class);
   }
 
   /**
@@ -1,7 +1,6 @@
 package com.spinyowl.legui.component;
 
 import com.spinyowl.legui.component.optional.TextState;
-import com.spinyowl.legui.theme.Themes;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -36,7 +35,7 @@ public class Tooltip extends AbstractTextComponent {
   private void initialize(String text) {
     this.textState = new TextState(text);
 
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(Tooltip.class).applyAll(this);
+    applyTheme(Tooltip.class);
   }
 
   /**
@@ -1,5 +1,6 @@
 package com.spinyowl.legui.component;
 
+import com.spinyowl.legui.system.context.Context;
 import org.joml.Vector2f;
 
 
@@ -9,4 +10,15 @@ public interface Viewport {
 
   Vector2f getViewportViewSize();
 
+  /**
+   * Used to synchronize viewport content position with scroll bars. Called by layout manager after
+   * component and its child components are laid out, so implementation should be cheap and should
+   * change nothing if scroll values, viewport size and content size were not changed.
+   * Animations should be started on animator of provided context.
+   *
+   * @param context context of frame (could be null).
+   */
+  default void updateViewport(Context context) {
+    // nothing to update by default.
+  }
 }
@@ -21,7 +21,6 @@ import com.spinyowl.legui.style.flex.FlexStyle.FlexDirection;
 import com.spinyowl.legui.style.font.FontRegistry;
 import com.spinyowl.legui.style.length.Length;
 import com.spinyowl.legui.style.length.Unit;
-import com.spinyowl.legui.theme.Themes;
 import java.util.List;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -371,7 +370,7 @@ public class Widget extends Component {
     this.add(container);
     this.add(resizeButton);
 
-    Themes.getDefaultTheme().getThemeManager().getComponentTheme(Widget.class).applyAll(this);
+    applyTheme(Widget.class);
   }
 
   private void applyStylesToContainer(Component container) {
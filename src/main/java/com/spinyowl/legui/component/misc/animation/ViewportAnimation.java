@@ -6,6 +6,15 @@ import com.spinyowl.legui.component.ScrollBar;
 import java.lang.ref.WeakReference;
 import org.joml.Vector2f;
 
+/**
+ * Smooth scroll animation of viewport. Moves container of viewport to position defined by scroll
+ * bars and finishes when container reaches target position.
+ * <p>
+ * Animation is started by viewport component when container position does not match scroll bars,
+ * see {@link #isUpdateRequired(Component, Component, ScrollBar, ScrollBar)}.
+ *
+ * @param <T> viewport component type.
+ */
 public abstract class ViewportAnimation<T extends Component> extends Animation {
 
   private static final double DOUBLE_THRESHOLD = 0.001;
@@ -15,6 +24,8 @@ public abstract class ViewportAnimation<T extends Component> extends Animation {
 
   private double deltaT;
   private final Vector2f initialPosition = new Vector2f();
+  private final Vector2f position = new Vector2f();
+  private boolean finished;
 
   private final WeakReference<T> componentReference;
 
@@ -23,10 +34,41 @@ public abstract class ViewportAnimation<T extends Component> extends Animation {
     this.updateTime = updateTime;
   }
 
+  /**
+   * Returns true if container position does not match position defined by scroll bars and viewport
+   * animation should be started.
+   *
+   * @param viewport            viewport.
+   * @param container           container.
+   * @param verticalScrollBar   vertical scroll bar.
+   * @param horizontalScrollBar horizontal scroll bar.
+   * @return true if container should be moved.
+   */
+  public static boolean isUpdateRequired(
+      Component viewport,
+      Component container,
+      ScrollBar verticalScrollBar,
+      ScrollBar horizontalScrollBar) {
+    Vector2f containerPosition = container.getPosition();
+    float targetY = calculateTargetPosition(verticalScrollBar, viewport.getSize().y,
+        container.getSize().y);
+    float targetX = calculateTargetPosition(horizontalScrollBar, viewport.getSize().x,
+        container.getSize().x);
+    return Math.abs(targetX - containerPosition.x) >= DOUBLE_THRESHOLD
+        || Math.abs(targetY - containerPosition.y) >= DOUBLE_THRESHOLD;
+  }
+
   public WeakReference<T> getComponentReference() {
     return componentReference;
   }
 
+  @Override
+  protected void beforeAnimation() {
+    deltaSum = 0;
+    deltaT = 0;
+    finished = false;
+  }
+
   /**
    * This method used to update animated object. Called by animator every frame. Removed from
    * animator and stops when this method returns true. <p> Returns true if animation is finished and
@@ -38,15 +80,19 @@ public abstract class ViewportAnimation<T extends Component> extends Animation {
   @Override
   protected boolean animate(double delta) {
     T component = this.getComponentReference().get();
-    if (component != null) {
-      deltaSum += delta;
-      if (deltaSum >= 0.001d) {
-        updateViewport(component, deltaSum);
-        deltaSum = 0;
-      }
-      return false;
+    if (component == null) {
+      return true;
+    }
+    deltaSum += delta;
+    if (deltaSum >= 0.001d) {
+      updateViewport(component, deltaSum);
+      deltaSum = 0;
+    }
+    if (finished) {
+      finished = false;
+      return true;
     }
-    return true;
+    return false;
   }
 
   protected abstract void updateViewport(T component, double delta);
@@ -65,48 +111,46 @@ public abstract class ViewportAnimation<T extends Component> extends Animation {
     float cw = container.getSize().x;
     float targetX = calculateTargetPosition(horizontalScrollBar, vw, cw);
 
-    if (Math.abs(targetX - initialPosition.x) < DOUBLE_THRESHOLD
-        && Math.abs(targetY - initialPosition.y) < DOUBLE_THRESHOLD) {
+    Vector2f containerPosition = container.getPosition();
+    if (Math.abs(targetX - containerPosition.x) < DOUBLE_THRESHOLD
+        && Math.abs(targetY - containerPosition.y) < DOUBLE_THRESHOLD) {
       deltaT = 0;
-      initialPosition.set(container.getPosition());
+      finished = true;
       return;
     }
 
-    // else calculate target position and update it using
-
-    Vector2f targetPosition = new Vector2f(targetX, targetY);
-
-    Vector2f position;
     if (deltaT < updateTime) {
       if (deltaT == 0) {
-        initialPosition.set(container.getPosition());
+        initialPosition.set(containerPosition);
       }
       deltaT += delta;
 
-      double tt = deltaT / updateTime;
+      double tt = Math.min(deltaT / updateTime, 1);
       double modifier = easeInQuad(tt);
-      position =
-          new Vector2f(targetPosition)
-              .sub(initialPosition)
-              .mul((float) modifier)
-              .add(initialPosition);
+      position.set(targetX, targetY)
+          .sub(initialPosition)
+          .mul((float) modifier)
+          .add(initialPosition);
     } else {
-      position = new Vector2f(targetX, targetY);
-      initialPosition.set(position);
+      position.set(targetX, targetY);
+    }
+    if (deltaT >= updateTime) {
+      deltaT = 0;
+      finished = true;
     }
-    container.setPosition(position);
+    container.setPosition(position.x, position.y);
     container.getStyle().setLeft(position.x);
     container.getStyle().setTop(position.y);
   }
 
-  private float calculateTargetPosition(ScrollBar horizontalScrollBar, float vw, float cw) {
+  private static float calculateTargetPosition(ScrollBar scrollBar, float vw, float cw) {
     float targetX;
     if (vw > cw) {
       targetX = 0;
     } else {
-      float curValue = horizontalScrollBar.getCurValue();
-      float maxValue = horizontalScrollBar.getMaxValue();
-      float minValue = horizontalScrollBar.getMinValue();
+      float curValue = scrollBar.getCurValue();
+      float maxValue = scrollBar.getMaxValue();
+      float minValue = scrollBar.getMinValue();
       targetX = (vw - cw) * curValue / (maxValue - minValue);
     }
     return targetX;
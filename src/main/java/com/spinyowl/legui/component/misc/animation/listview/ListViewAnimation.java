@@ -0,0 +1,25 @@
+package com.spinyowl.legui.component.misc.animation.listview;
+
+import com.spinyowl.legui.component.ListView;
+import com.spinyowl.legui.component.ScrollablePanel;
+import com.spinyowl.legui.component.misc.animation.scrollablepanel.ScrollablePanelAnimation;
+
+/**
+ * List view animation. Updates container position in viewport and shows cells for visible items.
+ */
+public class ListViewAnimation extends ScrollablePanelAnimation {
+
+  public ListViewAnimation(ListView<?> listView, double updateTime) {
+    super(listView, updateTime);
+  }
+
+  public ListViewAnimation(ListView<?> listView) {
+    this(listView, 0.1d);
+  }
+
+  @Override
+  protected void updateViewport(ScrollablePanel scrollablePanel, double delta) {
+    super.updateViewport(scrollablePanel, delta);
+    ((ListView<?>) scrollablePanel).updateCells();
+  }
+}
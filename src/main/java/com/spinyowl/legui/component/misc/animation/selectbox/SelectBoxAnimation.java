@@ -7,6 +7,9 @@ import java.lang.ref.WeakReference;
 import org.joml.Vector2f;
 
 
+/**
+ * Used to place selection list of expanded selectbox. Finishes when selectbox is collapsed.
+ */
 public class SelectBoxAnimation extends Animation {
 
   private final WeakReference<SelectBox> selectBox;
@@ -19,6 +22,12 @@ public class SelectBoxAnimation extends Animation {
     this.selectionListPanel = new WeakReference<>(selectionListPanel);
   }
 
+  @Override
+  protected void beforeAnimation() {
+    // update position of selection list in first frame
+    deltaSum = 0.01d;
+  }
+
   /**
    * This method used to update animated object. Called by animator every frame. Removed from
    * animator and stops when this method returns true. <p> Returns true if animation is finished and
@@ -31,12 +40,9 @@ public class SelectBoxAnimation extends Animation {
   protected boolean animate(double delta) {
     SelectBox selectBox = this.selectBox.get();
     SelectBoxScrollablePanel selectionListPanel = this.selectionListPanel.get();
-    if (selectBox == null || selectionListPanel == null) {
+    if (selectBox == null || selectionListPanel == null || selectBox.isCollapsed()) {
       return true;
     }
-    if (selectBox.isCollapsed()) {
-      return false;
-    }
     deltaSum += delta;
 
     if (deltaSum < 0.01d) {
@@ -64,10 +70,6 @@ public class SelectBoxAnimation extends Animation {
 
     selectionListPanel.setSize(wsize);
     selectionListPanel.setPosition(wpos);
-    selectionListPanel.getContainer().getSize().y =
-        selectionListPanel.getContainer().count() * elementHeight;
-    selectionListPanel.getContainer().getSize().x =
-        size.x - selectionListPanel.getVerticalScrollBar().getSize().x;
 
     deltaSum = 0;
     return false;
@@ -41,8 +41,8 @@ public final class EventUtils {
     // if there is some viewport in current viewport we have to skip this event
     List<Component> targetList = SehUtil.getTargetComponentList(targetComponent, cursorPosition);
     for (Component component : targetList) {
-      if (!component.getListenerMap().getListeners(ScrollEvent.class).isEmpty()
-          && component != targetComponent) {
+      if (component != targetComponent
+          && component.getListenerMap().hasListeners(ScrollEvent.class)) {
         return true;
       }
     }
@@ -12,7 +12,7 @@ import org.lwjgl.glfw.GLFW;
 
 public class TabKeyEventListener implements EventListener<KeyEvent> {
 
-  private Comparator<? super Component> comparator = Comparator.comparingInt(
+  private final Comparator<? super Component> comparator = Comparator.comparingInt(
       (Component::getTabIndex));
 
   /**
@@ -7,7 +7,6 @@ import static com.spinyowl.legui.component.misc.listener.scrollbar.ScrollBarHelp
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.ScrollablePanel;
 import com.spinyowl.legui.event.ScrollEvent;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.ScrollEventListener;
 import org.joml.Vector2f;
 
@@ -21,7 +20,7 @@ public class ScrollablePanelViewportScrollListener implements ScrollEventListene
    */
   @Override
   public void process(ScrollEvent event) {
-    Vector2f cursorPosition = Mouse.getCursorPosition();
+    Vector2f cursorPosition = event.getContext().getMouseState().getCursorPosition();
     Component targetComponent = event.getTargetComponent();
 
     if (hasViewportsInAboveLayersUnderCursor(targetComponent, cursorPosition)) {
@@ -8,7 +8,6 @@ import com.spinyowl.legui.component.event.scrollbar.ScrollBarChangeValueEvent;
 import com.spinyowl.legui.component.optional.Orientation;
 import com.spinyowl.legui.event.Event;
 import com.spinyowl.legui.event.MouseClickEvent;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.MouseClickEventListener;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.system.context.Context;
@@ -34,7 +33,7 @@ public class ScrollBarMouseClickEventListener implements MouseClickEventListener
     }
 
     Vector2f pos = scrollBar.getAbsolutePosition();
-    Vector2f cursorPosition = Mouse.getCursorPosition();
+    Vector2f cursorPosition = event.getContext().getMouseState().getCursorPosition();
 
     float visibleAmount = scrollBar.getVisibleAmount();
     boolean vertical = Orientation.VERTICAL.equals(scrollBar.getOrientation());
@@ -6,7 +6,6 @@ import com.spinyowl.legui.component.ScrollBar;
 import com.spinyowl.legui.component.event.scrollbar.ScrollBarChangeValueEvent;
 import com.spinyowl.legui.component.optional.Orientation;
 import com.spinyowl.legui.event.MouseDragEvent;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.MouseDragEventListener;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import org.joml.Vector2f;
@@ -23,12 +22,12 @@ public class ScrollBarMouseDragEventListener implements MouseDragEventListener {
     if (!scrollBar.isScrolling()) {
       return;
     }
-    if (!MOUSE_BUTTON_LEFT.isPressed()) {
+    if (!event.getContext().getMouseState().isPressed(MOUSE_BUTTON_LEFT)) {
       return;
     }
 
     Vector2f pos = scrollBar.getAbsolutePosition();
-    Vector2f cursorPosition = Mouse.getCursorPosition();
+    Vector2f cursorPosition = event.getContext().getMouseState().getCursorPosition();
 
     float visibleAmount = scrollBar.getVisibleAmount();
     boolean vertical = Orientation.VERTICAL.equals(scrollBar.getOrientation());
@@ -7,7 +7,6 @@ import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.ScrollBar;
 import com.spinyowl.legui.component.event.scrollbar.ScrollBarChangeValueEvent;
 import com.spinyowl.legui.event.ScrollEvent;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.ScrollEventListener;
 import org.joml.Vector2f;
 
@@ -18,7 +17,7 @@ import org.joml.Vector2f;
 public class ScrollBarScrollListener implements ScrollEventListener {
 
   public void process(ScrollEvent event) {
-    Vector2f cursorPosition = Mouse.getCursorPosition();
+    Vector2f cursorPosition = event.getContext().getMouseState().getCursorPosition();
     Component targetComponent = event.getTargetComponent();
     if (hasViewportsInAboveLayersUnderCursor(targetComponent, cursorPosition)) {
       return;
@@ -28,7 +28,7 @@ public class SelectBoxClickListener<T> implements MouseClickEventListener {
       Frame frame = event.getFrame();
       SelectBox.SelectBoxLayer selectBoxLayer = box.getSelectBoxLayer();
       boolean collapsed = box.isCollapsed();
-      box.setCollapsed(!collapsed);
+      box.setCollapsed(!collapsed, event.getContext());
       if (collapsed) {
         Vector2f layerSize = new Vector2f(frame.getContainer().getSize());
         selectBoxLayer.setSize(layerSize);
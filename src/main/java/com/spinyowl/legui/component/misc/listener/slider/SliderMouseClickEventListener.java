@@ -6,6 +6,7 @@ import com.spinyowl.legui.event.MouseClickEvent;
 import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.MouseClickEventListener;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import org.joml.Vector2f;
 
 /**
  * Slider mouse click event listener. Used to change slider value. Generates slider value change
@@ -21,7 +22,8 @@ public class SliderMouseClickEventListener implements MouseClickEventListener {
     }
     Slider slider = (Slider) event.getTargetComponent();
     // calculate new value
-    float value = SliderHelper.determineSliderValue(slider, Mouse.getCursorPosition());
+    Vector2f cursorPosition = event.getContext().getMouseState().getCursorPosition();
+    float value = SliderHelper.determineSliderValue(slider, cursorPosition);
     // set value & push event
     float oldValue = slider.getValue();
     slider.setValue(value);
@@ -1,11 +1,13 @@
 package com.spinyowl.legui.component.misc.listener.slider;
 
+import static com.spinyowl.legui.input.Mouse.MouseButton.MOUSE_BUTTON_LEFT;
+
 import com.spinyowl.legui.component.Slider;
 import com.spinyowl.legui.component.event.slider.SliderChangeValueEvent;
 import com.spinyowl.legui.event.MouseDragEvent;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.MouseDragEventListener;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import org.joml.Vector2f;
 
 /**
  * Slider mouse drag event listener. Used to change slider value. Generates slider value change
@@ -16,11 +18,12 @@ public class SliderMouseDragEventListener implements MouseDragEventListener {
   @Override
   public void process(MouseDragEvent event) {
     Slider slider = (Slider) event.getTargetComponent();
-    if (!Mouse.MouseButton.MOUSE_BUTTON_LEFT.isPressed()) {
+    if (!event.getContext().getMouseState().isPressed(MOUSE_BUTTON_LEFT)) {
       return;
     }
     // calculate new value
-    float value = SliderHelper.determineSliderValue(slider, Mouse.getCursorPosition());
+    Vector2f cursorPosition = event.getContext().getMouseState().getCursorPosition();
+    float value = SliderHelper.determineSliderValue(slider, cursorPosition);
     // set value & push event
     float oldValue = slider.getValue();
     slider.setValue(value);
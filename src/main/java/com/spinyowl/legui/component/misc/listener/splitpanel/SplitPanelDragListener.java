@@ -5,7 +5,6 @@ import static com.spinyowl.legui.component.optional.Orientation.HORIZONTAL;
 import com.spinyowl.legui.component.SplitPanel;
 import com.spinyowl.legui.component.optional.Orientation;
 import com.spinyowl.legui.event.MouseDragEvent;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.MouseDragEventListener;
 import org.joml.Vector2f;
 
@@ -27,23 +26,24 @@ public class SplitPanelDragListener implements MouseDragEventListener {
     Orientation orientation = splitPanel.getOrientation();
     float ratio = splitPanel.getRatio();
     Vector2f delta = event.getDelta();
+    Vector2f cursorPosition = event.getContext().getMouseState().getCursorPosition();
     float d;
     if (orientation == HORIZONTAL) {
       d = delta.x;
-      if (d > 0 && splitPanel.getPosition().x > Mouse.getCursorPosition().x) {
+      if (d > 0 && splitPanel.getPosition().x > cursorPosition.x) {
         return;
       }
       if (d < 0
-          && splitPanel.getPosition().x + splitPanel.getSize().x < Mouse.getCursorPosition().x) {
+          && splitPanel.getPosition().x + splitPanel.getSize().x < cursorPosition.x) {
         return;
       }
     } else {
       d = delta.y;
-      if (d > 0 && splitPanel.getPosition().y > Mouse.getCursorPosition().y) {
+      if (d > 0 && splitPanel.getPosition().y > cursorPosition.y) {
         return;
       }
       if (d < 0
-          && splitPanel.getPosition().y + splitPanel.getSize().y < Mouse.getCursorPosition().y) {
+          && splitPanel.getPosition().y + splitPanel.getSize().y < cursorPosition.y) {
         return;
       }
     }
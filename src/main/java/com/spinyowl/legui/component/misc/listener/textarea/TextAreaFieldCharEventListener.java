@@ -4,6 +4,7 @@ import static com.spinyowl.legui.input.Mouse.MouseButton.MOUSE_BUTTON_LEFT;
 import static com.spinyowl.legui.util.TextUtil.cpToStr;
 
 import com.spinyowl.legui.component.TextAreaField;
+import com.spinyowl.legui.component.event.textarea.TextAreaFieldContentChangeEvent;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldUpdateEvent;
 import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.event.CharEvent;
@@ -23,9 +24,15 @@ public class TextAreaFieldCharEventListener implements CharEventListener {
   @Override
   public void process(CharEvent event) {
     TextAreaField textAreaField = (TextAreaField) event.getTargetComponent();
-    if (textAreaField.isFocused() && textAreaField.isEditable() && !MOUSE_BUTTON_LEFT.isPressed()) {
+    if (textAreaField.isFocused() && textAreaField.isEditable()
+        && !event.getContext().getMouseState().isPressed(MOUSE_BUTTON_LEFT)) {
       String str = cpToStr(event.getCodepoint());
       TextState textState = textAreaField.getTextState();
+      // text is copied only if somebody listens to content changes.
+      boolean notifyChange = textAreaField.getListenerMap()
+          .hasListeners(TextAreaFieldContentChangeEvent.class);
+      String oldText = notifyChange ? textState.getText() : null;
+      long oldVersion = textState.getVersion();
       int start = textAreaField.getStartSelectionIndex();
       int end = textAreaField.getEndSelectionIndex();
       if (start > end) {
@@ -33,22 +40,23 @@ public class TextAreaFieldCharEventListener implements CharEventListener {
         end = textAreaField.getStartSelectionIndex();
       }
       if (start != end) {
-        StringBuilder builder = new StringBuilder(textState.getText());
-        builder.delete(start, end);
-        textState.setText(builder.toString());
+        textState.delete(start, end);
         textAreaField.setCaretPosition(start);
         textAreaField.setStartSelectionIndex(start);
         textAreaField.setEndSelectionIndex(start);
       }
       int caretPosition = textAreaField.getCaretPosition();
-      StringBuilder builder = new StringBuilder(textState.getText());
-      builder.insert(caretPosition, str);
-      textState.setText(builder.toString());
+      textState.insert(caretPosition, str);
       int newCaretPosition = caretPosition + str.length();
       textAreaField.setCaretPosition(newCaretPosition);
       textAreaField.setEndSelectionIndex(newCaretPosition);
       textAreaField.setStartSelectionIndex(newCaretPosition);
 
+      if (notifyChange && oldVersion != textState.getVersion()) {
+        EventProcessorProvider.getInstance().pushEvent(
+            new TextAreaFieldContentChangeEvent<>(textAreaField, event.getContext(),
+                event.getFrame(), oldText, textState.getText()));
+      }
       EventProcessorProvider.getInstance().pushEvent(
           new TextAreaFieldUpdateEvent(textAreaField, event.getContext(), event.getFrame()));
     }
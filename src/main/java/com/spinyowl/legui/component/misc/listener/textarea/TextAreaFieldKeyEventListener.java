@@ -41,26 +41,38 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     TextAreaField textAreaField = (TextAreaField) event.getTargetComponent();
     boolean pressed = event.getAction() != KeyAction.RELEASE;
 
-    String oldText = textAreaField.getTextState().getText();
-
     if (!pressed) {
       EventProcessorProvider.getInstance().pushEvent(
           new TextAreaFieldUpdateEvent(textAreaField, event.getContext(), event.getFrame()));
       return;
     }
 
+    TextState textState = textAreaField.getTextState();
+    // text is copied only for keys which could change it and only if somebody listens to
+    // content changes, otherwise changes are detected by text version.
+    boolean notifyChange = isEditKey(keyCode) && textAreaField.getListenerMap()
+        .hasListeners(TextAreaFieldContentChangeEvent.class);
+    String oldText = notifyChange ? textState.getText() : null;
+    long oldVersion = textState.getVersion();
+
     processKey(textAreaField, event);
-    String newText = textAreaField.getTextState().getText();
-    if (!oldText.equals(newText)) {
+    if (notifyChange && oldVersion != textState.getVersion()) {
       EventProcessorProvider.getInstance().pushEvent(
-          new TextAreaFieldContentChangeEvent<>(
-              (TextAreaField) event.getTargetComponent(),
-              event.getContext(), event.getFrame(), oldText, newText));
+          new TextAreaFieldContentChangeEvent<>(textAreaField, event.getContext(),
+              event.getFrame(), oldText, textState.getText()));
     }
     EventProcessorProvider.getInstance().pushEvent(
         new TextAreaFieldUpdateEvent(textAreaField, event.getContext(), event.getFrame()));
   }
 
+  private boolean isEditKey(KeyCode key) {
+    return key == KeyCode.ENTER
+        || key == KeyCode.NUMPAD_ENTER
+        || key == KeyCode.BACKSPACE
+        || key == KeyCode.DELETE
+        || key == KeyCode.TAB;
+  }
+
   private void processKey(TextAreaField textAreaField, KeyboardEvent<?> event) {
     KeyCode key = event.getKey().getKeyCode();
     Set<KeyMod> mods = event.getMods();
@@ -99,10 +111,7 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     }
     if (textAreaField.isEditable()) {
       int oldCPos = textAreaField.getCaretPosition();
-      TextState textState = textAreaField.getTextState();
-      StringBuilder t = new StringBuilder(textState.getText());
-      t.insert(oldCPos, "\t");
-      textState.setText(t.toString());
+      textAreaField.getTextState().insert(oldCPos, "\t");
       int caretPosition = oldCPos + 1;
       textAreaField.setCaretPosition(caretPosition);
       textAreaField.setStartSelectionIndex(caretPosition);
@@ -128,25 +137,19 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
       }
       if (start == end && caretPosition != textState.length()) {
         if (mods.contains(KeyMod.CONTROL)) {
-          end = findNextWord(textState.getText(), caretPosition);
-          StringBuilder builder = new StringBuilder(textState.getText());
-          builder.delete(start, end);
-          textState.setText(builder.toString());
+          end = findNextWord(textState.getTextSequence(), caretPosition);
+          textState.delete(start, end);
           gui.setCaretPosition(start);
           gui.setStartSelectionIndex(start);
           gui.setEndSelectionIndex(start);
         } else {
-          StringBuilder builder = new StringBuilder(textState.getText());
-          builder.deleteCharAt(caretPosition);
-          textState.setText(builder.toString());
+          textState.delete(caretPosition, caretPosition + 1);
           gui.setCaretPosition(caretPosition);
           gui.setStartSelectionIndex(caretPosition);
           gui.setEndSelectionIndex(caretPosition);
         }
       } else {
-        StringBuilder builder = new StringBuilder(textState.getText());
-        builder.delete(start, end);
-        textState.setText(builder.toString());
+        textState.delete(start, end);
         gui.setCaretPosition(start);
         gui.setStartSelectionIndex(start);
         gui.setEndSelectionIndex(start);
@@ -172,26 +175,20 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
       }
       if (start == end && caretPosition != 0) {
         if (mods.contains(KeyMod.CONTROL)) {
-          start = findPrevWord(textState.getText(), caretPosition);
-          StringBuilder builder = new StringBuilder(textState.getText());
-          builder.delete(start, end);
-          textState.setText(builder.toString());
+          start = findPrevWord(textState.getTextSequence(), caretPosition);
+          textState.delete(start, end);
           gui.setCaretPosition(start);
           gui.setStartSelectionIndex(start);
           gui.setEndSelectionIndex(start);
         } else {
           int newCaretPosition = caretPosition - 1;
-          StringBuilder builder = new StringBuilder(textState.getText());
-          builder.deleteCharAt(newCaretPosition);
-          textState.setText(builder.toString());
+          textState.delete(newCaretPosition, caretPosition);
           gui.setCaretPosition(newCaretPosition);
           gui.setStartSelectionIndex(newCaretPosition);
           gui.setEndSelectionIndex(newCaretPosition);
         }
       } else {
-        StringBuilder builder = new StringBuilder(textState.getText());
-        builder.delete(start, end);
-        textState.setText(builder.toString());
+        textState.delete(start, end);
         gui.setCaretPosition(start);
         gui.setStartSelectionIndex(start);
         gui.setEndSelectionIndex(start);
@@ -209,7 +206,6 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
       int start = gui.getStartSelectionIndex();
       int end = gui.getEndSelectionIndex();
       TextState textState = gui.getTextState();
-      StringBuilder builder = new StringBuilder(textState.getText());
       int caretPosition = gui.getCaretPosition();
 
       if (start != end) {
@@ -218,13 +214,11 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
           end = gui.getStartSelectionIndex();
         }
 
-        builder.delete(start, end);
-        textState.setText(builder.toString());
+        textState.delete(start, end);
         caretPosition = start;
       }
 
-      builder.insert(caretPosition, "\n");
-      textState.setText(builder.toString());
+      textState.insert(caretPosition, "\n");
 
       int newCaretPosition = caretPosition + 1;
 
@@ -238,17 +232,11 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     TextState textState = gui.getTextState();
     int caretPosition = gui.getCaretPosition();
 
-    String text = textState.getText();
-    String[] lines = text.split("\n", -1);
-    LineData currentLine = getStartLineIndexAndLineNumber(lines, caretPosition);
-    int cl = lines[currentLine.lineIndex].length();
-    int delta = cl - currentLine.caretPositionInLine;
-
     int newCaretPosition;
     if (mods.contains(KeyMod.CONTROL)) {
-      newCaretPosition = text.length();
+      newCaretPosition = textState.length();
     } else {
-      newCaretPosition = caretPosition + delta;
+      newCaretPosition = textState.getLineEnd(textState.getLineIndex(caretPosition));
     }
 
     updateIndices(gui, mods, newCaretPosition);
@@ -257,15 +245,12 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
   private void keyHomeAction(TextAreaField gui, Set<KeyMod> mods) {
     TextState textState = gui.getTextState();
     int caretPosition = gui.getCaretPosition();
-    String text = textState.getText();
-    String[] lines = text.split("\n", -1);
-    LineData some = getStartLineIndexAndLineNumber(lines, caretPosition);
 
     int newCaretPosition;
     if (mods.contains(KeyMod.CONTROL)) {
       newCaretPosition = 0;
     } else {
-      newCaretPosition = caretPosition - some.caretPositionInLine;
+      newCaretPosition = textState.getLineStart(textState.getLineIndex(caretPosition));
     }
 
     updateIndices(gui, mods, newCaretPosition);
@@ -275,21 +260,16 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     TextState textState = gui.getTextState();
     int caretPosition = gui.getCaretPosition();
     if (caretPosition < textState.length()) {
-      String text = textState.getText();
-      String[] lines = text.split("\n", -1);
-      LineData some = getStartLineIndexAndLineNumber(lines, caretPosition);
+      int lineIndex = textState.getLineIndex(caretPosition);
 
       int newCaretPosition;
-      if (some.lineIndex < lines.length - 1) {
-        int nl = lines[some.lineIndex + 1].length() + 1;
-        int cl = lines[some.lineIndex].length() + 1;
-        if (some.caretPositionInLine >= nl - 1) {
-          newCaretPosition = caretPosition + nl + cl - 1 - some.caretPositionInLine;
-        } else {
-          newCaretPosition = caretPosition + cl;
-        }
+      if (lineIndex < textState.getLineCount() - 1) {
+        int caretPositionInLine = caretPosition - textState.getLineStart(lineIndex);
+        int nextLineStart = textState.getLineStart(lineIndex + 1);
+        int nextLineLength = textState.getLineEnd(lineIndex + 1) - nextLineStart;
+        newCaretPosition = nextLineStart + Math.min(caretPositionInLine, nextLineLength);
       } else {
-        newCaretPosition = text.length();
+        newCaretPosition = textState.length();
       }
 
       updateIndices(gui, mods, newCaretPosition);
@@ -300,16 +280,14 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     int caretPosition = gui.getCaretPosition();
     if (caretPosition > 0) {
       TextState textState = gui.getTextState();
-      String text = textState.getText();
-      String[] lines = text.split("\n", -1);
-      LineData some = getStartLineIndexAndLineNumber(lines, caretPosition);
+      int lineIndex = textState.getLineIndex(caretPosition);
 
       int newCaretPosition;
-      if (some.lineIndex > 0) {
-        int nl = lines[some.lineIndex - 1].length() + 1;
-        newCaretPosition =
-            caretPosition - (some.caretPositionInLine >= nl - 1 ? some.caretPositionInLine + 1
-                : nl);
+      if (lineIndex > 0) {
+        int caretPositionInLine = caretPosition - textState.getLineStart(lineIndex);
+        int prevLineStart = textState.getLineStart(lineIndex - 1);
+        int prevLineLength = textState.getLineEnd(lineIndex - 1) - prevLineStart;
+        newCaretPosition = prevLineStart + Math.min(caretPositionInLine, prevLineLength);
       } else {
         newCaretPosition = 0;
       }
@@ -324,7 +302,7 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
 
     int newCaretPosition;
     if (mods.contains(KeyMod.CONTROL)) {
-      newCaretPosition = findNextWord(gui.getTextState().getText(), caretPosition);
+      newCaretPosition = findNextWord(gui.getTextState().getTextSequence(), caretPosition);
     } else {
       newCaretPosition = caretPosition + 1;
       // reset if out of bounds
@@ -341,7 +319,7 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
 
     int newCaretPosition;
     if (mods.contains(KeyMod.CONTROL)) {
-      newCaretPosition = findPrevWord(gui.getTextState().getText(), caretPosition);
+      newCaretPosition = findPrevWord(gui.getTextState().getTextSequence(), caretPosition);
     } else {
       newCaretPosition = caretPosition - 1;
       // reset if out of bounds.
@@ -361,29 +339,4 @@ public class TextAreaFieldKeyEventListener implements EventListener<KeyboardEven
     gui.setEndSelectionIndex(newCaretPosition);
     gui.setCaretPosition(newCaretPosition);
   }
-
-  private LineData getStartLineIndexAndLineNumber(String[] lines, int caretPosition) {
-    int caretLine = 0;
-    int caretOffset = 0;
-    for (String line : lines) {
-      int newOffset = caretOffset + line.length();
-      if (newOffset >= caretPosition) {
-        break;
-      }
-      caretLine++;
-      caretOffset = newOffset + 1;
-    }
-    return new LineData(caretPosition - caretOffset, caretLine);
-  }
-
-  private static class LineData {
-
-    private final int caretPositionInLine;
-    private final int lineIndex;
-
-    private LineData(int caretPositionInLine, int lineIndex) {
-      this.caretPositionInLine = caretPositionInLine;
-      this.lineIndex = lineIndex;
-    }
-  }
 }
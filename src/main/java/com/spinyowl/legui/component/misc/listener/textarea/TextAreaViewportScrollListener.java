@@ -7,7 +7,6 @@ import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.ScrollablePanel;
 import com.spinyowl.legui.component.TextArea;
 import com.spinyowl.legui.event.ScrollEvent;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.ScrollEventListener;
 import com.spinyowl.legui.system.handler.SehUtil;
 import java.util.ArrayList;
@@ -24,7 +23,7 @@ public class TextAreaViewportScrollListener implements ScrollEventListener {
    */
   @Override
   public void process(ScrollEvent event) {
-    Vector2f cursorPosition = Mouse.getCursorPosition();
+    Vector2f cursorPosition = event.getContext().getMouseState().getCursorPosition();
     Component targetComponent = event.getTargetComponent();
 
     if (hasViewportsInAboveLayersUnderCursor(targetComponent, cursorPosition)) {
@@ -32,8 +31,8 @@ public class TextAreaViewportScrollListener implements ScrollEventListener {
     }
 
     ArrayList<Component> targetList = new ArrayList<>();
-    SehUtil.recursiveTargetComponentListSearch(Mouse.getCursorPosition(),
-        event.getTargetComponent(), targetList);
+    SehUtil.recursiveTargetComponentListSearch(cursorPosition, event.getTargetComponent(),
+        targetList);
     for (Component component : targetList) {
       if ((component instanceof TextArea) || (component instanceof ScrollablePanel)) {
         return;
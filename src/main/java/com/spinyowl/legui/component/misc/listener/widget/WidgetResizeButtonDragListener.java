@@ -6,7 +6,6 @@ import com.spinyowl.legui.component.Button;
 import com.spinyowl.legui.component.Widget;
 import com.spinyowl.legui.component.event.component.ChangeSizeEvent;
 import com.spinyowl.legui.event.MouseDragEvent;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.MouseDragEventListener;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.style.length.Length;
@@ -34,8 +33,8 @@ public class WidgetResizeButtonDragListener implements MouseDragEventListener {
   public void process(MouseDragEvent event) {
     Vector2f delta = event.getDelta();
 
-    Vector2f cursorPositionPrev = Mouse.getCursorPositionPrev();
-    Vector2f cursorPosition = Mouse.getCursorPosition();
+    Vector2f cursorPositionPrev = event.getContext().getMouseState().getCursorPositionPrev();
+    Vector2f cursorPosition = event.getContext().getMouseState().getCursorPosition();
 
     float xx = widget.getSize().x + delta.x;
     float yy = widget.getSize().y + delta.y;
@@ -54,10 +53,11 @@ public class WidgetResizeButtonDragListener implements MouseDragEventListener {
     Length maxWidthU = widget.getStyle().getMaxWidth();
     Length maxHeightU = widget.getStyle().getMaxHeight();
 
-    Float minWidth = StyleUtilities.getFloatLength(minWidthU, widget.getParent().getSize().x);
-    Float minHeight = StyleUtilities.getFloatLength(minHeightU, widget.getParent().getSize().y);
-    Float maxWidth = StyleUtilities.getFloatLength(maxWidthU, widget.getParent().getSize().x);
-    Float maxHeight = StyleUtilities.getFloatLength(maxHeightU, widget.getParent().getSize().y);
+    Vector2f parentSize = widget.getParent().getSize();
+    float minWidth = StyleUtilities.getFloatLength(minWidthU, parentSize.x, 0);
+    float minHeight = StyleUtilities.getFloatLength(minHeightU, parentSize.y, 0);
+    float maxWidth = StyleUtilities.getFloatLength(maxWidthU, parentSize.x, Float.MAX_VALUE);
+    float maxHeight = StyleUtilities.getFloatLength(maxHeightU, parentSize.y, Float.MAX_VALUE);
 
     if (
         (
@@ -69,7 +69,7 @@ public class WidgetResizeButtonDragListener implements MouseDragEventListener {
             (delta.x > 0 && (cursorPositionPrev.x >= resizeButton.getAbsolutePosition().x
                 || cursorPosition.x >= resizeButton.getAbsolutePosition().x)))
     ) {
-      if (xx >= minWidth && (maxWidth == null || xx <= maxWidth)) {
+      if (xx >= minWidth && xx <= maxWidth) {
         deltaSize.x = delta.x;
       }
     }
@@ -83,7 +83,7 @@ public class WidgetResizeButtonDragListener implements MouseDragEventListener {
             (delta.y > 0 && (cursorPositionPrev.y >= resizeButton.getAbsolutePosition().y
                 || cursorPosition.y >= resizeButton.getAbsolutePosition().y)))
     ) {
-      if (yy >= minHeight && (maxHeight == null || yy <= maxHeight)) {
+      if (yy >= minHeight && yy <= maxHeight) {
         deltaSize.y = delta.y;
       }
     }
@@ -0,0 +1,151 @@
+package com.spinyowl.legui.component.optional;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Pixel widths of text lines measured by renderer. Owned by {@link TextState} which marks edited
+ * lines as not measured, so renderer measures only changed lines instead of whole text.
+ * <p>
+ * Widths depend on font parameters, so renderer should call {@link #validate(Object)} with key of
+ * current font parameters (for example font name and size) before reading widths.
+ */
+public final class LineWidthCache {
+
+  private float[] widths;
+  private int lineCount;
+  /**
+   * Number of lines which are not measured.
+   */
+  private int unknown;
+  private float maxWidth;
+  private boolean maxWidthValid;
+  private Object key;
+
+  LineWidthCache(int lineCount) {
+    this.widths = new float[Math.max(lineCount, 16)];
+    this.lineCount = lineCount;
+    Arrays.fill(widths, 0, lineCount, Float.NaN);
+    this.unknown = lineCount;
+  }
+
+  /**
+   * Used to check font parameters used to measure lines. If key is changed all lines are marked as
+   * not measured.
+   *
+   * @param key key of font parameters.
+   */
+  public void validate(Object key) {
+    if (!Objects.equals(this.key, key)) {
+      this.key = key;
+      Arrays.fill(widths, 0, lineCount, Float.NaN);
+      unknown = lineCount;
+      maxWidthValid = false;
+    }
+  }
+
+  /**
+   * Returns index of first not measured line starting from provided line or -1 if all lines are
+   * measured.
+   *
+   * @param from line to start search from.
+   * @return index of not measured line or -1.
+   */
+  public int nextUnknown(int from) {
+    if (unknown == 0) {
+      return -1;
+    }
+    for (int i = Math.max(from, 0); i < lineCount; i++) {
+      if (Float.isNaN(widths[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns width of line or {@link Float#NaN} if line is not measured.
+   *
+   * @param line line index.
+   * @return line width.
+   */
+  public float get(int line) {
+    return widths[line];
+  }
+
+  /**
+   * Used to set measured width of line.
+   *
+   * @param line  line index.
+   * @param width line width.
+   */
+  public void set(int line, float width) {
+    float old = widths[line];
+    if (Float.isNaN(old)) {
+      unknown--;
+    }
+    widths[line] = width;
+    if (maxWidthValid) {
+      if (width >= maxWidth) {
+        maxWidth = width;
+      } else if (old == maxWidth) {
+        maxWidthValid = false;
+      }
+    }
+  }
+
+  /**
+   * Returns maximum width of measured lines.
+   *
+   * @return maximum line width.
+   */
+  public float getMaxWidth() {
+    if (!maxWidthValid) {
+      float max = 0;
+      for (int i = 0; i < lineCount; i++) {
+        if (widths[i] > max) {
+          max = widths[i];
+        }
+      }
+      maxWidth = max;
+      maxWidthValid = true;
+    }
+    return maxWidth;
+  }
+
+  /**
+   * Returns number of lines.
+   *
+   * @return number of lines.
+   */
+  public int getLineCount() {
+    return lineCount;
+  }
+
+  /**
+   * Used to replace lines with not measured lines.
+   *
+   * @param first    first replaced line.
+   * @param removed  number of replaced lines.
+   * @param inserted number of new lines.
+   */
+  void replace(int first, int removed, int inserted) {
+    for (int i = first; i < first + removed; i++) {
+      float width = widths[i];
+      if (Float.isNaN(width)) {
+        unknown--;
+      } else if (maxWidthValid && width == maxWidth) {
+        maxWidthValid = false;
+      }
+    }
+    int newCount = lineCount - removed + inserted;
+    if (newCount > widths.length) {
+      widths = Arrays.copyOf(widths, Math.max(newCount, widths.length * 2));
+    }
+    System.arraycopy(widths, first + removed, widths, first + inserted,
+        lineCount - first - removed);
+    Arrays.fill(widths, first, first + inserted, Float.NaN);
+    lineCount = newCount;
+    unknown += inserted;
+  }
+}
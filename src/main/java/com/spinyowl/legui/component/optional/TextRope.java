@@ -0,0 +1,525 @@
+package com.spinyowl.legui.component.optional;
+
+import java.io.Serializable;
+
+/**
+ * Mutable rope used to store text of {@link TextState}.
+ * <p>
+ * Text is stored in chunks which are nodes of implicit treap (randomized balanced binary tree
+ * ordered by text offset). Every node holds aggregated length and line information of its subtree,
+ * so insertion, deletion, character access and line queries (line start offsets, line of offset,
+ * longest line) take O(log n) time instead of O(n).
+ * <p>
+ * Rope is not thread safe.
+ */
+final class TextRope implements CharSequence, Serializable {
+
+  /**
+   * Maximum length of chunk which is created from inserted text.
+   */
+  private static final int CHUNK_SIZE = 512;
+  /**
+   * Maximum length of chunk which could be extended by insertion in place.
+   */
+  private static final int MAX_CHUNK_SIZE = 1024;
+  private static final char NEWLINE = '\n';
+
+  private Node root;
+  private int seed = 0x2545F491;
+
+  /**
+   * Temporary results of {@link #split(Node, int)}.
+   */
+  private transient Node splitLeft;
+  private transient Node splitRight;
+
+  /**
+   * Used to replace whole text of rope.
+   *
+   * @param text text to set.
+   */
+  void setText(CharSequence text) {
+    root = build(text, 0, text.length());
+  }
+
+  /**
+   * Used to insert text at provided offset.
+   *
+   * @param index offset to insert text.
+   * @param text  text to insert.
+   */
+  void insert(int index, CharSequence text) {
+    checkIndex(index, length());
+    int length = text.length();
+    if (length == 0) {
+      return;
+    }
+    if (root != null && insertInPlace(root, index, text)) {
+      return;
+    }
+    split(root, index);
+    Node right = splitRight;
+    root = merge(merge(splitLeft, build(text, 0, length)), right);
+  }
+
+  /**
+   * Used to delete text between provided offsets.
+   *
+   * @param start start offset, inclusive.
+   * @param end   end offset, exclusive.
+   */
+  void delete(int start, int end) {
+    checkRange(start, end, length());
+    if (start == end) {
+      return;
+    }
+    if (deleteInPlace(root, start, end)) {
+      return;
+    }
+    split(root, start);
+    Node left = splitLeft;
+    split(splitRight, end - start);
+    root = merge(left, splitRight);
+  }
+
+  @Override
+  public int length() {
+    return root == null ? 0 : root.length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length()) {
+      throw new IndexOutOfBoundsException("index: " + index + ", length: " + length());
+    }
+    Node node = root;
+    while (true) {
+      int leftLength = length(node.left);
+      if (index < leftLength) {
+        node = node.left;
+      } else if (index < leftLength + node.chunk.length()) {
+        return node.chunk.charAt(index - leftLength);
+      } else {
+        index -= leftLength + node.chunk.length();
+        node = node.right;
+      }
+    }
+  }
+
+  @Override
+  public String subSequence(int start, int end) {
+    checkRange(start, end, length());
+    StringBuilder builder = new StringBuilder(end - start);
+    append(root, start, end, builder);
+    return builder.toString();
+  }
+
+  /**
+   * Returns number of lines. Empty text has one line.
+   *
+   * @return number of lines.
+   */
+  int getLineCount() {
+    return (root == null ? 0 : root.newlines) + 1;
+  }
+
+  /**
+   * Returns offset of first character of line.
+   *
+   * @param line line index.
+   * @return offset of line start.
+   */
+  int getLineStart(int line) {
+    if (line < 0 || line >= getLineCount()) {
+      throw new IndexOutOfBoundsException("line: " + line + ", lines: " + getLineCount());
+    }
+    if (line == 0) {
+      return 0;
+    }
+    // search offset of line-th newline.
+    int offset = 0;
+    Node node = root;
+    while (true) {
+      int leftNewlines = node.left == null ? 0 : node.left.newlines;
+      if (line <= leftNewlines) {
+        node = node.left;
+      } else if (line <= leftNewlines + node.chunkNewlines) {
+        offset += length(node.left);
+        int remaining = line - leftNewlines;
+        StringBuilder chunk = node.chunk;
+        for (int i = 0; ; i++) {
+          if (chunk.charAt(i) == NEWLINE && --remaining == 0) {
+            return offset + i + 1;
+          }
+        }
+      } else {
+        line -= leftNewlines + node.chunkNewlines;
+        offset += length(node.left) + node.chunk.length();
+        node = node.right;
+      }
+    }
+  }
+
+  /**
+   * Returns offset of line end (offset of newline character or length of text for last line).
+   *
+   * @param line line index.
+   * @return offset of line end.
+   */
+  int getLineEnd(int line) {
+    return line == getLineCount() - 1 ? length() : getLineStart(line + 1) - 1;
+  }
+
+  /**
+   * Returns index of line which contains provided offset (number of newlines before offset).
+   *
+   * @param index offset in text.
+   * @return line index.
+   */
+  int getLineIndex(int index) {
+    checkIndex(index, length());
+    int line = 0;
+    Node node = root;
+    while (node != null) {
+      int leftLength = length(node.left);
+      if (index <= leftLength) {
+        node = node.left;
+      } else {
+        line += node.left == null ? 0 : node.left.newlines;
+        int inChunk = Math.min(index - leftLength, node.chunk.length());
+        if (inChunk < node.chunk.length()) {
+          StringBuilder chunk = node.chunk;
+          for (int i = 0; i < inChunk; i++) {
+            if (chunk.charAt(i) == NEWLINE) {
+              line++;
+            }
+          }
+          return line;
+        }
+        line += node.chunkNewlines;
+        index -= leftLength + inChunk;
+        node = node.right;
+      }
+    }
+    return line;
+  }
+
+  /**
+   * Returns index of longest line (by number of characters). If there are several longest lines
+   * then first of them is returned.
+   *
+   * @return index of longest line.
+   */
+  int getLongestLine() {
+    if (root == null || root.newlines == 0) {
+      return 0;
+    }
+    int longest = 0;
+    int length = root.head;
+    if (root.best > length) {
+      longest = getLineIndex(root.bestStart);
+      length = root.best;
+    }
+    if (root.tail > length) {
+      longest = root.newlines;
+    }
+    return longest;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(length());
+    append(root, 0, length(), builder);
+    return builder.toString();
+  }
+
+  private boolean insertInPlace(Node node, int index, CharSequence text) {
+    int leftLength = length(node.left);
+    int chunkLength = node.chunk.length();
+    boolean inserted;
+    if (index < leftLength) {
+      inserted = insertInPlace(node.left, index, text);
+    } else if (index <= leftLength + chunkLength) {
+      if (chunkLength + text.length() > MAX_CHUNK_SIZE) {
+        return false;
+      }
+      node.chunk.insert(index - leftLength, text);
+      node.updateChunk();
+      inserted = true;
+    } else {
+      inserted = node.right != null
+          && insertInPlace(node.right, index - leftLength - chunkLength, text);
+    }
+    if (inserted) {
+      node.update();
+    }
+    return inserted;
+  }
+
+  private boolean deleteInPlace(Node node, int start, int end) {
+    if (node == null) {
+      return false;
+    }
+    int leftLength = length(node.left);
+    int chunkLength = node.chunk.length();
+    boolean deleted;
+    if (end <= leftLength) {
+      deleted = deleteInPlace(node.left, start, end);
+    } else if (start >= leftLength + chunkLength) {
+      deleted = deleteInPlace(node.right,
+          start - leftLength - chunkLength, end - leftLength - chunkLength);
+    } else if (start >= leftLength && end <= leftLength + chunkLength
+        && end - start < chunkLength) {
+      // range is inside of chunk and chunk will not be empty.
+      node.chunk.delete(start - leftLength, end - leftLength);
+      node.updateChunk();
+      deleted = true;
+    } else {
+      return false;
+    }
+    if (deleted) {
+      node.update();
+    }
+    return deleted;
+  }
+
+  /**
+   * Used to split tree by offset. Results are stored to {@link #splitLeft} and {@link
+   * #splitRight}.
+   */
+  private void split(Node node, int index) {
+    if (node == null) {
+      splitLeft = splitRight = null;
+      return;
+    }
+    int leftLength = length(node.left);
+    int chunkLength = node.chunk.length();
+    if (index <= leftLength) {
+      split(node.left, index);
+      node.left = splitRight;
+      node.update();
+      splitRight = node;
+    } else if (index >= leftLength + chunkLength) {
+      split(node.right, index - leftLength - chunkLength);
+      node.right = splitLeft;
+      node.update();
+      splitLeft = node;
+    } else {
+      // split chunk. right part gets the same priority, so heap order is kept.
+      int at = index - leftLength;
+      Node right = new Node(node.chunk.substring(at), node.priority);
+      node.chunk.setLength(at);
+      node.updateChunk();
+      right.right = node.right;
+      node.right = null;
+      node.update();
+      right.update();
+      splitLeft = node;
+      splitRight = right;
+    }
+  }
+
+  private Node merge(Node left, Node right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      left.update();
+      return left;
+    } else {
+      right.left = merge(left, right.left);
+      right.update();
+      return right;
+    }
+  }
+
+  private Node build(CharSequence text, int start, int end) {
+    Node result = null;
+    for (int i = start; i < end; i += CHUNK_SIZE) {
+      Node node = new Node(text.subSequence(i, Math.min(end, i + CHUNK_SIZE)), nextPriority());
+      node.update();
+      result = merge(result, node);
+    }
+    return result;
+  }
+
+  private void append(Node node, int start, int end, StringBuilder builder) {
+    if (node == null || start >= end) {
+      return;
+    }
+    int leftLength = length(node.left);
+    int chunkLength = node.chunk.length();
+    if (start < leftLength) {
+      append(node.left, start, Math.min(end, leftLength), builder);
+    }
+    int chunkStart = Math.max(start - leftLength, 0);
+    int chunkEnd = Math.min(end - leftLength, chunkLength);
+    if (chunkStart < chunkEnd) {
+      builder.append(node.chunk, chunkStart, chunkEnd);
+    }
+    if (end > leftLength + chunkLength) {
+      append(node.right, Math.max(start - leftLength - chunkLength, 0),
+          end - leftLength - chunkLength, builder);
+    }
+  }
+
+  private int nextPriority() {
+    // xorshift
+    seed ^= seed << 13;
+    seed ^= seed >>> 17;
+    seed ^= seed << 5;
+    return seed;
+  }
+
+  private static int length(Node node) {
+    return node == null ? 0 : node.length;
+  }
+
+  private static void checkIndex(int index, int length) {
+    if (index < 0 || index > length) {
+      throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+    }
+  }
+
+  private static void checkRange(int start, int end, int length) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException(
+          "start: " + start + ", end: " + end + ", length: " + length);
+    }
+  }
+
+  /**
+   * Chunk of text with aggregated information of its subtree.
+   */
+  private static final class Node implements Serializable {
+
+    private final StringBuilder chunk;
+    private final int priority;
+    private Node left;
+    private Node right;
+
+    // chunk information.
+    private int chunkNewlines;
+    private int chunkHead;
+    private int chunkTail;
+    private int chunkBest;
+    private int chunkBestStart;
+
+    // subtree information.
+    /**
+     * Length of subtree text.
+     */
+    private int length;
+    /**
+     * Number of newlines in subtree text.
+     */
+    private int newlines;
+    /**
+     * Length of text before first newline.
+     */
+    private int head;
+    /**
+     * Length of text after last newline.
+     */
+    private int tail;
+    /**
+     * Length of longest line which is bounded by newlines on both sides or -1.
+     */
+    private int best;
+    /**
+     * Offset of longest bounded line in subtree text.
+     */
+    private int bestStart;
+
+    private Node(CharSequence text, int priority) {
+      this.chunk = new StringBuilder(Math.max(text.length(), 16)).append(text);
+      this.priority = priority;
+      updateChunk();
+    }
+
+    private void updateChunk() {
+      int length = chunk.length();
+      int count = 0;
+      int first = -1;
+      int previous = -1;
+      chunkBest = -1;
+      chunkBestStart = 0;
+      for (int i = 0; i < length; i++) {
+        if (chunk.charAt(i) == NEWLINE) {
+          if (first == -1) {
+            first = i;
+          } else if (i - previous - 1 > chunkBest) {
+            chunkBest = i - previous - 1;
+            chunkBestStart = previous + 1;
+          }
+          previous = i;
+          count++;
+        }
+      }
+      chunkNewlines = count;
+      chunkHead = count == 0 ? length : first;
+      chunkTail = count == 0 ? length : length - previous - 1;
+    }
+
+    /**
+     * Used to recalculate subtree information from child nodes and chunk.
+     */
+    private void update() {
+      length = chunk.length();
+      newlines = chunkNewlines;
+      head = chunkHead;
+      tail = chunkTail;
+      best = chunkBest;
+      bestStart = chunkBestStart;
+      if (left != null) {
+        combineLeft(left);
+      }
+      if (right != null) {
+        combineRight(right);
+      }
+    }
+
+    private void combineLeft(Node l) {
+      // candidates are checked from last to first, so first longest line is kept.
+      int newBest = best;
+      int newBestStart = bestStart + l.length;
+      if (l.newlines > 0 && newlines > 0 && l.tail + head >= newBest) {
+        newBest = l.tail + head;
+        newBestStart = l.length - l.tail;
+      }
+      if (l.best >= 0 && l.best >= newBest) {
+        newBest = l.best;
+        newBestStart = l.bestStart;
+      }
+      best = newBest;
+      bestStart = newBestStart;
+      head = l.newlines > 0 ? l.head : l.length + head;
+      tail = newlines > 0 ? tail : l.tail + tail;
+      length += l.length;
+      newlines += l.newlines;
+    }
+
+    private void combineRight(Node r) {
+      int newBest = r.best;
+      int newBestStart = r.bestStart + length;
+      if (newlines > 0 && r.newlines > 0 && tail + r.head >= newBest) {
+        newBest = tail + r.head;
+        newBestStart = length - tail;
+      }
+      if (best >= 0 && best >= newBest) {
+        newBest = best;
+        newBestStart = bestStart;
+      }
+      best = newBest;
+      bestStart = newBestStart;
+      head = newlines > 0 ? head : length + r.head;
+      tail = r.newlines > 0 ? r.tail : tail + r.length;
+      length += r.length;
+      newlines += r.newlines;
+    }
+  }
+}
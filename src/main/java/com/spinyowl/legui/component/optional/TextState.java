@@ -8,6 +8,10 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 
 /**
  * Used to hold text state of components.
+ * <p>
+ * Text is stored in rope with line index, so {@link #insert(int, CharSequence)}, {@link
+ * #delete(int, int)} and line queries do not copy whole text. {@link #getText()} returns string
+ * which is created once after every text change.
  */
 public class TextState implements Serializable {
 
@@ -16,7 +20,19 @@ public class TextState implements Serializable {
   /**
    * Text data.
    */
-  private String text = "";
+  private final TextRope text = new TextRope();
+  /**
+   * Cached string representation of text or null if text was changed.
+   */
+  private transient String cachedText = "";
+  /**
+   * Pixel widths of lines measured by renderer or null if widths were not requested.
+   */
+  private transient LineWidthCache lineWidthCache;
+  /**
+   * Used to store text version. Incremented on every text change.
+   */
+  private long version;
   /**
    * Used to store caret position in text.
    */
@@ -81,11 +97,11 @@ public class TextState implements Serializable {
    * @param text            text to set.
    * @param textSetCallback callback to call some extra functionality after {@link
    *                        #setText(String)}. Accepts old value as first arg, and new value as the
-   *                        second arg.
+   *                        second arg. Callback is not called for initial text.
    */
   public TextState(String text, BiConsumer<String, String> textSetCallback) {
-    this.textSetCallback = textSetCallback;
     setText(text);
+    this.textSetCallback = textSetCallback;
   }
 
   /**
@@ -94,6 +110,18 @@ public class TextState implements Serializable {
    * @return text.
    */
   public String getText() {
+    if (cachedText == null) {
+      cachedText = text.toString();
+    }
+    return cachedText;
+  }
+
+  /**
+   * Returns live read-only view of text which does not copy text. View should not be stored.
+   *
+   * @return text view.
+   */
+  public CharSequence getTextSequence() {
     return text;
   }
 
@@ -107,14 +135,13 @@ public class TextState implements Serializable {
       return;
     }
 
-    String oldValue = this.text;
+    String oldValue = this.textSetCallback != null ? getText() : null;
     String newValue = text;
 
-    if (text != null) {
-      this.text = text;
-    } else {
-      this.text = "";
-    }
+    this.cachedText = text != null ? text : "";
+    this.text.setText(cachedText);
+    this.version++;
+    this.lineWidthCache = null;
 
     this.caretPosition = this.startSelectionIndex = this.endSelectionIndex = 0;
 
@@ -123,6 +150,116 @@ public class TextState implements Serializable {
     }
   }
 
+  /**
+   * Used to insert text at provided index. Caret and selection indices are not changed.
+   * <p>
+   * Text is validated with {@link #getValidator()} but {@link #getTextSetCallback()} is not called.
+   *
+   * @param index index to insert text.
+   * @param str   text to insert.
+   * @return true if text was inserted.
+   */
+  public boolean insert(int index, CharSequence str) {
+    if (str.length() == 0) {
+      return false;
+    }
+    if (validator != null) {
+      String value = getText();
+      String newValue = value.substring(0, index) + str + value.substring(index);
+      if (!validator.test(newValue)) {
+        return false;
+      }
+      replaceLineWidths(index, index, str);
+      text.insert(index, str);
+      cachedText = newValue;
+    } else {
+      replaceLineWidths(index, index, str);
+      text.insert(index, str);
+      cachedText = null;
+    }
+    version++;
+    return true;
+  }
+
+  /**
+   * Used to delete text between provided indices. Caret and selection indices are limited by new
+   * text length.
+   * <p>
+   * Text is validated with {@link #getValidator()} but {@link #getTextSetCallback()} is not called.
+   *
+   * @param start start index, inclusive.
+   * @param end   end index, exclusive.
+   * @return true if text was deleted.
+   */
+  public boolean delete(int start, int end) {
+    if (start == end) {
+      return false;
+    }
+    if (validator != null) {
+      String value = getText();
+      String newValue = value.substring(0, start) + value.substring(end);
+      if (!validator.test(newValue)) {
+        return false;
+      }
+      replaceLineWidths(start, end, "");
+      text.delete(start, end);
+      cachedText = newValue;
+    } else {
+      replaceLineWidths(start, end, "");
+      text.delete(start, end);
+      cachedText = null;
+    }
+    version++;
+    int length = text.length();
+    caretPosition = Math.min(caretPosition, length);
+    startSelectionIndex = Math.min(startSelectionIndex, length);
+    endSelectionIndex = Math.min(endSelectionIndex, length);
+    return true;
+  }
+
+  /**
+   * Used to mark lines between provided indices as not measured before they are replaced with
+   * provided text.
+   */
+  private void replaceLineWidths(int start, int end, CharSequence str) {
+    if (lineWidthCache == null) {
+      return;
+    }
+    int firstLine = text.getLineIndex(start);
+    int lastLine = start == end ? firstLine : text.getLineIndex(end);
+    int newlines = 0;
+    for (int i = 0; i < str.length(); i++) {
+      if (str.charAt(i) == '\n') {
+        newlines++;
+      }
+    }
+    lineWidthCache.replace(firstLine, lastLine - firstLine + 1, newlines + 1);
+  }
+
+  /**
+   * Returns pixel widths of lines measured by renderer. Only edited lines are marked as not
+   * measured when text is changed with {@link #insert(int, CharSequence)} and {@link #delete(int,
+   * int)}.
+   *
+   * @return line width cache.
+   */
+  public LineWidthCache getLineWidthCache() {
+    if (lineWidthCache == null) {
+      lineWidthCache = new LineWidthCache(getLineCount());
+    }
+    return lineWidthCache;
+  }
+
+  /**
+   * Returns text version which is incremented on every text change. Could be used to detect text
+   * changes without comparing text.
+   *
+   * @return text version.
+   */
+  public long getVersion() {
+    return version;
+  }
+
   /**
    * Returns text length.
    *
@@ -133,6 +270,64 @@ public class TextState implements Serializable {
     return text.length();
   }
 
+  /**
+   * Returns number of text lines. Empty text has one line.
+   *
+   * @return number of lines.
+   */
+  public int getLineCount() {
+    return text.getLineCount();
+  }
+
+  /**
+   * Returns index of first character of line.
+   *
+   * @param line line index.
+   * @return start index of line.
+   */
+  public int getLineStart(int line) {
+    return text.getLineStart(line);
+  }
+
+  /**
+   * Returns index of line end (index of newline character or text length for last line).
+   *
+   * @param line line index.
+   * @return end index of line.
+   */
+  public int getLineEnd(int line) {
+    return text.getLineEnd(line);
+  }
+
+  /**
+   * Returns line text without newline character.
+   *
+   * @param line line index.
+   * @return line text.
+   */
+  public String getLine(int line) {
+    return text.subSequence(text.getLineStart(line), text.getLineEnd(line));
+  }
+
+  /**
+   * Returns index of line which contains character with provided index.
+   *
+   * @param index character index (or text length).
+   * @return line index.
+   */
+  public int getLineIndex(int index) {
+    return text.getLineIndex(index);
+  }
+
+  /**
+   * Returns index of longest line (by number of characters).
+   *
+   * @return index of longest line.
+   */
+  public int getLongestLine() {
+    return text.getLongestLine();
+  }
+
   /**
    * Returns mouse caret position.
    *
@@ -235,9 +430,9 @@ public class TextState implements Serializable {
     }
     String selection;
     if (startSelectionIndex > endSelectionIndex) {
-      selection = text.substring(endSelectionIndex, startSelectionIndex);
+      selection = text.subSequence(endSelectionIndex, startSelectionIndex);
     } else {
-      selection = text.substring(startSelectionIndex, endSelectionIndex);
+      selection = text.subSequence(startSelectionIndex, endSelectionIndex);
     }
     return selection;
   }
@@ -316,19 +511,19 @@ public class TextState implements Serializable {
         startSelectionIndex == textState.startSelectionIndex &&
         endSelectionIndex == textState.endSelectionIndex &&
         editable == textState.editable &&
-        Objects.equals(text, textState.text);
+        Objects.equals(getText(), textState.getText());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(text, caretPosition, mouseCaretPosition, startSelectionIndex,
+    return Objects.hash(getText(), caretPosition, mouseCaretPosition, startSelectionIndex,
         endSelectionIndex, editable);
   }
 
   @Override
   public String toString() {
     return new ToStringBuilder(this)
-        .append("text", text)
+        .append("text", getText())
         .append("caretPosition", caretPosition)
         .append("mouseCaretPosition", mouseCaretPosition)
         .append("startSelectionIndex", startSelectionIndex)
@@ -32,6 +32,7 @@ import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.system.context.CallbackKeeper;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.context.DefaultCallbackKeeper;
+import com.spinyowl.legui.system.context.FrameScheduler;
 import com.spinyowl.legui.system.handler.processor.SystemEventProcessor;
 import com.spinyowl.legui.system.handler.processor.SystemEventProcessorImpl;
 import com.spinyowl.legui.system.layout.LayoutManager;
@@ -108,8 +109,12 @@ public abstract class Demo {
 
   private void startSystemEventProcessor() {
     eventProcessorThread = new Thread(() -> {
-      while (running) {
-        systemEventProcessor.processEvents(frame, context);
+      try {
+        while (running) {
+          systemEventProcessor.processEvents(frame, context, 1, TimeUnit.SECONDS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
       }
     }, "GUI_SYSTEM_EVENT_PROCESSOR");
     eventProcessorThread.start();
@@ -128,8 +133,12 @@ public abstract class Demo {
 
   private void startLeguiEventProcessor() {
     leguiEventProcessorThread = new Thread(() -> {
-      while (running) {
-        EventProcessorProvider.getInstance().processEvents();
+      try {
+        while (running) {
+          EventProcessorProvider.getInstance().processEvents(1, TimeUnit.SECONDS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
       }
     }, "GUI_EVENT_PROCESSOR");
     leguiEventProcessorThread.start();
@@ -145,13 +154,29 @@ public abstract class Demo {
 
     glfwMakeContextCurrent(window);
     setCapabilities(glCapabilities);
-    glfwSwapInterval(0);
+    glfwSwapInterval(1);
 
+    FrameScheduler frameScheduler = context.getFrameScheduler();
     while (running) {
       try {
+        // sleep until something should be redrawn.
+        if (!frameScheduler.awaitRedraw(1, TimeUnit.SECONDS)) {
+          continue;
+        }
+        frameScheduler.beginFrame();
+
         context.updateGlfwWindow();
         Vector2i framebufferSize = context.getFramebufferSize();
 
+        // update system. could be moved for example to game loop.
+        update();
+
+        // we need to run animations
+        AnimatorProvider.getAnimator().runAnimations();
+
+        // When everything done we need to relayout components.
+        LayoutManager.getInstance().layout(frame);
+
         glClearColor(1, 1, 1, 1);
         glViewport(0, 0, framebufferSize.x, framebufferSize.y);
         glClear(GL_COLOR_BUFFER_BIT | GL_STENCIL_BUFFER_BIT);
@@ -159,15 +184,9 @@ public abstract class Demo {
         renderer.render(frame, context);
 
         glfwSwapBuffers(window);
-
-        // update system. could be moved for example to game loop.
-        update();
-
-        // When everything done we need to relayout components.
-        LayoutManager.getInstance().layout(frame);
-
-        // also we need to run animations
-        AnimatorProvider.getAnimator().runAnimations();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        running = false;
       } catch (Throwable e) {
         e.printStackTrace();
       }
@@ -218,6 +237,9 @@ public abstract class Demo {
 
   public void stop() {
     running = false;
+    if (context != null) {
+      context.getFrameScheduler().requestRedraw();
+    }
   }
 
   protected void update() {
@@ -1,6 +1,8 @@
 package com.spinyowl.legui.event;
 
 import com.spinyowl.legui.component.Component;
+import java.util.Collections;
+import java.util.List;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -10,10 +12,22 @@ import lombok.ToString;
 @ToString
 public class AddChildEvent<T extends Component> extends Event<T> {
 
+  /**
+   * First added component.
+   */
   private final Component added;
+  /**
+   * All added components. Contains more than one component if components were added in batch.
+   */
+  private final List<Component> addedComponents;
 
   public AddChildEvent(T targetComponent, Component added) {
+    this(targetComponent, Collections.singletonList(added));
+  }
+
+  public AddChildEvent(T targetComponent, List<Component> addedComponents) {
     super(targetComponent, null, targetComponent.getFrame());
-    this.added = added;
+    this.addedComponents = Collections.unmodifiableList(addedComponents);
+    this.added = addedComponents.isEmpty() ? null : addedComponents.get(0);
   }
 }
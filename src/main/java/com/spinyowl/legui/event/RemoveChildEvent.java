@@ -1,6 +1,8 @@
 package com.spinyowl.legui.event;
 
 import com.spinyowl.legui.component.Component;
+import java.util.Collections;
+import java.util.List;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -10,10 +12,22 @@ import lombok.ToString;
 @ToString
 public class RemoveChildEvent<T extends Component> extends Event<T> {
 
+  /**
+   * First removed component.
+   */
   private final Component removed;
+  /**
+   * All removed components. Contains more than one component if components were removed in batch.
+   */
+  private final List<Component> removedComponents;
 
   public RemoveChildEvent(T targetComponent, Component removed) {
+    this(targetComponent, Collections.singletonList(removed));
+  }
+
+  public RemoveChildEvent(T targetComponent, List<Component> removedComponents) {
     super(targetComponent, null, targetComponent.getFrame());
-    this.removed = removed;
+    this.removedComponents = Collections.unmodifiableList(removedComponents);
+    this.removed = removedComponents.isEmpty() ? null : removedComponents.get(0);
   }
 }
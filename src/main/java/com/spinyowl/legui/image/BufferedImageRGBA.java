@@ -31,6 +31,7 @@ public class BufferedImageRGBA extends Image {
       for (int i = 0; i < dataSize; i++) {
         byteBuffer.put((byte) (i % 255));
       }
+      byteBuffer.rewind();
     }
 
   }
@@ -57,7 +58,13 @@ public class BufferedImageRGBA extends Image {
     return needToRead.get();
   }
 
+  /**
+   * Returns image data and marks it as read.
+   *
+   * @return image data.
+   */
   public ByteBuffer getImageData() {
+    needToRead.set(false);
     return byteBuffers[readPB];
   }
 
@@ -77,6 +77,16 @@ public abstract class LoadableImage extends Image {
    */
   public abstract void load();
 
+  /**
+   * Returns true if image data is loaded. Image could be not loaded yet if it is loaded
+   * asynchronously.
+   *
+   * @return true if image data is loaded.
+   */
+  public boolean isLoaded() {
+    return getImageData() != null;
+  }
+
   @Override
   public String toString() {
     return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
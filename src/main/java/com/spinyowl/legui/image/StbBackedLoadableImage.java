@@ -13,10 +13,10 @@ import org.lwjgl.stb.STBImage;
 
 public class StbBackedLoadableImage extends LoadableImage {
 
-  private int width;
-  private int height;
-  private ImageChannels channels;
-  private ByteBuffer imageData;
+  private volatile int width;
+  private volatile int height;
+  private volatile ImageChannels channels;
+  private volatile ByteBuffer imageData;
 
 
   /**
@@ -39,6 +39,8 @@ public class StbBackedLoadableImage extends LoadableImage {
       int[] h = {0};
       int[] c = {0};
       ByteBuffer buffer = STBImage.stbi_load_from_memory(byteBuffer, w, h, c, 4);
+      // encoded data is not needed after decoding
+      IOUtil.free(byteBuffer);
 
       if (buffer != null) {
         this.width = w[0];
@@ -53,6 +55,20 @@ public class StbBackedLoadableImage extends LoadableImage {
     }
   }
 
+  /**
+   * Used to set image data from other loaded image with the same source. Image data is shared, so
+   * same image could be decoded once for several images.
+   *
+   * @param source loaded image.
+   */
+  public void setImageData(StbBackedLoadableImage source) {
+    this.width = source.width;
+    this.height = source.height;
+    this.channels = source.channels;
+    // image data is published last, so image is seen as loaded with its size
+    this.imageData = source.imageData;
+  }
+
   /**
    * Returns image width.
    *
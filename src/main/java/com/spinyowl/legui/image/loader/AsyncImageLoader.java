@@ -0,0 +1,212 @@
+package com.spinyowl.legui.image.loader;
+
+import com.spinyowl.legui.image.LoadableImage;
+import com.spinyowl.legui.image.StbBackedLoadableImage;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Image loader which returns image immediately and decodes it on pool of worker threads.
+ * <p>
+ * Returned image is not loaded until decoding is finished ({@link LoadableImage#isLoaded()}), and
+ * renderers skip it until then. Images which are requested while image with the same path is
+ * being loaded share one decoding. Loading could be cancelled with {@link
+ * ImageLoader#cancelLoading(LoadableImage)} (for example when image view is removed) and is resumed
+ * when image is rendered again.
+ * <p>
+ * Usage: {@code ImageLoader.setLoader(new AsyncImageLoader());}
+ */
+public class AsyncImageLoader extends ImageLoader {
+
+  /**
+   * Default number of worker threads.
+   */
+  public static final int DEFAULT_THREAD_COUNT =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+  private static final AtomicInteger LOADER_COUNTER = new AtomicInteger();
+
+  private final ExecutorService executor;
+  private final Map<String, LoadTask> tasks = new ConcurrentHashMap<>();
+  private final Set<String> failedPaths = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Used to create loader with default number of worker threads.
+   */
+  public AsyncImageLoader() {
+    this(DEFAULT_THREAD_COUNT);
+  }
+
+  /**
+   * Used to create loader.
+   *
+   * @param threadCount number of worker threads.
+   */
+  public AsyncImageLoader(int threadCount) {
+    int loaderIndex = LOADER_COUNTER.incrementAndGet();
+    AtomicInteger threadCounter = new AtomicInteger();
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(threadCount, threadCount,
+        30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+      Thread thread = new Thread(runnable,
+          "legui-image-loader-" + loaderIndex + "-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    pool.allowCoreThreadTimeOut(true);
+    this.executor = pool;
+  }
+
+  @Override
+  protected LoadableImage createImage(String path) {
+    StbBackedLoadableImage image = new StbBackedLoadableImage(path);
+    enqueue(image);
+    return image;
+  }
+
+  @Override
+  protected void cancel(LoadableImage image) {
+    String path = image.getPath();
+    if (path == null) {
+      return;
+    }
+    tasks.computeIfPresent(path, (p, task) -> task.remove(image) ? null : task);
+  }
+
+  @Override
+  protected void resume(LoadableImage image) {
+    if (image instanceof StbBackedLoadableImage && image.getPath() != null
+        && !failedPaths.contains(image.getPath())) {
+      enqueue((StbBackedLoadableImage) image);
+    }
+  }
+
+  private void enqueue(StbBackedLoadableImage image) {
+    String path = image.getPath();
+    tasks.compute(path, (p, task) -> {
+      if (task == null || !task.add(image)) {
+        task = new LoadTask(p);
+        task.add(image);
+        task.future = executor.submit(task);
+      }
+      return task;
+    });
+  }
+
+  /**
+   * Returns number of paths which are being loaded.
+   *
+   * @return number of loading paths.
+   */
+  public int getLoadingCount() {
+    return tasks.size();
+  }
+
+  /**
+   * Used to stop worker threads. Images which are not loaded yet will not be loaded.
+   */
+  public void shutdown() {
+    executor.shutdownNow();
+    tasks.clear();
+  }
+
+  /**
+   * Decoding of one path. Holds weak references to images waiting for decoded data, so images which
+   * are not used anymore are not kept in memory and not decoded.
+   */
+  private final class LoadTask implements Runnable {
+
+    private final String path;
+    private final List<WeakReference<StbBackedLoadableImage>> images = new ArrayList<>(1);
+    private Future<?> future;
+    private boolean started;
+
+    private LoadTask(String path) {
+      this.path = path;
+    }
+
+    /**
+     * Used to add image to task.
+     *
+     * @return false if task is already finished.
+     */
+    private synchronized boolean add(StbBackedLoadableImage image) {
+      if (started && images.isEmpty()) {
+        return false;
+      }
+      for (WeakReference<StbBackedLoadableImage> reference : images) {
+        if (reference.get() == image) {
+          return true;
+        }
+      }
+      images.add(new WeakReference<>(image));
+      return true;
+    }
+
+    /**
+     * Used to remove image from task. Task is cancelled if there are no more images.
+     *
+     * @return true if task has no images and should be removed.
+     */
+    private synchronized boolean remove(LoadableImage image) {
+      images.removeIf(reference -> reference.get() == null || reference.get() == image);
+      if (images.isEmpty()) {
+        if (!started && future != null) {
+          future.cancel(false);
+        }
+        return true;
+      }
+      return false;
+    }
+
+    private synchronized List<StbBackedLoadableImage> takeImages() {
+      List<StbBackedLoadableImage> result = new ArrayList<>(images.size());
+      for (Iterator<WeakReference<StbBackedLoadableImage>> i = images.iterator(); i.hasNext(); ) {
+        StbBackedLoadableImage image = i.next().get();
+        if (image != null) {
+          result.add(image);
+        }
+        i.remove();
+      }
+      return result;
+    }
+
+    @Override
+    public void run() {
+      synchronized (this) {
+        images.removeIf(reference -> reference.get() == null);
+        started = true;
+        if (images.isEmpty()) {
+          tasks.remove(path, this);
+          return;
+        }
+      }
+      StbBackedLoadableImage decoded = new StbBackedLoadableImage(path);
+      try {
+        decoded.load();
+      } catch (RuntimeException e) {
+        failedPaths.add(path);
+        tasks.remove(path, this);
+        takeImages();
+        e.printStackTrace();
+        return;
+      }
+      // images added after this point will start new task
+      List<StbBackedLoadableImage> loaded = takeImages();
+      tasks.remove(path, this);
+      for (StbBackedLoadableImage image : loaded) {
+        image.setImageData(decoded);
+      }
+    }
+  }
+}
@@ -22,6 +22,30 @@ public abstract class ImageLoader {
     return loader.createImage(path);
   }
 
+  /**
+   * Used to cancel loading of image if it is loaded asynchronously and not loaded yet. For example
+   * when component which shows image is removed.
+   *
+   * @param image image.
+   */
+  public static void cancelLoading(LoadableImage image) {
+    if (loader != null && image != null && !image.isLoaded()) {
+      loader.cancel(image);
+    }
+  }
+
+  /**
+   * Used to resume loading of image if it is loaded asynchronously and its loading was cancelled.
+   * Called by renderers for images which are not loaded yet.
+   *
+   * @param image image.
+   */
+  public static void resumeLoading(LoadableImage image) {
+    if (loader != null && image != null && !image.isLoaded()) {
+      loader.resume(image);
+    }
+  }
+
   /**
    * Creates and loads image.
    *
@@ -30,4 +54,23 @@ public abstract class ImageLoader {
    */
   protected abstract LoadableImage createImage(String path);
 
+  /**
+   * Used to cancel loading of image. Default loader loads images synchronously, so does nothing.
+   *
+   * @param image image which is not loaded yet.
+   */
+  protected void cancel(LoadableImage image) {
+    // nothing to cancel
+  }
+
+  /**
+   * Used to resume cancelled loading of image. Default loader loads images synchronously, so does
+   * nothing.
+   *
+   * @param image image which is not loaded yet.
+   */
+  protected void resume(LoadableImage image) {
+    // nothing to resume
+  }
+
 }
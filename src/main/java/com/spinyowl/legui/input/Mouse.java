@@ -13,17 +13,23 @@ import org.joml.Vector2f;
 
 /**
  * This class used to hold mouse state.
+ * <p>
+ * Static state is shared by all contexts and contains state of last processed event of any
+ * context. Mouse state of context window should be obtained from {@link
+ * com.spinyowl.legui.system.context.Context#getMouseState()}.
  */
 public class Mouse {
 
-  private static Vector2f cursorPosition = new Vector2f();
-  private static Vector2f cursorPositionPrev = new Vector2f();
+  private static final Vector2f cursorPosition = new Vector2f();
+  private static final Vector2f cursorPositionPrev = new Vector2f();
 
   /**
    * Gets cursor position.
    *
    * @return the cursor position
+   * @deprecated use {@link MouseState#getCursorPosition()} of context.
    */
+  @Deprecated
   public static Vector2f getCursorPosition() {
     return new Vector2f(cursorPosition);
   }
@@ -32,20 +38,32 @@ public class Mouse {
    * Sets cursor position.
    *
    * @param cursorPosition the cursor position
+   * @deprecated use {@link MouseState#setCursorPosition(float, float)} of context.
    */
+  @Deprecated
   public static void setCursorPosition(Vector2f cursorPosition) {
-    Mouse.cursorPosition = cursorPosition != null ? cursorPosition : new Vector2f();
+    set(Mouse.cursorPosition, cursorPosition);
   }
 
+  /**
+   * Sets cursor position. Current cursor position becomes previous cursor position.
+   *
+   * @param cursorPosition the cursor position
+   * @deprecated use {@link MouseState#pushCursorPosition(float, float)} of context.
+   */
+  @Deprecated
   public static void pushCursorPosition(Vector2f cursorPosition) {
-    Mouse.cursorPositionPrev = Mouse.cursorPosition;
-    Mouse.cursorPosition = cursorPosition != null ? cursorPosition : new Vector2f();
+    Mouse.cursorPositionPrev.set(Mouse.cursorPosition);
+    set(Mouse.cursorPosition, cursorPosition);
   }
+
   /**
    * Gets previous cursor position.
    *
    * @return the previous cursor position.
+   * @deprecated use {@link MouseState#getCursorPositionPrev()} of context.
    */
+  @Deprecated
   public static Vector2f getCursorPositionPrev() {
     return new Vector2f(cursorPositionPrev);
   }
@@ -54,9 +72,31 @@ public class Mouse {
    * Sets previous cursor position.
    *
    * @param cursorPositionPrev the previous cursor position.
+   * @deprecated previous cursor position is updated by {@link MouseState#pushCursorPosition(float,
+   * float)} of context.
    */
+  @Deprecated
   public static void setCursorPositionPrev(Vector2f cursorPositionPrev) {
-    Mouse.cursorPositionPrev = cursorPositionPrev != null ? cursorPositionPrev : new Vector2f();
+    set(Mouse.cursorPositionPrev, cursorPositionPrev);
+  }
+
+  /**
+   * Used to update static cursor position from mouse state of context. Current cursor position
+   * becomes previous cursor position.
+   *
+   * @param cursorPosition the cursor position.
+   */
+  static void updateCursorPosition(Vector2f cursorPosition) {
+    Mouse.cursorPositionPrev.set(Mouse.cursorPosition);
+    Mouse.cursorPosition.set(cursorPosition);
+  }
+
+  private static void set(Vector2f target, Vector2f value) {
+    if (value != null) {
+      target.set(value);
+    } else {
+      target.zero();
+    }
   }
 
   public enum MouseButton {
@@ -110,6 +150,16 @@ public class Mouse {
      * The constant MOUSE_BUTTON_MIDDLE.
      */
     public static final MouseButton MOUSE_BUTTON_MIDDLE = MOUSE_BUTTON_3;
+    private static final MouseButton[] BY_CODE = new MouseButton[MOUSE_BUTTON_UNKNOWN.ordinal()];
+
+    static {
+      for (MouseButton mouseButton : values()) {
+        if (mouseButton.code >= 0) {
+          BY_CODE[mouseButton.code] = mouseButton;
+        }
+      }
+    }
+
     private int code;
     private boolean pressed;
     private Vector2f pressPosition;
@@ -126,12 +176,10 @@ public class Mouse {
      * @return the by code
      */
     public static MouseButton getByCode(int code) {
-      for (MouseButton mouseButton : MouseButton.values()) {
-        if (mouseButton.getCode() == code) {
-          return mouseButton;
-        }
+      if (code < 0 || code >= BY_CODE.length) {
+        return MOUSE_BUTTON_UNKNOWN;
       }
-      return MOUSE_BUTTON_UNKNOWN;
+      return BY_CODE[code];
     }
 
     /**
@@ -143,11 +191,34 @@ public class Mouse {
       return code;
     }
 
+    /**
+     * Used to update static state of button from mouse state of context. Press position is updated
+     * on press and on release.
+     *
+     * @param pressed       pressed state.
+     * @param pressPosition press position.
+     */
+    void update(boolean pressed, Vector2f pressPosition) {
+      this.pressed = pressed;
+      this.pressPosition = pressPosition;
+    }
+
+    /**
+     * Used to update static release position of button from mouse state of context.
+     *
+     * @param releasePosition release position.
+     */
+    void updateReleasePosition(Vector2f releasePosition) {
+      this.releasePosition = releasePosition;
+    }
+
     /**
      * Is pressed boolean.
      *
      * @return the boolean
+     * @deprecated use {@link MouseState#isPressed(MouseButton)} of context.
      */
+    @Deprecated
     public boolean isPressed() {
       return pressed;
     }
@@ -156,7 +227,9 @@ public class Mouse {
      * Sets pressed.
      *
      * @param pressed the pressed
+     * @deprecated use {@link MouseState#setPressed(MouseButton, boolean)} of context.
      */
+    @Deprecated
     public void setPressed(boolean pressed) {
       this.pressed = pressed;
     }
@@ -165,7 +238,9 @@ public class Mouse {
      * Gets release position.
      *
      * @return the release position
+     * @deprecated use {@link MouseState#getReleasePosition(MouseButton)} of context.
      */
+    @Deprecated
     public Vector2f getReleasePosition() {
       return releasePosition;
     }
@@ -174,7 +249,9 @@ public class Mouse {
      * Sets release position.
      *
      * @param releasePosition the release position
+     * @deprecated use {@link MouseState#setReleasePosition(MouseButton, Vector2f)} of context.
      */
+    @Deprecated
     public void setReleasePosition(Vector2f releasePosition) {
       this.releasePosition = releasePosition;
     }
@@ -183,7 +260,9 @@ public class Mouse {
      * Gets press position.
      *
      * @return the press position
+     * @deprecated use {@link MouseState#getPressPosition(MouseButton)} of context.
      */
+    @Deprecated
     public Vector2f getPressPosition() {
       return pressPosition;
     }
@@ -192,7 +271,9 @@ public class Mouse {
      * Sets press position.
      *
      * @param pressPosition the press position
+     * @deprecated use {@link MouseState#setPressPosition(MouseButton, Vector2f)} of context.
      */
+    @Deprecated
     public void setPressPosition(Vector2f pressPosition) {
       this.pressPosition = pressPosition;
     }
@@ -0,0 +1,180 @@
+package com.spinyowl.legui.input;
+
+import com.spinyowl.legui.input.Mouse.MouseButton;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.joml.Vector2f;
+
+/**
+ * Mouse state of one {@link com.spinyowl.legui.system.context.Context}. Holds cursor position and
+ * state of mouse buttons for window of context, so windows could be processed on separate threads
+ * without affecting each other.
+ * <p>
+ * Accessors do not allocate. Returned vectors are owned by mouse state and updated in place, so
+ * they should not be modified and should be copied if value is stored.
+ * <p>
+ * Updated by system event handlers and should be used from thread which processes events of
+ * context. Cursor position, pressed state and release position are also copied to deprecated static
+ * state of {@link Mouse}.
+ */
+public class MouseState {
+
+  private static final int BUTTON_COUNT = MouseButton.values().length;
+
+  private final Vector2f cursorPosition = new Vector2f();
+  private final Vector2f cursorPositionPrev = new Vector2f();
+  private final boolean[] pressed = new boolean[BUTTON_COUNT];
+  private final Vector2f[] pressPositions = new Vector2f[BUTTON_COUNT];
+  private final Vector2f[] releasePositions = new Vector2f[BUTTON_COUNT];
+
+  public MouseState() {
+    for (int i = 0; i < BUTTON_COUNT; i++) {
+      pressPositions[i] = new Vector2f();
+      releasePositions[i] = new Vector2f();
+    }
+  }
+
+  /**
+   * Returns cursor position. Returned vector should not be modified.
+   *
+   * @return cursor position.
+   */
+  public Vector2f getCursorPosition() {
+    return cursorPosition;
+  }
+
+  /**
+   * Used to copy cursor position to provided vector.
+   *
+   * @param dest vector to store cursor position.
+   * @return dest.
+   */
+  public Vector2f getCursorPosition(Vector2f dest) {
+    return dest.set(cursorPosition);
+  }
+
+  /**
+   * Returns previous cursor position. Returned vector should not be modified.
+   *
+   * @return previous cursor position.
+   */
+  public Vector2f getCursorPositionPrev() {
+    return cursorPositionPrev;
+  }
+
+  /**
+   * Used to copy previous cursor position to provided vector.
+   *
+   * @param dest vector to store previous cursor position.
+   * @return dest.
+   */
+  public Vector2f getCursorPositionPrev(Vector2f dest) {
+    return dest.set(cursorPositionPrev);
+  }
+
+  /**
+   * Used to calculate cursor movement from previous position.
+   *
+   * @param dest vector to store cursor movement.
+   * @return dest.
+   */
+  public Vector2f getCursorDelta(Vector2f dest) {
+    return cursorPosition.sub(cursorPositionPrev, dest);
+  }
+
+  /**
+   * Used to set cursor position. Previous cursor position is not changed.
+   *
+   * @param x cursor x position.
+   * @param y cursor y position.
+   */
+  public void setCursorPosition(float x, float y) {
+    cursorPosition.set(x, y);
+    Mouse.updateCursorPosition(cursorPosition);
+  }
+
+  /**
+   * Used to set cursor position. Current cursor position becomes previous cursor position.
+   *
+   * @param x cursor x position.
+   * @param y cursor y position.
+   */
+  public void pushCursorPosition(float x, float y) {
+    cursorPositionPrev.set(cursorPosition);
+    cursorPosition.set(x, y);
+    Mouse.updateCursorPosition(cursorPosition);
+  }
+
+  /**
+   * Returns true if mouse button is pressed.
+   *
+   * @param button mouse button.
+   * @return true if mouse button is pressed.
+   */
+  public boolean isPressed(MouseButton button) {
+    return pressed[button.ordinal()];
+  }
+
+  /**
+   * Used to set pressed state of mouse button. Press position of static mouse button state is set
+   * to current cursor position.
+   *
+   * @param button  mouse button.
+   * @param pressed pressed state.
+   */
+  public void setPressed(MouseButton button, boolean pressed) {
+    this.pressed[button.ordinal()] = pressed;
+    button.update(pressed, new Vector2f(cursorPosition));
+  }
+
+  /**
+   * Returns position where mouse button was pressed last time. Returned vector should not be
+   * modified.
+   *
+   * @param button mouse button.
+   * @return press position.
+   */
+  public Vector2f getPressPosition(MouseButton button) {
+    return pressPositions[button.ordinal()];
+  }
+
+  /**
+   * Used to set position where mouse button was pressed.
+   *
+   * @param button   mouse button.
+   * @param position press position.
+   */
+  public void setPressPosition(MouseButton button, Vector2f position) {
+    pressPositions[button.ordinal()].set(position);
+  }
+
+  /**
+   * Returns position where mouse button was released last time. Returned vector should not be
+   * modified.
+   *
+   * @param button mouse button.
+   * @return release position.
+   */
+  public Vector2f getReleasePosition(MouseButton button) {
+    return releasePositions[button.ordinal()];
+  }
+
+  /**
+   * Used to set position where mouse button was released.
+   *
+   * @param button   mouse button.
+   * @param position release position.
+   */
+  public void setReleasePosition(MouseButton button, Vector2f position) {
+    releasePositions[button.ordinal()].set(position);
+    button.updateReleasePosition(new Vector2f(position));
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+        .append("cursorPosition", cursorPosition)
+        .append("cursorPositionPrev", cursorPositionPrev)
+        .toString();
+  }
+}
@@ -1,12 +1,19 @@
 package com.spinyowl.legui.listener;
 
 import com.spinyowl.legui.event.Event;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.UnaryOperator;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -14,11 +21,36 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 
 /**
  * Used to hold event listeners.
+ * <p>
+ * Listeners are stored in immutable table which is replaced on every change (copy-on-write), so
+ * listeners could be added and removed from any thread (including event listeners) and lookups do
+ * not lock. Listeners which should be called for event class (listeners registered for event class
+ * and its superclasses) are resolved once and cached in the same table until next change, see
+ * {@link #getDispatchListeners(Class)}.
  */
+@SuppressWarnings({"unchecked", "rawtypes"})
 public class ListenerMap {
 
-  private final Lock lock = new ReentrantLock();
-  private Map<Class<? extends Event>, List<? extends EventListener>> listenerMap = new ConcurrentHashMap<>();
+  private static final EventListener[] NO_LISTENERS = new EventListener[0];
+
+  private static final AtomicReferenceFieldUpdater<ListenerMap, Table> TABLE =
+      AtomicReferenceFieldUpdater.newUpdater(ListenerMap.class, Table.class, "table");
+
+  /**
+   * Event class and its superclasses up to {@link Event}, starting from event class.
+   */
+  private static final ClassValue<Class<?>[]> EVENT_TYPES = new ClassValue<>() {
+    @Override
+    protected Class<?>[] computeValue(Class<?> type) {
+      List<Class<?>> types = new ArrayList<>();
+      for (Class<?> t = type; t != null && Event.class.isAssignableFrom(t); t = t.getSuperclass()) {
+        types.add(t);
+      }
+      return types.toArray(new Class<?>[0]);
+    }
+  };
+
+  private volatile Table table = Table.EMPTY;
 
   /**
    * Used to add event listener for specified event type.
@@ -28,24 +60,61 @@ public class ListenerMap {
    * @param <E>        event type.
    */
   public <E extends Event> void addListener(Class<E> eventClass, EventListener<E> listener) {
-    getListeners(eventClass).add(listener);
+    update(eventClass, listeners -> append(listeners, listeners.length, listener));
   }
 
   /**
-   * Returns event listeners for specified event type.
+   * Returns modifiable view of event listeners registered for specified event type. Changes of
+   * view are applied to this listener map and iterators of view iterate over listeners which were
+   * registered when iterator was created.
+   * <p>
+   * To get listeners which should process event use {@link #getDispatchListeners(Class)}.
    *
    * @param eventClass event class for which registered listeners.
    * @param <E>        event type.
    * @return event listeners for specified event type.
    */
   public <E extends Event> List<EventListener<E>> getListeners(Class<E> eventClass) {
-    lock.lock();
-    List<EventListener<E>> eventListeners = (List<EventListener<E>>) listenerMap.get(eventClass);
-    if (eventListeners == null) {
-      listenerMap.put(eventClass, eventListeners = new CopyOnWriteArrayList<>());
+    return new ListenerList<>(eventClass);
+  }
+
+  /**
+   * Returns unmodifiable list of listeners which should process event of specified class -
+   * listeners registered for event class and for its superclasses (listeners of event class go
+   * first). Result is cached until listeners are changed, so lookup does not lock and does not
+   * allocate.
+   *
+   * @param eventClass event class.
+   * @param <E>        event type.
+   * @return listeners which should process event.
+   */
+  public <E extends Event> List<EventListener<? super E>> getDispatchListeners(
+      Class<E> eventClass) {
+    Table current = table;
+    List listeners = current.dispatch.get(eventClass);
+    if (listeners != null) {
+      return listeners;
+    }
+    if (current.registrations.isEmpty()) {
+      return Collections.emptyList();
     }
-    lock.unlock();
-    return eventListeners;
+    listeners = resolve(current.registrations, eventClass);
+    Map<Class<?>, List<EventListener>> dispatch = new HashMap<>(current.dispatch);
+    dispatch.put(eventClass, listeners);
+    // if listeners were changed meanwhile result is not cached
+    TABLE.compareAndSet(this, current, new Table(current.registrations, dispatch));
+    return listeners;
+  }
+
+  /**
+   * Returns true if there are listeners which should process event of specified class (see {@link
+   * #getDispatchListeners(Class)}).
+   *
+   * @param eventClass event class.
+   * @return true if there are listeners for event class.
+   */
+  public boolean hasListeners(Class<? extends Event> eventClass) {
+    return !getDispatchListeners(eventClass).isEmpty();
   }
 
   /**
@@ -56,7 +125,14 @@ public class ListenerMap {
    * @param <E>        event type.
    */
   public <E extends Event> void removeListener(Class<E> eventClass, EventListener<E> listener) {
-    getListeners(eventClass).remove(listener);
+    update(eventClass, listeners -> {
+      for (int i = 0; i < listeners.length; i++) {
+        if (Objects.equals(listeners[i], listener)) {
+          return remove(listeners, i);
+        }
+      }
+      return listeners;
+    });
   }
 
   /**
@@ -66,13 +142,88 @@ public class ListenerMap {
    * @param <E>        event type.
    */
   public <E extends Event> void removeAllListeners(Class<E> eventClass) {
-    listenerMap.remove(eventClass);
+    update(eventClass, listeners -> NO_LISTENERS);
+  }
+
+  private EventListener[] listeners(Class<?> eventClass) {
+    return table.registrations.getOrDefault(eventClass, NO_LISTENERS);
+  }
+
+  /**
+   * Used to replace listeners of event class. Dispatch cache is cleared on every change.
+   */
+  private void update(Class<?> eventClass, UnaryOperator<EventListener[]> operator) {
+    Table current;
+    Table next;
+    do {
+      current = table;
+      EventListener[] listeners = current.registrations.getOrDefault(eventClass, NO_LISTENERS);
+      EventListener[] updated = operator.apply(listeners);
+      if (updated == listeners) {
+        return;
+      }
+      Map<Class<?>, EventListener[]> registrations = new HashMap<>(current.registrations);
+      if (updated.length == 0) {
+        registrations.remove(eventClass);
+      } else {
+        registrations.put(eventClass, updated);
+      }
+      next = registrations.isEmpty() ? Table.EMPTY
+          : new Table(registrations, Collections.emptyMap());
+    } while (!TABLE.compareAndSet(this, current, next));
+  }
+
+  private static List<EventListener> resolve(Map<Class<?>, EventListener[]> registrations,
+      Class<?> eventClass) {
+    EventListener[] result = NO_LISTENERS;
+    for (Class<?> type : EVENT_TYPES.get(eventClass)) {
+      EventListener[] listeners = registrations.get(type);
+      if (listeners != null) {
+        if (result.length == 0) {
+          result = listeners;
+        } else {
+          result = Arrays.copyOf(result, result.length + listeners.length);
+          System.arraycopy(listeners, 0, result, result.length - listeners.length,
+              listeners.length);
+        }
+      }
+    }
+    // registered arrays are never modified, so they could be shared with dispatch list
+    return result.length == 0 ? Collections.emptyList()
+        : Collections.unmodifiableList(Arrays.asList(result));
+  }
+
+  private static EventListener[] append(EventListener[] listeners, int index,
+      EventListener listener) {
+    EventListener[] result = new EventListener[listeners.length + 1];
+    System.arraycopy(listeners, 0, result, 0, index);
+    result[index] = listener;
+    System.arraycopy(listeners, index, result, index + 1, listeners.length - index);
+    return result;
+  }
+
+  private static EventListener[] remove(EventListener[] listeners, int index) {
+    if (listeners.length == 1) {
+      return NO_LISTENERS;
+    }
+    EventListener[] result = new EventListener[listeners.length - 1];
+    System.arraycopy(listeners, 0, result, 0, index);
+    System.arraycopy(listeners, index + 1, result, index, listeners.length - index - 1);
+    return result;
+  }
+
+  private Map<Class<?>, List<EventListener>> getListenerMap() {
+    Map<Class<?>, List<EventListener>> map = new LinkedHashMap<>();
+    for (Map.Entry<Class<?>, EventListener[]> entry : table.registrations.entrySet()) {
+      map.put(entry.getKey(), Arrays.asList(entry.getValue()));
+    }
+    return map;
   }
 
   @Override
   public int hashCode() {
     return new HashCodeBuilder(17, 37)
-        .append(listenerMap)
+        .append(getListenerMap())
         .toHashCode();
   }
 
@@ -89,14 +240,133 @@ public class ListenerMap {
     ListenerMap that = (ListenerMap) obj;
 
     return new EqualsBuilder()
-        .append(listenerMap, that.listenerMap)
+        .append(getListenerMap(), that.getListenerMap())
         .isEquals();
   }
 
   @Override
   public String toString() {
     return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
-        .append("listenerMap", listenerMap)
+        .append("listenerMap", getListenerMap())
         .toString();
   }
+
+  /**
+   * Immutable state of listener map.
+   */
+  private static final class Table {
+
+    private static final Table EMPTY = new Table(Collections.emptyMap(), Collections.emptyMap());
+
+    /**
+     * Listeners registered for event classes.
+     */
+    private final Map<Class<?>, EventListener[]> registrations;
+    /**
+     * Resolved listeners for event classes.
+     */
+    private final Map<Class<?>, List<EventListener>> dispatch;
+
+    private Table(Map<Class<?>, EventListener[]> registrations,
+        Map<Class<?>, List<EventListener>> dispatch) {
+      this.registrations = registrations;
+      this.dispatch = dispatch;
+    }
+  }
+
+  /**
+   * Modifiable view of listeners registered for event class.
+   */
+  private final class ListenerList<E extends Event> extends AbstractList<EventListener<E>> {
+
+    private final Class<E> eventClass;
+
+    private ListenerList(Class<E> eventClass) {
+      this.eventClass = eventClass;
+    }
+
+    @Override
+    public EventListener<E> get(int index) {
+      return listeners(eventClass)[index];
+    }
+
+    @Override
+    public int size() {
+      return listeners(eventClass).length;
+    }
+
+    @Override
+    public boolean add(EventListener<E> listener) {
+      addListener(eventClass, listener);
+      return true;
+    }
+
+    @Override
+    public void add(int index, EventListener<E> listener) {
+      update(eventClass, listeners -> {
+        if (index < 0 || index > listeners.length) {
+          throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + listeners.length);
+        }
+        return append(listeners, index, listener);
+      });
+    }
+
+    @Override
+    public EventListener<E> set(int index, EventListener<E> listener) {
+      EventListener[] previous = new EventListener[1];
+      update(eventClass, listeners -> {
+        EventListener[] result = listeners.clone();
+        previous[0] = result[index];
+        result[index] = listener;
+        return result;
+      });
+      return previous[0];
+    }
+
+    @Override
+    public EventListener<E> remove(int index) {
+      EventListener[] previous = new EventListener[1];
+      update(eventClass, listeners -> {
+        previous[0] = listeners[index];
+        return ListenerMap.remove(listeners, index);
+      });
+      return previous[0];
+    }
+
+    @Override
+    public void clear() {
+      removeAllListeners(eventClass);
+    }
+
+    @Override
+    public Iterator<EventListener<E>> iterator() {
+      EventListener[] snapshot = listeners(eventClass);
+      return new Iterator<>() {
+        private int index;
+        private EventListener<E> last;
+
+        @Override
+        public boolean hasNext() {
+          return index < snapshot.length;
+        }
+
+        @Override
+        public EventListener<E> next() {
+          if (index >= snapshot.length) {
+            throw new NoSuchElementException();
+          }
+          return last = snapshot[index++];
+        }
+
+        @Override
+        public void remove() {
+          if (last == null) {
+            throw new IllegalStateException();
+          }
+          removeListener(eventClass, last);
+          last = null;
+        }
+      };
+    }
+  }
 }
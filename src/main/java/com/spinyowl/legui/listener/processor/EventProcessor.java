@@ -1,6 +1,7 @@
 package com.spinyowl.legui.listener.processor;
 
 import com.spinyowl.legui.event.Event;
+import java.util.concurrent.TimeUnit;
 
 /**
  * UI Events processor interface..
@@ -25,4 +26,40 @@ public interface EventProcessor {
    * @return true if there are events that should be processed.
    */
   boolean hasEvents();
+
+  /**
+   * Used to wait until events are pushed to event processor or timeout is elapsed.
+   * <p>
+   * Default implementation checks {@link #hasEvents()} every millisecond, implementations should
+   * park thread until events are pushed.
+   *
+   * @param timeout maximum time to wait.
+   * @param unit    timeout time unit.
+   * @return true if there are events that should be processed.
+   * @throws InterruptedException if current thread was interrupted while waiting.
+   */
+  default boolean awaitEvents(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!hasEvents()) {
+      if (deadline - System.nanoTime() <= 0) {
+        return false;
+      }
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+    return true;
+  }
+
+  /**
+   * Used to wait for events and process them. Returns without processing if timeout is elapsed
+   * and there are no events.
+   *
+   * @param timeout maximum time to wait.
+   * @param unit    timeout time unit.
+   * @throws InterruptedException if current thread was interrupted while waiting.
+   */
+  default void processEvents(long timeout, TimeUnit unit) throws InterruptedException {
+    if (awaitEvents(timeout, unit)) {
+      processEvents();
+    }
+  }
 }
@@ -1,21 +1,42 @@
 package com.spinyowl.legui.listener.processor;
 
 import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.event.component.ChangeSizeEvent;
 import com.spinyowl.legui.event.Event;
 import com.spinyowl.legui.listener.EventListener;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.profiler.FrameProfiler;
+import com.spinyowl.legui.util.EventQueue;
+import com.spinyowl.legui.util.EventQueueStatistics;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
  * Default implementation of event processor.
+ * <p>
+ * Events are processed in batches. Batch contains events which were pushed before {@link
+ * #processEvents()} call, events pushed by listeners are processed in next batch. Consecutive
+ * {@link ChangeSizeEvent}s of the same component in one batch are merged into one event.
+ * <p>
+ * Event is processed by listeners registered for event class and its superclasses (see {@link
+ * com.spinyowl.legui.listener.ListenerMap#getDispatchListeners(Class)}).
+ * <p>
+ * Should be processed from single thread.
+ * <p>
+ * If frame profiler of event context is enabled, time of event listeners and size of batch are
+ * recorded by profiler.
  */
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class EventProcessorImpl implements EventProcessor {
 
-  private Queue<Event> first = new ConcurrentLinkedQueue<>();
-  private Queue<Event> second = new ConcurrentLinkedQueue<>();
+  private final EventQueue<Event> queue = new EventQueue<>();
+  private final List<Event> batch = new ArrayList<>();
+  private final Map<Component, Integer> lastEventIndices = new IdentityHashMap<>();
+  private final List<Context> contexts = new ArrayList<>();
 
   private Consumer<Event> debugEventConsumer;
 
@@ -24,25 +45,87 @@ public class EventProcessorImpl implements EventProcessor {
    */
   @Override
   public void processEvents() {
-    swap();
-
-    for (Event event = second.poll(); event != null; event = second.poll()) {
-      Component targetComponent = event.getTargetComponent();
-      if (targetComponent == null) {
-        return;
+    int queueDepth = queue.drain(batch);
+    if (queueDepth == 0) {
+      return;
+    }
+    try {
+      queue.coalesced(coalesce(batch));
+      for (Event event : batch) {
+        if (event != null) {
+          processEvent(event);
+        }
       }
-      List<? extends EventListener> listeners = targetComponent.getListenerMap()
-          .getListeners(event.getClass());
-      for (EventListener listener : listeners) {
-        listener.process(event);
+      for (Context context : contexts) {
+        context.getFrameScheduler().requestRedraw();
+        FrameProfiler profiler = context.getFrameProfiler();
+        if (profiler.isEnabled()) {
+          profiler.recordEventQueueDepth(queueDepth);
+        }
       }
+    } finally {
+      batch.clear();
+      contexts.clear();
     }
   }
 
-  private void swap() {
-    Queue<Event> temp = first;
-    first = second;
-    second = temp;
+  private void processEvent(Event event) {
+    Component targetComponent = event.getTargetComponent();
+    if (targetComponent == null) {
+      return;
+    }
+    Context context = event.getContext();
+    FrameProfiler profiler = context == null ? null : context.getFrameProfiler();
+    boolean profiling = profiler != null && profiler.isEnabled();
+    long start = profiling ? System.nanoTime() : 0;
+    List<? extends EventListener> listeners = targetComponent.getListenerMap()
+        .getDispatchListeners(event.getClass());
+    for (int i = 0; i < listeners.size(); i++) {
+      try {
+        listeners.get(i).process(event);
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+    if (profiling) {
+      profiler.recordListeners(event.getClass(), System.nanoTime() - start);
+    }
+    if (context != null && !contexts.contains(context)) {
+      contexts.add(context);
+    }
+  }
+
+  /**
+   * Used to merge consecutive change size events of the same component. Merged events are replaced
+   * with null.
+   *
+   * @param events events to coalesce.
+   * @return number of merged events.
+   */
+  private int coalesce(List<Event> events) {
+    int coalesced = 0;
+    try {
+      for (int i = 0; i < events.size(); i++) {
+        Event event = events.get(i);
+        Component target = event.getTargetComponent();
+        if (target == null) {
+          continue;
+        }
+        Integer previousIndex = lastEventIndices.put(target, i);
+        if (previousIndex != null && event.getClass() == ChangeSizeEvent.class) {
+          Event previous = events.get(previousIndex);
+          if (previous.getClass() == ChangeSizeEvent.class) {
+            events.set(previousIndex, null);
+            events.set(i, new ChangeSizeEvent(target, event.getContext(), event.getFrame(),
+                ((ChangeSizeEvent) previous).getOldSize(), ((ChangeSizeEvent) event).getNewSize()));
+            coalesced++;
+          }
+        }
+      }
+    } finally {
+      lastEventIndices.clear();
+    }
+    return coalesced;
   }
 
   /**
@@ -56,7 +139,7 @@ public class EventProcessorImpl implements EventProcessor {
         && debugEventConsumer != null) {
       debugEventConsumer.accept(event);
     }
-    first.add(event);
+    queue.push(event);
   }
 
   /**
@@ -66,7 +149,30 @@ public class EventProcessorImpl implements EventProcessor {
    */
   @Override
   public boolean hasEvents() {
-    return !(first.isEmpty() && second.isEmpty());
+    return !queue.isEmpty();
+  }
+
+  /**
+   * Used to wait until events are pushed to event processor or timeout is elapsed.
+   *
+   * @param timeout maximum time to wait.
+   * @param unit    timeout time unit.
+   * @return true if there are events that should be processed.
+   * @throws InterruptedException if current thread was interrupted while waiting.
+   */
+  @Override
+  public boolean awaitEvents(long timeout, TimeUnit unit) throws InterruptedException {
+    return queue.await(timeout, unit);
+  }
+
+  /**
+   * Returns event queue statistics (queue depth, latency, number of processed and coalesced
+   * events).
+   *
+   * @return event queue statistics.
+   */
+  public EventQueueStatistics getStatistics() {
+    return queue.getStatistics();
   }
 
   /**
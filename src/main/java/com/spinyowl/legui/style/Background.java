@@ -15,6 +15,21 @@ public class Background {
   private Vector2f position;
   private Vector2f size;
 
+  /**
+   * Background version. Incremented by every setter, so style which contains this background can
+   * detect that background was changed.
+   */
+  private int version;
+
+  /**
+   * Returns background version which is changed every time when background is modified using
+   * setters.
+   *
+   * @return background version.
+   */
+  public int getVersion() {
+    return version;
+  }
 
   /**
    * Returns {@link Vector4f} background color vector where x,y,z,w mapped to r,g,b,a values. <ul>
@@ -40,6 +55,7 @@ public class Background {
     } else {
       this.color = ColorConstants.transparent();
     }
+    version++;
   }
 
   /**
@@ -52,6 +68,7 @@ public class Background {
    */
   public void setColor(float r, float g, float b, float a) {
     color.set(r, g, b, a);
+    version++;
   }
 
   /**
@@ -70,6 +87,7 @@ public class Background {
    */
   public void setIcon(Icon icon) {
     this.icon = icon;
+    version++;
   }
 
   /**
@@ -88,6 +106,7 @@ public class Background {
    */
   public void setPosition(Vector2f position) {
     this.position = position;
+    version++;
   }
 
   /**
@@ -106,5 +125,6 @@ public class Background {
    */
   public void setSize(Vector2f size) {
     this.size = size;
+    version++;
   }
 }
@@ -0,0 +1,310 @@
+package com.spinyowl.legui.style;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.optional.align.HorizontalAlign;
+import com.spinyowl.legui.component.optional.align.VerticalAlign;
+import com.spinyowl.legui.icon.Icon;
+import com.spinyowl.legui.style.font.FontRegistry;
+import com.spinyowl.legui.style.length.Length;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.joml.Vector4f;
+
+/**
+ * Style values of component resolved from base style and state styles (focused, hovered, pressed)
+ * which are applied to current state of component.
+ * <p>
+ * Values are resolved once and reused until one of applied styles is changed using setters (see
+ * {@link Style#getVersion()}) or component state is changed, so renderers read plain fields
+ * instead of resolving every property through all styles on every frame.
+ * <p>
+ * Returned colors and icon are the same objects that are stored in styles, so in-place
+ * modifications of them are visible without invalidation.
+ *
+ * @see Component#getComputedStyle()
+ */
+public final class ComputedStyle {
+
+  /**
+   * Default font size.
+   */
+  public static final float DEFAULT_FONT_SIZE = 16f;
+
+  private static final int FOCUSED = 1;
+  private static final int HOVERED = 2;
+  private static final int PRESSED = 4;
+
+  private static final byte RADIUS_NONE = 0;
+  private static final byte RADIUS_PIXEL = 1;
+  private static final byte RADIUS_PERCENT = 2;
+
+  /**
+   * Styles and versions which were used to resolve values.
+   */
+  private final Style[] styles = new Style[4];
+  private final int[] versions = new int[4];
+  private int state = -1;
+  private int resolveCount;
+
+  private String font;
+  private float fontSize;
+  private HorizontalAlign horizontalAlign;
+  private VerticalAlign verticalAlign;
+  private Vector4f textColor;
+  private Vector4f highlightColor;
+  private Vector4f backgroundColor;
+  private Icon backgroundIcon;
+
+  /**
+   * Border radius in order: top left, top right, bottom right, bottom left.
+   */
+  private final float[] radius = new float[4];
+  private final byte[] radiusType = new byte[4];
+
+  /**
+   * Used to update computed style if styles or state of component were changed.
+   *
+   * @param component component which owns computed style.
+   * @return this computed style.
+   */
+  public ComputedStyle update(Component component) {
+    int newState = (component.isFocused() ? FOCUSED : 0)
+        | (component.isHovered() ? HOVERED : 0)
+        | (component.isPressed() ? PRESSED : 0);
+    Style focused = (newState & FOCUSED) != 0 && component.hasFocusedStyle()
+        ? component.getFocusedStyle() : null;
+    Style hovered = (newState & HOVERED) != 0 && component.hasHoveredStyle()
+        ? component.getHoveredStyle() : null;
+    Style pressed = (newState & PRESSED) != 0 && component.hasPressedStyle()
+        ? component.getPressedStyle() : null;
+    Style base = component.getStyle();
+
+    if (newState == state
+        && isActual(0, base) && isActual(1, focused)
+        && isActual(2, hovered) && isActual(3, pressed)) {
+      return this;
+    }
+    state = newState;
+    stamp(0, base);
+    stamp(1, focused);
+    stamp(2, hovered);
+    stamp(3, pressed);
+    resolve();
+    return this;
+  }
+
+  /**
+   * Used to mark computed style as outdated, so values are resolved again on next update.
+   */
+  public void invalidate() {
+    state = -1;
+  }
+
+  private boolean isActual(int index, Style style) {
+    return styles[index] == style && (style == null || versions[index] == style.getVersion());
+  }
+
+  private void stamp(int index, Style style) {
+    styles[index] = style;
+    versions[index] = style == null ? 0 : style.getVersion();
+  }
+
+  private void resolve() {
+    resolveCount++;
+    Style base = styles[0];
+    font = base.getFont();
+    Float baseFontSize = base.getFontSize();
+    fontSize = baseFontSize == null ? DEFAULT_FONT_SIZE : baseFontSize;
+    horizontalAlign = base.getHorizontalAlign();
+    verticalAlign = base.getVerticalAlign();
+    textColor = base.getTextColor();
+    highlightColor = base.getHighlightColor();
+    backgroundColor = base.getBackground().getColor();
+    backgroundIcon = base.getBackground().getIcon();
+    setRadius(0, base.getBorderTopLeftRadius(), true);
+    setRadius(1, base.getBorderTopRightRadius(), true);
+    setRadius(2, base.getBorderBottomRightRadius(), true);
+    setRadius(3, base.getBorderBottomLeftRadius(), true);
+
+    for (int i = 1; i < styles.length; i++) {
+      if (styles[i] != null) {
+        apply(styles[i]);
+      }
+    }
+
+    if (font == null) {
+      font = FontRegistry.getDefaultFont();
+    }
+    if (horizontalAlign == null) {
+      horizontalAlign = HorizontalAlign.LEFT;
+    }
+    if (verticalAlign == null) {
+      verticalAlign = VerticalAlign.MIDDLE;
+    }
+  }
+
+  private void apply(Style style) {
+    if (style.getFont() != null) {
+      font = style.getFont();
+    }
+    if (style.getFontSize() != null) {
+      fontSize = style.getFontSize();
+    }
+    if (style.getHorizontalAlign() != null) {
+      horizontalAlign = style.getHorizontalAlign();
+    }
+    if (style.getVerticalAlign() != null) {
+      verticalAlign = style.getVerticalAlign();
+    }
+    if (style.getTextColor() != null) {
+      textColor = style.getTextColor();
+    }
+    if (style.getHighlightColor() != null) {
+      highlightColor = style.getHighlightColor();
+    }
+    Background background = style.getBackground();
+    if (background.getColor() != null) {
+      backgroundColor = background.getColor();
+    }
+    if (background.getIcon() != null) {
+      backgroundIcon = background.getIcon();
+    }
+    setRadius(0, style.getBorderTopLeftRadius(), false);
+    setRadius(1, style.getBorderTopRightRadius(), false);
+    setRadius(2, style.getBorderBottomRightRadius(), false);
+    setRadius(3, style.getBorderBottomLeftRadius(), false);
+  }
+
+  private void setRadius(int corner, Length length, boolean reset) {
+    if (length != null && length.isPixel()) {
+      radius[corner] = length.floatValue();
+      radiusType[corner] = RADIUS_PIXEL;
+    } else if (length != null && length.isPercent()) {
+      radius[corner] = length.floatValue();
+      radiusType[corner] = RADIUS_PERCENT;
+    } else if (reset) {
+      radius[corner] = 0;
+      radiusType[corner] = RADIUS_NONE;
+    }
+  }
+
+  private float getRadius(int corner, float width) {
+    switch (radiusType[corner]) {
+      case RADIUS_PIXEL:
+        return radius[corner];
+      case RADIUS_PERCENT:
+        return radius[corner] * width / 100f;
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * Used to calculate border radius. Radius specified in percents is calculated using component
+   * width.
+   *
+   * @param width component width.
+   * @param dest  vector to store result where x = top left, y = top right, z = bottom right, w =
+   *              bottom left.
+   * @return dest vector.
+   */
+  public Vector4f getBorderRadius(float width, Vector4f dest) {
+    return dest.set(getRadius(0, width), getRadius(1, width),
+        getRadius(2, width), getRadius(3, width));
+  }
+
+  /**
+   * Returns font name. If font is not specified returns default font.
+   *
+   * @return font name.
+   */
+  public String getFont() {
+    return font;
+  }
+
+  /**
+   * Returns font size. If font size is not specified returns {@link #DEFAULT_FONT_SIZE}.
+   *
+   * @return font size.
+   */
+  public float getFontSize() {
+    return fontSize;
+  }
+
+  /**
+   * Returns horizontal alignment. By default {@link HorizontalAlign#LEFT}.
+   *
+   * @return horizontal alignment.
+   */
+  public HorizontalAlign getHorizontalAlign() {
+    return horizontalAlign;
+  }
+
+  /**
+   * Returns vertical alignment. By default {@link VerticalAlign#MIDDLE}.
+   *
+   * @return vertical alignment.
+   */
+  public VerticalAlign getVerticalAlign() {
+    return verticalAlign;
+  }
+
+  /**
+   * Returns text color or null.
+   *
+   * @return text color.
+   */
+  public Vector4f getTextColor() {
+    return textColor;
+  }
+
+  /**
+   * Returns highlight color or null.
+   *
+   * @return highlight color.
+   */
+  public Vector4f getHighlightColor() {
+    return highlightColor;
+  }
+
+  /**
+   * Returns background color or null.
+   *
+   * @return background color.
+   */
+  public Vector4f getBackgroundColor() {
+    return backgroundColor;
+  }
+
+  /**
+   * Returns background icon or null.
+   *
+   * @return background icon.
+   */
+  public Icon getBackgroundIcon() {
+    return backgroundIcon;
+  }
+
+  /**
+   * Returns how many times values were resolved. Could be used to check how often styles or
+   * state of component are changed.
+   *
+   * @return number of resolves.
+   */
+  public int getResolveCount() {
+    return resolveCount;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+        .append("font", font)
+        .append("fontSize", fontSize)
+        .append("horizontalAlign", horizontalAlign)
+        .append("verticalAlign", verticalAlign)
+        .append("textColor", textColor)
+        .append("backgroundColor", backgroundColor)
+        .append("resolveCount", resolveCount)
+        .toString();
+  }
+}
@@ -20,9 +20,14 @@ public class Style {
   private DisplayType display = DisplayType.MANUAL;
   private PositionType position = PositionType.ABSOLUTE;
 
-  private FlexStyle flexStyle = new FlexStyle();
-  private Background background = new Background();
-  private Border border = new SimpleLineBorder(ColorConstants.gray(), 1);
+  /**
+   * Flex style, background, border and focused stroke color are created on first access, so
+   * styles which are never changed (for example state styles) stay small.
+   */
+  private FlexStyle flexStyle;
+  private Background background;
+  private Border border;
+  private boolean borderInitialized;
 
   private Length borderTopLeftRadius;
   private Length borderTopRightRadius;
@@ -58,7 +63,8 @@ public class Style {
   /**
    * Stroke color. Used to render stroke if component is focused.
    */
-  private Vector4f focusedStrokeColor = ColorConstants.lightBlue();
+  private Vector4f focusedStrokeColor;
+  private boolean focusedStrokeColorInitialized;
 
   // TEXT RELATED STYLE PROPERTIES.
 
@@ -81,6 +87,29 @@ public class Style {
    */
   private Vector4f highlightColor;
 
+  /**
+   * Style version. Incremented by every setter, so layout and renderers can detect that style was
+   * changed without comparing all properties. Note that in-place modification of mutable values
+   * (for example {@code getTextColor().set(...)}) is not tracked.
+   */
+  private int version;
+
+  /**
+   * Returns style version which is changed every time when this style, it's flex style or
+   * background is modified using setters.
+   *
+   * @return style version.
+   */
+  public int getVersion() {
+    int result = version;
+    if (flexStyle != null) {
+      result += flexStyle.getVersion();
+    }
+    if (background != null) {
+      result += background.getVersion();
+    }
+    return result;
+  }
 
   /**
    * Used to set border radius for all four corners. (PIXEL VERSION)
@@ -100,6 +129,7 @@ public class Style {
   public void setBorderRadius(Length radius) {
     borderTopLeftRadius = borderTopRightRadius =
         borderBottomRightRadius = borderBottomLeftRadius = radius;
+    version++;
   }
 
   /**
@@ -121,6 +151,7 @@ public class Style {
   public void setBorderRadius(Length topLeftBottomRight, Length topRightBottomLeft) {
     borderTopLeftRadius = borderBottomRightRadius = topLeftBottomRight;
     borderTopRightRadius = borderBottomLeftRadius = topRightBottomLeft;
+    version++;
   }
 
   /**
@@ -145,6 +176,7 @@ public class Style {
     borderTopLeftRadius = topLeft;
     borderTopRightRadius = borderBottomLeftRadius = topRightBottomLeft;
     borderBottomRightRadius = bottomRight;
+    version++;
   }
 
   /**
@@ -200,6 +232,7 @@ public class Style {
    */
   public void setBorderTopLeftRadius(Length borderTopLeftRadius) {
     this.borderTopLeftRadius = borderTopLeftRadius;
+    version++;
   }
 
   /**
@@ -227,6 +260,7 @@ public class Style {
    */
   public void setBorderTopRightRadius(Length borderTopRightRadius) {
     this.borderTopRightRadius = borderTopRightRadius;
+    version++;
   }
 
   /**
@@ -254,6 +288,7 @@ public class Style {
    */
   public void setBorderBottomRightRadius(Length borderBottomRightRadius) {
     this.borderBottomRightRadius = borderBottomRightRadius;
+    version++;
   }
 
   /**
@@ -281,6 +316,7 @@ public class Style {
    */
   public void setBorderBottomLeftRadius(Length borderBottomLeftRadius) {
     this.borderBottomLeftRadius = borderBottomLeftRadius;
+    version++;
   }
 
   /**
@@ -308,6 +344,7 @@ public class Style {
    */
   public void setWidth(Unit width) {
     this.width = width;
+    version++;
   }
 
   /**
@@ -325,6 +362,7 @@ public class Style {
 
   public void setHeight(Unit height) {
     this.height = height;
+    version++;
   }
 
   public Length getMinWidth() {
@@ -337,6 +375,7 @@ public class Style {
 
   public void setMinWidth(Length minWidth) {
     this.minWidth = minWidth;
+    version++;
   }
 
   public Length getMinHeight() {
@@ -349,6 +388,7 @@ public class Style {
 
   public void setMinHeight(Length minHeight) {
     this.minHeight = minHeight;
+    version++;
   }
 
   public Length getMaxWidth() {
@@ -361,6 +401,7 @@ public class Style {
 
   public void setMaxWidth(Length maxWidth) {
     this.maxWidth = maxWidth;
+    version++;
   }
 
   public Length getMaxHeight() {
@@ -373,6 +414,7 @@ public class Style {
 
   public void setMaxHeight(Length maxHeight) {
     this.maxHeight = maxHeight;
+    version++;
   }
 
   public void setPadding(float padding) {
@@ -382,6 +424,7 @@ public class Style {
   public void setPadding(Length padding) {
     paddingLeft = paddingRight =
         paddingTop = paddingBottom = padding;
+    version++;
   }
 
   public void setPadding(float topBottom, float leftRight) {
@@ -391,6 +434,7 @@ public class Style {
   public void setPadding(Length topBottom, Length leftRight) {
     paddingLeft = paddingRight = leftRight;
     paddingTop = paddingBottom = topBottom;
+    version++;
   }
 
   public void setPadding(float top, float right, float bottom, float left) {
@@ -402,6 +446,7 @@ public class Style {
     paddingRight = right;
     paddingBottom = bottom;
     paddingLeft = left;
+    version++;
   }
 
   public Length getPaddingTop() {
@@ -410,6 +455,7 @@ public class Style {
 
   public void setPaddingTop(Length paddingTop) {
     this.paddingTop = paddingTop;
+    version++;
   }
 
 
@@ -419,6 +465,7 @@ public class Style {
 
   public void setPaddingBottom(Length paddingBottom) {
     this.paddingBottom = paddingBottom;
+    version++;
   }
 
 
@@ -428,6 +475,7 @@ public class Style {
 
   public void setPaddingRight(Length paddingRight) {
     this.paddingRight = paddingRight;
+    version++;
   }
 
 
@@ -437,6 +485,7 @@ public class Style {
 
   public void setPaddingLeft(Length paddingLeft) {
     this.paddingLeft = paddingLeft;
+    version++;
   }
 
   public void setMargin(float margin) {
@@ -445,6 +494,7 @@ public class Style {
 
   public void setMargin(Unit margin) {
     marginLeft = marginRight = marginTop = marginBottom = margin;
+    version++;
   }
 
   public void setMargin(float topBottom, float leftRight) {
@@ -454,6 +504,7 @@ public class Style {
   public void setMargin(Unit topBottom, Unit leftRight) {
     marginLeft = marginRight = leftRight;
     marginTop = marginBottom = topBottom;
+    version++;
   }
 
   public void setMargin(float top, float right, float bottom, float left) {
@@ -465,6 +516,7 @@ public class Style {
     marginRight = right;
     marginBottom = bottom;
     marginLeft = left;
+    version++;
   }
 
   public Unit getMarginTop() {
@@ -473,6 +525,7 @@ public class Style {
 
   public void setMarginTop(Unit marginTop) {
     this.marginTop = marginTop;
+    version++;
   }
 
   public void setMarginTop(Float marginTop) {
@@ -485,6 +538,7 @@ public class Style {
 
   public void setMarginBottom(Unit marginBottom) {
     this.marginBottom = marginBottom;
+    version++;
   }
 
   public void setMarginBottom(Float marginBottom) {
@@ -497,6 +551,7 @@ public class Style {
 
   public void setMarginRight(Unit marginRight) {
     this.marginRight = marginRight;
+    version++;
   }
 
   public void setMarginRight(Float marginRight) {
@@ -509,6 +564,7 @@ public class Style {
 
   public void setMarginLeft(Unit marginLeft) {
     this.marginLeft = marginLeft;
+    version++;
   }
 
   public void setMarginLeft(Float marginLeft) {
@@ -540,6 +596,7 @@ public class Style {
    */
   public void setTop(Unit top) {
     this.top = top;
+    version++;
   }
 
   /**
@@ -567,6 +624,7 @@ public class Style {
    */
   public void setBottom(Unit bottom) {
     this.bottom = bottom;
+    version++;
   }
 
   /**
@@ -594,6 +652,7 @@ public class Style {
    */
   public void setRight(Unit right) {
     this.right = right;
+    version++;
   }
 
   /**
@@ -621,6 +680,7 @@ public class Style {
    */
   public void setLeft(Unit left) {
     this.left = left;
+    version++;
   }
 
   /**
@@ -642,6 +702,7 @@ public class Style {
       this.display = DisplayType.MANUAL;
     }
     this.display = display;
+    version++;
   }
 
   /**
@@ -650,6 +711,9 @@ public class Style {
    * @return the background
    */
   public Background getBackground() {
+    if (background == null) {
+      background = new Background();
+    }
     return background;
   }
 
@@ -659,11 +723,16 @@ public class Style {
    * @param background the background
    */
   public void setBackground(Background background) {
+    // version of replaced background is kept, so style version is never decreased
+    if (this.background != null) {
+      version += this.background.getVersion();
+    }
     if (background != null) {
       this.background = background;
     } else {
       this.background = new Background();
     }
+    version++;
   }
 
   /**
@@ -672,6 +741,10 @@ public class Style {
    * @return the border
    */
   public Border getBorder() {
+    if (!borderInitialized) {
+      border = new SimpleLineBorder(ColorConstants.gray(), 1);
+      borderInitialized = true;
+    }
     return border;
   }
 
@@ -682,6 +755,8 @@ public class Style {
    */
   public void setBorder(Border border) {
     this.border = border;
+    this.borderInitialized = true;
+    version++;
   }
 
   /**
@@ -700,6 +775,7 @@ public class Style {
    */
   public void setFont(String font) {
     this.font = font;
+    version++;
   }
 
   /**
@@ -710,6 +786,10 @@ public class Style {
    * @return background color vector.
    */
   public Vector4f getFocusedStrokeColor() {
+    if (!focusedStrokeColorInitialized) {
+      focusedStrokeColor = ColorConstants.lightBlue();
+      focusedStrokeColorInitialized = true;
+    }
     return focusedStrokeColor;
   }
 
@@ -722,6 +802,8 @@ public class Style {
    */
   public void setFocusedStrokeColor(Vector4f focusedStrokeColor) {
     this.focusedStrokeColor = focusedStrokeColor;
+    this.focusedStrokeColorInitialized = true;
+    version++;
   }
 
   /**
@@ -733,7 +815,8 @@ public class Style {
    * @param a alpha value.
    */
   public void setFocusedStrokeColor(float r, float g, float b, float a) {
-    focusedStrokeColor.set(r, g, b, a);
+    getFocusedStrokeColor().set(r, g, b, a);
+    version++;
   }
 
   /**
@@ -742,6 +825,9 @@ public class Style {
    * @return flex style object.
    */
   public FlexStyle getFlexStyle() {
+    if (flexStyle == null) {
+      flexStyle = new FlexStyle();
+    }
     return flexStyle;
   }
 
@@ -762,6 +848,7 @@ public class Style {
   public void setPosition(PositionType position) {
     if (position != null) {
       this.position = position;
+      version++;
     }
   }
 
@@ -793,6 +880,7 @@ public class Style {
 
   public void setShadow(Shadow shadow) {
     this.shadow = shadow;
+    version++;
   }
 
   public Float getFontSize() {
@@ -801,6 +889,7 @@ public class Style {
 
   public void setFontSize(Float fontSize) {
     this.fontSize = fontSize;
+    version++;
   }
 
   /**
@@ -819,6 +908,7 @@ public class Style {
    */
   public void setHorizontalAlign(HorizontalAlign horizontalAlign) {
     this.horizontalAlign = horizontalAlign;
+    version++;
   }
 
   /**
@@ -837,6 +927,7 @@ public class Style {
    */
   public void setVerticalAlign(VerticalAlign verticalAlign) {
     this.verticalAlign = verticalAlign;
+    version++;
   }
 
   /**
@@ -855,6 +946,7 @@ public class Style {
    */
   public void setTextColor(Vector4f textColor) {
     this.textColor = textColor;
+    version++;
   }
 
   /**
@@ -867,6 +959,7 @@ public class Style {
    */
   public void setTextColor(float r, float g, float b, float a) {
     this.textColor = new Vector4f(r, g, b, a);
+    version++;
   }
 
   /**
@@ -885,6 +978,7 @@ public class Style {
    */
   public void setHighlightColor(Vector4f highlightColor) {
     this.highlightColor = highlightColor;
+    version++;
   }
 
   /**
@@ -897,6 +991,7 @@ public class Style {
    */
   public void setHighlightColor(float r, float g, float b, float a) {
     this.highlightColor = new Vector4f(r, g, b, a);
+    version++;
   }
 
   /**
@@ -43,6 +43,10 @@ public class FlexStyle {
    * The length of the item. Legal values: a number in px.
    */
   private float flexBasis;
+  /**
+   * Flex style version. Incremented by every setter.
+   */
+  private int version;
 
   public FlexStyle() {
     this.flexDirection = FlexDirection.ROW;
@@ -53,6 +57,15 @@ public class FlexStyle {
     this.alignSelf = AlignSelf.AUTO;
   }
 
+  /**
+   * Returns flex style version which is changed every time when flex style is modified.
+   *
+   * @return flex style version.
+   */
+  public int getVersion() {
+    return version;
+  }
+
   public void setFlex(int flexGrow, int flexShrink, float flexBasis) {
     setFlexGrow(flexGrow);
     setFlexShrink(flexShrink);
@@ -70,6 +83,7 @@ public class FlexStyle {
 
   public void setAlignSelf(AlignSelf alignSelf) {
     this.alignSelf = alignSelf;
+    version++;
   }
 
   public int getFlexGrow() {
@@ -78,6 +92,7 @@ public class FlexStyle {
 
   public void setFlexGrow(int flexGrow) {
     this.flexGrow = flexGrow;
+    version++;
   }
 
   public int getFlexShrink() {
@@ -86,6 +101,7 @@ public class FlexStyle {
 
   public void setFlexShrink(int flexShrink) {
     this.flexShrink = flexShrink;
+    version++;
   }
 
   public float getFlexBasis() {
@@ -94,6 +110,7 @@ public class FlexStyle {
 
   public void setFlexBasis(float flexBasis) {
     this.flexBasis = flexBasis;
+    version++;
   }
 
   public FlexDirection getFlexDirection() {
@@ -103,6 +120,7 @@ public class FlexStyle {
   public void setFlexDirection(FlexDirection flexDirection) {
     if (flexDirection != null) {
       this.flexDirection = flexDirection;
+      version++;
     }
   }
 
@@ -113,6 +131,7 @@ public class FlexStyle {
   public void setJustifyContent(JustifyContent justifyContent) {
     if (justifyContent != null) {
       this.justifyContent = justifyContent;
+      version++;
     }
   }
 
@@ -123,6 +142,7 @@ public class FlexStyle {
   public void setAlignItems(AlignItems alignItems) {
     if (alignItems != null) {
       this.alignItems = alignItems;
+      version++;
     }
   }
 
@@ -133,6 +153,7 @@ public class FlexStyle {
   public void setFlexWrap(FlexWrap flexWrap) {
     if (flexWrap != null) {
       this.flexWrap = flexWrap;
+      version++;
     }
   }
 
@@ -143,6 +164,7 @@ public class FlexStyle {
   public void setAlignContent(AlignContent alignContent) {
     if (alignContent != null) {
       this.alignContent = alignContent;
+      version++;
     }
   }
 
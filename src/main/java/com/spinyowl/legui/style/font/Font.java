@@ -1,23 +1,38 @@
 package com.spinyowl.legui.style.font;
 
+import com.spinyowl.legui.util.IOUtil;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * Representation of font. Used by text components to specify font to use by renderer.
+ * <p>
+ * Font could be created with data or as lazy font descriptor which reads font data from path when
+ * data is requested first time.
  */
 public class Font {
 
+  /**
+   * Path to font.
+   */
+  private final String path;
+
+  /**
+   * True if font data is read from path on first request.
+   */
+  private final boolean lazy;
+
   /**
    * Font data.
    */
-  private final ByteBuffer data;
+  private volatile ByteBuffer data;
 
   /**
-   * Path to font.
+   * True if font data could not be read.
    */
-  private final String path;
+  private volatile boolean failed;
 
   /**
    * Used to create font with specified path and data.
@@ -28,15 +43,49 @@ public class Font {
   public Font(String path, ByteBuffer data) {
     this.path = path;
     this.data = data;
+    this.lazy = false;
+  }
+
+  /**
+   * Used to create lazy font. Font data is read from path when it is requested first time.
+   *
+   * @param path path to font.
+   */
+  public Font(String path) {
+    this.path = path;
+    this.lazy = true;
   }
 
   /**
-   * Returns font data.
+   * Returns font data. Lazy font reads data on first call.
    *
-   * @return font data.
+   * @return font data or null if font data could not be read.
    */
   public ByteBuffer getData() {
-    return data;
+    ByteBuffer result = data;
+    if (result == null && lazy && !failed) {
+      synchronized (this) {
+        result = data;
+        if (result == null && !failed) {
+          try {
+            result = data = IOUtil.resourceToByteBuffer(path);
+          } catch (IOException | RuntimeException e) {
+            failed = true;
+            e.printStackTrace();
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns true if font data is read.
+   *
+   * @return true if font data is read.
+   */
+  public boolean isLoaded() {
+    return data != null;
   }
 
   /**
@@ -60,17 +109,21 @@ public class Font {
 
     Font font = (Font) o;
 
-    return new EqualsBuilder()
-        .append(getData(), font.getData())
-        .append(getPath(), font.getPath())
-        .isEquals();
+    // lazy fonts are equal if they are read from the same path
+    EqualsBuilder builder = new EqualsBuilder()
+        .append(lazy, font.lazy)
+        .append(getPath(), font.getPath());
+    if (!lazy) {
+      builder.append(data, font.data);
+    }
+    return builder.isEquals();
   }
 
   @Override
   public int hashCode() {
     return new HashCodeBuilder(17, 37)
-        .append(getData())
+        .append(lazy)
         .append(getPath())
         .toHashCode();
   }
-}
\ No newline at end of file
+}
@@ -5,10 +5,13 @@ import static com.spinyowl.legui.exception.LeguiExceptionTemplate.FAILED_TO_LOAD
 import com.spinyowl.legui.exception.LeguiException;
 import com.spinyowl.legui.util.IOUtil;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 public class FontRegistry {
@@ -45,12 +48,21 @@ public class FontRegistry {
    * Font register.
    */
   private static final Map<String, Font> fontRegister = new ConcurrentHashMap<>();
+  /**
+   * Registry version when font was registered, by font name.
+   */
+  private static final Map<String, Integer> fontVersions = new ConcurrentHashMap<>();
+  /**
+   * Registry version. Incremented every time when font is registered.
+   */
+  private static final AtomicInteger version = new AtomicInteger();
   /**
    * Font used by default. {@link #ROBOTO_BOLD}.
    */
   private static String defaultFont = ROBOTO_LIGHT;
 
   static {
+    // default fonts are read only when they are used first time
     registerFontSafe(ENTYPO, "com/spinyowl/legui/style/font/entypo.ttf");
     registerFontSafe(ROBOTO_BOLD, "com/spinyowl/legui/style/font/Roboto-Bold.ttf");
     registerFontSafe(ROBOTO_LIGHT, "com/spinyowl/legui/style/font/Roboto-Light.ttf");
@@ -85,25 +97,64 @@ public class FontRegistry {
    */
   public static void registerFont(final String name, final String path) {
     try {
-      fontRegister.put(name, new Font(path, IOUtil.resourceToByteBuffer(path)));
+      registerFont(name, new Font(path, IOUtil.resourceToByteBuffer(path)));
     } catch (IOException e) {
       throw FAILED_TO_LOAD_FONT.create(e, path);
     }
   }
 
   /**
-   * Fail-safe load and register font by provided name and path.
+   * Fail-safe register font by provided name and path. Font is registered as lazy font, so font data
+   * is read (and read errors are reported) when font is used first time.
+   *
+   * @param name font name.
+   * @param path font path.
    */
   public static void registerFontSafe(final String name, final String path) {
-    try {
-      registerFont(name, path);
-    } catch (Exception e) {
-      e.printStackTrace();
+    registerFont(name, new Font(path));
+  }
+
+  /**
+   * Used to register font by provided name. Replaces font registered with the same name.
+   *
+   * @param name font name.
+   * @param font font.
+   */
+  public static void registerFont(final String name, final Font font) {
+    synchronized (fontRegister) {
+      fontRegister.put(Objects.requireNonNull(name), Objects.requireNonNull(font));
+      fontVersions.put(name, version.incrementAndGet());
+    }
+  }
+
+  /**
+   * Returns registry version. Version is changed every time when font is registered, so renderers
+   * could update their fonts only when registry is changed.
+   *
+   * @return registry version.
+   */
+  public static int getVersion() {
+    return version.get();
+  }
+
+  /**
+   * Returns names of fonts which were registered after provided registry version.
+   *
+   * @param sinceVersion registry version.
+   * @return names of fonts registered after provided version.
+   */
+  public static List<String> getFontNamesChangedSince(int sinceVersion) {
+    List<String> names = new ArrayList<>();
+    for (Map.Entry<String, Integer> entry : fontVersions.entrySet()) {
+      if (entry.getValue() > sinceVersion) {
+        names.add(entry.getKey());
+      }
     }
+    return names;
   }
 
   /**
-   * Returns map of fonts where key is font name and value is font.
+   * Returns copy of map of fonts where key is font name and value is font.
    *
    * @return map of fonts where key is font name and value is font.
    */
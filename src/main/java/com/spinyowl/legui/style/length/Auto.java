@@ -5,5 +5,6 @@ public final class Auto extends Unit {
   public static final Auto AUTO = new Auto();
 
   private Auto() {
+    super(KIND_AUTO);
   }
 }
@@ -2,22 +2,73 @@ package com.spinyowl.legui.style.length;
 
 import java.util.Objects;
 
+/**
+ * Length value of specified type.
+ * <p>
+ * Values of {@link LengthType#PIXEL} and {@link LengthType#PERCENT} lengths are stored as
+ * primitive float and should be read with {@link #floatValue()}. {@link #get()} boxes such value
+ * on every call and is kept for custom length types.
+ *
+ * @param <T> type of length value.
+ */
 public class Length<T> extends Unit {
 
   private final T value;
+  private final float floatValue;
   private final LengthType<T> type;
 
   public Length(T value, LengthType<T> type) {
+    super(kindOf(type));
     Objects.requireNonNull(value);
     Objects.requireNonNull(type);
-    this.value = value;
+    if (isPixel() || isPercent()) {
+      this.floatValue = (Float) value;
+      this.value = null;
+    } else {
+      this.floatValue = 0;
+      this.value = value;
+    }
     this.type = type;
   }
 
+  /**
+   * Used to create float length without boxing. Should be used only with {@link LengthType#PIXEL}
+   * or {@link LengthType#PERCENT} types.
+   */
+  Length(float value, LengthType<T> type) {
+    super(kindOf(type));
+    this.floatValue = value;
+    this.value = null;
+    this.type = type;
+  }
+
+  private static byte kindOf(LengthType<?> type) {
+    if (type == LengthType.PIXEL) {
+      return KIND_PIXEL;
+    } else if (type == LengthType.PERCENT) {
+      return KIND_PERCENT;
+    }
+    return KIND_LENGTH;
+  }
+
+  @SuppressWarnings("unchecked")
   public T get() {
+    if (isPixel() || isPercent()) {
+      return (T) Float.valueOf(floatValue);
+    }
     return value;
   }
 
+  /**
+   * Returns value of {@link LengthType#PIXEL} or {@link LengthType#PERCENT} length without
+   * boxing. Returns 0 for lengths of other types.
+   *
+   * @return float value of length.
+   */
+  public float floatValue() {
+    return floatValue;
+  }
+
   public LengthType<T> type() {
     return this.type;
   }
@@ -5,6 +5,16 @@ public final class LengthType<T> {
   public static final LengthType<Float> PIXEL = new LengthType<>("PIXEL", Float.class);
   public static final LengthType<Float> PERCENT = new LengthType<>("PERCENT", Float.class);
 
+  /**
+   * Lengths are immutable, so lengths of common values are created once and shared: pixel lengths
+   * from 0 to {@link #MAX_CACHED_PIXEL} and percent lengths of 0, 50 and 100.
+   */
+  private static final int MAX_CACHED_PIXEL = 64;
+  private static final Length<Float>[] PIXEL_CACHE = createPixelCache();
+  private static final Length<Float> PERCENT_0 = new Length<>(0f, PERCENT);
+  private static final Length<Float> PERCENT_50 = new Length<>(50f, PERCENT);
+  private static final Length<Float> PERCENT_100 = new Length<>(100f, PERCENT);
+
   private final String name;
   private final Class<T> type;
 
@@ -13,11 +23,31 @@ public final class LengthType<T> {
     this.type = type;
   }
 
+  @SuppressWarnings("unchecked")
+  private static Length<Float>[] createPixelCache() {
+    Length<Float>[] cache = new Length[MAX_CACHED_PIXEL + 1];
+    for (int i = 0; i < cache.length; i++) {
+      cache[i] = new Length<>((float) i, PIXEL);
+    }
+    return cache;
+  }
+
   public static Length<Float> pixel(float value) {
+    int index = (int) value;
+    if (index == value && index >= 0 && index <= MAX_CACHED_PIXEL) {
+      return PIXEL_CACHE[index];
+    }
     return new Length<>(value, PIXEL);
   }
 
   public static Length<Float> percent(float value) {
+    if (value == 0f) {
+      return PERCENT_0;
+    } else if (value == 50f) {
+      return PERCENT_50;
+    } else if (value == 100f) {
+      return PERCENT_100;
+    }
     return new Length<>(value, PERCENT);
   }
 
@@ -29,10 +59,16 @@ public final class LengthType<T> {
     return type;
   }
 
+  @SuppressWarnings("unchecked")
   public Length<T> length(T value) {
     if (value == null) {
       return null;
     }
+    if (this == PIXEL) {
+      return (Length<T>) pixel((Float) value);
+    } else if (this == PERCENT) {
+      return (Length<T>) percent((Float) value);
+    }
     return new Length<>(value, this);
   }
 
@@ -1,13 +1,58 @@
 package com.spinyowl.legui.style.length;
 
+/**
+ * Base class of style units. Kind of unit is stored as primitive tag, so layout and renderers
+ * could check it without type checks and read values of {@link LengthType#PIXEL} and {@link
+ * LengthType#PERCENT} lengths without unboxing (see {@link Length#floatValue()}).
+ * <p>
+ * Units defined outside of this package are created with {@link #Unit()} and are neither lengths
+ * nor auto.
+ */
 public abstract class Unit {
 
+  static final byte KIND_AUTO = 0;
+  static final byte KIND_PIXEL = 1;
+  static final byte KIND_PERCENT = 2;
+  static final byte KIND_LENGTH = 3;
+  static final byte KIND_OTHER = 4;
+
+  private final byte kind;
+
+  /**
+   * Used to create unit which is not length and not auto.
+   */
+  protected Unit() {
+    this(KIND_OTHER);
+  }
+
+  Unit(byte kind) {
+    this.kind = kind;
+  }
+
   public boolean isLength() {
-    return this instanceof Length;
+    return kind != KIND_AUTO && kind != KIND_OTHER;
   }
 
   public boolean isAuto() {
-    return this instanceof Auto;
+    return kind == KIND_AUTO;
+  }
+
+  /**
+   * Returns true if unit is length of {@link LengthType#PIXEL} type.
+   *
+   * @return true if unit is pixel length.
+   */
+  public boolean isPixel() {
+    return kind == KIND_PIXEL;
+  }
+
+  /**
+   * Returns true if unit is length of {@link LengthType#PERCENT} type.
+   *
+   * @return true if unit is percent length.
+   */
+  public boolean isPercent() {
+    return kind == KIND_PERCENT;
   }
 
   public Length asLength() {
@@ -1,8 +1,5 @@
 package com.spinyowl.legui.style.util;
 
-import static com.spinyowl.legui.style.length.LengthType.PERCENT;
-import static com.spinyowl.legui.style.length.LengthType.PIXEL;
-
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.style.Style;
 import com.spinyowl.legui.style.length.Length;
@@ -13,6 +10,11 @@ import org.joml.Vector4f;
 
 public final class StyleUtilities {
 
+  /**
+   * Style which is used instead of state styles which were not created yet. Read only.
+   */
+  private static final Style EMPTY_STYLE = new Style();
+
   private StyleUtilities() {
   }
 
@@ -25,6 +27,18 @@ public final class StyleUtilities {
    * bottom.
    */
   public static Vector4f getPadding(Component component, Style style) {
+    return getPadding(component, style, new Vector4f());
+  }
+
+  /**
+   * Used to get component padding without allocation. See {@link #getPadding(Component, Style)}.
+   *
+   * @param component component for which padding is calculated.
+   * @param style     style with paddings.
+   * @param dest      vector to store result.
+   * @return dest vector.
+   */
+  public static Vector4f getPadding(Component component, Style style, Vector4f dest) {
 
     Length paddingLeft = style.getPaddingLeft();
     Length paddingRight = style.getPaddingRight();
@@ -38,7 +52,7 @@ public final class StyleUtilities {
       baseWidth = component.getSize().x;
     }
 
-    return new Vector4f(
+    return dest.set(
         getFloatLengthNullSafe(paddingLeft, baseWidth),
         getFloatLengthNullSafe(paddingTop, baseWidth),
         getFloatLengthNullSafe(paddingRight, baseWidth),
@@ -54,8 +68,28 @@ public final class StyleUtilities {
    * @return float(pixels) representation of length.
    */
   public static float getFloatLengthNullSafe(Unit length, float baseWidth) {
-    Float floatLength = getFloatLength(length, baseWidth);
-    return floatLength == null ? 0 : floatLength;
+    return getFloatLength(length, baseWidth, 0);
+  }
+
+  /**
+   * Used to extract float value of length from {@link Length} value without boxing.
+   *
+   * @param length       length
+   * @param baseWidth    base width to calculate length using percentage.
+   * @param defaultValue value returned if length is null or could not be converted to pixels.
+   * @return float(pixels) representation of length.
+   */
+  public static float getFloatLength(Unit length, float baseWidth, float defaultValue) {
+    if (length == null) {
+      return defaultValue;
+    } else if (length.isAuto()) {
+      return baseWidth;
+    } else if (length.isPixel()) {
+      return length.asLength().floatValue();
+    } else if (length.isPercent()) {
+      return length.asLength().floatValue() * baseWidth / 100f;
+    }
+    return defaultValue;
   }
 
   /**
@@ -63,22 +97,14 @@ public final class StyleUtilities {
    *
    * @param length    length
    * @param baseWidth base width to calculate length using percentage.
-   * @return float(pixels) representation of length.
+   * @return float(pixels) representation of length or null if length is null or could not be
+   * converted to pixels.
    */
   public static Float getFloatLength(Unit length, float baseWidth) {
-    if (length == null) {
+    if (length == null || !(length.isAuto() || length.isPixel() || length.isPercent())) {
       return null;
-    } else if (length.isAuto()) {
-      return baseWidth;
-    } else if (length.isLength()) {
-      Length l = length.asLength();
-      if (PIXEL.equals(l.type())) {
-        return PIXEL.type().cast(l.get());
-      } else if (PERCENT.equals(l.type())) {
-        return PERCENT.type().cast(l.get()) * baseWidth / 100f;
-      }
     }
-    return null;
+    return getFloatLength(length, baseWidth, 0);
   }
 
 
@@ -94,7 +120,23 @@ public final class StyleUtilities {
   public static Vector4f getInnerContentRectangle(Vector2f componentPosition,
       Vector2f componentSize,
       Vector4f componentPadding) {
-    return new Vector4f(
+    return getInnerContentRectangle(componentPosition, componentSize, componentPadding,
+        new Vector4f());
+  }
+
+  /**
+   * Used to calculate inner content rectangle without allocation. See {@link
+   * #getInnerContentRectangle(Vector2f, Vector2f, Vector4f)}.
+   *
+   * @param componentPosition component position.
+   * @param componentSize     component size.
+   * @param componentPadding  component padding.
+   * @param dest              vector to store result.
+   * @return dest vector.
+   */
+  public static Vector4f getInnerContentRectangle(Vector2f componentPosition,
+      Vector2f componentSize, Vector4f componentPadding, Vector4f dest) {
+    return dest.set(
         componentPosition.x + componentPadding.x,
         componentPosition.y + componentPadding.y,
         componentSize.x - componentPadding.x - componentPadding.z,
@@ -113,12 +155,25 @@ public final class StyleUtilities {
    * @return vector of four border radius.
    */
   public static Vector4f getBorderRadius(Component component, Style style) {
+    return getBorderRadius(component, style, new Vector4f());
+  }
+
+  /**
+   * Used to calculate vector of four border radius elements without allocation. See {@link
+   * #getBorderRadius(Component, Style)}.
+   *
+   * @param component component.
+   * @param style     style to get radius from.
+   * @param dest      vector to store result.
+   * @return dest vector.
+   */
+  public static Vector4f getBorderRadius(Component component, Style style, Vector4f dest) {
     Length borderTopLeftRadius = style.getBorderTopLeftRadius();
     Length borderTopRightRadius = style.getBorderTopRightRadius();
     Length borderBottomRightRadius = style.getBorderBottomRightRadius();
     Length borderBottomLeftRadius = style.getBorderBottomLeftRadius();
 
-    return new Vector4f(
+    return dest.set(
         getFloatLengthNullSafe(borderTopLeftRadius, component.getSize().x),
         getFloatLengthNullSafe(borderTopRightRadius, component.getSize().x),
         getFloatLengthNullSafe(borderBottomRightRadius, component.getSize().x),
@@ -135,17 +190,25 @@ public final class StyleUtilities {
     Style style = component.getStyle();
     T general = getter.apply(style);
     T value = general == null ? defaultValue : general;
-    if (component.isFocused() && getter.apply(component.getFocusedStyle()) != null) {
-      value = getter.apply(component.getFocusedStyle());
+    if (component.isFocused()) {
+      value = getStateStyle(
+          component.hasFocusedStyle() ? component.getFocusedStyle() : EMPTY_STYLE, getter, value);
     }
-    if (component.isHovered() && getter.apply(component.getHoveredStyle()) != null) {
-      value = getter.apply(component.getHoveredStyle());
+    if (component.isHovered()) {
+      value = getStateStyle(
+          component.hasHoveredStyle() ? component.getHoveredStyle() : EMPTY_STYLE, getter, value);
     }
-    if (component.isPressed() && getter.apply(component.getPressedStyle()) != null) {
-      value = getter.apply(component.getPressedStyle());
+    if (component.isPressed()) {
+      value = getStateStyle(
+          component.hasPressedStyle() ? component.getPressedStyle() : EMPTY_STYLE, getter, value);
     }
     return value;
   }
 
+  private static <T> T getStateStyle(Style stateStyle, Function<Style, T> getter, T value) {
+    T stateValue = getter.apply(stateStyle);
+    return stateValue == null ? value : stateValue;
+  }
+
 
 }
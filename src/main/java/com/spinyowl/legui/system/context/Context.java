@@ -12,13 +12,18 @@ import static org.lwjgl.glfw.GLFW.glfwGetWindowFrameSize;
 import static org.lwjgl.glfw.GLFW.glfwGetWindowPos;
 import static org.lwjgl.glfw.GLFW.glfwGetWindowSize;
 
+import com.spinyowl.legui.animation.Animator;
+import com.spinyowl.legui.animation.AnimatorImpl;
+import com.spinyowl.legui.animation.AnimatorProvider;
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.Frame;
 import com.spinyowl.legui.config.Configuration;
 import com.spinyowl.legui.event.FocusEvent;
+import com.spinyowl.legui.input.MouseState;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.system.event.SystemWindowScaleEvent;
 import com.spinyowl.legui.system.handler.processor.SystemEventProcessor;
+import com.spinyowl.legui.system.profiler.FrameProfiler;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -39,6 +44,10 @@ public class Context {
   private final SystemEventProcessor systemEventProcessor;
 
   private final Map<String, Object> contextData = new ConcurrentHashMap<>();
+  private final FrameProfiler frameProfiler = new FrameProfiler();
+  private final FrameScheduler frameScheduler = new FrameScheduler(this::getAnimator);
+  private final MouseState mouseState = new MouseState();
+  private volatile Animator animator;
   private Vector2f windowPosition;
   private Vector2i windowSize;
   private Vector2i framebufferSize;
@@ -118,6 +127,64 @@ public class Context {
     return contextData;
   }
 
+  /**
+   * Returns frame scheduler which tracks if frame of this context should be redrawn.
+   *
+   * @return frame scheduler.
+   */
+  public FrameScheduler getFrameScheduler() {
+    return frameScheduler;
+  }
+
+  /**
+   * Returns animator of this context. If animator was not set, default animator provided by {@link
+   * AnimatorProvider} is returned.
+   *
+   * @return animator of context.
+   */
+  public Animator getAnimator() {
+    Animator current = animator;
+    return current == null ? AnimatorProvider.getAnimator() : current;
+  }
+
+  /**
+   * Used to set animator of this context. Contexts could use own animators (for example with own
+   * {@link com.spinyowl.legui.animation.TimeSource}), which should be updated by render loop of
+   * context. Frame profiler of this context is attached to {@link AnimatorImpl} animator. Default
+   * animator is shared by contexts, so its animations are not recorded by frame profilers.
+   *
+   * @param animator animator to set or null to use default animator.
+   */
+  public void setAnimator(Animator animator) {
+    Animator previous = this.animator;
+    if (previous instanceof AnimatorImpl
+        && ((AnimatorImpl) previous).getFrameProfiler() == frameProfiler) {
+      ((AnimatorImpl) previous).setFrameProfiler(null);
+    }
+    if (animator instanceof AnimatorImpl) {
+      ((AnimatorImpl) animator).setFrameProfiler(frameProfiler);
+    }
+    this.animator = animator;
+  }
+
+  /**
+   * Returns mouse state of this context (cursor position and pressed buttons of context window).
+   *
+   * @return mouse state.
+   */
+  public MouseState getMouseState() {
+    return mouseState;
+  }
+
+  /**
+   * Returns frame profiler of this context. Profiler is disabled by default.
+   *
+   * @return frame profiler.
+   */
+  public FrameProfiler getFrameProfiler() {
+    return frameProfiler;
+  }
+
   /** Update glfw window. */
   public void updateGlfwWindow() {
     glfwGetWindowSize(glfwWindow, windowWidth, windowHeight);
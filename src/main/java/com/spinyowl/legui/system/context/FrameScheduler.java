@@ -0,0 +1,207 @@
+package com.spinyowl.legui.system.context;
+
+import com.spinyowl.legui.animation.Animator;
+import com.spinyowl.legui.animation.AnimatorProvider;
+import com.spinyowl.legui.image.BufferedImageRGBA;
+import com.spinyowl.legui.image.LoadableImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Used to track if frame of context should be redrawn.
+ * <p>
+ * Redraw is requested by processed system and legui events, running animations, renderers which
+ * need next frame after some delay (for example caret blinking), updated {@link BufferedImageRGBA}
+ * images and loaded {@link LoadableImage} images rendered in previous frame. Host render loop could
+ * use {@link #awaitRedraw(long, TimeUnit)} to sleep until next required frame and should call
+ * {@link #beginFrame()} before frame rendering.
+ * <p>
+ * Changes made to components outside of event listeners and animations (for example from another
+ * thread) should be followed by {@link #requestRedraw()}.
+ */
+public class FrameScheduler {
+
+  /**
+   * Interval used to check updated images while waiting for redraw.
+   */
+  private static final long IMAGE_POLL_INTERVAL = TimeUnit.MILLISECONDS.toNanos(15);
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition redrawCondition = lock.newCondition();
+  private final List<BufferedImageRGBA> watchedImages = new ArrayList<>();
+  private final List<LoadableImage> loadingImages = new ArrayList<>();
+
+  private volatile boolean redrawRequested = true;
+  private boolean delayedRedraw;
+  private long redrawTime;
+  private volatile boolean animating;
+  private final Supplier<Animator> animator;
+
+  /**
+   * Used to create frame scheduler which checks animations of default animator provided by {@link
+   * AnimatorProvider}.
+   */
+  public FrameScheduler() {
+    this(AnimatorProvider::getAnimator);
+  }
+
+  /**
+   * Used to create frame scheduler which checks animations of provided animator.
+   *
+   * @param animator supplier of animator which animations require redraw.
+   */
+  public FrameScheduler(Supplier<Animator> animator) {
+    this.animator = animator;
+  }
+
+  /**
+   * Used to request redraw as soon as possible.
+   */
+  public void requestRedraw() {
+    redrawRequested = true;
+    lock.lock();
+    try {
+      redrawCondition.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Used to request redraw after specified delay. If redraw was already requested earlier then
+   * earliest time is used.
+   *
+   * @param delay delay.
+   * @param unit  delay time unit.
+   */
+  public void requestRedraw(long delay, TimeUnit unit) {
+    long time = System.nanoTime() + unit.toNanos(delay);
+    lock.lock();
+    try {
+      if (!delayedRedraw || time - redrawTime < 0) {
+        delayedRedraw = true;
+        redrawTime = time;
+        redrawCondition.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Used to watch image rendered in current frame. Redraw is requested when image is updated.
+   *
+   * @param image image to watch.
+   */
+  public void watchImage(BufferedImageRGBA image) {
+    lock.lock();
+    try {
+      if (!watchedImages.contains(image)) {
+        watchedImages.add(image);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Used to watch image which is not loaded yet but should be rendered in current frame. Redraw is
+   * requested when image is loaded.
+   *
+   * @param image image to watch.
+   */
+  public void watchImage(LoadableImage image) {
+    lock.lock();
+    try {
+      if (!loadingImages.contains(image)) {
+        loadingImages.add(image);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns true if frame should be redrawn.
+   *
+   * @return true if frame should be redrawn.
+   */
+  public boolean needsRedraw() {
+    if (redrawRequested || animating || animator.get().hasAnimations()) {
+      return true;
+    }
+    lock.lock();
+    try {
+      if (delayedRedraw && System.nanoTime() - redrawTime >= 0) {
+        return true;
+      }
+      for (BufferedImageRGBA image : watchedImages) {
+        if (image.isUpdated()) {
+          return true;
+        }
+      }
+      for (LoadableImage image : loadingImages) {
+        if (image.isLoaded()) {
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Used to wait until frame should be redrawn or timeout is elapsed.
+   *
+   * @param timeout maximum time to wait.
+   * @param unit    timeout time unit.
+   * @return true if frame should be redrawn, false if timeout elapsed.
+   * @throws InterruptedException if current thread was interrupted while waiting.
+   */
+  public boolean awaitRedraw(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    lock.lock();
+    try {
+      while (!needsRedraw()) {
+        long now = System.nanoTime();
+        long wait = deadline - now;
+        if (wait <= 0) {
+          return false;
+        }
+        if (delayedRedraw) {
+          wait = Math.min(wait, redrawTime - now);
+        }
+        if (!watchedImages.isEmpty() || !loadingImages.isEmpty()) {
+          wait = Math.min(wait, IMAGE_POLL_INTERVAL);
+        }
+        redrawCondition.awaitNanos(wait);
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Should be called by render loop before frame rendering. Clears all redraw requests, so requests
+   * made during frame rendering are related to next frame.
+   */
+  public void beginFrame() {
+    redrawRequested = false;
+    lock.lock();
+    try {
+      delayedRedraw = false;
+      watchedImages.clear();
+      loadingImages.clear();
+      // one more frame is required after last animation finished
+      animating = animator.get().hasAnimations();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -6,11 +6,11 @@ import com.spinyowl.legui.component.Layer;
 import com.spinyowl.legui.event.CursorEnterEvent;
 import com.spinyowl.legui.event.Event;
 import com.spinyowl.legui.event.MouseDragEvent;
-import com.spinyowl.legui.input.Mouse;
+import com.spinyowl.legui.input.Mouse.MouseButton;
+import com.spinyowl.legui.input.MouseState;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.event.SystemCursorPosEvent;
-import java.util.Collections;
 import java.util.List;
 import org.joml.Vector2f;
 
@@ -26,13 +26,14 @@ public class CursorPosEventHandler extends AbstractSystemEventHandler<SystemCurs
    */
   protected void preHandle(SystemCursorPosEvent event, Frame frame, Context context) {
     Vector2f scale = context.getScale();
-    Vector2f cursorPosition = new Vector2f(event.fx / scale.x, event.fy / scale.y);
-    Mouse.pushCursorPosition(cursorPosition);
+    MouseState mouseState = context.getMouseState();
+    mouseState.pushCursorPosition(event.fx / scale.x, event.fy / scale.y);
+    Vector2f cursorPosition = mouseState.getCursorPosition();
 
     List<Layer> allLayers = frame.getAllLayers();
-    Collections.reverse(allLayers);
     Component targetComponent = null;
-    for (Layer layer : allLayers) {
+    for (int i = allLayers.size() - 1; i >= 0; i--) {
+      Layer layer = allLayers.get(i);
       if (!layer.isEventReceivable() || !layer.isVisible() || !layer.isEnabled()) {
         continue;
       }
@@ -49,15 +50,15 @@ public class CursorPosEventHandler extends AbstractSystemEventHandler<SystemCurs
         Vector2f curPosInComponent =
             targetComponent.getAbsolutePosition().sub(cursorPosition).negate();
         CursorEnterEvent enterEvent =
-            new CursorEnterEvent(
-                targetComponent, context, frame, true, curPosInComponent, cursorPosition);
+            new CursorEnterEvent(targetComponent, context, frame, true, curPosInComponent,
+                new Vector2f(cursorPosition));
         EventProcessorProvider.getInstance().pushEvent(enterEvent);
       }
       if (prevTarget != null) {
         Vector2f curPosInPrevTarget = prevTarget.getAbsolutePosition().sub(cursorPosition).negate();
         CursorEnterEvent exitEvent =
-            new CursorEnterEvent(
-                prevTarget, context, frame, false, curPosInPrevTarget, cursorPosition);
+            new CursorEnterEvent(prevTarget, context, frame, false, curPosInPrevTarget,
+                new Vector2f(cursorPosition));
         EventProcessorProvider.getInstance().pushEvent(exitEvent);
         prevTarget.setHovered(false);
       }
@@ -76,7 +77,7 @@ public class CursorPosEventHandler extends AbstractSystemEventHandler<SystemCurs
    */
   @Override
   protected boolean handle(SystemCursorPosEvent event, Layer layer, Context context, Frame frame) {
-    List<Component> childComponents = layer.getChildComponents();
+    List<Component> childComponents = layer.getChildComponentsSnapshot();
     for (Component child : childComponents) {
       handle(child, context, frame);
     }
@@ -92,15 +93,16 @@ public class CursorPosEventHandler extends AbstractSystemEventHandler<SystemCurs
    */
   private void handle(Component component, Context context, Frame frame) {
     if (component.isEmpty()) {
-      if ((Mouse.MouseButton.MOUSE_BUTTON_LEFT.isPressed()
-              || Mouse.MouseButton.MOUSE_BUTTON_RIGHT.isPressed())
+      MouseState mouseState = context.getMouseState();
+      if ((mouseState.isPressed(MouseButton.MOUSE_BUTTON_LEFT)
+              || mouseState.isPressed(MouseButton.MOUSE_BUTTON_RIGHT))
           && component == context.getFocusedGui()) {
-        Vector2f delta = Mouse.getCursorPosition().sub(Mouse.getCursorPositionPrev());
+        Vector2f delta = mouseState.getCursorDelta(new Vector2f());
         EventProcessorProvider.getInstance()
             .pushEvent(new MouseDragEvent(component, context, frame, delta));
       }
     } else {
-      List<Component> childComponents = component.getChildComponents();
+      List<Component> childComponents = component.getChildComponentsSnapshot();
       for (Component child : childComponents) {
         handle(child, context, frame);
       }
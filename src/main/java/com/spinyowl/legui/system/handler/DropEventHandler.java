@@ -4,7 +4,6 @@ import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.Frame;
 import com.spinyowl.legui.component.Layer;
 import com.spinyowl.legui.event.DropEvent;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.event.SystemDropEvent;
@@ -18,7 +17,7 @@ public class DropEventHandler extends AbstractSystemEventHandler<SystemDropEvent
   @Override
   protected boolean handle(SystemDropEvent event, Layer layer, Context context, Frame frame) {
     List<Component> targetComponentList = SehUtil.getTargetComponentList(layer,
-        Mouse.getCursorPosition());
+        context.getMouseState().getCursorPosition());
     List<String> strings = Arrays.stream(event.strings).collect(Collectors.toList());
     for (Component component : targetComponentList) {
       EventProcessorProvider.getInstance()
@@ -0,0 +1,346 @@
+package com.spinyowl.legui.system.handler;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Layer;
+import com.spinyowl.legui.intersection.Intersector;
+import com.spinyowl.legui.intersection.RectangleIntersector;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.joml.Vector2f;
+
+/**
+ * Spatial index of layer components used to find components under point without traversing whole
+ * component tree.
+ * <p>
+ * Index contains visible components in depth-first order with their absolute bounds clipped by
+ * parent bounds and is stored in uniform grid. Components with custom {@link Intersector} (and
+ * their child components) are additionally checked with their intersectors during query.
+ * <p>
+ * Index is immutable, it is rebuilt by {@link #update(Layer)} (called by layout manager) only if
+ * positions, sizes, visibility, focusability, intersectors or child components were changed.
+ */
+public final class HitTestIndex {
+
+  /**
+   * Maximum number of grid cells per side.
+   */
+  private static final int MAX_GRID_SIDE = 128;
+  /**
+   * Components which cover more cells are stored in list of large components.
+   */
+  private static final int MAX_CELLS_PER_COMPONENT = 16;
+
+  private static final byte FOCUSABLE = 1;
+  private static final byte CHECK_SELF = 2;
+
+  private static final ThreadLocal<Builder> BUILDER = ThreadLocal.withInitial(Builder::new);
+
+  private final long signature;
+  private final Component[] components;
+  /**
+   * Clipped bounds of components - minX, minY, maxX, maxY.
+   */
+  private final float[] bounds;
+  /**
+   * Index of closest parent with custom intersector or -1.
+   */
+  private final int[] checkParents;
+  private final byte[] flags;
+
+  private final float gridX;
+  private final float gridY;
+  private final float cellWidth;
+  private final float cellHeight;
+  private final int columns;
+  private final int rows;
+  private final int[] cellStarts;
+  private final int[] cellItems;
+  private final int[] largeItems;
+
+  private HitTestIndex(Builder builder) {
+    int count = builder.count;
+    this.signature = builder.signature;
+    this.components = Arrays.copyOf(builder.components, count);
+    this.bounds = Arrays.copyOf(builder.bounds, count * 4);
+    this.checkParents = Arrays.copyOf(builder.checkParents, count);
+    this.flags = Arrays.copyOf(builder.flags, count);
+
+    float minX = Float.POSITIVE_INFINITY;
+    float minY = Float.POSITIVE_INFINITY;
+    float maxX = Float.NEGATIVE_INFINITY;
+    float maxY = Float.NEGATIVE_INFINITY;
+    for (int i = 0; i < count; i++) {
+      if (isFinite(i)) {
+        minX = Math.min(minX, bounds[i * 4]);
+        minY = Math.min(minY, bounds[i * 4 + 1]);
+        maxX = Math.max(maxX, bounds[i * 4 + 2]);
+        maxY = Math.max(maxY, bounds[i * 4 + 3]);
+      }
+    }
+    if (minX > maxX) {
+      minX = minY = maxX = maxY = 0;
+    }
+    int side = Math.max(1, Math.min(MAX_GRID_SIDE, (int) Math.ceil(Math.sqrt(count / 2d))));
+    this.gridX = minX;
+    this.gridY = minY;
+    this.columns = side;
+    this.rows = side;
+    this.cellWidth = Math.max((maxX - minX) / side, 1f);
+    this.cellHeight = Math.max((maxY - minY) / side, 1f);
+
+    // two passes: count items per cell and then fill cells keeping depth-first order.
+    int[] starts = new int[columns * rows + 1];
+    int largeCount = 0;
+    for (int i = 0; i < count; i++) {
+      if (isLarge(i)) {
+        largeCount++;
+      } else {
+        for (int y = row(bounds[i * 4 + 1]); y <= row(bounds[i * 4 + 3]); y++) {
+          for (int x = column(bounds[i * 4]); x <= column(bounds[i * 4 + 2]); x++) {
+            starts[y * columns + x + 1]++;
+          }
+        }
+      }
+    }
+    for (int i = 1; i < starts.length; i++) {
+      starts[i] += starts[i - 1];
+    }
+    int[] items = new int[starts[starts.length - 1]];
+    int[] large = new int[largeCount];
+    int[] positions = Arrays.copyOf(starts, starts.length - 1);
+    largeCount = 0;
+    for (int i = 0; i < count; i++) {
+      if (isLarge(i)) {
+        large[largeCount++] = i;
+      } else {
+        for (int y = row(bounds[i * 4 + 1]); y <= row(bounds[i * 4 + 3]); y++) {
+          for (int x = column(bounds[i * 4]); x <= column(bounds[i * 4 + 2]); x++) {
+            items[positions[y * columns + x]++] = i;
+          }
+        }
+      }
+    }
+    this.cellStarts = starts;
+    this.cellItems = items;
+    this.largeItems = large;
+  }
+
+  /**
+   * Used to update hit test index of layer. Index is rebuilt only if layer components were
+   * changed.
+   *
+   * @param layer layer to update index.
+   */
+  public static void update(Layer layer) {
+    Builder builder = BUILDER.get();
+    try {
+      builder.collect(layer);
+      HitTestIndex index = layer.getHitTestIndex();
+      if (index == null || index.signature != builder.signature) {
+        layer.setHitTestIndex(new HitTestIndex(builder));
+      }
+    } finally {
+      builder.clear();
+    }
+  }
+
+  /**
+   * Used to find top focusable component under point. Layer itself is not checked.
+   *
+   * @param point point to search.
+   * @return top focusable component under point or null.
+   */
+  public Component getTargetComponent(Vector2f point) {
+    int best = -1;
+    int cell = cell(point);
+    if (cell >= 0) {
+      for (int k = cellStarts[cell + 1] - 1; k >= cellStarts[cell]; k--) {
+        int i = cellItems[k];
+        if ((flags[i] & FOCUSABLE) != 0 && hits(i, point)) {
+          best = i;
+          break;
+        }
+      }
+    }
+    for (int k = largeItems.length - 1; k >= 0 && largeItems[k] > best; k--) {
+      int i = largeItems[k];
+      if ((flags[i] & FOCUSABLE) != 0 && hits(i, point)) {
+        best = i;
+        break;
+      }
+    }
+    return best == -1 ? null : components[best];
+  }
+
+  /**
+   * Used to find all components under point in depth-first order. Layer itself is not added.
+   *
+   * @param point      point to search.
+   * @param targetList list to add found components.
+   */
+  public void getTargetComponentList(Vector2f point, List<Component> targetList) {
+    int cell = cell(point);
+    int k = cell >= 0 ? cellStarts[cell] : 0;
+    int end = cell >= 0 ? cellStarts[cell + 1] : 0;
+    int l = 0;
+    while (k < end || l < largeItems.length) {
+      int i;
+      if (l == largeItems.length || (k < end && cellItems[k] < largeItems[l])) {
+        i = cellItems[k++];
+      } else {
+        i = largeItems[l++];
+      }
+      if (hits(i, point)) {
+        targetList.add(components[i]);
+      }
+    }
+  }
+
+  private boolean hits(int i, Vector2f point) {
+    if (point.x < bounds[i * 4] || point.y < bounds[i * 4 + 1]
+        || point.x > bounds[i * 4 + 2] || point.y > bounds[i * 4 + 3]) {
+      return false;
+    }
+    if ((flags[i] & CHECK_SELF) != 0 && !components[i].intersects(point)) {
+      return false;
+    }
+    for (int p = checkParents[i]; p != -1; p = checkParents[p]) {
+      if (!components[p].intersects(point)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isFinite(int i) {
+    return Float.isFinite(bounds[i * 4]) && Float.isFinite(bounds[i * 4 + 1])
+        && Float.isFinite(bounds[i * 4 + 2]) && Float.isFinite(bounds[i * 4 + 3]);
+  }
+
+  private boolean isLarge(int i) {
+    if (!isFinite(i)) {
+      return true;
+    }
+    int width = column(bounds[i * 4 + 2]) - column(bounds[i * 4]) + 1;
+    int height = row(bounds[i * 4 + 3]) - row(bounds[i * 4 + 1]) + 1;
+    return width * height > MAX_CELLS_PER_COMPONENT;
+  }
+
+  private int cell(Vector2f point) {
+    float x = (point.x - gridX) / cellWidth;
+    float y = (point.y - gridY) / cellHeight;
+    if (!(x >= 0 && y >= 0 && x <= columns && y <= rows)) {
+      return -1;
+    }
+    return row(point.y) * columns + column(point.x);
+  }
+
+  private int column(float x) {
+    return Math.max(0, Math.min(columns - 1, (int) ((x - gridX) / cellWidth)));
+  }
+
+  private int row(float y) {
+    return Math.max(0, Math.min(rows - 1, (int) ((y - gridY) / cellHeight)));
+  }
+
+  /**
+   * Reusable builder which collects layer components and calculates signature of layer.
+   */
+  private static final class Builder {
+
+    private Component[] components = new Component[64];
+    private float[] bounds = new float[64 * 4];
+    private int[] checkParents = new int[64];
+    private byte[] flags = new byte[64];
+    private int count;
+    private long signature;
+
+    private void collect(Layer layer) {
+      count = 0;
+      signature = 17;
+      Vector2f position = layer.getAbsolutePosition();
+      for (Iterator<Component> i = layer.containerIterator(); i.hasNext(); ) {
+        collect(i.next(), position.x, position.y, Float.NEGATIVE_INFINITY,
+            Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, -1);
+      }
+      signature = mix(signature, count);
+    }
+
+    private void collect(Component component, float parentX, float parentY,
+        float clipMinX, float clipMinY, float clipMaxX, float clipMaxY, int checkParent) {
+      boolean visible = component.isVisible();
+      signature = mix(signature, System.identityHashCode(component));
+      signature = mix(signature, visible ? 1 : 0);
+      if (!visible) {
+        return;
+      }
+      Vector2f position = component.getPosition();
+      Vector2f size = component.getSize();
+      Intersector intersector = component.getIntersector();
+      boolean rectangle = intersector != null && intersector.getClass() == RectangleIntersector.class;
+      signature = mix(signature, position.x);
+      signature = mix(signature, position.y);
+      signature = mix(signature, size.x);
+      signature = mix(signature, size.y);
+      signature = mix(signature, component.isFocusable() ? 1 : 0);
+      signature = mix(signature, System.identityHashCode(intersector));
+
+      float x = parentX + position.x;
+      float y = parentY + position.y;
+      float minX = clipMinX;
+      float minY = clipMinY;
+      float maxX = clipMaxX;
+      float maxY = clipMaxY;
+      if (rectangle) {
+        minX = Math.max(minX, x);
+        minY = Math.max(minY, y);
+        maxX = Math.min(maxX, x + size.x);
+        maxY = Math.min(maxY, y + size.y);
+        if (minX > maxX || minY > maxY) {
+          // component and its child components can't be hit
+          return;
+        }
+      }
+
+      int index = add(component, minX, minY, maxX, maxY, checkParent,
+          (byte) ((component.isFocusable() ? FOCUSABLE : 0) | (rectangle ? 0 : CHECK_SELF)));
+      int childCheckParent = rectangle ? checkParent : index;
+      for (Iterator<Component> i = component.containerIterator(); i.hasNext(); ) {
+        collect(i.next(), x, y, minX, minY, maxX, maxY, childCheckParent);
+      }
+    }
+
+    private int add(Component component, float minX, float minY, float maxX, float maxY,
+        int checkParent, byte flag) {
+      if (count == components.length) {
+        int capacity = count * 2;
+        components = Arrays.copyOf(components, capacity);
+        bounds = Arrays.copyOf(bounds, capacity * 4);
+        checkParents = Arrays.copyOf(checkParents, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+      }
+      components[count] = component;
+      bounds[count * 4] = minX;
+      bounds[count * 4 + 1] = minY;
+      bounds[count * 4 + 2] = maxX;
+      bounds[count * 4 + 3] = maxY;
+      checkParents[count] = checkParent;
+      flags[count] = flag;
+      return count++;
+    }
+
+    private void clear() {
+      Arrays.fill(components, 0, count, null);
+      count = 0;
+    }
+
+    private static long mix(long h, float value) {
+      return mix(h, Float.floatToIntBits(value));
+    }
+
+    private static long mix(long h, int value) {
+      return (h ^ value) * 0x100000001B3L;
+    }
+  }
+}
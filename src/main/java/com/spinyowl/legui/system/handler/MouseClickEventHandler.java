@@ -12,11 +12,11 @@ import com.spinyowl.legui.component.Widget;
 import com.spinyowl.legui.event.FocusEvent;
 import com.spinyowl.legui.event.MouseClickEvent;
 import com.spinyowl.legui.input.Mouse;
+import com.spinyowl.legui.input.MouseState;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.style.Style.DisplayType;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.event.SystemMouseClickEvent;
-import java.util.Collections;
 import java.util.List;
 import org.joml.Vector2f;
 import org.lwjgl.glfw.GLFW;
@@ -26,17 +26,21 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
 
   @Override
   public void handle(SystemMouseClickEvent event, Frame frame, Context ctx) {
+    MouseState mouseState = ctx.getMouseState();
     Mouse.MouseButton btn = Mouse.MouseButton.getByCode(event.button);
-    btn.setPressed(event.action != GLFW_RELEASE);
-    Vector2f cursorPos = Mouse.getCursorPosition();
-    btn.setPressPosition(cursorPos);
+    boolean pressed = event.action != GLFW_RELEASE;
+    mouseState.setPressed(btn, pressed);
+    Vector2f cursorPos = mouseState.getCursorPosition(new Vector2f());
+    if (pressed) {
+      mouseState.setPressPosition(btn, cursorPos);
+    }
 
     List<Layer> layers = frame.getAllLayers();
-    Collections.reverse(layers);
 
     Component focusedGui = ctx.getFocusedGui();
     Component target = null;
-    for (Layer layer : layers) {
+    for (int i = layers.size() - 1; i >= 0; i--) {
+      Layer layer = layers.get(i);
       if (layer.isEventReceivable()) {
         if (!layer.isVisible() || !layer.isEnabled()) {
           continue;
@@ -54,7 +58,7 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
     if (target == null) {
       if (event.action == GLFW_RELEASE) {
         if (focusedGui != null) {
-          updateReleasePosAndFocusedGui(btn, cursorPos, focusedGui);
+          updateReleasePosAndFocusedGui(mouseState, btn, cursorPos, focusedGui);
           EventProcessorProvider.getInstance()
               .pushEvent(new MouseClickEvent<>(focusedGui, ctx, frame, RELEASE, btn,
                   buttonCursorPosition(cursorPos, focusedGui), cursorPos, mods));
@@ -64,7 +68,6 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
       }
     } else {
       if (event.action == GLFW.GLFW_PRESS) {
-        btn.setPressPosition(cursorPos);
         removeFocus(target, frame, ctx);
         target.setPressed(true);
 
@@ -82,7 +85,7 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
               .pushEvent(new FocusEvent<>(target, ctx, frame, target, true));
         }
       } else {
-        updateReleasePosAndFocusedGui(btn, cursorPos, focusedGui);
+        updateReleasePosAndFocusedGui(mouseState, btn, cursorPos, focusedGui);
 
         if (focusedGui != null) {
           if (focusedGui == target) {
@@ -103,9 +106,9 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
     return target.getAbsolutePosition().sub(cursorPos).negate();
   }
 
-  private void updateReleasePosAndFocusedGui(Mouse.MouseButton button, Vector2f cursorPosition,
-      Component focusedGui) {
-    button.setReleasePosition(cursorPosition);
+  private void updateReleasePosAndFocusedGui(MouseState mouseState, Mouse.MouseButton button,
+      Vector2f cursorPosition, Component focusedGui) {
+    mouseState.setReleasePosition(button, cursorPosition);
     if (focusedGui != null) {
       focusedGui.setPressed(false);
     }
@@ -114,7 +117,7 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
   private void removeFocus(Component targetComponent, Frame frame, Context context) {
     List<Layer> allLayers = frame.getAllLayers();
     for (Layer layer : allLayers) {
-      List<Component> childComponents = layer.getChildComponents();
+      List<Component> childComponents = layer.getChildComponentsSnapshot();
       for (Component child : childComponents) {
         removeFocus(targetComponent, child, context, frame);
       }
@@ -128,7 +131,7 @@ public class MouseClickEventHandler implements SystemEventHandler<SystemMouseCli
       EventProcessorProvider.getInstance()
           .pushEvent(new FocusEvent<>(component, context, frame, focused, false));
     }
-    List<? extends Component> childComponents = component.getChildComponents();
+    List<? extends Component> childComponents = component.getChildComponentsSnapshot();
     for (Component child : childComponents) {
       removeFocus(focused, child, context, frame);
     }
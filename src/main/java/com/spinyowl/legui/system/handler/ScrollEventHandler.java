@@ -4,7 +4,6 @@ import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.Frame;
 import com.spinyowl.legui.component.Layer;
 import com.spinyowl.legui.event.ScrollEvent;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.event.SystemScrollEvent;
@@ -16,7 +15,7 @@ public class ScrollEventHandler extends AbstractSystemEventHandler<SystemScrollE
   @Override
   protected boolean handle(SystemScrollEvent event, Layer layer, Context context, Frame frame) {
     List<Component> targetComponentList = SehUtil.getTargetComponentList(layer,
-        Mouse.getCursorPosition());
+        context.getMouseState().getCursorPosition());
     for (Component component : targetComponentList) {
       EventProcessorProvider.getInstance()
           .pushEvent(new ScrollEvent<>(component, context, frame, event.xoffset, event.yoffset));
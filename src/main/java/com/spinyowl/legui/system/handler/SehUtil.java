@@ -1,6 +1,7 @@
 package com.spinyowl.legui.system.handler;
 
 import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Layer;
 import java.util.ArrayList;
 import java.util.List;
 import org.joml.Vector2f;
@@ -23,7 +24,14 @@ public final class SehUtil {
    */
   public static Component getTargetComponent(Component component, Vector2f vector) {
     Component target = component.isFocusable() ? component : null;
-    List<Component> childComponents = component.getChildComponents();
+    if (component instanceof Layer) {
+      HitTestIndex index = ((Layer) component).getHitTestIndex();
+      if (index != null) {
+        Component indexTarget = index.getTargetComponent(vector);
+        return indexTarget == null ? target : indexTarget;
+      }
+    }
+    List<Component> childComponents = component.getChildComponentsSnapshot();
     for (Component child : childComponents) {
       target = recursiveTargetComponentSearch(vector, child, target);
     }
@@ -46,7 +54,7 @@ public final class SehUtil {
       if (component.isFocusable()) {
         newtarget = component;
       }
-      List<Component> childComponents = component.getChildComponents();
+      List<Component> childComponents = component.getChildComponentsSnapshot();
       for (Component child : childComponents) {
         newtarget = recursiveTargetComponentSearch(vector, child, newtarget);
       }
@@ -64,6 +72,16 @@ public final class SehUtil {
    */
   public static List<Component> getTargetComponentList(Component component, Vector2f vector) {
     List<Component> targetList = new ArrayList<>();
+    if (component instanceof Layer) {
+      HitTestIndex index = ((Layer) component).getHitTestIndex();
+      if (index != null) {
+        if (component.isVisible() && component.intersects(vector)) {
+          targetList.add(component);
+          index.getTargetComponentList(vector, targetList);
+        }
+        return targetList;
+      }
+    }
     recursiveTargetComponentListSearch(vector, component, targetList);
     return targetList;
   }
@@ -81,7 +99,7 @@ public final class SehUtil {
       List<Component> targetList) {
     if (component.isVisible() /*&& component.isEnabled()*/ && component.intersects(vector)) {
       targetList.add(component);
-      List<Component> childComponents = component.getChildComponents();
+      List<Component> childComponents = component.getChildComponentsSnapshot();
       for (Component child : childComponents) {
         recursiveTargetComponentListSearch(vector, child, targetList);
       }
@@ -24,7 +24,7 @@ public class WindowCloseEventHandler extends AbstractSystemEventHandler<SystemWi
       return;
     }
     EventProcessorProvider.getInstance().pushEvent(new WindowCloseEvent(component, context, frame));
-    List<Component> childComponents = component.getChildComponents();
+    List<Component> childComponents = component.getChildComponentsSnapshot();
     for (Component child : childComponents) {
       pushEvent(child, context, frame);
     }
@@ -28,7 +28,7 @@ public class WindowFocusEventHandler extends AbstractSystemEventHandler<SystemWi
     EventProcessorProvider.getInstance()
         .pushEvent(new WindowFocusEvent(component, context, frame, event.focused));
 
-    List<Component> childComponents = component.getChildComponents();
+    List<Component> childComponents = component.getChildComponentsSnapshot();
     for (Component child : childComponents) {
       pushEvent(child, event, context, frame);
     }
@@ -28,7 +28,7 @@ public class WindowIconifyEventHandler extends
     }
     EventProcessorProvider.getInstance()
         .pushEvent(new WindowIconifyEvent(component, context, frame, event.iconified));
-    List<Component> childComponents = component.getChildComponents();
+    List<Component> childComponents = component.getChildComponentsSnapshot();
     for (Component child : childComponents) {
       pushEvent(child, event, context, frame);
     }
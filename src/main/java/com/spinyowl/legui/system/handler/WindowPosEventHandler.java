@@ -43,7 +43,7 @@ public class WindowPosEventHandler extends AbstractSystemEventHandler<SystemWind
     }
     EventProcessorProvider.getInstance()
         .pushEvent(new WindowPosEvent(component, context, frame, event.xpos, event.ypos));
-    List<Component> childComponents = component.getChildComponents();
+    List<Component> childComponents = component.getChildComponentsSnapshot();
     for (Component child : childComponents) {
       pushEvent(child, event, context, frame);
     }
@@ -26,7 +26,7 @@ public class WindowRefreshEventHandler extends
     }
     EventProcessorProvider.getInstance()
         .pushEvent(new WindowRefreshEvent(component, context, frame));
-    List<Component> childComponents = component.getChildComponents();
+    List<Component> childComponents = component.getChildComponentsSnapshot();
     for (Component child : childComponents) {
       pushEvent(child, context, frame);
     }
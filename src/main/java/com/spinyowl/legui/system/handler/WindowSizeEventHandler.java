@@ -32,7 +32,7 @@ public class WindowSizeEventHandler implements SystemEventHandler<SystemWindowSi
     }
     EventProcessorProvider.getInstance()
         .pushEvent(new WindowSizeEvent(component, context, frame, event.width, event.height));
-    List<Component> childComponents = component.getChildComponents();
+    List<Component> childComponents = component.getChildComponentsSnapshot();
     for (Component child : childComponents) {
       pushEvent(child, event, context, frame);
     }
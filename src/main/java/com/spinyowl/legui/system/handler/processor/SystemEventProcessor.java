@@ -19,6 +19,7 @@ import com.spinyowl.legui.system.event.SystemWindowIconifyEvent;
 import com.spinyowl.legui.system.event.SystemWindowPosEvent;
 import com.spinyowl.legui.system.event.SystemWindowRefreshEvent;
 import com.spinyowl.legui.system.event.SystemWindowSizeEvent;
+import java.util.concurrent.TimeUnit;
 import org.lwjgl.glfw.GLFWCharCallbackI;
 import org.lwjgl.glfw.GLFWCharModsCallbackI;
 import org.lwjgl.glfw.GLFWCursorEnterCallbackI;
@@ -249,4 +250,43 @@ public interface SystemEventProcessor {
    * @return true if there are events that should be processed.
    */
   boolean hasEvents();
+
+  /**
+   * Used to wait until events are pushed to event processor or timeout is elapsed.
+   * <p>
+   * Default implementation checks {@link #hasEvents()} every millisecond, implementations should
+   * park thread until events are pushed.
+   *
+   * @param timeout maximum time to wait.
+   * @param unit    timeout time unit.
+   * @return true if there are events that should be processed.
+   * @throws InterruptedException if current thread was interrupted while waiting.
+   */
+  default boolean awaitEvents(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!hasEvents()) {
+      if (deadline - System.nanoTime() <= 0) {
+        return false;
+      }
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+    return true;
+  }
+
+  /**
+   * Used to wait for events and process them. Returns without processing if timeout is elapsed
+   * and there are no events.
+   *
+   * @param frame   target frame for events.
+   * @param context context.
+   * @param timeout maximum time to wait.
+   * @param unit    timeout time unit.
+   * @throws InterruptedException if current thread was interrupted while waiting.
+   */
+  default void processEvents(Frame frame, Context context, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    if (awaitEvents(timeout, unit)) {
+      processEvents(frame, context);
+    }
+  }
 }
@@ -2,17 +2,31 @@ package com.spinyowl.legui.system.handler.processor;
 
 import com.spinyowl.legui.component.Frame;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.event.SystemCursorPosEvent;
 import com.spinyowl.legui.system.event.SystemEvent;
+import com.spinyowl.legui.system.event.SystemFramebufferSizeEvent;
+import com.spinyowl.legui.system.event.SystemWindowSizeEvent;
 import com.spinyowl.legui.system.handler.SystemEventHandler;
 import com.spinyowl.legui.system.handler.SystemEventHandlerProvider;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-
+import com.spinyowl.legui.system.profiler.FrameProfiler;
+import com.spinyowl.legui.util.EventQueue;
+import com.spinyowl.legui.util.EventQueueStatistics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Default implementation of system event processor.
+ * <p>
+ * Events are processed in batches. Consecutive cursor position, window size and framebuffer size
+ * events of the same window are merged into last one.
+ * <p>
+ * Should be processed from single thread.
+ */
 public class SystemEventProcessorImpl implements SystemEventProcessor {
 
-  private Queue<SystemEvent> first = new ConcurrentLinkedQueue<>();
-  private Queue<SystemEvent> second = new ConcurrentLinkedQueue<>();
+  private final EventQueue<SystemEvent> queue = new EventQueue<>();
+  private final List<SystemEvent> batch = new ArrayList<>();
 
   /**
    * Process events.
@@ -21,21 +35,69 @@ public class SystemEventProcessorImpl implements SystemEventProcessor {
    * @param context the context
    */
   public void processEvents(Frame frame, Context context) {
-    swap();
+    int queueDepth = queue.drain(batch);
+    if (queueDepth == 0) {
+      return;
+    }
+    FrameProfiler profiler = context == null ? null : context.getFrameProfiler();
+    boolean profiling = profiler != null && profiler.isEnabled();
+    long start = profiling ? System.nanoTime() : 0;
+    try {
+      queue.coalesced(coalesce(batch));
+      for (SystemEvent event : batch) {
+        SystemEventHandler processor = SystemEventHandlerProvider.getInstance()
+            .getProcessor(event.getClass());
+        if (processor != null) {
+          processor.handle(event, frame, context);
+        }
+      }
+    } finally {
+      batch.clear();
+    }
+    if (profiling) {
+      profiler.recordSystemEvents(System.nanoTime() - start, queueDepth);
+    }
+    if (context != null) {
+      context.getFrameScheduler().requestRedraw();
+    }
+  }
 
-    for (SystemEvent event = second.poll(); event != null; event = second.poll()) {
-      SystemEventHandler processor = SystemEventHandlerProvider.getInstance()
-          .getProcessor(event.getClass());
-      if (processor != null) {
-        processor.handle(event, frame, context);
+  /**
+   * Used to remove events which are replaced by next event of the same window.
+   *
+   * @param events events to coalesce.
+   * @return number of removed events.
+   */
+  private int coalesce(List<SystemEvent> events) {
+    int size = events.size();
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      SystemEvent event = events.get(i);
+      if (count > 0 && replaces(event, events.get(count - 1))) {
+        events.set(count - 1, event);
+      } else {
+        events.set(count++, event);
       }
     }
+    events.subList(count, size).clear();
+    return size - count;
   }
 
-  private void swap() {
-    Queue<SystemEvent> temp = first;
-    first = second;
-    second = temp;
+  private boolean replaces(SystemEvent event, SystemEvent previous) {
+    if (event.getClass() != previous.getClass()) {
+      return false;
+    }
+    if (event instanceof SystemCursorPosEvent) {
+      return ((SystemCursorPosEvent) event).window == ((SystemCursorPosEvent) previous).window;
+    }
+    if (event instanceof SystemWindowSizeEvent) {
+      return ((SystemWindowSizeEvent) event).window == ((SystemWindowSizeEvent) previous).window;
+    }
+    if (event instanceof SystemFramebufferSizeEvent) {
+      return ((SystemFramebufferSizeEvent) event).window
+          == ((SystemFramebufferSizeEvent) previous).window;
+    }
+    return false;
   }
 
   /**
@@ -44,7 +106,7 @@ public class SystemEventProcessorImpl implements SystemEventProcessor {
    * @param event the event
    */
   public void pushEvent(SystemEvent event) {
-    first.add(event);
+    queue.push(event);
   }
 
   /**
@@ -54,6 +116,29 @@ public class SystemEventProcessorImpl implements SystemEventProcessor {
    */
   @Override
   public boolean hasEvents() {
-    return !(first.isEmpty() && second.isEmpty());
+    return !queue.isEmpty();
+  }
+
+  /**
+   * Used to wait until events are pushed to event processor or timeout is elapsed.
+   *
+   * @param timeout maximum time to wait.
+   * @param unit    timeout time unit.
+   * @return true if there are events that should be processed.
+   * @throws InterruptedException if current thread was interrupted while waiting.
+   */
+  @Override
+  public boolean awaitEvents(long timeout, TimeUnit unit) throws InterruptedException {
+    return queue.await(timeout, unit);
+  }
+
+  /**
+   * Returns event queue statistics (queue depth, latency, number of processed and coalesced
+   * events).
+   *
+   * @return event queue statistics.
+   */
+  public EventQueueStatistics getStatistics() {
+    return queue.getStatistics();
   }
 }
@@ -3,9 +3,14 @@ package com.spinyowl.legui.system.layout;
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.Frame;
 import com.spinyowl.legui.component.Layer;
+import com.spinyowl.legui.component.ScrollBar;
+import com.spinyowl.legui.component.Viewport;
 import com.spinyowl.legui.style.Style.DisplayType;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.handler.HitTestIndex;
 import com.spinyowl.legui.system.layout.flex.FlexLayout;
+import com.spinyowl.legui.system.profiler.FramePhase;
+import com.spinyowl.legui.system.profiler.FrameProfiler;
 import com.spinyowl.legui.util.Utilites;
 import java.util.List;
 import java.util.Map;
@@ -30,8 +35,15 @@ public class DefaultLayoutManager extends LayoutManager {
    */
   @Override
   public void layout(Frame frame, Context context) {
+    FrameProfiler profiler = context == null ? null : context.getFrameProfiler();
+    boolean profiling = profiler != null && profiler.isEnabled();
+    long start = profiling ? System.nanoTime() : 0;
     for (Layer layer : frame.getAllLayers()) {
       layout(layer, frame, context);
+      HitTestIndex.update(layer);
+    }
+    if (profiling) {
+      profiler.recordPhase(FramePhase.LAYOUT, System.nanoTime() - start);
     }
   }
 
@@ -58,15 +70,29 @@ public class DefaultLayoutManager extends LayoutManager {
     if (component != null && component.isVisible() && Utilites.visibleInParents(component)) {
       Layout layout = layoutMap.get(component.getStyle().getDisplay());
       if (layout != null) {
-        layout.layout(component, frame, context);
+        FrameProfiler profiler = context == null ? null : context.getFrameProfiler();
+        if (profiler != null && profiler.isEnabled()) {
+          long start = System.nanoTime();
+          layout.layout(component, frame, context);
+          profiler.recordLayout(layout.getClass(), System.nanoTime() - start);
+        } else {
+          layout.layout(component, frame, context);
+        }
       }
 
       if (!component.isEmpty()) {
-        List<Component> childComponents = component.getChildComponents();
+        List<Component> childComponents = component.getChildComponentsSnapshot();
         for (Component child : childComponents) {
           layout(child, frame, context);
         }
       }
+
+      // synchronize scroll bars and viewports with laid out sizes
+      if (component instanceof ScrollBar) {
+        ((ScrollBar) component).updateVisibleAmount(context);
+      } else if (component instanceof Viewport) {
+        ((Viewport) component).updateViewport(context);
+      }
     }
   }
 }
@@ -7,7 +7,6 @@ import static com.spinyowl.legui.system.layout.flex.FlexUtils.setFlexWrap;
 import static com.spinyowl.legui.system.layout.flex.FlexUtils.setJustifyContent;
 import static com.spinyowl.legui.system.layout.flex.FlexUtils.setMargin;
 import static com.spinyowl.legui.system.layout.flex.FlexUtils.setPadding;
-import static org.lwjgl.util.yoga.Yoga.YGConfigFree;
 import static org.lwjgl.util.yoga.Yoga.YGConfigNew;
 import static org.lwjgl.util.yoga.Yoga.YGDirectionLTR;
 import static org.lwjgl.util.yoga.Yoga.YGDisplayFlex;
@@ -23,6 +22,7 @@ import static org.lwjgl.util.yoga.Yoga.YGNodeLayoutGetLeft;
 import static org.lwjgl.util.yoga.Yoga.YGNodeLayoutGetTop;
 import static org.lwjgl.util.yoga.Yoga.YGNodeLayoutGetWidth;
 import static org.lwjgl.util.yoga.Yoga.YGNodeNewWithConfig;
+import static org.lwjgl.util.yoga.Yoga.YGNodeRemoveAllChildren;
 import static org.lwjgl.util.yoga.Yoga.YGNodeStyleSetDisplay;
 import static org.lwjgl.util.yoga.Yoga.YGNodeStyleSetFlexBasis;
 import static org.lwjgl.util.yoga.Yoga.YGNodeStyleSetFlexGrow;
@@ -55,20 +55,38 @@ import com.spinyowl.legui.listener.processor.EventProcessorProvider;
 import com.spinyowl.legui.style.Style;
 import com.spinyowl.legui.style.Style.PositionType;
 import com.spinyowl.legui.style.flex.FlexStyle;
+import com.spinyowl.legui.style.flex.FlexStyle.AlignItems;
+import com.spinyowl.legui.style.flex.FlexStyle.AlignSelf;
+import com.spinyowl.legui.style.flex.FlexStyle.JustifyContent;
 import com.spinyowl.legui.style.length.Length;
-import com.spinyowl.legui.style.length.LengthType;
 import com.spinyowl.legui.style.length.Unit;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.layout.Layout;
-import java.util.ArrayList;
+import java.lang.ref.Cleaner;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import org.joml.Vector2f;
 
 public class FlexLayout implements Layout {
 
   public static final float THRESHOLD = 0.0001f;
 
+  /**
+   * Metadata key used to store yoga nodes of component between layout calls.
+   */
+  public static final String FLEX_NODES = "FLEX_NODES";
+
+  /**
+   * Shared yoga config. Used to create all yoga nodes.
+   */
+  private static final long YOGA_CONFIG = YGConfigNew();
+
+  /**
+   * Used to free yoga nodes of components that were garbage collected.
+   */
+  private static final Cleaner CLEANER = Cleaner.create();
+
   /**
    * Used to lay out child components for parent component.
    *
@@ -81,6 +99,9 @@ public class FlexLayout implements Layout {
 
   /**
    * Used to lay out child components for parent component.
+   * <p>
+   * Yoga nodes are kept between calls, so layout is recalculated only if parent size, parent or
+   * child styles or child component list were changed since previous call.
    *
    * @param parent component to lay out.
    * @param frame component frame (for event generation).
@@ -88,49 +109,53 @@ public class FlexLayout implements Layout {
    */
   @Override
   public void layout(Component parent, Frame frame, Context context) {
-//    if (parent.isEmpty()) {
-//      return;
-//    }
-    // initialize
-    long yogaConfig = YGConfigNew();
-    long rootNode = YGNodeNewWithConfig(yogaConfig);
-
-    prepareParentNode(parent, rootNode);
-    YGNodeStyleSetDisplay(rootNode, YGDisplayFlex);
-
-    List<Long> childNodes = new ArrayList<>();
-    List<Component> components =
-        parent.getChildComponents().stream()
-            .filter(Component::isVisible)
-            .collect(Collectors.toList());
-    for (Component component : components) {
-      long childNode = YGNodeNewWithConfig(yogaConfig);
-      prepareNode(component, childNode);
-      YGNodeInsertChild(rootNode, childNode, childNodes.size());
-      childNodes.add(childNode);
+    FlexNodes nodes = getNodes(parent);
+    if (nodes.isValid(parent)) {
+      // layout is not changed, but positions or sizes could be changed manually.
+      for (int i = 0; i < nodes.count; i++) {
+        long yogaNode = nodes.handles.childNodes[i];
+        if (yogaNode != 0 && nodes.isChanged(i, nodes.children[i])) {
+          updateComponent(frame, context, nodes.children[i], yogaNode, nodes, i);
+        }
+      }
+      return;
     }
 
+    // update nodes
+    nodes.update(parent, this);
+
     // calculate
-    YGNodeCalculateLayout(rootNode, parent.getSize().x, parent.getSize().y, YGDirectionLTR);
+    YGNodeCalculateLayout(nodes.handles.rootNode, parent.getSize().x, parent.getSize().y,
+        YGDirectionLTR);
 
     // apply to components
-    for (int i = 0; i < components.size(); i++) {
-      Component childComponent = components.get(i);
-      Long yogaNode = childNodes.get(i);
-
-      updateComponent(frame, context, childComponent, yogaNode);
+    for (int i = 0; i < nodes.count; i++) {
+      long yogaNode = nodes.handles.childNodes[i];
+      if (yogaNode != 0) {
+        updateComponent(frame, context, nodes.children[i], yogaNode, nodes, i);
+      }
     }
+  }
 
-    // free mem
-    for (Long childNode : childNodes) {
-      YGNodeFree(childNode);
+  /**
+   * Returns yoga nodes associated with component or creates new.
+   *
+   * @param parent component.
+   * @return yoga nodes of component.
+   */
+  private FlexNodes getNodes(Component parent) {
+    Object nodes = parent.getMetadata().get(FLEX_NODES);
+    if (nodes instanceof FlexNodes) {
+      return (FlexNodes) nodes;
     }
-
-    YGNodeFree(rootNode);
-    YGConfigFree(yogaConfig);
+    FlexNodes newNodes = new FlexNodes();
+    CLEANER.register(parent, newNodes.handles);
+    parent.getMetadata().put(FLEX_NODES, newNodes);
+    return newNodes;
   }
 
-  private void updateComponent(Frame frame, Context context, Component component, Long yogaNode) {
+  private void updateComponent(Frame frame, Context context, Component component, long yogaNode,
+      FlexNodes nodes, int index) {
     Vector2f newPos = new Vector2f(YGNodeLayoutGetLeft(yogaNode), YGNodeLayoutGetTop(yogaNode));
     Vector2f oldPos = component.getPosition();
     component.setPosition(newPos);
@@ -140,6 +165,8 @@ public class FlexLayout implements Layout {
     Vector2f oldSize = component.getSize();
     component.setSize(newSize);
 
+    nodes.applied(index, newPos, newSize);
+
     if (frame != null && context != null) {
       if (!oldPos.equals(newPos, THRESHOLD)) {
         EventProcessorProvider.getInstance()
@@ -152,12 +179,6 @@ public class FlexLayout implements Layout {
     }
   }
 
-  private void prepareParentNode(Component parent, long rootNode) {
-    prepareNode(parent, rootNode);
-    YGNodeStyleSetWidth(rootNode, parent.getSize().x);
-    YGNodeStyleSetHeight(rootNode, parent.getSize().y);
-  }
-
   /**
    * Used to prepare root node.
    *
@@ -205,10 +226,10 @@ public class FlexLayout implements Layout {
   private void setPosition(long node, Unit distance, int edge) {
     if (distance != null && distance.isLength()) {
       Length<?> length = distance.asLength();
-      if (LengthType.PIXEL.equals(length.type())) {
-        YGNodeStyleSetPosition(node, edge, LengthType.PIXEL.type().cast(length.get()));
-      } else if (LengthType.PERCENT.equals(length.type())) {
-        YGNodeStyleSetPositionPercent(node, edge, LengthType.PERCENT.type().cast(length.get()));
+      if (length.isPixel()) {
+        YGNodeStyleSetPosition(node, edge, length.floatValue());
+      } else if (length.isPercent()) {
+        YGNodeStyleSetPositionPercent(node, edge, length.floatValue());
       }
     }
   }
@@ -220,10 +241,10 @@ public class FlexLayout implements Layout {
         YGNodeStyleSetHeightAuto(node);
       } else {
         Length<?> length = height.asLength();
-        if (LengthType.PIXEL.equals(length.type())) {
-          YGNodeStyleSetHeight(node, LengthType.PIXEL.type().cast(length.get()));
-        } else if (LengthType.PERCENT.equals(length.type())) {
-          YGNodeStyleSetHeightPercent(node, LengthType.PERCENT.type().cast(length.get()));
+        if (length.isPixel()) {
+          YGNodeStyleSetHeight(node, length.floatValue());
+        } else if (length.isPercent()) {
+          YGNodeStyleSetHeightPercent(node, length.floatValue());
         }
       }
     }
@@ -236,10 +257,10 @@ public class FlexLayout implements Layout {
         YGNodeStyleSetWidthAuto(node);
       } else {
         Length<?> length = width.asLength();
-        if (LengthType.PIXEL.equals(length.type())) {
-          YGNodeStyleSetWidth(node, LengthType.PIXEL.type().cast(length.get()));
-        } else if (LengthType.PERCENT.equals(length.type())) {
-          YGNodeStyleSetWidthPercent(node, LengthType.PERCENT.type().cast(length.get()));
+        if (length.isPixel()) {
+          YGNodeStyleSetWidth(node, length.floatValue());
+        } else if (length.isPercent()) {
+          YGNodeStyleSetWidthPercent(node, length.floatValue());
         }
       }
     }
@@ -248,10 +269,10 @@ public class FlexLayout implements Layout {
   private void setMaxHeight(long node, Style style) {
     Length<?> maxHeight = style.getMaxHeight();
     if (maxHeight != null) {
-      if (LengthType.PIXEL.equals(maxHeight.type())) {
-        YGNodeStyleSetMaxHeight(node, LengthType.PIXEL.type().cast(maxHeight.get()));
-      } else if (LengthType.PERCENT.equals(maxHeight.type())) {
-        YGNodeStyleSetMaxHeightPercent(node, LengthType.PERCENT.type().cast(maxHeight.get()));
+      if (maxHeight.isPixel()) {
+        YGNodeStyleSetMaxHeight(node, maxHeight.floatValue());
+      } else if (maxHeight.isPercent()) {
+        YGNodeStyleSetMaxHeightPercent(node, maxHeight.floatValue());
       }
     }
   }
@@ -259,10 +280,10 @@ public class FlexLayout implements Layout {
   private void setMaxWidth(long node, Style style) {
     Length<?> maxWidth = style.getMaxWidth();
     if (maxWidth != null) {
-      if (LengthType.PIXEL.equals(maxWidth.type())) {
-        YGNodeStyleSetMaxWidth(node, LengthType.PIXEL.type().cast(maxWidth.get()));
-      } else if (LengthType.PERCENT.equals(maxWidth.type())) {
-        YGNodeStyleSetMaxWidthPercent(node, LengthType.PERCENT.type().cast(maxWidth.get()));
+      if (maxWidth.isPixel()) {
+        YGNodeStyleSetMaxWidth(node, maxWidth.floatValue());
+      } else if (maxWidth.isPercent()) {
+        YGNodeStyleSetMaxWidthPercent(node, maxWidth.floatValue());
       }
     }
   }
@@ -270,10 +291,10 @@ public class FlexLayout implements Layout {
   private void setMinHeight(long node, Style style) {
     Length<?> minHeight = style.getMinHeight();
     if (minHeight != null) {
-      if (LengthType.PIXEL.equals(minHeight.type())) {
-        YGNodeStyleSetMinHeight(node, LengthType.PIXEL.type().cast(minHeight.get()));
-      } else if (LengthType.PERCENT.equals(minHeight.type())) {
-        YGNodeStyleSetMinHeightPercent(node, LengthType.PERCENT.type().cast(minHeight.get()));
+      if (minHeight.isPixel()) {
+        YGNodeStyleSetMinHeight(node, minHeight.floatValue());
+      } else if (minHeight.isPercent()) {
+        YGNodeStyleSetMinHeightPercent(node, minHeight.floatValue());
       }
     }
   }
@@ -281,11 +302,216 @@ public class FlexLayout implements Layout {
   private void setMinWidth(long node, Style style) {
     Length<?> minWidth = style.getMinWidth();
     if (minWidth != null) {
-      if (LengthType.PIXEL.equals(minWidth.type())) {
-        YGNodeStyleSetMinWidth(node, LengthType.PIXEL.type().cast(minWidth.get()));
-      } else if (LengthType.PERCENT.equals(minWidth.type())) {
-        YGNodeStyleSetMinWidthPercent(node, LengthType.PERCENT.type().cast(minWidth.get()));
+      if (minWidth.isPixel()) {
+        YGNodeStyleSetMinWidth(node, minWidth.floatValue());
+      } else if (minWidth.isPercent()) {
+        YGNodeStyleSetMinWidthPercent(node, minWidth.floatValue());
       }
     }
   }
+
+  /**
+   * Checks if style of component uses values inherited from parent components.
+   *
+   * @param style style to check.
+   * @return true if style uses inherited values.
+   */
+  private static boolean inherits(Style style) {
+    FlexStyle flexStyle = style.getFlexStyle();
+    return flexStyle.getJustifyContent() == JustifyContent.INHERIT
+        || flexStyle.getAlignItems() == AlignItems.INHERIT
+        || flexStyle.getAlignSelf() == AlignSelf.INHERIT;
+  }
+
+  /**
+   * Native yoga node handles of component. Should not reference component, otherwise component
+   * will never be collected and nodes will never be freed.
+   */
+  private static final class NodeHandles implements Runnable {
+
+    private long rootNode;
+    private long[] childNodes = new long[0];
+
+    @Override
+    public void run() {
+      if (rootNode != 0) {
+        YGNodeRemoveAllChildren(rootNode);
+        YGNodeFree(rootNode);
+        rootNode = 0;
+      }
+      for (long childNode : childNodes) {
+        if (childNode != 0) {
+          YGNodeFree(childNode);
+        }
+      }
+      childNodes = new long[0];
+    }
+  }
+
+  /**
+   * Yoga nodes of component and state of component and it's children at the moment of previous
+   * layout calculation.
+   */
+  private static final class FlexNodes {
+
+    private final NodeHandles handles = new NodeHandles();
+
+    private Style style;
+    private int styleVersion;
+    private float width;
+    private float height;
+    private int childComponentsVersion;
+    private boolean inherits;
+
+    private int count;
+    private Component[] children = new Component[0];
+    private Style[] childStyles = new Style[0];
+    private int[] childStyleVersions = new int[0];
+    /**
+     * Positions and sizes applied to child components (x, y, width, height).
+     */
+    private float[] childBounds = new float[0];
+
+    /**
+     * Checks if layout calculated for nodes is still valid for component.
+     *
+     * @param parent component.
+     * @return true if layout should not be recalculated.
+     */
+    private boolean isValid(Component parent) {
+      if (handles.rootNode == 0 || inherits
+          || style != parent.getStyle()
+          || styleVersion != style.getVersion()
+          || childComponentsVersion != parent.getChildComponentsVersion()
+          || Math.abs(width - parent.getSize().x) > THRESHOLD
+          || Math.abs(height - parent.getSize().y) > THRESHOLD) {
+        return false;
+      }
+      for (int i = 0; i < count; i++) {
+        Style childStyle = children[i].getStyle();
+        if (childStyle != childStyles[i] || childStyle.getVersion() != childStyleVersions[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Checks if position or size of child component differs from applied by layout.
+     *
+     * @param index child index.
+     * @param child child component.
+     * @return true if position or size was changed.
+     */
+    private boolean isChanged(int index, Component child) {
+      int offset = index * 4;
+      Vector2f position = child.getPosition();
+      Vector2f size = child.getSize();
+      return Math.abs(childBounds[offset] - position.x) > THRESHOLD
+          || Math.abs(childBounds[offset + 1] - position.y) > THRESHOLD
+          || Math.abs(childBounds[offset + 2] - size.x) > THRESHOLD
+          || Math.abs(childBounds[offset + 3] - size.y) > THRESHOLD;
+    }
+
+    private void applied(int index, Vector2f position, Vector2f size) {
+      int offset = index * 4;
+      childBounds[offset] = position.x;
+      childBounds[offset + 1] = position.y;
+      childBounds[offset + 2] = size.x;
+      childBounds[offset + 3] = size.y;
+    }
+
+    /**
+     * Used to synchronize yoga nodes with component and it's child components. Nodes of child
+     * components with unchanged style are reused, so yoga could reuse their cached layout.
+     *
+     * @param parent component.
+     * @param layout layout used to prepare nodes.
+     */
+    private void update(Component parent, FlexLayout layout) {
+      Style parentStyle = parent.getStyle();
+      boolean parentInherits = inherits(parentStyle);
+
+      long rootNode = handles.rootNode;
+      if (rootNode != 0) {
+        YGNodeRemoveAllChildren(rootNode);
+      }
+      if (rootNode == 0 || parentInherits || style != parentStyle
+          || styleVersion != parentStyle.getVersion()) {
+        if (rootNode != 0) {
+          YGNodeFree(rootNode);
+        }
+        rootNode = YGNodeNewWithConfig(YOGA_CONFIG);
+        layout.prepareNode(parent, rootNode);
+        YGNodeStyleSetDisplay(rootNode, YGDisplayFlex);
+        handles.rootNode = rootNode;
+      }
+      YGNodeStyleSetWidth(rootNode, parent.getSize().x);
+      YGNodeStyleSetHeight(rootNode, parent.getSize().y);
+
+      Map<Component, Integer> previous = new IdentityHashMap<>(count);
+      for (int i = 0; i < count; i++) {
+        previous.put(children[i], i);
+      }
+      long[] oldNodes = handles.childNodes;
+
+      List<Component> components = parent.getChildComponentsSnapshot();
+      int newCount = components.size();
+      Component[] newChildren = new Component[newCount];
+      Style[] newStyles = new Style[newCount];
+      int[] newVersions = new int[newCount];
+      long[] newNodes = new long[newCount];
+      float[] newBounds = new float[newCount * 4];
+
+      boolean childInherits = false;
+      int visible = 0;
+      for (int i = 0; i < newCount; i++) {
+        Component child = components.get(i);
+        Style childStyle = child.getStyle();
+        newChildren[i] = child;
+        newStyles[i] = childStyle;
+        newVersions[i] = childStyle.getVersion();
+        boolean styleInherits = inherits(childStyle);
+        childInherits |= styleInherits;
+
+        long childNode = 0;
+        Integer oldIndex = previous.remove(child);
+        if (oldIndex != null) {
+          childNode = oldNodes[oldIndex];
+          if (childNode != 0 && (styleInherits || childStyles[oldIndex] != childStyle
+              || childStyleVersions[oldIndex] != newVersions[i] || !child.isVisible())) {
+            YGNodeFree(childNode);
+            childNode = 0;
+          }
+        }
+        if (child.isVisible()) {
+          if (childNode == 0) {
+            childNode = YGNodeNewWithConfig(YOGA_CONFIG);
+            layout.prepareNode(child, childNode);
+          }
+          YGNodeInsertChild(rootNode, childNode, visible++);
+        }
+        newNodes[i] = childNode;
+      }
+      // free nodes of removed child components
+      for (Integer oldIndex : previous.values()) {
+        if (oldNodes[oldIndex] != 0) {
+          YGNodeFree(oldNodes[oldIndex]);
+        }
+      }
+
+      handles.childNodes = newNodes;
+      this.children = newChildren;
+      this.childStyles = newStyles;
+      this.childStyleVersions = newVersions;
+      this.childBounds = newBounds;
+      this.count = newCount;
+      this.style = parentStyle;
+      this.styleVersion = parentStyle.getVersion();
+      this.childComponentsVersion = parent.getChildComponentsVersion();
+      this.width = parent.getSize().x;
+      this.height = parent.getSize().y;
+      this.inherits = parentInherits || childInherits;
+    }
+  }
 }
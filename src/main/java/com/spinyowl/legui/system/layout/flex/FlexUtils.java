@@ -1,8 +1,5 @@
 package com.spinyowl.legui.system.layout.flex;
 
-import static com.spinyowl.legui.style.length.LengthType.PERCENT;
-import static com.spinyowl.legui.style.length.LengthType.PIXEL;
-
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.style.Style;
 import com.spinyowl.legui.style.flex.FlexStyle;
@@ -165,19 +162,19 @@ final class FlexUtils {
 
     } else if (margin.isLength()) {
       Length m = margin.asLength();
-      if (PERCENT.equals(m.type())) {
-        Yoga.YGNodeStyleSetMarginPercent(node, edge, PERCENT.type().cast(m.get()));
-      } else if (PIXEL.equals(m.type())) {
-        Yoga.YGNodeStyleSetMargin(node, edge, PIXEL.type().cast(m.get()));
+      if (m.isPercent()) {
+        Yoga.YGNodeStyleSetMarginPercent(node, edge, m.floatValue());
+      } else if (m.isPixel()) {
+        Yoga.YGNodeStyleSetMargin(node, edge, m.floatValue());
       }
     }
   }
 
   private static void applyPadding(long node, int edge, Length padding) {
-    if (PIXEL.equals(padding.type())) {
-      Yoga.YGNodeStyleSetPadding(node, edge, PIXEL.type().cast(padding.get()));
-    } else if (PERCENT.equals(padding.type())) {
-      Yoga.YGNodeStyleSetPaddingPercent(node, edge, PERCENT.type().cast(padding.get()));
+    if (padding.isPixel()) {
+      Yoga.YGNodeStyleSetPadding(node, edge, padding.floatValue());
+    } else if (padding.isPercent()) {
+      Yoga.YGNodeStyleSetPaddingPercent(node, edge, padding.floatValue());
     }
   }
 
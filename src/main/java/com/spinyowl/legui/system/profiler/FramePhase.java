@@ -0,0 +1,27 @@
+package com.spinyowl.legui.system.profiler;
+
+/**
+ * Phases of frame recorded by {@link FrameProfiler}.
+ */
+public enum FramePhase {
+  /**
+   * Processing of system (GLFW) events by system event processor.
+   */
+  SYSTEM_EVENTS,
+  /**
+   * Processing of legui events by event listeners.
+   */
+  EVENTS,
+  /**
+   * Processing of animations by animator.
+   */
+  ANIMATIONS,
+  /**
+   * Layout of frame components by layout manager.
+   */
+  LAYOUT,
+  /**
+   * Rendering of frame by renderer.
+   */
+  RENDER
+}
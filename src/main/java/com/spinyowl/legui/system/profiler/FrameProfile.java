@@ -0,0 +1,231 @@
+package com.spinyowl.legui.system.profiler;
+
+import java.util.Collections;
+import java.util.Map;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Profile of one rendered frame created by {@link FrameProfiler}. All times are in nanoseconds.
+ * <p>
+ * Frame contains everything recorded since previous profiled frame of the same context, including
+ * events and animations processed by other threads.
+ */
+public final class FrameProfile {
+
+  private final long frameNumber;
+  private final long frameTime;
+  private final long[] phaseTimes;
+  private final Map<Class<?>, Timing> rendererTimings;
+  private final Map<Class<?>, Timing> layoutTimings;
+  private final Map<Class<?>, Timing> listenerTimings;
+  private final int renderedComponents;
+  private final int culledComponents;
+  private final int systemEventQueueDepth;
+  private final int eventQueueDepth;
+  private final int processedEvents;
+  private final int animationCount;
+  private final long allocatedBytes;
+
+  FrameProfile(long frameNumber, long frameTime, long[] phaseTimes,
+      Map<Class<?>, Timing> rendererTimings, Map<Class<?>, Timing> layoutTimings,
+      Map<Class<?>, Timing> listenerTimings, int renderedComponents, int culledComponents,
+      int systemEventQueueDepth, int eventQueueDepth, int processedEvents, int animationCount,
+      long allocatedBytes) {
+    this.frameNumber = frameNumber;
+    this.frameTime = frameTime;
+    this.phaseTimes = phaseTimes;
+    this.rendererTimings = Collections.unmodifiableMap(rendererTimings);
+    this.layoutTimings = Collections.unmodifiableMap(layoutTimings);
+    this.listenerTimings = Collections.unmodifiableMap(listenerTimings);
+    this.renderedComponents = renderedComponents;
+    this.culledComponents = culledComponents;
+    this.systemEventQueueDepth = systemEventQueueDepth;
+    this.eventQueueDepth = eventQueueDepth;
+    this.processedEvents = processedEvents;
+    this.animationCount = animationCount;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  /**
+   * Returns number of frame. Frames are counted from enabling of profiler.
+   *
+   * @return frame number.
+   */
+  public long getFrameNumber() {
+    return frameNumber;
+  }
+
+  /**
+   * Returns time between end of previous profiled frame and end of this frame or 0 for first
+   * profiled frame.
+   *
+   * @return frame time.
+   */
+  public long getFrameTime() {
+    return frameTime;
+  }
+
+  /**
+   * Returns time spent in provided phase.
+   *
+   * @param phase frame phase.
+   * @return phase time.
+   */
+  public long getPhaseTime(FramePhase phase) {
+    return phaseTimes[phase.ordinal()];
+  }
+
+  /**
+   * Returns time spent by component renderers grouped by renderer class. Time of renderer does not
+   * include time of renderers called by it (for example renderers of child components).
+   *
+   * @return renderer timings.
+   */
+  public Map<Class<?>, Timing> getRendererTimings() {
+    return rendererTimings;
+  }
+
+  /**
+   * Returns time spent by layouts grouped by layout class.
+   *
+   * @return layout timings.
+   */
+  public Map<Class<?>, Timing> getLayoutTimings() {
+    return layoutTimings;
+  }
+
+  /**
+   * Returns time spent by event listeners grouped by event class (every listener type processes
+   * one event class). Count is number of processed events.
+   *
+   * @return listener timings.
+   */
+  public Map<Class<?>, Timing> getListenerTimings() {
+    return listenerTimings;
+  }
+
+  /**
+   * Returns number of components processed by component renderers.
+   *
+   * @return number of rendered components.
+   */
+  public int getRenderedComponents() {
+    return renderedComponents;
+  }
+
+  /**
+   * Returns number of visible components which were skipped by component renderers because they
+   * are outside of parent components.
+   *
+   * @return number of culled components.
+   */
+  public int getCulledComponents() {
+    return culledComponents;
+  }
+
+  /**
+   * Returns maximum number of system events processed in one batch.
+   *
+   * @return system event queue depth.
+   */
+  public int getSystemEventQueueDepth() {
+    return systemEventQueueDepth;
+  }
+
+  /**
+   * Returns maximum number of legui events processed in one batch.
+   *
+   * @return event queue depth.
+   */
+  public int getEventQueueDepth() {
+    return eventQueueDepth;
+  }
+
+  /**
+   * Returns number of processed legui events.
+   *
+   * @return number of processed events.
+   */
+  public int getProcessedEvents() {
+    return processedEvents;
+  }
+
+  /**
+   * Returns maximum number of active animations.
+   *
+   * @return number of animations.
+   */
+  public int getAnimationCount() {
+    return animationCount;
+  }
+
+  /**
+   * Returns estimate of memory allocated by renderer thread during frame in bytes or -1 if
+   * allocation counting is not supported by JVM.
+   *
+   * @return allocated bytes.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  @Override
+  public String toString() {
+    ToStringBuilder builder = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+        .append("frameNumber", frameNumber)
+        .append("frameTime", frameTime);
+    for (FramePhase phase : FramePhase.values()) {
+      builder.append(phase.name(), phaseTimes[phase.ordinal()]);
+    }
+    return builder
+        .append("renderedComponents", renderedComponents)
+        .append("culledComponents", culledComponents)
+        .append("systemEventQueueDepth", systemEventQueueDepth)
+        .append("eventQueueDepth", eventQueueDepth)
+        .append("processedEvents", processedEvents)
+        .append("animationCount", animationCount)
+        .append("allocatedBytes", allocatedBytes)
+        .toString();
+  }
+
+  /**
+   * Total time and number of calls.
+   */
+  public static final class Timing {
+
+    private final long time;
+    private final int count;
+
+    Timing(long time, int count) {
+      this.time = time;
+      this.count = count;
+    }
+
+    /**
+     * Returns total time in nanoseconds.
+     *
+     * @return total time.
+     */
+    public long getTime() {
+      return time;
+    }
+
+    /**
+     * Returns number of calls.
+     *
+     * @return number of calls.
+     */
+    public int getCount() {
+      return count;
+    }
+
+    @Override
+    public String toString() {
+      return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+          .append("time", time)
+          .append("count", count)
+          .toString();
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.spinyowl.legui.system.profiler;
+
+/**
+ * Listener of frame profiles recorded by {@link FrameProfiler}.
+ */
+@FunctionalInterface
+public interface FrameProfileListener {
+
+  /**
+   * Used to process profile of rendered frame. Called by renderer thread after frame is rendered,
+   * so implementation should be fast.
+   *
+   * @param profile frame profile.
+   */
+  void process(FrameProfile profile);
+}
@@ -0,0 +1,334 @@
+package com.spinyowl.legui.system.profiler;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Frame profiler of context. Records time of frame phases (see {@link FramePhase}), time of
+ * component renderers, layouts and event listeners, number of rendered and culled components,
+ * event queue depths and estimate of memory allocated by renderer thread.
+ * <p>
+ * Profiler is disabled by default. When it is disabled recording code is skipped after one check
+ * of {@link #isEnabled()}, so profiler does not affect frame time. When it is enabled, {@link
+ * FrameProfile} is created after every rendered frame and passed to listeners (see {@link
+ * JfrFrameProfileListener} and {@link FrameProfilerOverlay}).
+ * <p>
+ * Recording methods are called by renderer, layout manager, event processors and animator. Phases
+ * could be recorded from any thread, renderer timings should be recorded from renderer thread.
+ */
+public class FrameProfiler {
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+  private final List<FrameProfileListener> listeners = new CopyOnWriteArrayList<>();
+  private volatile boolean enabled;
+  private volatile FrameProfile lastProfile;
+
+  // recorded by any thread, guarded by this
+  private final long[] phaseTimes = new long[FramePhase.values().length];
+  private final Map<Class<?>, Accumulator> layoutTimings = new HashMap<>();
+  private final Map<Class<?>, Accumulator> listenerTimings = new HashMap<>();
+  private int systemEventQueueDepth;
+  private int eventQueueDepth;
+  private int processedEvents;
+  private int animationCount;
+
+  // recorded by renderer thread
+  private final Map<Class<?>, Accumulator> rendererTimings = new HashMap<>();
+  private long[] rendererStarts = new long[16];
+  private long[] rendererChildTimes = new long[16];
+  private int rendererDepth;
+  private int renderedComponents;
+  private int culledComponents;
+  private long frameNumber;
+  private long frameStart;
+  private long previousFrameEnd;
+  private long frameAllocationStart;
+
+  private static com.sun.management.ThreadMXBean threadMXBean() {
+    try {
+      java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        if (threadBean.isThreadAllocatedMemorySupported()
+            && threadBean.isThreadAllocatedMemoryEnabled()) {
+          return threadBean;
+        }
+      }
+    } catch (Throwable e) {
+      // allocation counting is not available
+    }
+    return null;
+  }
+
+  /**
+   * Returns true if profiler is enabled.
+   *
+   * @return true if profiler is enabled.
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Used to enable or disable profiler. Frames are counted from zero after profiler is enabled.
+   *
+   * @param enabled true to enable profiler.
+   */
+  public synchronized void setEnabled(boolean enabled) {
+    if (enabled && !this.enabled) {
+      reset();
+      rendererTimings.clear();
+      layoutTimings.clear();
+      listenerTimings.clear();
+      frameNumber = 0;
+      previousFrameEnd = 0;
+    }
+    this.enabled = enabled;
+  }
+
+  /**
+   * Used to add listener of frame profiles.
+   *
+   * @param listener listener to add.
+   */
+  public void addListener(FrameProfileListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Used to remove listener of frame profiles.
+   *
+   * @param listener listener to remove.
+   */
+  public void removeListener(FrameProfileListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Returns profile of last profiled frame or null if no frames were profiled.
+   *
+   * @return last frame profile.
+   */
+  public FrameProfile getLastProfile() {
+    return lastProfile;
+  }
+
+  /**
+   * Used to add time to frame phase.
+   *
+   * @param phase phase.
+   * @param time  time in nanoseconds.
+   */
+  public synchronized void recordPhase(FramePhase phase, long time) {
+    phaseTimes[phase.ordinal()] += time;
+  }
+
+  /**
+   * Used to record system events batch.
+   *
+   * @param time       processing time in nanoseconds.
+   * @param queueDepth number of events in batch.
+   */
+  public synchronized void recordSystemEvents(long time, int queueDepth) {
+    phaseTimes[FramePhase.SYSTEM_EVENTS.ordinal()] += time;
+    systemEventQueueDepth = Math.max(systemEventQueueDepth, queueDepth);
+  }
+
+  /**
+   * Used to record processing of event by event listeners.
+   *
+   * @param eventClass event class.
+   * @param time       processing time in nanoseconds.
+   */
+  public synchronized void recordListeners(Class<?> eventClass, long time) {
+    phaseTimes[FramePhase.EVENTS.ordinal()] += time;
+    accumulate(listenerTimings, eventClass, time);
+    processedEvents++;
+  }
+
+  /**
+   * Used to record size of processed legui events batch.
+   *
+   * @param queueDepth number of events in batch.
+   */
+  public synchronized void recordEventQueueDepth(int queueDepth) {
+    eventQueueDepth = Math.max(eventQueueDepth, queueDepth);
+  }
+
+  /**
+   * Used to record processing of animations.
+   *
+   * @param time           processing time in nanoseconds.
+   * @param animationCount number of active animations.
+   */
+  public synchronized void recordAnimations(long time, int animationCount) {
+    phaseTimes[FramePhase.ANIMATIONS.ordinal()] += time;
+    this.animationCount = Math.max(this.animationCount, animationCount);
+  }
+
+  /**
+   * Used to record layout of component.
+   *
+   * @param layoutClass layout class.
+   * @param time        layout time in nanoseconds.
+   */
+  public synchronized void recordLayout(Class<?> layoutClass, long time) {
+    accumulate(layoutTimings, layoutClass, time);
+  }
+
+  /**
+   * Used to mark start of component renderer call. Should be followed by {@link
+   * #endRenderer(Class)} from the same thread.
+   */
+  public void beginRenderer() {
+    if (rendererDepth == rendererStarts.length) {
+      rendererStarts = Arrays.copyOf(rendererStarts, rendererDepth * 2);
+      rendererChildTimes = Arrays.copyOf(rendererChildTimes, rendererDepth * 2);
+    }
+    rendererStarts[rendererDepth] = System.nanoTime();
+    rendererChildTimes[rendererDepth] = 0;
+    rendererDepth++;
+  }
+
+  /**
+   * Used to mark end of component renderer call. Time of nested renderer calls is not added to
+   * provided renderer.
+   *
+   * @param rendererClass renderer class.
+   */
+  public void endRenderer(Class<?> rendererClass) {
+    if (rendererDepth == 0) {
+      return;
+    }
+    rendererDepth--;
+    long time = System.nanoTime() - rendererStarts[rendererDepth];
+    accumulate(rendererTimings, rendererClass, time - rendererChildTimes[rendererDepth]);
+    if (rendererDepth > 0) {
+      rendererChildTimes[rendererDepth - 1] += time;
+    }
+  }
+
+  /**
+   * Used to count component processed by component renderer.
+   */
+  public void componentRendered() {
+    renderedComponents++;
+  }
+
+  /**
+   * Used to count visible component skipped by component renderer because it is outside of parent
+   * components.
+   */
+  public void componentCulled() {
+    culledComponents++;
+  }
+
+  /**
+   * Used to mark start of frame rendering. Called by renderer.
+   */
+  public void beginFrame() {
+    frameStart = System.nanoTime();
+    if (previousFrameEnd == 0) {
+      frameAllocationStart = allocatedBytes();
+    }
+  }
+
+  /**
+   * Used to mark end of frame rendering. Called by renderer. Creates frame profile and passes it to
+   * listeners.
+   */
+  public void endFrame() {
+    long frameEnd = System.nanoTime();
+    long allocationEnd = allocatedBytes();
+    FrameProfile profile;
+    synchronized (this) {
+      if (!enabled) {
+        return;
+      }
+      phaseTimes[FramePhase.RENDER.ordinal()] += frameEnd - frameStart;
+      profile = new FrameProfile(frameNumber++,
+          previousFrameEnd == 0 ? 0 : frameEnd - previousFrameEnd,
+          phaseTimes.clone(),
+          snapshot(rendererTimings), snapshot(layoutTimings), snapshot(listenerTimings),
+          renderedComponents, culledComponents, systemEventQueueDepth, eventQueueDepth,
+          processedEvents, animationCount,
+          allocationEnd < 0 ? -1 : allocationEnd - frameAllocationStart);
+      reset();
+      previousFrameEnd = frameEnd;
+      frameAllocationStart = allocationEnd;
+    }
+    lastProfile = profile;
+    for (FrameProfileListener listener : listeners) {
+      try {
+        listener.process(profile);
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  private void reset() {
+    Arrays.fill(phaseTimes, 0);
+    systemEventQueueDepth = 0;
+    eventQueueDepth = 0;
+    processedEvents = 0;
+    animationCount = 0;
+    renderedComponents = 0;
+    culledComponents = 0;
+    rendererDepth = 0;
+  }
+
+  private static long allocatedBytes() {
+    return THREAD_MX_BEAN == null ? -1 : THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+  }
+
+  private static void accumulate(Map<Class<?>, Accumulator> timings, Class<?> type, long time) {
+    Accumulator accumulator = timings.get(type);
+    if (accumulator == null) {
+      accumulator = new Accumulator();
+      timings.put(type, accumulator);
+    }
+    accumulator.time += time;
+    accumulator.count++;
+  }
+
+  /**
+   * Used to copy recorded timings and reset accumulators. Accumulators are kept to avoid
+   * allocations in next frames.
+   */
+  private static Map<Class<?>, FrameProfile.Timing> snapshot(
+      Map<Class<?>, Accumulator> timings) {
+    Map<Class<?>, FrameProfile.Timing> result = new HashMap<>();
+    for (Map.Entry<Class<?>, Accumulator> entry : timings.entrySet()) {
+      Accumulator accumulator = entry.getValue();
+      if (accumulator.count != 0) {
+        result.put(entry.getKey(), new FrameProfile.Timing(accumulator.time, accumulator.count));
+        accumulator.time = 0;
+        accumulator.count = 0;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+        .append("enabled", enabled)
+        .append("frameNumber", frameNumber)
+        .append("listeners", listeners.size())
+        .toString();
+  }
+
+  private static final class Accumulator {
+
+    private long time;
+    private int count;
+  }
+}
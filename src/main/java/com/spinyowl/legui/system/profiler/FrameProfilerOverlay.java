@@ -0,0 +1,127 @@
+package com.spinyowl.legui.system.profiler;
+
+import com.spinyowl.legui.component.Label;
+import com.spinyowl.legui.component.Layer;
+import com.spinyowl.legui.component.Panel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Layer which shows last frame profile on top of frame. Layer does not receive events.
+ * <p>
+ * Overlay should be added to frame and to listeners of frame profiler of context:
+ * <pre>
+ * FrameProfilerOverlay overlay = new FrameProfilerOverlay();
+ * frame.addLayer(overlay);
+ * context.getFrameProfiler().addListener(overlay);
+ * context.getFrameProfiler().setEnabled(true);
+ * </pre>
+ * Text is updated by renderer thread not more often than update interval and becomes visible in
+ * next rendered frame. Overlay does not request redraw by itself.
+ */
+public class FrameProfilerOverlay extends Layer implements FrameProfileListener {
+
+  private static final int TOP_RENDERERS = 3;
+  private static final int LINE_COUNT = 8 + TOP_RENDERERS;
+  private static final float LINE_HEIGHT = 18;
+  private static final float WIDTH = 360;
+
+  private final Panel panel;
+  private final List<Label> lines = new ArrayList<>();
+  private long updateInterval = TimeUnit.MILLISECONDS.toNanos(250);
+  private long lastUpdate;
+
+  /**
+   * Used to create frame profiler overlay.
+   */
+  public FrameProfilerOverlay() {
+    setEventPassable(true);
+    setEventReceivable(false);
+
+    panel = new Panel(10, 10, WIDTH, LINE_COUNT * LINE_HEIGHT + 10);
+    for (int i = 0; i < LINE_COUNT; i++) {
+      Label line = new Label("", 5, 5 + i * LINE_HEIGHT, WIDTH - 10, LINE_HEIGHT);
+      lines.add(line);
+      panel.add(line);
+    }
+    add(panel);
+  }
+
+  private static String ms(long nanos) {
+    return String.format(Locale.ROOT, "%.2f ms", nanos / 1_000_000.0);
+  }
+
+  /**
+   * Returns minimum interval between text updates in nanoseconds.
+   *
+   * @return update interval.
+   */
+  public long getUpdateInterval() {
+    return updateInterval;
+  }
+
+  /**
+   * Used to set minimum interval between text updates in nanoseconds.
+   *
+   * @param updateInterval update interval.
+   */
+  public void setUpdateInterval(long updateInterval) {
+    this.updateInterval = updateInterval;
+  }
+
+  /**
+   * Returns panel which holds profile lines.
+   *
+   * @return panel.
+   */
+  public Panel getPanel() {
+    return panel;
+  }
+
+  @Override
+  public void process(FrameProfile profile) {
+    long now = System.nanoTime();
+    if (lastUpdate != 0 && now - lastUpdate < updateInterval) {
+      return;
+    }
+    lastUpdate = now;
+
+    long frameTime = profile.getFrameTime();
+    int line = 0;
+    setLine(line++, "frame: " + ms(frameTime)
+        + (frameTime == 0 ? "" : String.format(Locale.ROOT, " (%.0f fps)", 1e9 / frameTime)));
+    setLine(line++, "system events: " + ms(profile.getPhaseTime(FramePhase.SYSTEM_EVENTS))
+        + ", queue " + profile.getSystemEventQueueDepth());
+    setLine(line++, "events: " + ms(profile.getPhaseTime(FramePhase.EVENTS))
+        + ", queue " + profile.getEventQueueDepth()
+        + ", processed " + profile.getProcessedEvents());
+    setLine(line++, "animations: " + ms(profile.getPhaseTime(FramePhase.ANIMATIONS))
+        + ", active " + profile.getAnimationCount());
+    setLine(line++, "layout: " + ms(profile.getPhaseTime(FramePhase.LAYOUT)));
+    setLine(line++, "render: " + ms(profile.getPhaseTime(FramePhase.RENDER)));
+    setLine(line++, "components: " + profile.getRenderedComponents()
+        + ", culled " + profile.getCulledComponents());
+    long allocated = profile.getAllocatedBytes();
+    setLine(line++, "allocated: " + (allocated < 0 ? "n/a" : (allocated / 1024) + " KiB"));
+
+    List<Map.Entry<Class<?>, FrameProfile.Timing>> renderers =
+        new ArrayList<>(profile.getRendererTimings().entrySet());
+    renderers.sort((a, b) -> Long.compare(b.getValue().getTime(), a.getValue().getTime()));
+    for (int i = 0; i < TOP_RENDERERS; i++) {
+      if (i < renderers.size()) {
+        Map.Entry<Class<?>, FrameProfile.Timing> entry = renderers.get(i);
+        setLine(line++, entry.getKey().getSimpleName() + ": " + ms(entry.getValue().getTime())
+            + " x" + entry.getValue().getCount());
+      } else {
+        setLine(line++, "");
+      }
+    }
+  }
+
+  private void setLine(int index, String text) {
+    lines.get(index).getTextState().setText(text);
+  }
+}
@@ -0,0 +1,123 @@
+package com.spinyowl.legui.system.profiler;
+
+import java.util.Map;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Frame profile listener which exports frame profiles as custom Java Flight Recorder events. Frame
+ * is exported as {@code com.spinyowl.legui.Frame} event and timings of renderers, layouts and
+ * listeners are exported as {@code com.spinyowl.legui.FrameTiming} events.
+ * <p>
+ * Events are committed only while JFR recording with these events is running.
+ */
+public class JfrFrameProfileListener implements FrameProfileListener {
+
+  @Override
+  public void process(FrameProfile profile) {
+    FrameEvent frameEvent = new FrameEvent();
+    if (frameEvent.shouldCommit()) {
+      frameEvent.frameNumber = profile.getFrameNumber();
+      frameEvent.frameTime = profile.getFrameTime();
+      frameEvent.systemEventsTime = profile.getPhaseTime(FramePhase.SYSTEM_EVENTS);
+      frameEvent.eventsTime = profile.getPhaseTime(FramePhase.EVENTS);
+      frameEvent.animationsTime = profile.getPhaseTime(FramePhase.ANIMATIONS);
+      frameEvent.layoutTime = profile.getPhaseTime(FramePhase.LAYOUT);
+      frameEvent.renderTime = profile.getPhaseTime(FramePhase.RENDER);
+      frameEvent.renderedComponents = profile.getRenderedComponents();
+      frameEvent.culledComponents = profile.getCulledComponents();
+      frameEvent.systemEventQueueDepth = profile.getSystemEventQueueDepth();
+      frameEvent.eventQueueDepth = profile.getEventQueueDepth();
+      frameEvent.processedEvents = profile.getProcessedEvents();
+      frameEvent.animationCount = profile.getAnimationCount();
+      frameEvent.allocatedBytes = profile.getAllocatedBytes();
+      frameEvent.commit();
+    }
+    commitTimings(profile.getFrameNumber(), "renderer", profile.getRendererTimings());
+    commitTimings(profile.getFrameNumber(), "layout", profile.getLayoutTimings());
+    commitTimings(profile.getFrameNumber(), "listener", profile.getListenerTimings());
+  }
+
+  private void commitTimings(long frameNumber, String kind,
+      Map<Class<?>, FrameProfile.Timing> timings) {
+    for (Map.Entry<Class<?>, FrameProfile.Timing> entry : timings.entrySet()) {
+      TimingEvent event = new TimingEvent();
+      if (!event.shouldCommit()) {
+        return;
+      }
+      event.frameNumber = frameNumber;
+      event.kind = kind;
+      event.type = entry.getKey().getName();
+      event.time = entry.getValue().getTime();
+      event.count = entry.getValue().getCount();
+      event.commit();
+    }
+  }
+
+  @Name("com.spinyowl.legui.Frame")
+  @Label("Frame")
+  @Category("LEGUI")
+  @Description("Profile of rendered frame")
+  static class FrameEvent extends Event {
+
+    @Label("Frame Number")
+    long frameNumber;
+    @Label("Frame Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long frameTime;
+    @Label("System Events Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long systemEventsTime;
+    @Label("Events Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long eventsTime;
+    @Label("Animations Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long animationsTime;
+    @Label("Layout Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long layoutTime;
+    @Label("Render Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long renderTime;
+    @Label("Rendered Components")
+    int renderedComponents;
+    @Label("Culled Components")
+    int culledComponents;
+    @Label("System Event Queue Depth")
+    int systemEventQueueDepth;
+    @Label("Event Queue Depth")
+    int eventQueueDepth;
+    @Label("Processed Events")
+    int processedEvents;
+    @Label("Animations")
+    int animationCount;
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+  }
+
+  @Name("com.spinyowl.legui.FrameTiming")
+  @Label("Frame Timing")
+  @Category("LEGUI")
+  @Description("Time spent by renderer, layout or event listeners during frame")
+  static class TimingEvent extends Event {
+
+    @Label("Frame Number")
+    long frameNumber;
+    @Label("Kind")
+    String kind;
+    @Label("Type")
+    String type;
+    @Label("Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long time;
+    @Label("Count")
+    int count;
+  }
+}
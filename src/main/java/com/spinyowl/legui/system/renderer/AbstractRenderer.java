@@ -3,6 +3,8 @@ package com.spinyowl.legui.system.renderer;
 import com.spinyowl.legui.component.Frame;
 import com.spinyowl.legui.component.Layer;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.profiler.FrameProfiler;
+import com.spinyowl.legui.util.BoundsCache;
 
 /**
  * Base of main renderer which called by renderer thread.
@@ -13,12 +15,36 @@ public abstract class AbstractRenderer implements Renderer {
 
   protected abstract void postRender(Context context);
 
+  /**
+   * Used to render frame. Absolute bounds and clip rectangles of components are calculated once
+   * before rendering and are cached until frame is rendered (see {@link BoundsCache}).
+   * <p>
+   * If frame profiler of context is enabled, frame profile is created after rendering (see {@link
+   * FrameProfiler}).
+   *
+   * @param display frame to render.
+   * @param context context.
+   */
   public void render(Frame display, Context context) {
-    preRender(context);
-    for (Layer layer : display.getAllLayers()) {
-      RendererProvider.getInstance().getComponentRenderer(layer.getClass()).render(layer, context);
+    FrameProfiler profiler = context.getFrameProfiler();
+    boolean profiling = profiler.isEnabled();
+    if (profiling) {
+      profiler.beginFrame();
+    }
+    BoundsCache.update(display);
+    try {
+      preRender(context);
+      for (Layer layer : display.getAllLayers()) {
+        RendererProvider.getInstance().getComponentRenderer(layer.getClass())
+            .render(layer, context);
+      }
+      postRender(context);
+    } finally {
+      BoundsCache.clear();
+      if (profiling) {
+        profiler.endFrame();
+      }
     }
-    postRender(context);
   }
 
 }
@@ -2,6 +2,7 @@ package com.spinyowl.legui.system.renderer;
 
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.profiler.FrameProfiler;
 
 /**
  * Component renderer base.
@@ -14,7 +15,17 @@ public abstract class ComponentRenderer<C extends Component> {
   }
 
   public void render(C component, Context context) {
-    renderComponent(component, context);
+    FrameProfiler profiler = context.getFrameProfiler();
+    if (!profiler.isEnabled()) {
+      renderComponent(component, context);
+      return;
+    }
+    profiler.beginRenderer();
+    try {
+      renderComponent(component, context);
+    } finally {
+      profiler.endRenderer(getClass());
+    }
   }
 
   public abstract void renderComponent(C component, Context context);
@@ -1,11 +1,13 @@
 package com.spinyowl.legui.system.renderer.nvg;
 
 import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.NVG_CONTEXT;
+import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.RENDER_CACHE;
 
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.style.border.SimpleLineBorder;
 import com.spinyowl.legui.style.color.ColorConstants;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.profiler.FrameProfiler;
 import com.spinyowl.legui.system.renderer.ComponentRenderer;
 import com.spinyowl.legui.system.renderer.nvg.border.NvgSimpleLineBorderRenderer;
 import com.spinyowl.legui.util.Utilites;
@@ -35,9 +37,17 @@ public abstract class NvgComponentRenderer<C extends Component> extends Componen
   @Override
   public void renderComponent(C component, Context context) {
     long nanovgContext = (long) context.getContextData().get(NVG_CONTEXT);
+    FrameProfiler profiler = context.getFrameProfiler();
     if (component.isVisible() && (component.keepRendering() || Utilites.visibleInParents(
         component))) {
-      renderComponent(component, context, nanovgContext);
+      if (profiler.isEnabled()) {
+        profiler.componentRendered();
+      }
+      NvgRenderCache renderCache = (NvgRenderCache) context.getContextData().get(RENDER_CACHE);
+      if (renderCache == null || !component.isRenderCacheEnabled()
+          || !renderCache.render(component, context)) {
+        renderComponent(component, context, nanovgContext);
+      }
       if (context.isDebugEnabled()) {
         if (component.isFocused()) {
           debugBorderRenderer.renderBorder(debugFocusBorder, component, context);
@@ -45,8 +55,8 @@ public abstract class NvgComponentRenderer<C extends Component> extends Componen
           debugBorderRenderer.renderBorder(debugBorder, component, context);
         }
       }
-    } else {
-      return;
+    } else if (component.isVisible() && profiler.isEnabled()) {
+      profiler.componentCulled();
     }
   }
 
@@ -1,123 +1,343 @@
 package com.spinyowl.legui.system.renderer.nvg;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.spinyowl.legui.image.Image;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.function.BiFunction;
+import java.util.function.IntSupplier;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
 import org.lwjgl.nanovg.NanoVG;
 
-
+/**
+ * Texture manager of NanoVG context. Every {@link NvgRenderer} owns its own manager, because NanoVG
+ * image handles are valid only in context where they were created.
+ * <p>
+ * Images are stored in LRU cache limited by texture memory (in bytes). When resident images exceed
+ * limit, least recently used images are evicted. Images used in current frame are never evicted.
+ * Evicted images are deleted all together at the end of frame by {@link #endFrame()}, after NanoVG
+ * frame is flushed.
+ * <p>
+ * Should be used only from renderer thread.
+ */
 public final class NvgImageReferenceManager {
 
-  private static final NvgImageReferenceManager INSTANCE = new NvgImageReferenceManager();
+  /**
+   * Default texture memory limit - 256 MiB.
+   */
+  public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+  private final long nvgContext;
+  private final Map<Object, Entry> images = new LinkedHashMap<>(64, 0.75f, true);
+  private final List<Entry> evicted = new ArrayList<>();
+  private long maxBytes;
+  private long residentBytes;
+  private long frame;
+
+  private long hits;
+  private long misses;
+  private long uploadCount;
+  private long uploadedBytes;
+  private long frameUploadedBytes;
+  private long lastFrameUploadedBytes;
+  private long evictionCount;
+  private long evictedBytes;
 
   /**
-   * BufferedImage queue to remove.
+   * Used to create image reference manager with default texture memory limit.
+   *
+   * @param nvgContext nanovg context.
    */
-  private final Queue<String> imagesToRemove = new ConcurrentLinkedQueue<>();
+  public NvgImageReferenceManager(long nvgContext) {
+    this(nvgContext, DEFAULT_MAX_BYTES);
+  }
 
   /**
-   * Removal listener.
+   * Used to create image reference manager.
+   *
+   * @param nvgContext nanovg context.
+   * @param maxBytes   texture memory limit in bytes.
    */
-  private final RemovalListener<String, Integer> removalListener = removal -> imagesToRemove.add(
-      removal.getKey());
+  public NvgImageReferenceManager(long nvgContext, long maxBytes) {
+    this.nvgContext = nvgContext;
+    this.maxBytes = maxBytes;
+  }
 
   /**
-   * Cache of loaded images. If image is reached only by soft reference it will be deleted.
+   * Used to obtain image reference by key. If image is not resident, it is created using provided
+   * loader and counted as upload of provided size.
+   *
+   * @param key    image key (for example image path).
+   * @param bytes  size of image in texture memory. Images with zero size are not limited by memory
+   *               budget.
+   * @param loader used to create nanovg image. Should return 0 if image could not be created yet,
+   *               in that case nothing is cached.
+   * @return reference of image or 0 if image could not be created.
    */
-  private final Cache<String, Integer> imageCache;
+  public int getImageReference(Object key, long bytes, IntSupplier loader) {
+    return getImageReference(key, bytes, loader, null);
+  }
 
   /**
-   * Cleanup scheduler.
+   * Used to obtain image reference by key. If image is not resident, it is created using provided
+   * loader and counted as upload of provided size.
+   *
+   * @param key      image key (for example image path).
+   * @param bytes    size of image in texture memory. Images with zero size are not limited by
+   *                 memory budget.
+   * @param loader   used to create nanovg image. Should return 0 if image could not be created
+   *                 yet, in that case nothing is cached.
+   * @param onDelete called after nanovg image is deleted (for example to release shared texture).
+   *                 Could be null.
+   * @return reference of image or 0 if image could not be created.
    */
-  private final ScheduledExecutorService cleanup = Executors.newSingleThreadScheduledExecutor();
-  private final Map<String, Integer> imageAssociationMap = new ConcurrentHashMap<>();
-  private final Map<Class<? extends Image>, BiFunction<? extends Image, Long, Integer>> imageReferenceProviders = new ConcurrentHashMap<>();
+  public int getImageReference(Object key, long bytes, IntSupplier loader, Runnable onDelete) {
+    Entry entry = images.get(key);
+    if (entry != null) {
+      hits++;
+      entry.frame = frame;
+      return entry.reference;
+    }
+    misses++;
+    int reference = loader.getAsInt();
+    if (reference == 0) {
+      return 0;
+    }
+    entry = new Entry(reference, bytes, onDelete);
+    entry.frame = frame;
+    images.put(key, entry);
+    residentBytes += bytes;
+    recordUpload(bytes);
+    evictOverBudget();
+    return reference;
+  }
 
   /**
-   * Used to create image reference manager.
+   * Used to update data of resident image.
+   *
+   * @param reference image reference.
+   * @param data      image data.
    */
-  private NvgImageReferenceManager() {
-    imageCache = CacheBuilder.newBuilder().initialCapacity(200)
-        .expireAfterAccess(3000, TimeUnit.SECONDS).removalListener(removalListener).build();
-    cleanup.scheduleAtFixedRate(imageCache::cleanUp, 1, 1, TimeUnit.SECONDS);
+  public void updateImage(int reference, ByteBuffer data) {
+    NanoVG.nvgUpdateImage(nvgContext, reference, data);
+    recordUpload(data.capacity());
   }
 
-  public static NvgImageReferenceManager getInstance() {
-    return INSTANCE;
+  /**
+   * Used to evict image. Image is deleted at the end of frame.
+   *
+   * @param key image key.
+   */
+  public void evict(Object key) {
+    Entry entry = images.remove(key);
+    if (entry != null) {
+      evict(entry);
+    }
   }
 
-  public <I extends Image> void putImageReferenceProvider(
-      Class<I> imageClass, BiFunction<I, Long, Integer> imageReferenceProvider
-  ) {
-    imageReferenceProviders.put(Objects.requireNonNull(imageClass),
-        Objects.requireNonNull(imageReferenceProvider));
+  private void recordUpload(long bytes) {
+    uploadCount++;
+    uploadedBytes += bytes;
+    frameUploadedBytes += bytes;
   }
 
-  public <I extends Image> void removeImageReferenceProvider(Class<I> imageClass) {
-    imageReferenceProviders.remove(imageClass);
+  private void evictOverBudget() {
+    Iterator<Entry> iterator = images.values().iterator();
+    while (residentBytes > maxBytes && iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (entry.frame == frame) {
+        // all remaining images are used in current frame
+        break;
+      }
+      iterator.remove();
+      evict(entry);
+    }
   }
 
-  public <I extends Image> BiFunction<I, Long, Integer> getImageReferenceProvider(
-      Class<I> imageClass) {
-    return (BiFunction<I, Long, Integer>) imageReferenceProviders.get(imageClass);
+  private void evict(Entry entry) {
+    residentBytes -= entry.bytes;
+    evictionCount++;
+    evictedBytes += entry.bytes;
+    evicted.add(entry);
   }
 
   /**
-   * Used to remove old images.
-   *
-   * @param context nanovg context.
+   * Should be called by renderer at the end of frame. Evicts images over memory limit and deletes
+   * all evicted images.
    */
-  protected void removeOldImages(long context) {
-    String path = imagesToRemove.poll();
-    if (path == null) {
-      return;
-    }
-    Integer imageRef = imageAssociationMap.remove(path);
-    if (imageRef != null) {
-      NanoVG.nvgDeleteImage(context, imageRef);
+  public void endFrame() {
+    evictOverBudget();
+    deleteEvicted();
+    lastFrameUploadedBytes = frameUploadedBytes;
+    frameUploadedBytes = 0;
+    frame++;
+  }
+
+  private void deleteEvicted() {
+    for (Entry entry : evicted) {
+      NanoVG.nvgDeleteImage(nvgContext, entry.reference);
+      if (entry.onDelete != null) {
+        entry.onDelete.run();
+      }
     }
+    evicted.clear();
   }
 
   /**
-   * Used to obtain image reference by image.
-   *
-   * @param image   image to get reference.
-   * @param context nanovg context.
-   * @return reference of provided image or 0 if not found.
+   * Used to delete all images.
    */
-  public <I extends Image> int getImageReference(I image, long context) {
-    Integer imageRef = 0;
-    if (image != null) {
-      Class<I> aClass = (Class<I>) image.getClass();
-      if (imageReferenceProviders.containsKey(aClass)) {
-        imageRef = getImageReferenceProvider(aClass).apply(image, context);
-      }
+  public void clear() {
+    for (Entry entry : images.values()) {
+      evict(entry);
     }
-    return imageRef;
+    images.clear();
+    deleteEvicted();
   }
 
   /**
-   * Used to destroy image reference manager.
+   * Used to destroy image reference manager. Deletes all images.
    */
   public void destroy() {
-    cleanup.shutdown();
+    clear();
   }
 
-  public Cache<String, Integer> getImageCache() {
-    return imageCache;
+  /**
+   * Returns texture memory limit in bytes.
+   *
+   * @return texture memory limit.
+   */
+  public long getMaxBytes() {
+    return maxBytes;
   }
 
-  public Map<String, Integer> getImageAssociationMap() {
-    return imageAssociationMap;
+  /**
+   * Used to set texture memory limit in bytes. Images over limit are evicted at the end of frame.
+   *
+   * @param maxBytes texture memory limit.
+   */
+  public void setMaxBytes(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Returns size of resident images in bytes.
+   *
+   * @return size of resident images.
+   */
+  public long getResidentBytes() {
+    return residentBytes;
+  }
+
+  /**
+   * Returns number of resident images.
+   *
+   * @return number of resident images.
+   */
+  public int getResidentCount() {
+    return images.size();
+  }
+
+  /**
+   * Returns number of image requests served by resident images.
+   *
+   * @return number of hits.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns number of image requests for not resident images.
+   *
+   * @return number of misses.
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Returns number of image creations and updates.
+   *
+   * @return number of uploads.
+   */
+  public long getUploadCount() {
+    return uploadCount;
+  }
+
+  /**
+   * Returns total size of created and updated images in bytes.
+   *
+   * @return uploaded bytes.
+   */
+  public long getUploadedBytes() {
+    return uploadedBytes;
+  }
+
+  /**
+   * Returns size of images created and updated during last frame in bytes.
+   *
+   * @return bytes uploaded during last frame.
+   */
+  public long getLastFrameUploadedBytes() {
+    return lastFrameUploadedBytes;
+  }
+
+  /**
+   * Returns number of evicted images.
+   *
+   * @return number of evicted images.
+   */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Returns total size of evicted images in bytes.
+   *
+   * @return evicted bytes.
+   */
+  public long getEvictedBytes() {
+    return evictedBytes;
+  }
+
+  /**
+   * Used to reset hit, miss, upload and eviction counters.
+   */
+  public void resetStatistics() {
+    hits = 0;
+    misses = 0;
+    uploadCount = 0;
+    uploadedBytes = 0;
+    evictionCount = 0;
+    evictedBytes = 0;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+        .append("residentCount", images.size())
+        .append("residentBytes", residentBytes)
+        .append("maxBytes", maxBytes)
+        .append("hits", hits)
+        .append("misses", misses)
+        .append("uploadedBytes", uploadedBytes)
+        .append("evictedBytes", evictedBytes)
+        .toString();
+  }
+
+  private static final class Entry {
+
+    private final int reference;
+    private final long bytes;
+    private final Runnable onDelete;
+    private long frame;
+
+    private Entry(int reference, long bytes, Runnable onDelete) {
+      this.reference = reference;
+      this.bytes = bytes;
+      this.onDelete = onDelete;
+    }
   }
 }
@@ -10,6 +10,7 @@ import static org.lwjgl.nanovg.NanoVG.nvgRoundedRectVarying;
 import com.spinyowl.legui.image.Image;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.ImageRenderer;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
 import java.util.Map;
 import org.joml.Vector2fc;
 import org.joml.Vector4f;
@@ -62,7 +63,8 @@ public abstract class NvgImageRenderer<I extends Image> extends ImageRenderer<I>
    */
   protected void renderImage(int imageRef, Vector2fc position, Vector2fc size,
       Map<String, Object> properties, long nanovg) {
-    try (NVGPaint imagePaint = NVGPaint.calloc()) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGPaint imagePaint = scratch.paint();
       float x = position.x();
       float y = position.y();
       float w = size.x();
@@ -0,0 +1,398 @@
+package com.spinyowl.legui.system.renderer.nvg;
+
+import static org.lwjgl.nanovg.NanoVG.nvgBeginFrame;
+import static org.lwjgl.nanovg.NanoVG.nvgBeginPath;
+import static org.lwjgl.nanovg.NanoVG.nvgEndFrame;
+import static org.lwjgl.nanovg.NanoVG.nvgFill;
+import static org.lwjgl.nanovg.NanoVG.nvgFillPaint;
+import static org.lwjgl.nanovg.NanoVG.nvgImagePattern;
+import static org.lwjgl.nanovg.NanoVG.nvgRect;
+import static org.lwjgl.nanovg.NanoVG.nvgScale;
+import static org.lwjgl.nanovg.NanoVG.nvgTranslate;
+import static org.lwjgl.opengl.GL11.GL_COLOR_BUFFER_BIT;
+import static org.lwjgl.opengl.GL11.GL_COLOR_CLEAR_VALUE;
+import static org.lwjgl.opengl.GL11.GL_STENCIL_BUFFER_BIT;
+import static org.lwjgl.opengl.GL11.GL_VIEWPORT;
+import static org.lwjgl.opengl.GL11.glClear;
+import static org.lwjgl.opengl.GL11.glClearColor;
+import static org.lwjgl.opengl.GL11.glGetFloatv;
+import static org.lwjgl.opengl.GL11.glGetIntegerv;
+import static org.lwjgl.opengl.GL11.glViewport;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER;
+import static org.lwjgl.opengl.GL30.GL_FRAMEBUFFER_BINDING;
+import static org.lwjgl.opengl.GL30.glBindFramebuffer;
+
+import com.spinyowl.legui.component.CheckBox;
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.ImageView;
+import com.spinyowl.legui.component.ProgressBar;
+import com.spinyowl.legui.component.RadioButton;
+import com.spinyowl.legui.component.ScrollBar;
+import com.spinyowl.legui.component.Slider;
+import com.spinyowl.legui.component.TextAreaField;
+import com.spinyowl.legui.component.TextComponent;
+import com.spinyowl.legui.component.TextInput;
+import com.spinyowl.legui.component.ToggleButton;
+import com.spinyowl.legui.component.optional.TextState;
+import com.spinyowl.legui.image.BufferedImageRGBA;
+import com.spinyowl.legui.image.Image;
+import com.spinyowl.legui.style.Border;
+import com.spinyowl.legui.style.Style;
+import com.spinyowl.legui.style.border.SimpleLineBorder;
+import com.spinyowl.legui.style.shadow.Shadow;
+import com.spinyowl.legui.style.util.StyleUtilities;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.renderer.RendererProvider;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.joml.Vector2f;
+import org.lwjgl.nanovg.NVGLUFramebuffer;
+import org.lwjgl.nanovg.NVGPaint;
+import org.lwjgl.nanovg.NanoVGGL2;
+import org.lwjgl.nanovg.NanoVGGL3;
+
+/**
+ * Render cache for components with enabled {@link Component#isRenderCacheEnabled()}.
+ * <p>
+ * Component subtree is rendered into NanoVG framebuffer and then drawn with single image pattern
+ * until subtree signature (styles, sizes, positions, states, child components and values) is
+ * changed. Framebuffer is refreshed after main frame is finished and only when subtree was not
+ * changed during last frame, so constantly changing subtrees are rendered directly without
+ * additional offscreen pass.
+ * <p>
+ * Subtree which contains focused text input is always rendered directly because of caret
+ * blinking. Nested cached components are rendered directly into parent cache.
+ */
+public class NvgRenderCache {
+
+  /**
+   * Number of frames after which unused framebuffer is deleted.
+   */
+  private static final int EVICT_AFTER_FRAMES = 300;
+  /**
+   * Maximum framebuffer side in pixels.
+   */
+  private static final int MAX_FRAMEBUFFER_SIZE = 4096;
+  /**
+   * Margin used to keep border strokes inside of framebuffer.
+   */
+  private static final float BORDER_MARGIN = 2f;
+
+  private final long nanovg;
+  private final boolean isVersionNew;
+  private final Map<Component, Entry> entries = new IdentityHashMap<>();
+  private final List<Component> pending = new ArrayList<>();
+  private final NVGPaint imagePaint = NVGPaint.calloc();
+
+  private final int[] viewport = new int[4];
+  private final int[] framebuffer = new int[1];
+  private final float[] clearColor = new float[4];
+
+  private long frame;
+  private boolean capturing;
+  private boolean volatileContent;
+
+  public NvgRenderCache(long nanovg, boolean isVersionNew) {
+    this.nanovg = nanovg;
+    this.isVersionNew = isVersionNew;
+  }
+
+  /**
+   * Used to render component from cache. If cached image is outdated - component will be scheduled
+   * for refresh and should be rendered directly.
+   *
+   * @param component component to render.
+   * @param context   context.
+   * @return true if component was rendered from cache.
+   */
+  public boolean render(Component component, Context context) {
+    if (capturing) {
+      return false;
+    }
+    Entry entry = entries.computeIfAbsent(component, c -> new Entry());
+    entry.lastUsedFrame = frame;
+
+    volatileContent = false;
+    long signature = signature(component, context);
+    boolean stable = signature == entry.lastSignature;
+    entry.lastSignature = signature;
+
+    if (volatileContent) {
+      entry.valid = false;
+      return false;
+    }
+    if (entry.valid && entry.cachedSignature == signature) {
+      NvgRenderUtils.createScissor(nanovg, component);
+      {
+        nvgImagePattern(nanovg, entry.x, entry.y, entry.width, entry.height, 0,
+            entry.framebuffer.image(), 1, imagePaint);
+        nvgBeginPath(nanovg);
+        nvgRect(nanovg, entry.x, entry.y, entry.width, entry.height);
+        nvgFillPaint(nanovg, imagePaint);
+        nvgFill(nanovg);
+      }
+      NvgRenderUtils.resetScissor(nanovg);
+      return true;
+    }
+    if (stable && !entry.pending) {
+      entry.pending = true;
+      pending.add(component);
+    }
+    return false;
+  }
+
+  /**
+   * Used to refresh outdated framebuffers and delete unused ones. Should be called after main
+   * frame is finished.
+   *
+   * @param context context.
+   */
+  public void update(Context context) {
+    if (!pending.isEmpty()) {
+      glGetIntegerv(GL_FRAMEBUFFER_BINDING, framebuffer);
+      glGetIntegerv(GL_VIEWPORT, viewport);
+      glGetFloatv(GL_COLOR_CLEAR_VALUE, clearColor);
+
+      for (Component component : pending) {
+        Entry entry = entries.get(component);
+        if (entry != null) {
+          entry.pending = false;
+          capture(component, entry, context);
+        }
+      }
+      pending.clear();
+
+      glBindFramebuffer(GL_FRAMEBUFFER, framebuffer[0]);
+      glViewport(viewport[0], viewport[1], viewport[2], viewport[3]);
+      glClearColor(clearColor[0], clearColor[1], clearColor[2], clearColor[3]);
+    }
+
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (frame - entry.lastUsedFrame > EVICT_AFTER_FRAMES) {
+        deleteFramebuffer(entry);
+        iterator.remove();
+      }
+    }
+    frame++;
+  }
+
+  /**
+   * Used to delete all framebuffers.
+   */
+  public void destroy() {
+    for (Entry entry : entries.values()) {
+      deleteFramebuffer(entry);
+    }
+    entries.clear();
+    pending.clear();
+    imagePaint.free();
+  }
+
+  private void capture(Component component, Entry entry, Context context) {
+    Vector2f scale = context.getScale();
+    float pixelRatio = context.getPixelRatio();
+    float kx = scale.x * pixelRatio;
+    float ky = scale.y * pixelRatio;
+
+    Vector2f position = component.getAbsolutePosition();
+    Vector2f size = component.getSize();
+    float borderMargin = getBorderMargin(component);
+    float left = borderMargin;
+    float top = borderMargin;
+    float right = borderMargin;
+    float bottom = borderMargin;
+    Shadow shadow = component.getStyle().getShadow();
+    if (shadow != null && shadow.getColor() != null && shadow.getColor().w > 0.01f) {
+      float extent = shadow.getSpread() + shadow.getBlur();
+      left = Math.max(left, extent - shadow.gethOffset());
+      right = Math.max(right, extent + shadow.gethOffset());
+      top = Math.max(top, extent - shadow.getvOffset());
+      bottom = Math.max(bottom, extent + shadow.getvOffset());
+    }
+
+    int x0 = (int) Math.floor((position.x - left) * kx);
+    int y0 = (int) Math.floor((position.y - top) * ky);
+    int x1 = (int) Math.ceil((position.x + size.x + right) * kx);
+    int y1 = (int) Math.ceil((position.y + size.y + bottom) * ky);
+    int pixelWidth = x1 - x0;
+    int pixelHeight = y1 - y0;
+    if (pixelWidth <= 0 || pixelHeight <= 0
+        || pixelWidth > MAX_FRAMEBUFFER_SIZE || pixelHeight > MAX_FRAMEBUFFER_SIZE) {
+      deleteFramebuffer(entry);
+      entry.valid = false;
+      return;
+    }
+
+    if (entry.framebuffer == null
+        || entry.pixelWidth != pixelWidth || entry.pixelHeight != pixelHeight) {
+      deleteFramebuffer(entry);
+      entry.framebuffer = isVersionNew
+          ? NanoVGGL3.nvgluCreateFramebuffer(nanovg, pixelWidth, pixelHeight, 0)
+          : NanoVGGL2.nvgluCreateFramebuffer(nanovg, pixelWidth, pixelHeight, 0);
+      if (entry.framebuffer == null) {
+        entry.valid = false;
+        return;
+      }
+      entry.pixelWidth = pixelWidth;
+      entry.pixelHeight = pixelHeight;
+    }
+    entry.x = x0 / kx;
+    entry.y = y0 / ky;
+    entry.width = pixelWidth / kx;
+    entry.height = pixelHeight / ky;
+
+    glBindFramebuffer(GL_FRAMEBUFFER, entry.framebuffer.fbo());
+    glViewport(0, 0, pixelWidth, pixelHeight);
+    glClearColor(0, 0, 0, 0);
+    glClear(GL_COLOR_BUFFER_BIT | GL_STENCIL_BUFFER_BIT);
+
+    nvgBeginFrame(nanovg, pixelWidth / pixelRatio, pixelHeight / pixelRatio, pixelRatio);
+    nvgScale(nanovg, scale.x, scale.y);
+    nvgTranslate(nanovg, -entry.x, -entry.y);
+    capturing = true;
+    try {
+      RendererProvider.getInstance().getComponentRenderer(component.getClass())
+          .render(component, context);
+    } finally {
+      capturing = false;
+      nvgEndFrame(nanovg);
+    }
+
+    entry.cachedSignature = entry.lastSignature;
+    entry.valid = true;
+  }
+
+  private float getBorderMargin(Component component) {
+    Border border = StyleUtilities.getStyle(component, Style::getBorder);
+    if (border instanceof SimpleLineBorder) {
+      return ((SimpleLineBorder) border).getThickness() / 2f + BORDER_MARGIN;
+    }
+    return BORDER_MARGIN;
+  }
+
+  private void deleteFramebuffer(Entry entry) {
+    if (entry.framebuffer != null) {
+      if (isVersionNew) {
+        NanoVGGL3.nvgluDeleteFramebuffer(nanovg, entry.framebuffer);
+      } else {
+        NanoVGGL2.nvgluDeleteFramebuffer(nanovg, entry.framebuffer);
+      }
+      entry.framebuffer = null;
+      entry.valid = false;
+    }
+  }
+
+  /**
+   * Used to calculate signature of component subtree. Also includes parent positions and sizes
+   * because they define absolute position and clipping of subtree.
+   */
+  private long signature(Component component, Context context) {
+    long h = mix(17, context.getScale().x);
+    h = mix(h, context.getScale().y);
+    h = mix(h, context.getPixelRatio());
+    for (Component parent = component.getParent(); parent != null; parent = parent.getParent()) {
+      h = mix(h, parent.getPosition());
+      h = mix(h, parent.getSize());
+    }
+    return signature(component, h);
+  }
+
+  private long signature(Component component, long h) {
+    h = mix(h, component.getStyle());
+    h = mix(h, component.hasHoveredStyle() ? component.getHoveredStyle() : null);
+    h = mix(h, component.hasFocusedStyle() ? component.getFocusedStyle() : null);
+    h = mix(h, component.hasPressedStyle() ? component.getPressedStyle() : null);
+    h = mix(h, component.getPosition());
+    h = mix(h, component.getSize());
+    h = mix(h, (component.isEnabled() ? 1 : 0)
+        | (component.isVisible() ? 2 : 0)
+        | (component.isHovered() ? 4 : 0)
+        | (component.isFocused() ? 8 : 0)
+        | (component.isPressed() ? 16 : 0));
+    h = mix(h, component.getChildComponentsVersion());
+    h = mix(h, component.getRenderCacheVersion());
+    h = mixValues(component, h);
+
+    for (Iterator<Component> i = component.containerIterator(); i.hasNext(); ) {
+      h = signature(i.next(), h);
+    }
+    return h;
+  }
+
+  private long mixValues(Component component, long h) {
+    if (component instanceof TextComponent) {
+      TextState textState = ((TextComponent) component).getTextState();
+      h = mix(h, System.identityHashCode(textState));
+      h = mix(h, (int) textState.getVersion());
+      h = mix(h, textState.getCaretPosition());
+      h = mix(h, textState.getStartSelectionIndex());
+      h = mix(h, textState.getEndSelectionIndex());
+      if (component.isFocused()
+          && (component instanceof TextInput || component instanceof TextAreaField)) {
+        volatileContent = true;
+      }
+    }
+    if (component instanceof CheckBox) {
+      h = mix(h, ((CheckBox) component).isChecked() ? 1 : 0);
+    } else if (component instanceof RadioButton) {
+      h = mix(h, ((RadioButton) component).isChecked() ? 1 : 0);
+    } else if (component instanceof ToggleButton) {
+      h = mix(h, ((ToggleButton) component).isToggled() ? 1 : 0);
+    } else if (component instanceof Slider) {
+      h = mix(h, ((Slider) component).getValue());
+    } else if (component instanceof ScrollBar) {
+      h = mix(h, ((ScrollBar) component).getCurValue());
+    } else if (component instanceof ProgressBar) {
+      h = mix(h, ((ProgressBar) component).getValue());
+    } else if (component instanceof ImageView) {
+      Image image = ((ImageView) component).getImage();
+      h = mix(h, System.identityHashCode(image));
+      if (image instanceof BufferedImageRGBA && ((BufferedImageRGBA) image).isUpdated()) {
+        volatileContent = true;
+      }
+    }
+    return h;
+  }
+
+  private static long mix(long h, Style style) {
+    if (style == null) {
+      return mix(h, 0);
+    }
+    return mix(mix(h, System.identityHashCode(style)), style.getVersion());
+  }
+
+  private static long mix(long h, Vector2f vector) {
+    return mix(mix(h, vector.x), vector.y);
+  }
+
+  private static long mix(long h, float value) {
+    return mix(h, Float.floatToIntBits(value));
+  }
+
+  private static long mix(long h, int value) {
+    return (h ^ value) * 0x100000001B3L;
+  }
+
+  private static class Entry {
+
+    private NVGLUFramebuffer framebuffer;
+    private int pixelWidth;
+    private int pixelHeight;
+    private float x;
+    private float y;
+    private float width;
+    private float height;
+
+    private long lastSignature;
+    private long cachedSignature;
+    private long lastUsedFrame;
+    private boolean valid;
+    private boolean pending;
+  }
+}
@@ -3,6 +3,7 @@ package com.spinyowl.legui.system.renderer.nvg;
 import static org.lwjgl.nanovg.NanoVG.nvgBeginFrame;
 import static org.lwjgl.nanovg.NanoVG.nvgCreateFontMem;
 import static org.lwjgl.nanovg.NanoVG.nvgEndFrame;
+import static org.lwjgl.nanovg.NanoVG.nvgFindFont;
 import static org.lwjgl.nanovg.NanoVG.nvgScale;
 import static org.lwjgl.opengl.GL11.GL_BLEND;
 import static org.lwjgl.opengl.GL11.GL_DEPTH_TEST;
@@ -25,6 +26,8 @@ import com.spinyowl.legui.system.renderer.BorderRenderer;
 import com.spinyowl.legui.system.renderer.ComponentRenderer;
 import com.spinyowl.legui.system.renderer.RendererProvider;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.joml.Vector2f;
@@ -38,11 +41,21 @@ public class NvgRenderer extends AbstractRenderer {
 
   public static final String NVG_CONTEXT = "NVG_CONTEXT";
   public static final String IMAGE_REFERENCE_MANAGER = "IMAGE_REFERENCE_MANAGER";
-  private final NvgImageReferenceManager imageReferenceManager = NvgImageReferenceManager.getInstance();
+  public static final String RENDER_CACHE = "RENDER_CACHE";
+  public static final String TEXT_CACHE = "TEXT_CACHE";
+  public static final String SHARED_TEXTURES = "SHARED_TEXTURES";
   private final boolean antialiasingEnabled;
+  private final NvgSharedTextures sharedTextures;
   protected Map<String, Font> loadedFonts = new ConcurrentHashMap<>();
   private long nvgContext;
   private boolean isVersionNew;
+  private NvgRenderCache renderCache;
+  private final NvgTextCache textCache = new NvgTextCache();
+  private NvgImageReferenceManager imageReferenceManager;
+  /**
+   * Version of font registry which was used to update fonts.
+   */
+  private int fontRegistryVersion;
 
   /**
    * Allows to create nvg renderer with directly enabled/disabled antialiasing
@@ -50,7 +63,19 @@ public class NvgRenderer extends AbstractRenderer {
    * @param antialiasingEnabled if antialiasing shoould be enabled
    */
   public NvgRenderer(boolean antialiasingEnabled) {
+    this(antialiasingEnabled, null);
+  }
+
+  /**
+   * Allows to create nvg renderer which shares image textures with other renderers. Should be used
+   * only if OpenGL contexts of renderers share objects.
+   *
+   * @param antialiasingEnabled if antialiasing should be enabled
+   * @param sharedTextures      shared textures or null if textures should not be shared.
+   */
+  public NvgRenderer(boolean antialiasingEnabled, NvgSharedTextures sharedTextures) {
     this.antialiasingEnabled = antialiasingEnabled;
+    this.sharedTextures = sharedTextures;
   }
 
   /**
@@ -60,6 +85,36 @@ public class NvgRenderer extends AbstractRenderer {
     this(true);
   }
 
+  /**
+   * Returns text cache of renderer which is rendering provided context.
+   *
+   * @param context context.
+   * @return text cache or null if context is not rendered by nanovg renderer.
+   */
+  public static NvgTextCache getTextCache(Context context) {
+    return (NvgTextCache) context.getContextData().get(TEXT_CACHE);
+  }
+
+  /**
+   * Returns image reference manager of renderer which is rendering provided context.
+   *
+   * @param context context.
+   * @return image reference manager or null if context is not rendered by nanovg renderer.
+   */
+  public static NvgImageReferenceManager getImageReferenceManager(Context context) {
+    return (NvgImageReferenceManager) context.getContextData().get(IMAGE_REFERENCE_MANAGER);
+  }
+
+  /**
+   * Returns shared textures of renderer which is rendering provided context.
+   *
+   * @param context context.
+   * @return shared textures or null if textures are not shared.
+   */
+  public static NvgSharedTextures getSharedTextures(Context context) {
+    return (NvgSharedTextures) context.getContextData().get(SHARED_TEXTURES);
+  }
+
   /**
    * Used to render border.
    *
@@ -136,25 +191,46 @@ public class NvgRenderer extends AbstractRenderer {
           : NanoVGGL2.NVG_STENCIL_STROKES;
       nvgContext = NanoVGGL2.nvgCreate(flags);
     }
+    renderCache = new NvgRenderCache(nvgContext, isVersionNew);
+    imageReferenceManager = new NvgImageReferenceManager(nvgContext);
     RendererProvider.getInstance().getComponentRenderers().forEach(ComponentRenderer::initialize);
   }
 
+  /**
+   * Used to update fonts which were created in nanovg context and then registered again with other
+   * data. Other fonts are created when they are used first time, see {@link
+   * NvgRenderUtils#fontFace(long, String)}.
+   */
   private void loadFontsToNvg() {
-    Map<String, Font> fontRegister = FontRegistry.getFontRegister();
-    for (Map.Entry<String, Font> fontDataEntry : fontRegister.entrySet()) {
-      String fontName = fontDataEntry.getKey();
-      Font font = fontDataEntry.getValue();
-      if (loadedFonts.get(fontName) == null || !loadedFonts.get(fontName).equals(font)) {
-        nvgCreateFontMem(nvgContext, fontName, fontDataEntry.getValue().getData(), false);
-        loadedFonts.put(fontName, font);
+    int version = FontRegistry.getVersion();
+    if (version == fontRegistryVersion) {
+      return;
+    }
+    for (String fontName : FontRegistry.getFontNamesChangedSince(fontRegistryVersion)) {
+      Font font = FontRegistry.getFont(fontName);
+      if (font != null && nvgFindFont(nvgContext, fontName) >= 0
+          && !font.equals(loadedFonts.get(fontName))) {
+        ByteBuffer data = font.getData();
+        if (data != null) {
+          nvgCreateFontMem(nvgContext, fontName, data, false);
+          loadedFonts.put(fontName, font);
+          textCache.clear();
+        }
       }
     }
+    fontRegistryVersion = version;
   }
 
   @Override
   protected void preRender(Context context) {
     loadFontsToNvg();
     context.getContextData().put(NVG_CONTEXT, nvgContext);
+    context.getContextData().put(RENDER_CACHE, renderCache);
+    context.getContextData().put(TEXT_CACHE, textCache);
+    context.getContextData().put(IMAGE_REFERENCE_MANAGER, imageReferenceManager);
+    if (sharedTextures != null) {
+      context.getContextData().put(SHARED_TEXTURES, sharedTextures);
+    }
 
     glDisable(GL_DEPTH_TEST);
     glEnable(GL_BLEND);
@@ -170,23 +246,49 @@ public class NvgRenderer extends AbstractRenderer {
   @Override
   protected void postRender(Context context) {
     nvgEndFrame(nvgContext);
+    renderCache.update(context);
 
     glDisable(GL_BLEND);
     glEnable(GL_DEPTH_TEST);
 
-    imageReferenceManager.removeOldImages(nvgContext);
+    imageReferenceManager.endFrame();
     context.getContextData().remove(NVG_CONTEXT);
     context.getContextData().remove(IMAGE_REFERENCE_MANAGER);
+    context.getContextData().remove(RENDER_CACHE);
+    context.getContextData().remove(TEXT_CACHE);
+    context.getContextData().remove(SHARED_TEXTURES);
+  }
+
+  /**
+   * Returns textures shared with other renderers.
+   *
+   * @return shared textures or null if textures are not shared.
+   */
+  public NvgSharedTextures getSharedTextures() {
+    return sharedTextures;
+  }
+
+  /**
+   * Returns image reference manager (texture manager) of this renderer. Available after
+   * initialization.
+   *
+   * @return image reference manager.
+   */
+  public NvgImageReferenceManager getImageReferenceManager() {
+    return imageReferenceManager;
   }
 
   @Override
   public void destroy() {
+    renderCache.destroy();
+    textCache.destroy();
+    imageReferenceManager.destroy();
     if (isVersionNew) {
       NanoVGGL3.nnvgDelete(nvgContext);
     } else {
       NanoVGGL2.nnvgDelete(nvgContext);
     }
     RendererProvider.getInstance().getComponentRenderers().forEach(ComponentRenderer::destroy);
-    imageReferenceManager.destroy();
+    NvgScratch.destroy();
   }
 }
@@ -0,0 +1,227 @@
+package com.spinyowl.legui.system.renderer.nvg;
+
+import static org.lwjgl.opengl.GL11.GL_LINEAR;
+import static org.lwjgl.opengl.GL11.GL_RGBA;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_2D;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_BINDING_2D;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_MAG_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_MIN_FILTER;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_WRAP_S;
+import static org.lwjgl.opengl.GL11.GL_TEXTURE_WRAP_T;
+import static org.lwjgl.opengl.GL11.GL_UNPACK_ALIGNMENT;
+import static org.lwjgl.opengl.GL11.GL_UNSIGNED_BYTE;
+import static org.lwjgl.opengl.GL11.glBindTexture;
+import static org.lwjgl.opengl.GL11.glDeleteTextures;
+import static org.lwjgl.opengl.GL11.glFlush;
+import static org.lwjgl.opengl.GL11.glGenTextures;
+import static org.lwjgl.opengl.GL11.glGetInteger;
+import static org.lwjgl.opengl.GL11.glPixelStorei;
+import static org.lwjgl.opengl.GL11.glTexImage2D;
+import static org.lwjgl.opengl.GL11.glTexParameteri;
+import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL30.GL_MAJOR_VERSION;
+import static org.lwjgl.opengl.GL30.GL_MINOR_VERSION;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.lwjgl.nanovg.NanoVGGL2;
+import org.lwjgl.nanovg.NanoVGGL3;
+
+/**
+ * Textures shared by several {@link NvgRenderer}s which render to windows with shared OpenGL
+ * contexts (created with {@code share} parameter of {@code glfwCreateWindow}).
+ * <p>
+ * Image is uploaded to OpenGL texture once, by renderer which uses it first, and other renderers
+ * create NanoVG images from the same texture. Texture is deleted when it is released by all
+ * renderers.
+ * <p>
+ * Could be used from several render threads. Methods should be called when OpenGL context which
+ * shares textures is current.
+ */
+public final class NvgSharedTextures {
+
+  private final Map<Object, Texture> textures = new ConcurrentHashMap<>();
+
+  private final AtomicLong uploadCount = new AtomicLong();
+  private final AtomicLong uploadedBytes = new AtomicLong();
+  private volatile Boolean versionNew;
+
+  /**
+   * Used to create nanovg image from shared texture. If texture does not exist it is created and
+   * filled with provided data. Every created image should be released with {@link
+   * #release(Object)} when it is deleted.
+   *
+   * @param nvgContext nanovg context.
+   * @param key        image key (for example image path).
+   * @param width      image width.
+   * @param height     image height.
+   * @param data       supplier of RGBA image data. Could return null if image is not loaded yet.
+   * @return nanovg image or 0 if image could not be created.
+   */
+  public int createImage(long nvgContext, Object key, int width, int height,
+      Supplier<ByteBuffer> data) {
+    int textureId = acquire(key, width, height, data);
+    if (textureId == 0) {
+      return 0;
+    }
+    int image = isVersionNew()
+        ? NanoVGGL3.nvglCreateImageFromHandle(nvgContext, textureId, width, height,
+            NanoVGGL3.NVG_IMAGE_NODELETE)
+        : NanoVGGL2.nvglCreateImageFromHandle(nvgContext, textureId, width, height,
+            NanoVGGL2.NVG_IMAGE_NODELETE);
+    if (image == 0) {
+      release(key);
+    }
+    return image;
+  }
+
+  /**
+   * Returns true if nanovg contexts are created with NanoVGGL3. Shared contexts have the same
+   * version, so version is detected once.
+   */
+  private boolean isVersionNew() {
+    Boolean current = versionNew;
+    if (current == null) {
+      current = (glGetInteger(GL_MAJOR_VERSION) > 3) || (glGetInteger(GL_MAJOR_VERSION) == 3
+          && glGetInteger(GL_MINOR_VERSION) >= 2);
+      versionNew = current;
+    }
+    return current;
+  }
+
+  private int acquire(Object key, int width, int height, Supplier<ByteBuffer> data) {
+    while (true) {
+      Texture texture = textures.computeIfAbsent(key, k -> new Texture());
+      synchronized (texture) {
+        if (texture.deleted) {
+          // texture was released by other renderer, try again
+          continue;
+        }
+        if (texture.id == 0) {
+          ByteBuffer imageData = data.get();
+          if (imageData == null) {
+            if (texture.references == 0) {
+              texture.deleted = true;
+              textures.remove(key, texture);
+            }
+            return 0;
+          }
+          texture.id = upload(width, height, imageData);
+          uploadCount.incrementAndGet();
+          uploadedBytes.addAndGet(4L * width * height);
+        }
+        texture.references++;
+        return texture.id;
+      }
+    }
+  }
+
+  /**
+   * Used to release texture of image created by {@link #createImage(long, Object, int, int,
+   * Supplier)}. Texture is deleted when it is released by all renderers.
+   *
+   * @param key image key.
+   */
+  public void release(Object key) {
+    Texture texture = textures.get(key);
+    if (texture == null) {
+      return;
+    }
+    synchronized (texture) {
+      if (texture.deleted || --texture.references > 0) {
+        return;
+      }
+      texture.deleted = true;
+      textures.remove(key, texture);
+      glDeleteTextures(texture.id);
+    }
+  }
+
+  /**
+   * Used to delete all shared textures. Should be called when all renderers are destroyed.
+   */
+  public void destroy() {
+    List<Texture> deleted = new ArrayList<>(textures.values());
+    textures.clear();
+    for (Texture texture : deleted) {
+      synchronized (texture) {
+        if (!texture.deleted) {
+          texture.deleted = true;
+          if (texture.id != 0) {
+            glDeleteTextures(texture.id);
+          }
+        }
+      }
+    }
+  }
+
+  private static int upload(int width, int height, ByteBuffer data) {
+    int boundTexture = glGetInteger(GL_TEXTURE_BINDING_2D);
+    int unpackAlignment = glGetInteger(GL_UNPACK_ALIGNMENT);
+
+    int textureId = glGenTextures();
+    glBindTexture(GL_TEXTURE_2D, textureId);
+    glPixelStorei(GL_UNPACK_ALIGNMENT, 1);
+    glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, data);
+    glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_LINEAR);
+    glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_LINEAR);
+    glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+    glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+
+    glPixelStorei(GL_UNPACK_ALIGNMENT, unpackAlignment);
+    glBindTexture(GL_TEXTURE_2D, boundTexture);
+    // texture should be visible to other contexts before they use it
+    glFlush();
+    return textureId;
+  }
+
+  /**
+   * Returns number of shared textures.
+   *
+   * @return number of shared textures.
+   */
+  public int getTextureCount() {
+    return textures.size();
+  }
+
+  /**
+   * Returns number of uploaded textures.
+   *
+   * @return number of uploads.
+   */
+  public long getUploadCount() {
+    return uploadCount.get();
+  }
+
+  /**
+   * Returns total size of uploaded textures in bytes.
+   *
+   * @return uploaded bytes.
+   */
+  public long getUploadedBytes() {
+    return uploadedBytes.get();
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+        .append("textureCount", textures.size())
+        .append("uploadCount", uploadCount.get())
+        .append("uploadedBytes", uploadedBytes.get())
+        .toString();
+  }
+
+  private static final class Texture {
+
+    private int id;
+    private int references;
+    private boolean deleted;
+  }
+}
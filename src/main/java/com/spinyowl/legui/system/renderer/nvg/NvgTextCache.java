@@ -0,0 +1,379 @@
+package com.spinyowl.legui.system.renderer.nvg;
+
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.fontFace;
+import static org.lwjgl.nanovg.NanoVG.nnvgTextBreakLines;
+import static org.lwjgl.nanovg.NanoVG.nvgFontSize;
+import static org.lwjgl.nanovg.NanoVG.nvgRestore;
+import static org.lwjgl.nanovg.NanoVG.nvgSave;
+import static org.lwjgl.nanovg.NanoVG.nvgTextBounds;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+import static org.lwjgl.system.MemoryUtil.memFree;
+import static org.lwjgl.system.MemoryUtil.memUTF8;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.lwjgl.nanovg.NVGTextRow;
+
+/**
+ * Bounded LRU cache of UTF-8 encoded text and text layouts (bounds and line breaks) of NanoVG
+ * context.
+ * <p>
+ * Layouts are keyed by text, font, font size and width, so they are calculated only once while
+ * text and style of component are not changed. Cache is cleared when fonts are (re)loaded to
+ * NanoVG context.
+ * <p>
+ * Should be used only from renderer thread. Buffers and layouts returned by cache are valid until
+ * next call to cache.
+ */
+public class NvgTextCache {
+
+  /**
+   * Default maximum number of encoded texts.
+   */
+  public static final int DEFAULT_MAX_TEXTS = 1024;
+  /**
+   * Default maximum number of text layouts.
+   */
+  public static final int DEFAULT_MAX_LAYOUTS = 2048;
+
+  private static final int ROWS_PER_CALL = 16;
+
+  private final Map<String, ByteBuffer> texts;
+  private final Map<Key, TextLayout> layouts;
+  private final Key lookupKey = new Key();
+  private final float[] bounds = new float[4];
+  private final NVGTextRow.Buffer rows = NVGTextRow.calloc(ROWS_PER_CALL);
+
+  private long textHits;
+  private long textMisses;
+  private long layoutHits;
+  private long layoutMisses;
+
+  /**
+   * Used to create text cache with default limits.
+   */
+  public NvgTextCache() {
+    this(DEFAULT_MAX_TEXTS, DEFAULT_MAX_LAYOUTS);
+  }
+
+  /**
+   * Used to create text cache.
+   *
+   * @param maxTexts   maximum number of encoded texts.
+   * @param maxLayouts maximum number of text layouts.
+   */
+  public NvgTextCache(int maxTexts, int maxLayouts) {
+    this.texts = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, ByteBuffer> eldest) {
+        if (size() > maxTexts) {
+          memFree(eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+    this.layouts = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, TextLayout> eldest) {
+        return size() > maxLayouts;
+      }
+    };
+  }
+
+  /**
+   * Returns text encoded in UTF-8 (without null-terminator).
+   *
+   * @param text text to encode.
+   * @return encoded text.
+   */
+  public ByteBuffer encode(String text) {
+    ByteBuffer buffer = texts.get(text);
+    if (buffer != null) {
+      textHits++;
+      return buffer;
+    }
+    textMisses++;
+    buffer = memUTF8(text, false);
+    texts.put(text, buffer);
+    return buffer;
+  }
+
+  /**
+   * Returns layout of text with calculated width and height of text bounds.
+   *
+   * @param nvg      nanovg context.
+   * @param text     text.
+   * @param font     font name.
+   * @param fontSize font size.
+   * @return text layout.
+   */
+  public TextLayout measure(long nvg, String text, String font, float fontSize) {
+    TextLayout layout = layout(text, font, fontSize, -1);
+    if (Float.isNaN(layout.width)) {
+      ByteBuffer buffer = encode(text);
+      nvgSave(nvg);
+      nvgFontSize(nvg, fontSize);
+      fontFace(nvg, font);
+      nvgTextBounds(nvg, 0, 0, buffer, bounds);
+      nvgRestore(nvg);
+      layout.width = bounds[2] - bounds[0];
+      layout.height = bounds[3] - bounds[1];
+    }
+    return layout;
+  }
+
+  /**
+   * Returns layout of text with calculated rows (line breaks) for provided width.
+   *
+   * @param nvg      nanovg context.
+   * @param text     text.
+   * @param font     font name.
+   * @param fontSize font size.
+   * @param width    maximum row width.
+   * @return text layout.
+   */
+  public TextLayout breakLines(long nvg, String text, String font, float fontSize, float width) {
+    TextLayout layout = layout(text, font, fontSize, width);
+    if (layout.rowCount < 0) {
+      ByteBuffer buffer = encode(text);
+      long start = memAddress(buffer);
+      long end = start + buffer.remaining();
+      layout.rowCount = 0;
+      nvgSave(nvg);
+      nvgFontSize(nvg, fontSize);
+      fontFace(nvg, font);
+      int count;
+      long position = start;
+      while ((count = nnvgTextBreakLines(nvg, position, end, width, memAddress(rows),
+          ROWS_PER_CALL)) != 0) {
+        for (int i = 0; i < count; i++) {
+          NVGTextRow row = rows.get(i);
+          layout.addRow((int) (row.start() - start), (int) (row.end() - start), row.width());
+          position = row.next();
+        }
+      }
+      nvgRestore(nvg);
+    }
+    return layout;
+  }
+
+  private TextLayout layout(String text, String font, float fontSize, float width) {
+    TextLayout layout = layouts.get(lookupKey.set(text, font, fontSize, width));
+    if (layout != null) {
+      layoutHits++;
+      return layout;
+    }
+    layoutMisses++;
+    layout = new TextLayout();
+    layouts.put(new Key().set(text, font, fontSize, width), layout);
+    return layout;
+  }
+
+  /**
+   * Used to remove all cached texts and layouts.
+   */
+  public void clear() {
+    texts.values().forEach(buffer -> memFree(buffer));
+    texts.clear();
+    layouts.clear();
+  }
+
+  /**
+   * Used to free all resources of cache.
+   */
+  public void destroy() {
+    clear();
+    rows.free();
+  }
+
+  /**
+   * Returns number of encoded text requests served from cache.
+   *
+   * @return number of text hits.
+   */
+  public long getTextHits() {
+    return textHits;
+  }
+
+  /**
+   * Returns number of text encodings.
+   *
+   * @return number of text misses.
+   */
+  public long getTextMisses() {
+    return textMisses;
+  }
+
+  /**
+   * Returns number of layout requests served from cache.
+   *
+   * @return number of layout hits.
+   */
+  public long getLayoutHits() {
+    return layoutHits;
+  }
+
+  /**
+   * Returns number of created layouts.
+   *
+   * @return number of layout misses.
+   */
+  public long getLayoutMisses() {
+    return layoutMisses;
+  }
+
+  /**
+   * Used to reset hit and miss counters.
+   */
+  public void resetStatistics() {
+    textHits = 0;
+    textMisses = 0;
+    layoutHits = 0;
+    layoutMisses = 0;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+        .append("texts", texts.size())
+        .append("layouts", layouts.size())
+        .append("textHits", textHits)
+        .append("textMisses", textMisses)
+        .append("layoutHits", layoutHits)
+        .append("layoutMisses", layoutMisses)
+        .toString();
+  }
+
+  /**
+   * Cached text layout. Row offsets are byte offsets in encoded text returned by {@link
+   * #encode(String)}.
+   */
+  public static final class TextLayout {
+
+    private float width = Float.NaN;
+    private float height = Float.NaN;
+    private int rowCount = -1;
+    private int[] rowOffsets = new int[2];
+    private float[] rowWidths = new float[1];
+
+    private TextLayout() {
+    }
+
+    private void addRow(int start, int end, float rowWidth) {
+      if (rowCount == rowWidths.length) {
+        rowOffsets = Arrays.copyOf(rowOffsets, rowCount * 4);
+        rowWidths = Arrays.copyOf(rowWidths, rowCount * 2);
+      }
+      rowOffsets[rowCount * 2] = start;
+      rowOffsets[rowCount * 2 + 1] = end;
+      rowWidths[rowCount] = rowWidth;
+      rowCount++;
+    }
+
+    /**
+     * Returns width of text bounds.
+     *
+     * @return width of text bounds.
+     */
+    public float getWidth() {
+      return width;
+    }
+
+    /**
+     * Returns height of text bounds.
+     *
+     * @return height of text bounds.
+     */
+    public float getHeight() {
+      return height;
+    }
+
+    /**
+     * Returns number of rows.
+     *
+     * @return number of rows.
+     */
+    public int getRowCount() {
+      return Math.max(rowCount, 0);
+    }
+
+    /**
+     * Returns byte offset of row start.
+     *
+     * @param row row index.
+     * @return offset of row start.
+     */
+    public int getRowStart(int row) {
+      return rowOffsets[row * 2];
+    }
+
+    /**
+     * Returns byte offset of row end.
+     *
+     * @param row row index.
+     * @return offset of row end.
+     */
+    public int getRowEnd(int row) {
+      return rowOffsets[row * 2 + 1];
+    }
+
+    /**
+     * Returns width of row.
+     *
+     * @param row row index.
+     * @return width of row.
+     */
+    public float getRowWidth(int row) {
+      return rowWidths[row];
+    }
+  }
+
+  /**
+   * Layout key.
+   */
+  private static final class Key {
+
+    private String text;
+    private String font;
+    private float fontSize;
+    private float width;
+
+    private Key set(String text, String font, float fontSize, float width) {
+      this.text = text;
+      this.font = font;
+      this.fontSize = fontSize;
+      this.width = width;
+      return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return Float.compare(key.fontSize, fontSize) == 0
+          && Float.compare(key.width, width) == 0
+          && text.equals(key.text)
+          && Objects.equals(font, key.font);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = text.hashCode();
+      result = 31 * result + Objects.hashCode(font);
+      result = 31 * result + Float.floatToIntBits(fontSize);
+      result = 31 * result + Float.floatToIntBits(width);
+      return result;
+    }
+  }
+}
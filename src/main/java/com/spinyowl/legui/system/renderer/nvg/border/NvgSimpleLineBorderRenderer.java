@@ -6,6 +6,7 @@ import com.spinyowl.legui.style.border.SimpleLineBorder;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.nvg.NvgBorderRenderer;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgShapes;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
@@ -24,22 +25,24 @@ public class NvgSimpleLineBorderRenderer extends NvgBorderRenderer<SimpleLineBor
       }
 
 //            float cornerRadius = component.getBorderRadius();
-      Vector2f size = component.getSize();
-      Style style = component.getStyle();
-      Vector2f absolutePosition = component.getAbsolutePosition();
-
-      Vector2f bSize = new Vector2f(size);
-      bSize.add(thickness, thickness);
-      Vector2f bPos = new Vector2f(absolutePosition).sub(thickness / 2f, thickness / 2f);
-
-      Vector4f borderRadius = NvgRenderUtils.getBorderRadius(component);
-
-      if (component.isFocused() && style.getFocusedStrokeColor() != null) {
-        Vector4f strokeColor = style.getFocusedStrokeColor();
-        NvgShapes.drawRectStroke(nanovg, new Vector2f(bPos).add(-0.5f, +0.5f),
-            new Vector2f(bSize).add(1f, 1f), strokeColor, 1f, borderRadius);
+      try (NvgScratch scratch = NvgScratch.push()) {
+        Vector2f size = component.getSize();
+        Style style = component.getStyle();
+
+        Vector2f bSize = scratch.vector2().set(size);
+        bSize.add(thickness, thickness);
+        Vector2f bPos = component.getAbsolutePosition(scratch.vector2())
+            .sub(thickness / 2f, thickness / 2f);
+
+        Vector4f borderRadius = NvgRenderUtils.getBorderRadius(component, scratch.vector4());
+
+        if (component.isFocused() && style.getFocusedStrokeColor() != null) {
+          Vector4f strokeColor = style.getFocusedStrokeColor();
+          NvgShapes.drawRectStroke(nanovg, scratch.vector2().set(bPos).add(-0.5f, +0.5f),
+              scratch.vector2().set(bSize).add(1f, 1f), strokeColor, 1f, borderRadius);
+        }
+        NvgShapes.drawRectStroke(nanovg, bPos, bSize, borderColor, thickness, borderRadius);
       }
-      NvgShapes.drawRectStroke(nanovg, bPos, bSize, borderColor, thickness, borderRadius);
 
     }
   }
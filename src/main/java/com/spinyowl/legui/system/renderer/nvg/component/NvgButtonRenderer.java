@@ -1,6 +1,5 @@
 package com.spinyowl.legui.system.renderer.nvg.component;
 
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.calculateTextBoundsRect;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.resetScissor;
@@ -13,9 +12,11 @@ import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
-import com.spinyowl.legui.style.Style;
-import com.spinyowl.legui.style.font.FontRegistry;
+import com.spinyowl.legui.style.ComputedStyle;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.renderer.nvg.NvgRenderer;
+import com.spinyowl.legui.system.renderer.nvg.NvgTextCache;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 
@@ -24,21 +25,25 @@ public class NvgButtonRenderer extends NvgDefaultComponentRenderer<Button> {
   @Override
   protected void renderSelf(Button component, Context context, long nanovg) {
     createScissor(nanovg, component);
-    {
-      Vector2f pos = component.getAbsolutePosition();
+    try (NvgScratch scratch = NvgScratch.push()) {
+      Vector2f pos = component.getAbsolutePosition(scratch.vector2());
       Vector2f size = component.getSize();
 
       // Render text
       TextState textState = component.getTextState();
-      Vector4f rect = new Vector4f(pos, size.x(), size.y());
+      Vector4f rect = scratch.vector4().set(pos, size.x(), size.y());
 
-      Float fontSize = getStyle(component, Style::getFontSize, 16F);
+      ComputedStyle computedStyle = component.getComputedStyle();
+      float fontSize = computedStyle.getFontSize();
 
-      HorizontalAlign hAlign = getStyle(component, Style::getHorizontalAlign, HorizontalAlign.LEFT);
-      VerticalAlign vAlign = getStyle(component, Style::getVerticalAlign, VerticalAlign.MIDDLE);
+      HorizontalAlign hAlign = computedStyle.getHorizontalAlign();
+      VerticalAlign vAlign = computedStyle.getVerticalAlign();
 
-      float[] textBounds =
-          calculateTextBoundsRect(nanovg, rect, textState.getText(), hAlign, vAlign, fontSize);
+      String font = computedStyle.getFont();
+      NvgTextCache textCache = NvgRenderer.getTextCache(context);
+
+      float[] textBounds = calculateTextBoundsRect(nanovg, textCache, rect, textState.getText(),
+          font, hAlign, vAlign, fontSize, scratch.array8());
       float textWidth = textState.getTextWidth();
 
       if (Math.abs(textWidth - textBounds[2]) > 0.001) {
@@ -48,7 +53,7 @@ public class NvgButtonRenderer extends NvgDefaultComponentRenderer<Button> {
                     component, context, component.getFrame(), textBounds[2]));
       }
 
-      pos = component.getAbsolutePosition();
+      pos = component.getAbsolutePosition(pos);
       size = component.getSize();
 
       renderBackground(component, context, nanovg);
@@ -56,8 +61,9 @@ public class NvgButtonRenderer extends NvgDefaultComponentRenderer<Button> {
       // Render text
       nvgIntersectScissor(nanovg, pos.x, pos.y, size.x, size.y);
       textState = component.getTextState();
-      rect = new Vector4f(pos, size.x(), size.y());
-      fontSize = getStyle(component, Style::getFontSize, 16F);
+      rect.set(pos, size.x(), size.y());
+      computedStyle = component.getComputedStyle();
+      fontSize = computedStyle.getFontSize();
 
       textState.setTextWidth(textBounds[2]);
       textState.setTextHeight(fontSize);
@@ -68,13 +74,14 @@ public class NvgButtonRenderer extends NvgDefaultComponentRenderer<Button> {
           nanovg,
           rect,
           true,
-          getStyle(component, Style::getHorizontalAlign, HorizontalAlign.LEFT),
-          getStyle(component, Style::getVerticalAlign, VerticalAlign.MIDDLE),
+          computedStyle.getHorizontalAlign(),
+          computedStyle.getVerticalAlign(),
           fontSize,
-          getStyle(component, Style::getFont, FontRegistry.getDefaultFont()),
+          computedStyle.getFont(),
           textState.getText(),
-          getStyle(component, Style::getTextColor),
-          component.getTextDirection());
+          computedStyle.getTextColor(),
+          component.getTextDirection(),
+          textCache);
     }
     resetScissor(nanovg);
   }
@@ -1,6 +1,5 @@
 package com.spinyowl.legui.system.renderer.nvg.component;
 
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.renderBorderWScissor;
 import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.renderIcon;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
@@ -11,11 +10,14 @@ import static org.lwjgl.nanovg.NanoVG.nvgSave;
 
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.icon.Icon;
+import com.spinyowl.legui.style.ComputedStyle;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.RendererProvider;
 import com.spinyowl.legui.system.renderer.nvg.NvgComponentRenderer;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgShapes;
+import java.util.Iterator;
 import org.joml.Vector4f;
 
 /**
@@ -57,19 +59,22 @@ public class NvgDefaultComponentRenderer<C extends Component> extends NvgCompone
   }
 
   protected void renderBackground(C component, Context context, long nanovg) {
-    Icon bgIcon = getStyle(component, s -> s.getBackground().getIcon());
-    Vector4f bgColor = getStyle(component, s -> s.getBackground().getColor());
-    Vector4f cornerRadius = getBorderRadius(component);
+    ComputedStyle computedStyle = component.getComputedStyle();
+    Icon bgIcon = computedStyle.getBackgroundIcon();
+    Vector4f bgColor = computedStyle.getBackgroundColor();
+    try (NvgScratch scratch = NvgScratch.push()) {
+      Vector4f cornerRadius = getBorderRadius(component, scratch.vector4());
 
-    NvgRenderUtils.renderShadow(nanovg, component);
+      NvgRenderUtils.renderShadow(nanovg, component);
 
-    nvgSave(nanovg);
-    NvgShapes.drawRect(nanovg, component.getAbsolutePosition(), component.getSize(), bgColor,
-        cornerRadius);
-    if (bgIcon != null) {
-      renderIcon(bgIcon, component, context);
+      nvgSave(nanovg);
+      NvgShapes.drawRect(nanovg, component.getAbsolutePosition(scratch.vector2()),
+          component.getSize(), bgColor, cornerRadius);
+      if (bgIcon != null) {
+        renderIcon(bgIcon, component, context);
+      }
+      nvgRestore(nanovg);
     }
-    nvgRestore(nanovg);
   }
 
   /**
@@ -80,7 +85,8 @@ public class NvgDefaultComponentRenderer<C extends Component> extends NvgCompone
    * @param nanovg    nanovg context pointer.
    */
   protected void renderChildComponents(C component, Context context, long nanovg) {
-    for (Component child : component.getChildComponents()) {
+    for (Iterator<Component> i = component.containerIterator(); i.hasNext(); ) {
+      Component child = i.next();
       RendererProvider.getInstance().getComponentRenderer(child.getClass()).render(child, context);
     }
   }
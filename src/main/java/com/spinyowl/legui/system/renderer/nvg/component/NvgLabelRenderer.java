@@ -2,7 +2,6 @@ package com.spinyowl.legui.system.renderer.nvg.component;
 
 import static com.spinyowl.legui.style.util.StyleUtilities.getInnerContentRectangle;
 import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.calculateTextBoundsRect;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.resetScissor;
@@ -13,9 +12,12 @@ import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.style.ComputedStyle;
 import com.spinyowl.legui.style.Style;
-import com.spinyowl.legui.style.font.FontRegistry;
 import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.renderer.nvg.NvgRenderer;
+import com.spinyowl.legui.system.renderer.nvg.NvgTextCache;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgText;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
@@ -25,22 +27,26 @@ public class NvgLabelRenderer extends NvgDefaultComponentRenderer<Label> {
   @Override
   public void renderSelf(Label label, Context context, long nanovg) {
     createScissor(nanovg, label);
-    {
+    try (NvgScratch scratch = NvgScratch.push()) {
       Style style = label.getStyle();
-      Vector2f pos = label.getAbsolutePosition();
+      Vector2f pos = label.getAbsolutePosition(scratch.vector2());
       Vector2f size = label.getSize();
 
       TextState textState = label.getTextState();
-      Vector4f padding = getPadding(label, style);
-      Vector4f rect = getInnerContentRectangle(pos, size, padding);
+      Vector4f padding = getPadding(label, style, scratch.vector4());
+      Vector4f rect = getInnerContentRectangle(pos, size, padding, scratch.vector4());
 
-      Float fontSize = getStyle(label, Style::getFontSize, 16F);
+      ComputedStyle computedStyle = label.getComputedStyle();
+      float fontSize = computedStyle.getFontSize();
 
-      HorizontalAlign hAlign = getStyle(label, Style::getHorizontalAlign, HorizontalAlign.LEFT);
-      VerticalAlign vAlign = getStyle(label, Style::getVerticalAlign, VerticalAlign.MIDDLE);
+      HorizontalAlign hAlign = computedStyle.getHorizontalAlign();
+      VerticalAlign vAlign = computedStyle.getVerticalAlign();
 
-      float[] textBounds =
-          calculateTextBoundsRect(nanovg, rect, textState.getText(), hAlign, vAlign, fontSize);
+      String font = computedStyle.getFont();
+      NvgTextCache textCache = NvgRenderer.getTextCache(context);
+
+      float[] textBounds = calculateTextBoundsRect(nanovg, textCache, rect, textState.getText(),
+          font, hAlign, vAlign, fontSize, scratch.array8());
       float textWidth = textState.getTextWidth();
 
       // Calculation of the text size and sending of the sizing event
@@ -51,15 +57,16 @@ public class NvgLabelRenderer extends NvgDefaultComponentRenderer<Label> {
 
       // The variables are recovered again because they could have been modified by an event.
       style = label.getStyle();
-      pos = label.getAbsolutePosition();
+      pos = label.getAbsolutePosition(pos);
       size = label.getSize();
 
       textState = label.getTextState();
-      padding = getPadding(label, style);
-      rect = getInnerContentRectangle(pos, size, padding);
-      fontSize = getStyle(label, Style::getFontSize, 16F);
-      vAlign = getStyle(label, Style::getVerticalAlign, VerticalAlign.MIDDLE);
-      hAlign = getStyle(label, Style::getHorizontalAlign, HorizontalAlign.LEFT);
+      padding = getPadding(label, style, padding);
+      rect = getInnerContentRectangle(pos, size, padding, rect);
+      computedStyle = label.getComputedStyle();
+      fontSize = computedStyle.getFontSize();
+      vAlign = computedStyle.getVerticalAlign();
+      hAlign = computedStyle.getHorizontalAlign();
 
       // Applying the new settings to the text
       textState.setTextWidth(textBounds[2]);
@@ -77,10 +84,11 @@ public class NvgLabelRenderer extends NvgDefaultComponentRenderer<Label> {
           hAlign,
           vAlign,
           fontSize,
-          getStyle(label, Style::getFont, FontRegistry.getDefaultFont()),
+          computedStyle.getFont(),
           textState.getText(),
-          getStyle(label, Style::getTextColor),
-          label.getTextDirection());
+          computedStyle.getTextColor(),
+          label.getTextDirection(),
+          textCache);
     }
     resetScissor(nanovg);
   }
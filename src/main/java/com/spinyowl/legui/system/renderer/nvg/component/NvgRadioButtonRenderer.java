@@ -1,7 +1,6 @@
 package com.spinyowl.legui.system.renderer.nvg.component;
 
 import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.renderIcon;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.resetScissor;
@@ -9,11 +8,9 @@ import static com.spinyowl.legui.system.renderer.nvg.util.NvgText.drawTextLineTo
 
 import com.spinyowl.legui.component.RadioButton;
 import com.spinyowl.legui.component.optional.TextState;
-import com.spinyowl.legui.component.optional.align.HorizontalAlign;
-import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.icon.Icon;
+import com.spinyowl.legui.style.ComputedStyle;
 import com.spinyowl.legui.style.Style;
-import com.spinyowl.legui.style.font.FontRegistry;
 import com.spinyowl.legui.system.context.Context;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
@@ -50,16 +47,17 @@ public class NvgRadioButtonRenderer extends NvgDefaultComponentRenderer<RadioBut
       Vector2f textRectSize = new Vector2f(size).sub(iconWidthForUse + pad.z, pad.y + pad.w);
 
       Vector4f rect = new Vector4f(textRectPos, textRectSize.x(), textRectSize.y());
+      ComputedStyle computedStyle = radioButton.getComputedStyle();
       drawTextLineToRect(
           nanovg,
           rect,
           true,
-          getStyle(radioButton, Style::getHorizontalAlign, HorizontalAlign.LEFT),
-          getStyle(radioButton, Style::getVerticalAlign, VerticalAlign.MIDDLE),
-          getStyle(radioButton, Style::getFontSize, 16F),
-          getStyle(radioButton, Style::getFont, FontRegistry.getDefaultFont()),
+          computedStyle.getHorizontalAlign(),
+          computedStyle.getVerticalAlign(),
+          computedStyle.getFontSize(),
+          computedStyle.getFont(),
           textState.getText(),
-          getStyle(radioButton, Style::getTextColor));
+          computedStyle.getTextColor());
       renderIcon(icon, radioButton, context);
     }
     resetScissor(nanovg);
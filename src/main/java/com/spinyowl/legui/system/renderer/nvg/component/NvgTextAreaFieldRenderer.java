@@ -3,33 +3,36 @@ package com.spinyowl.legui.system.renderer.nvg.component;
 import static com.spinyowl.legui.style.color.ColorUtil.oppositeBlackOrWhite;
 import static com.spinyowl.legui.style.util.StyleUtilities.getInnerContentRectangle;
 import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.alignTextInBox;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.calculateTextBoundsRect;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.fontFace;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.getCaretAlpha;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.intersectScissor;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.requestCaretRedraw;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.runWithScissor;
 import static org.lwjgl.nanovg.NanoVG.nnvgTextGlyphPositions;
 import static org.lwjgl.nanovg.NanoVG.nvgFillColor;
 import static org.lwjgl.nanovg.NanoVG.nvgFindFont;
-import static org.lwjgl.nanovg.NanoVG.nvgFontFace;
 import static org.lwjgl.nanovg.NanoVG.nvgFontSize;
 import static org.lwjgl.system.MemoryUtil.memAddress;
-import static org.lwjgl.system.MemoryUtil.memFree;
-import static org.lwjgl.system.MemoryUtil.memUTF8;
 
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.TextAreaField;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldHeightChangeEvent;
 import com.spinyowl.legui.component.event.textarea.TextAreaFieldWidthChangeEvent;
+import com.spinyowl.legui.component.optional.LineWidthCache;
 import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
-import com.spinyowl.legui.input.Mouse;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.style.ComputedStyle;
 import com.spinyowl.legui.style.Style;
 import com.spinyowl.legui.style.font.FontRegistry;
+import com.spinyowl.legui.style.font.TextDirection;
 import com.spinyowl.legui.system.context.Context;
-import com.spinyowl.legui.system.renderer.nvg.util.NvgColorUtil;
+import com.spinyowl.legui.system.renderer.nvg.NvgRenderer;
+import com.spinyowl.legui.system.renderer.nvg.NvgTextCache;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgShapes;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgText;
 import java.nio.ByteBuffer;
@@ -38,7 +41,6 @@ import java.util.Arrays;
 import java.util.List;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
-import org.lwjgl.glfw.GLFW;
 import org.lwjgl.nanovg.NVGColor;
 import org.lwjgl.nanovg.NVGGlyphPosition;
 
@@ -56,6 +58,10 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
 
   @Override
   public void renderSelf(TextAreaField component, Context context, long nanovg) {
+    if (component.isFocused()) {
+      // caret is blinking, so frame should be redrawn when caret is shown or hidden
+      requestCaretRedraw(context);
+    }
     runWithScissor(nanovg, component, () -> {
       Vector2f pos = component.getAbsolutePosition();
       Vector2f size = component.getSize();
@@ -82,43 +88,35 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
 
   private void renderText(Context leguiContext, long context, TextAreaField gui, Vector4f rect,
       Vector4f viewportRect, Vector4f bc) {
-
-    String font = getStyle(gui, Style::getFont, FontRegistry.getDefaultFont());
+    ComputedStyle computedStyle = gui.getComputedStyle();
+    String font = computedStyle.getFont();
     // switch to default font if font not found in nanovg.
     if (nvgFindFont(context, font) == -1) {
       font = FontRegistry.getDefaultFont();
     }
-    try (NVGGlyphPosition.Buffer glyphs = NVGGlyphPosition.calloc(MAX_GLYPH_COUNT)) {
+    NvgTextCache textCache = NvgRenderer.getTextCache(leguiContext);
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGGlyphPosition.Buffer glyphs = scratch.glyphPositions(MAX_GLYPH_COUNT);
 
       TextState textState = gui.getTextState();
-      float fontSize = getStyle(gui, Style::getFontSize, 16F);
-      HorizontalAlign halign = getStyle(gui, Style::getHorizontalAlign, HorizontalAlign.LEFT);
-      VerticalAlign valign = getStyle(gui, Style::getVerticalAlign, VerticalAlign.MIDDLE);
-      Vector4f textColor = getStyle(gui, Style::getTextColor);
-      int caretPosition = gui.getCaretPosition();
+      float fontSize = computedStyle.getFontSize();
+      HorizontalAlign halign = computedStyle.getHorizontalAlign();
+      VerticalAlign valign = computedStyle.getVerticalAlign();
+      Vector4f textColor = computedStyle.getTextColor();
+      int textLength = textState.length();
+      int caretPosition = Math.min(gui.getCaretPosition(), textLength);
       boolean focused = gui.isFocused();
-
-      int caretLine = 0;
+      int tabSize = gui.getTabSize();
 
       preinitializeTextRendering(context, font, fontSize, halign, valign, textColor);
       float spaceWidth = getSpaceWidth(context);
 
-      String[] lines = textState.getText().split(NEWLINE, -1);
-      int lineCount = lines.length;
-      int[] lineStartIndeces = new int[lineCount];
-      int caretOffset = 0;
-
-      // calculate caret offset for every line
-      for (int i = 0; i < lineCount - 1; i++) {
-        lineStartIndeces[i + 1] = lineStartIndeces[i] + lines[i].length() + 1;
-        if (caretPosition >= lineStartIndeces[i + 1]) {
-          caretOffset = lineStartIndeces[i + 1];
-          caretLine = i + 1;
-        }
-      }
+      // line offsets are taken from line index of text state, so only required lines are read.
+      int lineCount = textState.getLineCount();
+      int caretLine = textState.getLineIndex(caretPosition);
 
       // calculate line caret position
-      int lineCaretPosition = caretPosition - caretOffset;
+      int lineCaretPosition = caretPosition - textState.getLineStart(caretLine);
 
       // if not focused set caret line and caret position in line to default
       if (!focused && gui.isStickToAlignment()) {
@@ -138,10 +136,10 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
             lineCaretPosition = (0);
             break;
           case RIGHT:
-            lineCaretPosition = lines[caretLine].length();
+            lineCaretPosition = getLineLength(textState, caretLine);
             break;
           default:
-            lineCaretPosition = lines[caretLine].length() / 2;
+            lineCaretPosition = getLineLength(textState, caretLine) / 2;
             break;
         }
       }
@@ -167,22 +165,22 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
       int mouseLineIndex = 0;
 
       int mouseCaretPositionInLine = 0;
-      Vector2f cursorPosition = Mouse.getCursorPosition();
+      Vector2f cursorPosition = leguiContext.getMouseState().getCursorPosition();
       float mouseX = cursorPosition.x;
       float mouseY = cursorPosition.y;
 
       // we need to calculate x and y offsets
-      String caretLineText = lines[caretLine];
-      float[] caretLineBounds = calculateTextBoundsRect(context, rect, caretLineText, halign,
-          valign, fontSize);
+      String caretLineText = textState.getLine(caretLine);
+      float[] caretLineBounds = calculateTextBoundsRect(context, textCache, rect, caretLineText,
+          font, halign, valign, fontSize, scratch.array8());
 
       // also we need to calculate offset x // caretLine
       caretx = getCaretx(context, lineCaretPosition, caretLineText, caretLineBounds, glyphs,
-          spaceWidth, gui.getTabSize());
+          spaceWidth, tabSize);
 
       preinitializeTextRendering(context, font, fontSize, halign, valign, textColor);
 
-      float[][] bounds = new float[lineCount][8];
+      float[] lineBounds = scratch.array8();
       float maxWid = 0f;
 
       // binary search line in view rect
@@ -194,10 +192,8 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
 
         // search for any line in viewport rect
         while (first <= last) {
-          String line = lines[mid];
-          float[] lineBounds = calculateTextBoundsRect(context, rect, line, halign, valign,
-              fontSize);
-          bounds[mid] = lineBounds;
+          calculateLineBounds(context, textCache, textState, mid, rect, font, halign, valign,
+              fontSize, lineBounds);
 
           float lineY = lineBounds[5] + voffset + fontSize * mid;
           float lineHeight = lineBounds[7];
@@ -214,15 +210,13 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
           mid = (first + last) / 2;
         }
 
-        // search start and end lines in viewport rect and calculate bounds
+        // search start and end lines in viewport rect
         float lineY;
         float lineHeight;
 
         for (first = mid - 1; first >= 0; first--) {
-          String line = lines[first];
-          float[] lineBounds = calculateTextBoundsRect(context, rect, line, halign, valign,
-              fontSize);
-          bounds[first] = lineBounds;
+          calculateLineBounds(context, textCache, textState, first, rect, font, halign, valign,
+              fontSize, lineBounds);
 
           lineY = lineBounds[5] + voffset + fontSize * first;
           lineHeight = lineBounds[7];
@@ -233,10 +227,8 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
         first++;
 
         for (last = mid + 1; last < lineCount; last++) {
-          String line = lines[last];
-          float[] lineBounds = calculateTextBoundsRect(context, rect, line, halign, valign,
-              fontSize);
-          bounds[last] = lineBounds;
+          calculateLineBounds(context, textCache, textState, last, rect, font, halign, valign,
+              fontSize, lineBounds);
 
           lineY = lineBounds[5] + voffset + fontSize * last;
           if (lineY > viewportRect.y + viewportRect.w) {
@@ -244,34 +236,15 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
           }
         }
         last--;
-
-        // calculate max width
-        int maxLength = 0;
-        int longestStringIndex = 0;
-        for (int i = 0; i < lines.length; i++) {
-          String s = lines[i];
-          if (s.length() > maxLength) {
-            maxLength = s.length();
-            longestStringIndex = i;
-          }
-        }
-        if (longestStringIndex < first || longestStringIndex > last) {
-          float[] lineBounds = calculateTextBoundsRect(context, rect, lines[longestStringIndex],
-              halign, valign, fontSize);
-          maxWid = lineBounds[2];
-        } else {
-          maxWid = bounds[longestStringIndex][2];
-        }
-      } else {
-        maxWid = calculateLineBoundsAndMaxWidth(context, gui, rect, fontSize, halign, valign,
-            spaceWidth, lines, lineCount, bounds, maxWid);
       }
+      maxWid = getMaxLineWidth(context, textCache, textState, rect, font, halign, valign,
+          fontSize, spaceWidth, tabSize, lineBounds);
 
       float textWidth = textState.getTextWidth();
       float textHeight = textState.getTextHeight();
 
       textState.setTextWidth(maxWid);
-      float newTextHeight = (lines.length) * fontSize;
+      float newTextHeight = lineCount * fontSize;
       textState.setTextHeight(newTextHeight);
       textState.setCaretX(caretx);
       textState.setCaretY(caretLineBounds[5] + voffset + fontSize * caretLine);
@@ -287,7 +260,9 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
       }
 
       // calculate default mouse line index
-      float llineY = bounds[lineCount - 1][5] - voffset + fontSize * (lineCount - 1);
+      float lastLineBoundsY = calculateLineBounds(context, textCache, textState, lineCount - 1,
+          rect, font, halign, valign, fontSize, lineBounds)[5];
+      float llineY = lastLineBoundsY - voffset + fontSize * (lineCount - 1);
       if (mouseY > llineY + fontSize) {
         mouseLineIndex = lineCount - 1;
       }
@@ -295,11 +270,11 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
       // calculate caret color based on time
       if (focused) {
         oppositeBlackOrWhite(bc, caretColor);
-        caretColor.w = (float) Math.abs(GLFW.glfwGetTime() % 1 * 2 - 1);
+        caretColor.w = getCaretAlpha();
       }
 
-      int startSelectionIndex = gui.getStartSelectionIndex();
-      int endSelectionIndex = gui.getEndSelectionIndex();
+      int startSelectionIndex = Math.min(gui.getStartSelectionIndex(), textLength);
+      int endSelectionIndex = Math.min(gui.getEndSelectionIndex(), textLength);
       // swap
       if (startSelectionIndex > endSelectionIndex) {
         startSelectionIndex += endSelectionIndex;
@@ -307,46 +282,47 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
         startSelectionIndex -= endSelectionIndex;
       }
 
-      int startSelectionLine = 0;
-      int startSelectionIndexInLine;
-      int endSelectionLine = 0;
-      int endSelectionIndexInLine;
-      for (int i = 0; i < lineCount; i++) {
-        if (startSelectionIndex >= lineStartIndeces[i]) {
-          startSelectionLine = i;
-        }
-        if (endSelectionIndex >= lineStartIndeces[i]) {
-          endSelectionLine = i;
-        }
-      }
-      startSelectionIndexInLine = startSelectionIndex - lineStartIndeces[startSelectionLine];
-      endSelectionIndexInLine = endSelectionIndex - lineStartIndeces[endSelectionLine];
+      int startSelectionLine = textState.getLineIndex(Math.max(startSelectionIndex, 0));
+      int endSelectionLine = textState.getLineIndex(Math.max(endSelectionIndex, 0));
+      int startSelectionIndexInLine =
+          startSelectionIndex - textState.getLineStart(startSelectionLine);
+      int endSelectionIndexInLine = endSelectionIndex - textState.getLineStart(endSelectionLine);
 
+      String startSelectionLineText = textState.getLine(startSelectionLine);
       float startSelectionCaretX =
-          getCaretx(context, startSelectionIndexInLine, lines[startSelectionLine],
-              bounds[startSelectionLine], glyphs, spaceWidth, gui.getTabSize());
+          getCaretx(context, startSelectionIndexInLine, startSelectionLineText,
+              calculateTextBoundsRect(context, textCache, rect, startSelectionLineText, font,
+                  halign, valign, fontSize, lineBounds), glyphs, spaceWidth, tabSize);
+      String endSelectionLineText = textState.getLine(endSelectionLine);
       float endSelectionCaretX =
-          getCaretx(context, endSelectionIndexInLine, lines[endSelectionLine],
-              bounds[endSelectionLine], glyphs, spaceWidth, gui.getTabSize());
+          getCaretx(context, endSelectionIndexInLine, endSelectionLineText,
+              calculateTextBoundsRect(context, textCache, rect, endSelectionLineText, font,
+                  halign, valign, fontSize, lineBounds), glyphs, spaceWidth, tabSize);
+
+      char[] spaces = new char[tabSize];
+      Arrays.fill(spaces, SPACEC);
+      String tabReplacement = new String(spaces);
 
-      // render every line of text
+      // render every visible line of text
       for (int i = first; i <= last; i++) {
-        ByteBuffer lineBytes = null;
-        try {
-          String line = lines[i];
-          lineBytes = memUTF8(line);
+        try (NvgScratch lineScratch = NvgScratch.push()) {
+          String line = textState.getLine(i);
+          ByteBuffer lineBytes = lineScratch.utf8(line, true);
+          float[] bounds = calculateTextBoundsRect(context, textCache, rect, line, font, halign,
+              valign, fontSize, lineScratch.array8());
+          List<Integer> tabIndices = getTabIndices(line);
+          bounds[6] += spaceWidth * tabIndices.size() * (tabSize - 1);
 
           alignTextInBox(context, HorizontalAlign.LEFT, VerticalAlign.MIDDLE);
-          int ng = nnvgTextGlyphPositions(context, bounds[i][4], 0, memAddress(lineBytes), 0,
+          int ng = nnvgTextGlyphPositions(context, bounds[4], 0, memAddress(lineBytes), 0,
               memAddress(glyphs), MAX_GLYPH_COUNT);
 
-          float lineX = bounds[i][4];
-          float lineWidth = bounds[i][6];
-          float lineY = bounds[i][5] + voffset + fontSize * i;
-          float lineHeight = bounds[i][7];
+          float lineX = bounds[4];
+          float lineWidth = bounds[6];
+          float lineY = bounds[5] + voffset + fontSize * i;
+          float lineHeight = bounds[7];
           if (inRect(viewportRect, lineX, lineWidth, lineY, lineHeight)) {
 
-            List<Integer> tabIndices = getTabIndices(line);
             // calculate mouse caret position
             if (lineY <= mouseY && lineY + fontSize > mouseY) {
               if (line.length() == 0) {
@@ -355,10 +331,10 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
                 if (mouseX <= glyphs.get(0).x()) {
                   mouseCaretPositionInLine = 0;
                   mouseCaretX = glyphs.get(0).x();
-                } else if (mouseX >= glyphs.get(ng - 1).maxx() + spaceWidth * (gui.getTabSize() - 1)
+                } else if (mouseX >= glyphs.get(ng - 1).maxx() + spaceWidth * (tabSize - 1)
                     * tabIndices.size()) {
                   mouseCaretPositionInLine = ng;
-                  mouseCaretX = glyphs.get(ng - 1).maxx() + spaceWidth * (gui.getTabSize() - 1)
+                  mouseCaretX = glyphs.get(ng - 1).maxx() + spaceWidth * (tabSize - 1)
                       * tabIndices.size();
                   // if window not minimized
                 } else if (!leguiContext.isIconified()) {
@@ -371,7 +347,7 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
                     float tabAddition = 0;
                     for (Integer tabIndex : tabIndices) {
                       if (index > tabIndex) {
-                        tabAddition += spaceWidth * (gui.getTabSize() - 1);
+                        tabAddition += spaceWidth * (tabSize - 1);
                       }
                     }
                     float left = glyphs.get(index).x();
@@ -380,7 +356,7 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
                     left += tabAddition;
                     right += tabAddition;
                     if (tabIndices.contains(index)) {
-                      right += spaceWidth * (gui.getTabSize() - 1);
+                      right += spaceWidth * (tabSize - 1);
                     }
 
                     float mid = (left + right) / 2f;
@@ -422,16 +398,15 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
                     new Vector4f(caretColor).div(2), 1);
               }
             }
-            if (mouseY >= bounds[lineCount - 1][5] + voffset + fontSize * (lineCount - 1)
-                + fontSize) {
+            if (mouseY >= lastLineBoundsY + voffset + fontSize * (lineCount - 1) + fontSize) {
               mouseLineIndex = lineCount - 1;
-              mouseCaretPositionInLine = lines[mouseLineIndex].length();
+              mouseCaretPositionInLine = getLineLength(textState, mouseLineIndex);
             }
             // render selection background
             if (startSelectionIndex != endSelectionIndex && i >= startSelectionLine
                 && i <= endSelectionLine) {
-              float x1 = bounds[i][4];
-              float w = bounds[i][6];
+              float x1 = bounds[4];
+              float w = bounds[6];
               float x2 = x1 + w;
               if (i == startSelectionLine) {
                 x1 = startSelectionCaretX;
@@ -442,54 +417,78 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
               w = x2 - x1;
               NvgShapes
                   .drawRect(context,
-                      new Vector4f(x1, bounds[i][5] + voffset + fontSize * i, w, bounds[i][7]),
-                      getStyle(gui, Style::getHighlightColor));
+                      new Vector4f(x1, bounds[5] + voffset + fontSize * i, w, bounds[7]),
+                      computedStyle.getHighlightColor());
             }
 
             // render current line background
             renderCurrentLineBackground(context, rect, bc, fontSize, focused, caretLine, i, lineY);
 
-            char[] spaces = new char[gui.getTabSize()];
-            Arrays.fill(spaces, SPACEC);
             NvgText.drawTextLineToRect(context, new Vector4f(lineX, lineY, lineWidth, lineHeight),
-                false, HorizontalAlign.LEFT, VerticalAlign.MIDDLE,
-                fontSize, font, line.replace(TABS, new String(spaces)), textColor);
+                false, HorizontalAlign.LEFT, VerticalAlign.MIDDLE, fontSize, font,
+                tabIndices.isEmpty() ? line : line.replace(TABS, tabReplacement), textColor,
+                TextDirection.HORIZONTAL, textCache);
             if (i == caretLine && focused) {
               // render caret
               NvgShapes.drawRectStroke(context, new Vector4f(caretx - 1, lineY, 1, lineHeight),
                   caretColor, 1);
             }
           }
-        } finally {
-          // free allocated memory
-          if (lineBytes != null) {
-            memFree(lineBytes);
-          }
         }
       }
 
-      gui.setMouseCaretPosition(lineStartIndeces[mouseLineIndex] + mouseCaretPositionInLine);
+      gui.setMouseCaretPosition(textState.getLineStart(mouseLineIndex) + mouseCaretPositionInLine);
     }
   }
 
-  private float calculateLineBoundsAndMaxWidth(long context, TextAreaField gui, Vector4f rect,
-      float fontSize, HorizontalAlign halign, VerticalAlign valign, float spaceWidth,
-      String[] lines, int lineCount, float[][] bounds, float maxWid) {
-    for (int i = 0; i < lineCount; i++) {
-      String line = lines[i];
-      float[] lineBounds = calculateTextBoundsRect(context, rect, line, halign, valign, fontSize);
-
-      if (lineBounds[2] > maxWid) {
-        maxWid = lineBounds[2];
-      }
+  /**
+   * Used to calculate bounds of text line. Line widths are cached by text cache.
+   *
+   * @param context   nanovg context.
+   * @param textCache text cache or null.
+   * @param textState text state.
+   * @param line      line index.
+   * @param rect      text rectangle.
+   * @param font      font name.
+   * @param halign    horizontal align.
+   * @param valign    vertical align.
+   * @param fontSize  font size.
+   * @param dest      array to store bounds.
+   * @return bounds of line.
+   */
+  private float[] calculateLineBounds(long context, NvgTextCache textCache, TextState textState,
+      int line, Vector4f rect, String font, HorizontalAlign halign, VerticalAlign valign,
+      float fontSize, float[] dest) {
+    return calculateTextBoundsRect(context, textCache, rect, textState.getLine(line), font,
+        halign, valign, fontSize, dest);
+  }
 
-      bounds[i] = lineBounds;
-      if (line.contains(TABS)) {
-        bounds[i][6] +=
-            spaceWidth * (line.length() - line.replace(TABS, "").length()) * (gui.getTabSize() - 1);
+  /**
+   * Used to get width of widest line. Widths of lines are cached in text state, so only lines
+   * changed since previous frame (or all lines if font is changed) are measured.
+   */
+  private float getMaxLineWidth(long context, NvgTextCache textCache, TextState textState,
+      Vector4f rect, String font, HorizontalAlign halign, VerticalAlign valign, float fontSize,
+      float spaceWidth, int tabSize, float[] lineBounds) {
+    LineWidthCache widths = textState.getLineWidthCache();
+    widths.validate(new LineWidthKey(font, fontSize, tabSize));
+    for (int i = widths.nextUnknown(0); i >= 0; i = widths.nextUnknown(i + 1)) {
+      String line = textState.getLine(i);
+      calculateTextBoundsRect(context, textCache, rect, line, font, halign, valign, fontSize,
+          lineBounds);
+      int tabs = 0;
+      for (int c = 0; c < line.length(); c++) {
+        if (line.charAt(c) == '\t') {
+          tabs++;
+        }
       }
+      widths.set(i, lineBounds[2] + spaceWidth * tabs * (tabSize - 1));
     }
-    return maxWid;
+    return widths.getMaxWidth();
+  }
+
+  private int getLineLength(TextState textState, int line) {
+    return textState.getLineEnd(line) - textState.getLineStart(line);
   }
 
   /**
@@ -500,10 +499,10 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
    */
   private float getSpaceWidth(long context) {
     String s = SPACES + SPACES;
-    ByteBuffer spaceBytes = null;
 
-    try (NVGGlyphPosition.Buffer glyphs = NVGGlyphPosition.calloc(MAX_GLYPH_COUNT)) {
-      spaceBytes = memUTF8(s);
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGGlyphPosition.Buffer glyphs = scratch.glyphPositions(MAX_GLYPH_COUNT);
+      ByteBuffer spaceBytes = scratch.utf8(s, true);
 
       alignTextInBox(context, HorizontalAlign.LEFT, VerticalAlign.MIDDLE);
       nnvgTextGlyphPositions(context, 10, 0, memAddress(spaceBytes), 0, memAddress(glyphs),
@@ -512,10 +511,6 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
       float x1 = glyphs.get(1).x();
       float x0 = glyphs.get(0).x();
       return x1 - x0;
-    } finally {
-      if (spaceBytes != null) {
-        memFree(spaceBytes);
-      }
     }
   }
 
@@ -535,10 +530,9 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
       NVGGlyphPosition.Buffer glyphs, float spaceWidth,
       int tabSize) {
     float caretx;
-    ByteBuffer caretLineBytes = null;
-    try {
-      // allocate ofheap memory and fill it with text
-      caretLineBytes = memUTF8(text);
+    try (NvgScratch scratch = NvgScratch.push()) {
+      // fill scratch memory with text
+      ByteBuffer caretLineBytes = scratch.utf8(text, true);
       // align text for calculations
       alignTextInBox(context, HorizontalAlign.LEFT, VerticalAlign.MIDDLE);
       int ng = nnvgTextGlyphPositions(context, caretLineBounds[4], 0, memAddress(caretLineBytes), 0,
@@ -551,18 +545,17 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
         tabCountBeforeCaret = substring.length() - substring.replace(TABS, "").length();
         caretx += spaceWidth * tabCountBeforeCaret * (tabSize - 1);
       }
-    } finally {
-      memFree(caretLineBytes);
     }
     return caretx;
   }
 
   private void preinitializeTextRendering(long context, String font, float fontSize,
       HorizontalAlign halign, VerticalAlign valign, Vector4f textColor) {
-    try (NVGColor colorA = NvgColorUtil.create(textColor)) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGColor colorA = scratch.color(textColor);
       alignTextInBox(context, halign, valign);
       nvgFontSize(context, fontSize);
-      nvgFontFace(context, font);
+      fontFace(context, font);
       nvgFillColor(context, colorA);
     }
   }
@@ -616,4 +609,10 @@ public class NvgTextAreaFieldRenderer extends NvgDefaultComponentRenderer<TextAr
     }
   }
 
+  /**
+   * Font parameters used to measure line widths.
+   */
+  private record LineWidthKey(String font, float fontSize, int tabSize) {
+
+  }
 }
@@ -1,6 +1,5 @@
 package com.spinyowl.legui.system.renderer.nvg.component;
 
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.NvgRenderer.renderIcon;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissorByParent;
@@ -11,11 +10,8 @@ import static org.lwjgl.nanovg.NanoVG.nvgIntersectScissor;
 
 import com.spinyowl.legui.component.ToggleButton;
 import com.spinyowl.legui.component.optional.TextState;
-import com.spinyowl.legui.component.optional.align.HorizontalAlign;
-import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.icon.Icon;
-import com.spinyowl.legui.style.Style;
-import com.spinyowl.legui.style.font.FontRegistry;
+import com.spinyowl.legui.style.ComputedStyle;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgShapes;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgText;
@@ -39,21 +35,23 @@ public class NvgToggleButtonRenderer extends NvgDefaultComponentRenderer<ToggleB
       nvgIntersectScissor(nanovg, pos.x, pos.y, size.x, size.y);
       TextState text = component.getTextState();
       Vector4f rect = new Vector4f(pos, size.x, size.y);
+      ComputedStyle computedStyle = component.getComputedStyle();
       NvgText.drawTextLineToRect(nanovg, rect, true,
-          getStyle(component, Style::getHorizontalAlign, HorizontalAlign.LEFT),
-          getStyle(component, Style::getVerticalAlign, VerticalAlign.MIDDLE),
-          getStyle(component, Style::getFontSize, 16F),
-          getStyle(component, Style::getFont, FontRegistry.getDefaultFont()),
+          computedStyle.getHorizontalAlign(),
+          computedStyle.getVerticalAlign(),
+          computedStyle.getFontSize(),
+          computedStyle.getFont(),
           text.getText(),
-          getStyle(component, Style::getTextColor));
+          computedStyle.getTextColor());
     }
     resetScissor(nanovg);
   }
 
   private void renderBackground(long nvg, ToggleButton agui, Vector2f pos, Vector2f size,
       Context context) {
-    Icon icon = getStyle(agui, s -> s.getBackground().getIcon());
-    Vector4f bgColor = getStyle(agui, s -> s.getBackground().getColor());
+    ComputedStyle computedStyle = agui.getComputedStyle();
+    Icon icon = computedStyle.getBackgroundIcon();
+    Vector4f bgColor = computedStyle.getBackgroundColor();
     Vector4f cornerRadius = getBorderRadius(agui);
 
     renderShadow(nvg, agui);
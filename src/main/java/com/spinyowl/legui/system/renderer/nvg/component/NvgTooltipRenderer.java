@@ -1,21 +1,17 @@
 package com.spinyowl.legui.system.renderer.nvg.component;
 
 import static com.spinyowl.legui.style.util.StyleUtilities.getPadding;
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.alignTextInBox;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createBounds;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.createScissor;
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.fontFace;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.intersectScissor;
 import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.resetScissor;
 import static org.lwjgl.nanovg.NanoVG.nnvgText;
-import static org.lwjgl.nanovg.NanoVG.nnvgTextBreakLines;
 import static org.lwjgl.nanovg.NanoVG.nvgBeginPath;
 import static org.lwjgl.nanovg.NanoVG.nvgFillColor;
-import static org.lwjgl.nanovg.NanoVG.nvgFontFace;
 import static org.lwjgl.nanovg.NanoVG.nvgFontSize;
 import static org.lwjgl.system.MemoryUtil.memAddress;
-import static org.lwjgl.system.MemoryUtil.memFree;
-import static org.lwjgl.system.MemoryUtil.memUTF8;
 
 import com.spinyowl.legui.component.Tooltip;
 import com.spinyowl.legui.component.event.tooltip.TooltipTextSizeChangeEvent;
@@ -23,17 +19,17 @@ import com.spinyowl.legui.component.optional.TextState;
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.listener.processor.EventProcessorProvider;
+import com.spinyowl.legui.style.ComputedStyle;
 import com.spinyowl.legui.style.Style;
-import com.spinyowl.legui.style.font.FontRegistry;
 import com.spinyowl.legui.system.context.Context;
-import com.spinyowl.legui.system.renderer.nvg.util.NvgColorUtil;
+import com.spinyowl.legui.system.renderer.nvg.NvgRenderer;
+import com.spinyowl.legui.system.renderer.nvg.NvgTextCache;
+import com.spinyowl.legui.system.renderer.nvg.NvgTextCache.TextLayout;
+import com.spinyowl.legui.system.renderer.nvg.util.NvgScratch;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.List;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 import org.lwjgl.nanovg.NVGColor;
-import org.lwjgl.nanovg.NVGTextRow;
 
 
 public class NvgTooltipRenderer extends NvgDefaultComponentRenderer<Tooltip> {
@@ -47,88 +43,70 @@ public class NvgTooltipRenderer extends NvgDefaultComponentRenderer<Tooltip> {
       TextState textState = component.getTextState();
       Vector2f pos = component.getAbsolutePosition();
       Vector2f size = component.getSize();
-      float fontSize = getStyle(component, Style::getFontSize, 16F);
-      String font = getStyle(component, Style::getFont, FontRegistry.getDefaultFont());
+      ComputedStyle computedStyle = component.getComputedStyle();
+      float fontSize = computedStyle.getFontSize();
+      String font = computedStyle.getFont();
       String text = textState.getText();
-      HorizontalAlign horizontalAlign = getStyle(component, Style::getHorizontalAlign,
-          HorizontalAlign.LEFT);
-      VerticalAlign verticalAlign = getStyle(component, Style::getVerticalAlign,
-          VerticalAlign.MIDDLE);
-      Vector4f textColor = getStyle(component, Style::getTextColor);
+      HorizontalAlign horizontalAlign = computedStyle.getHorizontalAlign();
+      VerticalAlign verticalAlign = computedStyle.getVerticalAlign();
+      Vector4f textColor = computedStyle.getTextColor();
       Vector4f padding = getPadding(component, style);
 
       renderBackground(component, context, nanovg);
 
       nvgFontSize(nanovg, fontSize);
-      nvgFontFace(nanovg, font);
+      fontFace(nanovg, font);
 
-      ByteBuffer byteText = null;
-      try {
-
-        byteText = memUTF8(text, false);
+      try (NvgScratch scratch = NvgScratch.push()) {
+        NvgTextCache textCache = NvgRenderer.getTextCache(context);
+        ByteBuffer byteText = textCache.encode(text);
         long start = memAddress(byteText);
-        long end = start + byteText.remaining();
 
         float x = pos.x + padding.x;
         float y = pos.y + padding.y;
         float w = size.x - padding.x - padding.z;
         float h = size.y - padding.y - padding.w;
 
-        intersectScissor(nanovg, new Vector4f(x, y, w, h));
-
-        List<float[]> boundList = new ArrayList<>();
-        List<long[]> indicesList = new ArrayList<>();
-
-        try (
-            NVGColor colorA = NvgColorUtil.create(textColor);
-            NVGTextRow.Buffer buffer = NVGTextRow.calloc(1)
-        ) {
-          alignTextInBox(nanovg, HorizontalAlign.LEFT, VerticalAlign.MIDDLE);
-          nvgFontSize(nanovg, fontSize);
-          nvgFontFace(nanovg, font);
-          nvgFillColor(nanovg, colorA);
-
-          // calculate text bounds for every line and start/end indices
-          float newWidth = 0;
-          float newHeight = 0;
-          int rows = 0;
-          while (nnvgTextBreakLines(nanovg, start, end, size.x, memAddress(buffer), 1) != 0) {
-            NVGTextRow row = buffer.get(0);
-            float[] bounds = createBounds(x, y + rows * fontSize, w, h, horizontalAlign,
-                verticalAlign, row.width(), fontSize);
-            boundList.add(bounds);
-            newWidth = Math.max(row.width(), newWidth);
-            indicesList.add(new long[]{row.start(), row.end()});
-            start = row.next();
-            rows++;
-          }
-          newHeight = rows * fontSize;
-
-          float textWidth = textState.getTextWidth();
-          float textHeight = textState.getTextHeight();
-          textState.setTextWidth(newWidth);
-          textState.setTextHeight(newHeight);
-
-          if (Math.abs(textWidth - newWidth) > 0.001 || Math.abs(textHeight - newHeight) > 0.001) {
-            EventProcessorProvider.getInstance().pushEvent(
-                new TooltipTextSizeChangeEvent(component, context, component.getFrame(), newWidth,
-                    newHeight));
-          }
-
-          // calculate offset for all lines
-          float offsetY = 0.5f * fontSize * ((rows - 1) * verticalAlign.index - 1);
-
-          // render text lines
-          for (int i = 0; i < rows; i++) {
-            float[] bounds = boundList.get(i);
-            long[] indices = indicesList.get(i);
-
-            nvgBeginPath(nanovg);
-            nnvgText(nanovg, bounds[4], bounds[5] - offsetY, indices[0], indices[1]);
-          }
+        intersectScissor(nanovg, scratch.vector4().set(x, y, w, h));
+
+        NVGColor colorA = scratch.color(textColor);
+        alignTextInBox(nanovg, HorizontalAlign.LEFT, VerticalAlign.MIDDLE);
+        nvgFontSize(nanovg, fontSize);
+        fontFace(nanovg, font);
+        nvgFillColor(nanovg, colorA);
+
+        // get line breaks and calculate text size
+        TextLayout layout = textCache.breakLines(nanovg, text, font, fontSize, size.x);
+        int rows = layout.getRowCount();
+        float newWidth = 0;
+        for (int i = 0; i < rows; i++) {
+          newWidth = Math.max(layout.getRowWidth(i), newWidth);
+        }
+        float newHeight = rows * fontSize;
+
+        float textWidth = textState.getTextWidth();
+        float textHeight = textState.getTextHeight();
+        textState.setTextWidth(newWidth);
+        textState.setTextHeight(newHeight);
+
+        if (Math.abs(textWidth - newWidth) > 0.001 || Math.abs(textHeight - newHeight) > 0.001) {
+          EventProcessorProvider.getInstance().pushEvent(
+              new TooltipTextSizeChangeEvent(component, context, component.getFrame(), newWidth,
+                  newHeight));
+        }
+
+        // calculate offset for all lines
+        float offsetY = 0.5f * fontSize * ((rows - 1) * verticalAlign.index - 1);
+
+        // render text lines
+        float[] bounds = scratch.array8();
+        for (int i = 0; i < rows; i++) {
+          createBounds(x, y + i * fontSize, w, h, horizontalAlign, verticalAlign,
+              layout.getRowWidth(i), fontSize, bounds);
+          nvgBeginPath(nanovg);
+          nnvgText(nanovg, bounds[4], bounds[5] - offsetY, start + layout.getRowStart(i),
+              start + layout.getRowEnd(i));
         }
-      } finally {
-        memFree(byteText);
       }
     }
     resetScissor(nanovg);
@@ -1,10 +1,8 @@
 package com.spinyowl.legui.system.renderer.nvg.icon;
 
-import static com.spinyowl.legui.style.util.StyleUtilities.getStyle;
 
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.icon.CharIcon;
-import com.spinyowl.legui.style.Style;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.nvg.NvgIconRenderer;
 import com.spinyowl.legui.system.renderer.nvg.util.NvgText;
@@ -20,7 +18,7 @@ public class NvgCharIconRenderer<I extends CharIcon> extends NvgIconRenderer<I>
       return;
     }
     // render simple rectangle border
-    float w = getStyle(component, Style::getFontSize, 16F);
+    float w = component.getComputedStyle().getFontSize();
     Vector2f p = calculateIconPosition(icon, component, new Vector2f(w));
 
     drawIcon(nanovg, p.x, p.y, w, w, icon, component);
@@ -7,41 +7,15 @@ import com.spinyowl.legui.image.BufferedImageRGBA;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.nvg.NvgImageReferenceManager;
 import com.spinyowl.legui.system.renderer.nvg.NvgImageRenderer;
+import com.spinyowl.legui.system.renderer.nvg.NvgRenderer;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.function.Function;
 import org.joml.Vector2fc;
-import org.lwjgl.nanovg.NanoVG;
 
 /**
  * Used to render image rectangle if no other renderers implemented.
  */
 public class NvgBufferedImageRGBARenderer extends NvgImageRenderer<BufferedImageRGBA> {
 
-  @Override
-  public void initialize() {
-    NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
-    manager.putImageReferenceProvider(BufferedImageRGBA.class, (image, context) -> {
-      int imageRef = 0;
-      Function<BufferedImageRGBA, String> getPath = i -> "TI::RGBA::" + i.hashCode();
-
-      if (image != null) {
-        String path = getPath.apply(image);
-        try {
-          imageRef = manager.getImageCache().get(path, () -> {
-            int reference = nvgCreateImageRGBA(context, image.getWidth(), image.getHeight(), 0,
-                image.getImageData());
-            manager.getImageAssociationMap().put(getPath.apply(image), reference);
-            return reference;
-          });
-        } catch (ExecutionException e) {
-          e.printStackTrace();
-        }
-      }
-      return imageRef;
-    });
-  }
-
   /**
    * Used to render specific Icon.
    *
@@ -55,11 +29,16 @@ public class NvgBufferedImageRGBARenderer extends NvgImageRenderer<BufferedImage
   protected void renderImage(BufferedImageRGBA image, Vector2fc position, Vector2fc size,
       Map<String, Object> properties, Context context, long nanovg) {
 
-    NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
-    int imageRef = manager.getImageReference(image, nanovg);
+    NvgImageReferenceManager manager = NvgRenderer.getImageReferenceManager(context);
+    long bytes = 4L * image.getWidth() * image.getHeight();
+    int imageRef = manager.getImageReference(image, bytes,
+        () -> nvgCreateImageRGBA(nanovg, image.getWidth(), image.getHeight(), 0,
+            image.getImageData()));
+    // image data is marked as read when image is created, so only later updates are uploaded here
     if (image.isUpdated()) {
-      NanoVG.nvgUpdateImage(nanovg, imageRef, image.getImageData());
+      manager.updateImage(imageRef, image.getImageData());
     }
+    context.getFrameScheduler().watchImage(image);
     renderImage(imageRef, position, size, properties, nanovg);
   }
 }
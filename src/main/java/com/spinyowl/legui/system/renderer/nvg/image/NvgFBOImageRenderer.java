@@ -9,10 +9,8 @@ import com.spinyowl.legui.image.FBOImage;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.nvg.NvgImageReferenceManager;
 import com.spinyowl.legui.system.renderer.nvg.NvgImageRenderer;
+import com.spinyowl.legui.system.renderer.nvg.NvgRenderer;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.function.IntFunction;
 import org.joml.Vector2fc;
 import org.lwjgl.nanovg.NanoVGGL2;
 import org.lwjgl.nanovg.NanoVGGL3;
@@ -22,45 +20,39 @@ import org.lwjgl.nanovg.NanoVGGL3;
  */
 public class NvgFBOImageRenderer extends NvgImageRenderer<FBOImage> {
 
+  private boolean isVersionNew;
+
   @Override
   public void initialize() {
-    NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
-    manager.putImageReferenceProvider(FBOImage.class, (i, c) -> {
-      IntFunction<String> getFboPath = textureId -> "::FBO::" + textureId;
-      int textureId = i.getTextureId();
-      Integer imageRef = 0;
-      if (textureId != 0) {
-        String path = getFboPath.apply(textureId);
-        try {
-          imageRef = manager.getImageCache().get(path, createReference(manager, i, c, getFboPath));
-        } catch (ExecutionException e) {
-          e.printStackTrace();
-        }
-      } else {
-        return 0;
-      }
-      return imageRef;
-    });
+    isVersionNew = (glGetInteger(GL_MAJOR_VERSION) > 3) || (glGetInteger(GL_MAJOR_VERSION) == 3
+        && glGetInteger(GL_MINOR_VERSION) >= 2);
   }
 
-  private Callable<Integer> createReference(NvgImageReferenceManager manager, FBOImage i, Long c,
-      IntFunction<String> getFboPath) {
-    return () -> {
-      int handle = i.getTextureId();
-      int width = i.getWidth();
-      int height = i.getHeight();
-      int reference;
-      boolean isVersionNew =
-          (glGetInteger(GL_MAJOR_VERSION) > 3) || (glGetInteger(GL_MAJOR_VERSION) == 3
-              && glGetInteger(GL_MINOR_VERSION) >= 2);
+  /**
+   * Used to obtain image reference. Texture is owned by FBO image, so it is not counted in texture
+   * memory of manager and is not deleted with nanovg image.
+   *
+   * @param manager image reference manager.
+   * @param image   image.
+   * @param nanovg  nanovg context.
+   * @return image reference or 0 if image has no texture.
+   */
+  private int getImageReference(NvgImageReferenceManager manager, FBOImage image, long nanovg) {
+    int textureId = image.getTextureId();
+    if (textureId == 0) {
+      return 0;
+    }
+    return manager.getImageReference("::FBO::" + textureId, 0, () -> {
+      int width = image.getWidth();
+      int height = image.getHeight();
       if (isVersionNew) {
-        reference = NanoVGGL3.nvglCreateImageFromHandle(c, handle, width, height, 0);
+        return NanoVGGL3.nvglCreateImageFromHandle(nanovg, textureId, width, height,
+            NanoVGGL3.NVG_IMAGE_NODELETE);
       } else {
-        reference = NanoVGGL2.nvglCreateImageFromHandle(c, handle, width, height, 0);
+        return NanoVGGL2.nvglCreateImageFromHandle(nanovg, textureId, width, height,
+            NanoVGGL2.NVG_IMAGE_NODELETE);
       }
-      manager.getImageAssociationMap().put(getFboPath.apply(handle), reference);
-      return reference;
-    };
+    });
   }
 
   /**
@@ -76,8 +68,8 @@ public class NvgFBOImageRenderer extends NvgImageRenderer<FBOImage> {
   protected void renderImage(FBOImage image, Vector2fc position, Vector2fc size,
       Map<String, Object> properties, Context context, long nanovg) {
 
-    NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
-    int imageRef = manager.getImageReference(image, nanovg);
+    NvgImageReferenceManager manager = NvgRenderer.getImageReferenceManager(context);
+    int imageRef = getImageReference(manager, image, nanovg);
 
     renderImage(imageRef, position, size, properties, nanovg);
   }
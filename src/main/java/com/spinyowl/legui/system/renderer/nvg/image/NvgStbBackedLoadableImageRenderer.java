@@ -1,52 +1,52 @@
 package com.spinyowl.legui.system.renderer.nvg.image;
 
 import com.spinyowl.legui.image.StbBackedLoadableImage;
+import com.spinyowl.legui.image.loader.ImageLoader;
 import com.spinyowl.legui.system.context.Context;
 import com.spinyowl.legui.system.renderer.nvg.NvgImageReferenceManager;
 import com.spinyowl.legui.system.renderer.nvg.NvgImageRenderer;
+import com.spinyowl.legui.system.renderer.nvg.NvgRenderer;
+import com.spinyowl.legui.system.renderer.nvg.NvgSharedTextures;
 import java.nio.ByteBuffer;
 import java.util.Map;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
 import org.joml.Vector2fc;
 import org.lwjgl.nanovg.NanoVG;
 
 
 public class NvgStbBackedLoadableImageRenderer extends NvgImageRenderer<StbBackedLoadableImage> {
 
-  @Override
-  public void initialize() {
-    NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
-    manager.putImageReferenceProvider(StbBackedLoadableImage.class, (image, context) -> {
-      int imageRef = 0;
-      String path = image.getPath();
-      if (path != null) {
-        try {
-          imageRef = manager.getImageCache().get(path, createReference(manager, image, context));
-        } catch (ExecutionException e) {
-          e.printStackTrace();
-        }
-      } else {
+  /**
+   * Used to obtain image reference. Images are shared by path. If renderer shares textures with
+   * other renderers, image is uploaded once for all of them.
+   *
+   * @param manager        image reference manager.
+   * @param sharedTextures shared textures or null.
+   * @param image          image.
+   * @param nanovg         nanovg context.
+   * @return image reference or 0 if image is not loaded.
+   */
+  private static int getImageReference(NvgImageReferenceManager manager,
+      NvgSharedTextures sharedTextures, StbBackedLoadableImage image, long nanovg) {
+    String path = image.getPath();
+    if (path == null) {
+      return 0;
+    }
+    long bytes = 4L * image.getWidth() * image.getHeight();
+    if (sharedTextures != null) {
+      return manager.getImageReference(path, bytes,
+          () -> sharedTextures.createImage(nanovg, path, image.getWidth(), image.getHeight(),
+              image::getImageData),
+          () -> sharedTextures.release(path));
+    }
+    return manager.getImageReference(path, bytes, () -> {
+      ByteBuffer imageData = image.getImageData();
+      if (imageData == null) {
         return 0;
       }
-      return imageRef;
+      return NanoVG.nvgCreateImageRGBA(nanovg, image.getWidth(), image.getHeight(), 0, imageData);
     });
   }
 
-  private Callable<Integer> createReference(NvgImageReferenceManager manager,
-      StbBackedLoadableImage image, Long context) {
-    return () -> {
-      int reference = 0;
-      ByteBuffer imageData = image.getImageData();
-      if (imageData != null) {
-        reference = NanoVG.nvgCreateImageRGBA(context, image.getWidth(), image.getHeight(), 0,
-            imageData);
-      }
-      manager.getImageAssociationMap().put(image.getPath(), reference);
-      return reference;
-    };
-  }
-
   /**
    * Used to render specific Icon.
    *
@@ -61,8 +61,17 @@ public class NvgStbBackedLoadableImageRenderer extends NvgImageRenderer<StbBacke
   protected void renderImage(StbBackedLoadableImage image, Vector2fc position, Vector2fc size,
       Map<String, Object> properties, Context context, long nanovg) {
 
-    NvgImageReferenceManager manager = NvgImageReferenceManager.getInstance();
-    int imageRef = manager.getImageReference(image, nanovg);
+    NvgImageReferenceManager manager = NvgRenderer.getImageReferenceManager(context);
+    int imageRef = getImageReference(manager, NvgRenderer.getSharedTextures(context), image,
+        nanovg);
+    if (imageRef == 0) {
+      // image could be loaded asynchronously, so it will be rendered when loaded
+      if (!image.isLoaded()) {
+        ImageLoader.resumeLoading(image);
+        context.getFrameScheduler().watchImage(image);
+      }
+      return;
+    }
 
     renderImage(imageRef, position, size, properties, nanovg);
   }
@@ -1,5 +1,6 @@
 package com.spinyowl.legui.system.renderer.nvg.util;
 
+import static org.lwjgl.glfw.GLFW.glfwGetTime;
 import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_BASELINE;
 import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_BOTTOM;
 import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_CENTER;
@@ -10,8 +11,11 @@ import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_TOP;
 import static org.lwjgl.nanovg.NanoVG.NVG_HOLE;
 import static org.lwjgl.nanovg.NanoVG.nvgBeginPath;
 import static org.lwjgl.nanovg.NanoVG.nvgBoxGradient;
+import static org.lwjgl.nanovg.NanoVG.nvgCreateFontMem;
 import static org.lwjgl.nanovg.NanoVG.nvgFill;
 import static org.lwjgl.nanovg.NanoVG.nvgFillPaint;
+import static org.lwjgl.nanovg.NanoVG.nvgFindFont;
+import static org.lwjgl.nanovg.NanoVG.nvgFontFace;
 import static org.lwjgl.nanovg.NanoVG.nvgIntersectScissor;
 import static org.lwjgl.nanovg.NanoVG.nvgPathWinding;
 import static org.lwjgl.nanovg.NanoVG.nvgResetScissor;
@@ -20,18 +24,21 @@ import static org.lwjgl.nanovg.NanoVG.nvgRoundedRectVarying;
 import static org.lwjgl.nanovg.NanoVG.nvgScissor;
 import static org.lwjgl.nanovg.NanoVG.nvgTextAlign;
 import static org.lwjgl.nanovg.NanoVG.nvgTextBounds;
-import static org.lwjgl.system.MemoryUtil.memFree;
-import static org.lwjgl.system.MemoryUtil.memUTF8;
 
 import com.spinyowl.legui.component.Component;
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
-import com.spinyowl.legui.style.Style;
+import com.spinyowl.legui.style.font.Font;
+import com.spinyowl.legui.style.font.FontRegistry;
 import com.spinyowl.legui.style.shadow.Shadow;
-import com.spinyowl.legui.style.util.StyleUtilities;
+import com.spinyowl.legui.system.context.Context;
+import com.spinyowl.legui.system.renderer.nvg.NvgTextCache;
+import com.spinyowl.legui.system.renderer.nvg.NvgTextCache.TextLayout;
+import com.spinyowl.legui.util.BoundsCache;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.joml.Vector2f;
 import org.joml.Vector4f;
 import org.lwjgl.nanovg.NVGColor;
@@ -40,12 +47,59 @@ import org.lwjgl.nanovg.NVGPaint;
 
 public final class NvgRenderUtils {
 
+  /**
+   * Caret blink period in seconds. Caret is shown during first half of period and hidden during
+   * second half.
+   */
+  private static final double CARET_BLINK_PERIOD = 1;
+
   /**
    * Private constructor.
    */
   private NvgRenderUtils() {
   }
 
+  /**
+   * Returns alpha of blinking caret - 1 if caret is shown and 0 if it is hidden.
+   *
+   * @return caret alpha.
+   */
+  public static float getCaretAlpha() {
+    return glfwGetTime() % CARET_BLINK_PERIOD < CARET_BLINK_PERIOD / 2 ? 1 : 0;
+  }
+
+  /**
+   * Used to request redraw of frame when blinking caret is shown or hidden next time, so frame with
+   * focused text component is redrawn twice per blink period.
+   *
+   * @param context legui context.
+   */
+  public static void requestCaretRedraw(Context context) {
+    double halfPeriod = CARET_BLINK_PERIOD / 2;
+    double delay = halfPeriod - glfwGetTime() % halfPeriod;
+    // one more millisecond, so caret is already switched when frame is rendered
+    context.getFrameScheduler()
+        .requestRedraw((long) Math.ceil(delay * 1000) + 1, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Used to set current font face. Font is created in nanovg context from {@link FontRegistry} when
+   * it is used first time, so fonts which are never used are never read and uploaded.
+   *
+   * @param nvg  nanovg context.
+   * @param font font name.
+   */
+  public static void fontFace(long nvg, String font) {
+    if (nvgFindFont(nvg, font) < 0) {
+      Font registered = FontRegistry.getFont(font);
+      ByteBuffer data = registered == null ? null : registered.getData();
+      if (data != null) {
+        nvgCreateFontMem(nvg, font, data, false);
+      }
+    }
+    nvgFontFace(nvg, font);
+  }
+
 
   public static float[] calculateTextBoundsRect(
       long context, Vector4f rect, String text,
@@ -54,31 +108,94 @@ public final class NvgRenderUtils {
         text, horizontalAlign, verticalAlign, fontSize);
   }
 
+  /**
+   * Used to calculate text bounds without allocation of result array.
+   *
+   * @param context         nanovg context.
+   * @param rect            rectangle to align text in.
+   * @param text            text.
+   * @param horizontalAlign horizontal align.
+   * @param verticalAlign   vertical align.
+   * @param fontSize        font size.
+   * @param dest            array of at least eight floats to store result.
+   * @return dest array.
+   */
+  public static float[] calculateTextBoundsRect(
+      long context, Vector4f rect, String text,
+      HorizontalAlign horizontalAlign, VerticalAlign verticalAlign, float fontSize, float[] dest) {
+    return calculateTextBoundsRect(context, rect.x, rect.y, rect.z, rect.w,
+        text, horizontalAlign, verticalAlign, fontSize, dest);
+  }
+
   public static float[] calculateTextBoundsRect(
       long context, float x, float y, float w, float h,
       String text, HorizontalAlign horizontalAlign, VerticalAlign verticalAlign, float fontSize) {
-    ByteBuffer byteText = null;
-    try {
-      byteText = memUTF8(text, false);
+    return calculateTextBoundsRect(context, x, y, w, h, text, horizontalAlign, verticalAlign,
+        fontSize, new float[8]);
+  }
+
+  public static float[] calculateTextBoundsRect(
+      long context, float x, float y, float w, float h,
+      String text, HorizontalAlign horizontalAlign, VerticalAlign verticalAlign, float fontSize,
+      float[] dest) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      ByteBuffer byteText = scratch.utf8(text, false);
       return calculateTextBoundsRect(context, x, y, w, h, byteText, horizontalAlign, verticalAlign,
-          fontSize);
-    } finally {
-      if (byteText != null) {
-        memFree(byteText);
-      }
+          fontSize, dest);
     }
   }
 
+  /**
+   * Used to calculate text bounds using text cache. Text is measured with provided font.
+   *
+   * @param context         nanovg context.
+   * @param textCache       text cache.
+   * @param rect            rectangle to align text in.
+   * @param text            text.
+   * @param font            font name.
+   * @param horizontalAlign horizontal align.
+   * @param verticalAlign   vertical align.
+   * @param fontSize        font size.
+   * @param dest            array of at least eight floats to store result.
+   * @return dest array.
+   */
+  public static float[] calculateTextBoundsRect(
+      long context, NvgTextCache textCache, Vector4f rect, String text, String font,
+      HorizontalAlign horizontalAlign, VerticalAlign verticalAlign, float fontSize, float[] dest) {
+    if (textCache == null) {
+      return calculateTextBoundsRect(context, rect, text, horizontalAlign, verticalAlign, fontSize,
+          dest);
+    }
+    if (text == null || text.isEmpty()) {
+      return createBounds(rect.x, rect.y, rect.z, rect.w, horizontalAlign, verticalAlign, 0,
+          fontSize, dest);
+    }
+    TextLayout layout = textCache.measure(context, text, font, fontSize);
+    return createBounds(rect.x, rect.y, rect.z, rect.w, horizontalAlign, verticalAlign,
+        layout.getWidth(), layout.getHeight(), dest);
+  }
+
   public static float[] calculateTextBoundsRect(
       long context, float x, float y, float w, float h,
       ByteBuffer text, HorizontalAlign horizontalAlign, VerticalAlign verticalAlign,
       float fontSize) {
-    float[] bounds = new float[4];
+    return calculateTextBoundsRect(context, x, y, w, h, text, horizontalAlign, verticalAlign,
+        fontSize, new float[8]);
+  }
+
+  public static float[] calculateTextBoundsRect(
+      long context, float x, float y, float w, float h,
+      ByteBuffer text, HorizontalAlign horizontalAlign, VerticalAlign verticalAlign,
+      float fontSize, float[] dest) {
     if (text != null && text.limit() != 0) {
-      nvgTextBounds(context, x, y, text, bounds);
-      return createBounds(x, y, w, h, horizontalAlign, verticalAlign, bounds);
+      try (NvgScratch scratch = NvgScratch.push()) {
+        float[] bounds = scratch.array4();
+        nvgTextBounds(context, x, y, text, bounds);
+        return createBounds(x, y, w, h, horizontalAlign, verticalAlign,
+            bounds[2] - bounds[0], bounds[3] - bounds[1], dest);
+      }
     }
-    return createBounds(x, y, w, h, horizontalAlign, verticalAlign, 0, fontSize);
+    return createBounds(x, y, w, h, horizontalAlign, verticalAlign, 0, fontSize, dest);
   }
 
   public static float[] createBounds(float x, float y, float w, float h,
@@ -127,6 +244,26 @@ public final class NvgRenderUtils {
 
   public static float[] createBounds(float x, float y, float w, float h,
       HorizontalAlign horizontalAlign, VerticalAlign verticalAlign, float tw, float th) {
+    return createBounds(x, y, w, h, horizontalAlign, verticalAlign, tw, th, new float[8]);
+  }
+
+  /**
+   * Used to calculate aligned text bounds without allocation of result array.
+   *
+   * @param x               x position of rectangle.
+   * @param y               y position of rectangle.
+   * @param w               width of rectangle.
+   * @param h               height of rectangle.
+   * @param horizontalAlign horizontal align.
+   * @param verticalAlign   vertical align.
+   * @param tw              text width.
+   * @param th              text height.
+   * @param dest            array of at least eight floats to store result.
+   * @return dest array.
+   */
+  public static float[] createBounds(float x, float y, float w, float h,
+      HorizontalAlign horizontalAlign, VerticalAlign verticalAlign, float tw, float th,
+      float[] dest) {
     int hp = horizontalAlign.index;
     int vp = verticalAlign.index;
 
@@ -135,10 +272,15 @@ public final class NvgRenderUtils {
     float baseline = (vp > 2 ? th / 4.0f : 0);
     float vv = (vp == 3 ? 1 : vp);
     float y1 = y + h * 0.5f * vv + (vp > 2 ? (+baseline) : 0);
-    return new float[]{
-        x1, y1, tw, th,
-        x1 - (tw * 0.5f * hp), y1 - (th * 0.5f * vv) - baseline, tw, th
-    };
+    dest[0] = x1;
+    dest[1] = y1;
+    dest[2] = tw;
+    dest[3] = th;
+    dest[4] = x1 - (tw * 0.5f * hp);
+    dest[5] = y1 - (th * 0.5f * vv) - baseline;
+    dest[6] = tw;
+    dest[7] = th;
+    return dest;
   }
 
 
@@ -180,6 +322,14 @@ public final class NvgRenderUtils {
    * @param gui     {@link Component}.
    */
   public static void createScissor(long context, Component gui) {
+    BoundsCache.Bounds bounds = BoundsCache.get(gui);
+    if (bounds != null) {
+      if (bounds.isClipped()) {
+        nvgScissor(context, bounds.getClipX(), bounds.getClipY(),
+            bounds.getClipWidth(), bounds.getClipHeight());
+      }
+      return;
+    }
     Component parent = gui.getParent();
     createScissorByParent(context, parent);
   }
@@ -211,6 +361,21 @@ public final class NvgRenderUtils {
    * @param parent  parent component.
    */
   public static void createScissorByParent(long context, Component parent) {
+    BoundsCache.Bounds bounds = parent == null ? null : BoundsCache.get(parent);
+    if (bounds != null) {
+      float minX = bounds.getX();
+      float minY = bounds.getY();
+      float maxX = minX + bounds.getWidth();
+      float maxY = minY + bounds.getHeight();
+      if (bounds.isClipped()) {
+        minX = Math.max(minX, bounds.getClipX());
+        minY = Math.max(minY, bounds.getClipY());
+        maxX = Math.min(maxX, bounds.getClipX() + bounds.getClipWidth());
+        maxY = Math.min(maxY, bounds.getClipY() + bounds.getClipHeight());
+      }
+      nvgScissor(context, minX, minY, Math.max(0, maxX - minX), Math.max(0, maxY - minY));
+      return;
+    }
     List<Component> parents = new ArrayList<>();
     while (parent != null) {
       parents.add(parent);
@@ -254,39 +419,19 @@ public final class NvgRenderUtils {
 
 
   public static Vector4f getBorderRadius(Component component) {
-    Style style = component.getStyle();
-    Vector4f r = StyleUtilities.getBorderRadius(component, style);
-
-    if (component.isFocused()) {
-      applyCurrentRadius(r, component, component.getFocusedStyle());
-    }
-    if (component.isHovered()) {
-      applyCurrentRadius(r, component, component.getHoveredStyle());
-    }
-    if (component.isPressed()) {
-      applyCurrentRadius(r, component, component.getPressedStyle());
-    }
-
-    return r;
+    return getBorderRadius(component, new Vector4f());
   }
 
-  private static void applyCurrentRadius(Vector4f r, Component component, Style curr) {
-    if (curr.getBorderTopLeftRadius() != null) {
-      r.x = StyleUtilities.getFloatLengthNullSafe(curr.getBorderTopLeftRadius(),
-          component.getSize().x);
-    }
-    if (curr.getBorderTopRightRadius() != null) {
-      r.x = StyleUtilities.getFloatLengthNullSafe(curr.getBorderTopRightRadius(),
-          component.getSize().x);
-    }
-    if (curr.getBorderBottomRightRadius() != null) {
-      r.x = StyleUtilities.getFloatLengthNullSafe(curr.getBorderBottomRightRadius(),
-          component.getSize().x);
-    }
-    if (curr.getBorderBottomLeftRadius() != null) {
-      r.x = StyleUtilities.getFloatLengthNullSafe(curr.getBorderBottomLeftRadius(),
-          component.getSize().x);
-    }
+  /**
+   * Used to calculate border radius of component according to its current state without
+   * allocation.
+   *
+   * @param component component.
+   * @param dest      vector to store result.
+   * @return dest vector.
+   */
+  public static Vector4f getBorderRadius(Component component, Vector4f dest) {
+    return component.getComputedStyle().getBorderRadius(component.getSize().x, dest);
   }
 
   public static void renderShadow(long context, Component component) {
@@ -296,21 +441,21 @@ public final class NvgRenderUtils {
       float vOffset = shadow.getvOffset();
       float blur = shadow.getBlur();
       float spread = shadow.getSpread();
-      Vector2f absolutePosition = component.getAbsolutePosition();
-      Vector2f size = component.getSize();
-
-      float x = absolutePosition.x;
-      float y = absolutePosition.y;
-      float w = size.x;
-      float h = size.y;
-      Vector4f borderRadius = getBorderRadius(component);
-      float cornerRadius = (borderRadius.x + borderRadius.y + borderRadius.z + borderRadius.w) / 4;
-
-      try (
-          NVGPaint shadowPaint = NVGPaint.calloc();
-          NVGColor firstColor = NvgColorUtil.create(shadow.getColor());
-          NVGColor secondColor = NvgColorUtil.create(0, 0, 0, 0)
-      ) {
+      try (NvgScratch scratch = NvgScratch.push()) {
+        Vector2f absolutePosition = component.getAbsolutePosition(scratch.vector2());
+        Vector2f size = component.getSize();
+
+        float x = absolutePosition.x;
+        float y = absolutePosition.y;
+        float w = size.x;
+        float h = size.y;
+        Vector4f borderRadius = getBorderRadius(component, scratch.vector4());
+        float cornerRadius =
+            (borderRadius.x + borderRadius.y + borderRadius.z + borderRadius.w) / 4;
+        NVGPaint shadowPaint = scratch.paint();
+        NVGColor firstColor = scratch.color(shadow.getColor());
+        NVGColor secondColor = scratch.color(0, 0, 0, 0);
+
         // creating gradient and put it to shadowPaint
         nvgBoxGradient(context,
             x + hOffset - spread,
@@ -0,0 +1,315 @@
+package com.spinyowl.legui.system.renderer.nvg.util;
+
+import static org.lwjgl.system.MemoryUtil.memAlloc;
+import static org.lwjgl.system.MemoryUtil.memFree;
+import static org.lwjgl.system.MemoryUtil.memLengthUTF8;
+import static org.lwjgl.system.MemoryUtil.memRealloc;
+import static org.lwjgl.system.MemoryUtil.memUTF8;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.joml.Vector2f;
+import org.joml.Vector4f;
+import org.joml.Vector4fc;
+import org.lwjgl.nanovg.NVGColor;
+import org.lwjgl.nanovg.NVGGlyphPosition;
+import org.lwjgl.nanovg.NVGPaint;
+import org.lwjgl.nanovg.NVGTextRow;
+
+/**
+ * Render thread local scratch arena which holds reusable NanoVG structures, vectors, arrays and
+ * text buffers, so rendering does not produce garbage in steady state.
+ * <p>
+ * Arena works like a stack: objects returned between {@link #push()} and {@link #close()} are
+ * reused after close, so they should not be stored. Should be used in try-with-resources:
+ * <pre>
+ * try (NvgScratch scratch = NvgScratch.push()) {
+ *   nvgFillColor(nvg, scratch.color(bgColor));
+ *   ...
+ * }
+ * </pre>
+ * Arena grows if more objects are required and keeps them until {@link #destroy()} is called.
+ */
+public final class NvgScratch implements AutoCloseable {
+
+  private static final ThreadLocal<NvgScratch> INSTANCE = ThreadLocal.withInitial(NvgScratch::new);
+
+  private final Slots<NVGColor> colors = new Slots<>(NVGColor::calloc, NVGColor::free);
+  private final Slots<NVGPaint> paints = new Slots<>(NVGPaint::calloc, NVGPaint::free);
+  private final Slots<NVGTextRow.Buffer> textRows = new Slots<>(() -> NVGTextRow.calloc(1),
+      NVGTextRow.Buffer::free);
+  private final Slots<Vector2f> vectors2 = new Slots<>(Vector2f::new, null);
+  private final Slots<Vector4f> vectors4 = new Slots<>(Vector4f::new, null);
+  private final Slots<float[]> arrays4 = new Slots<>(() -> new float[4], null);
+  private final Slots<float[]> arrays8 = new Slots<>(() -> new float[8], null);
+  private final Slots<TextBuffer> texts = new Slots<>(TextBuffer::new, TextBuffer::free);
+  private final Slots<GlyphBuffer> glyphs = new Slots<>(GlyphBuffer::new, GlyphBuffer::free);
+
+  private int depth;
+
+  private NvgScratch() {
+  }
+
+  /**
+   * Used to open new scope of arena for current thread.
+   *
+   * @return arena of current thread.
+   */
+  public static NvgScratch push() {
+    NvgScratch scratch = INSTANCE.get();
+    scratch.colors.mark(scratch.depth);
+    scratch.paints.mark(scratch.depth);
+    scratch.textRows.mark(scratch.depth);
+    scratch.vectors2.mark(scratch.depth);
+    scratch.vectors4.mark(scratch.depth);
+    scratch.arrays4.mark(scratch.depth);
+    scratch.arrays8.mark(scratch.depth);
+    scratch.texts.mark(scratch.depth);
+    scratch.glyphs.mark(scratch.depth);
+    scratch.depth++;
+    return scratch;
+  }
+
+  /**
+   * Used to free native memory of arena of current thread. Should be called when renderer is
+   * destroyed.
+   */
+  public static void destroy() {
+    NvgScratch scratch = INSTANCE.get();
+    INSTANCE.remove();
+    scratch.colors.free();
+    scratch.paints.free();
+    scratch.textRows.free();
+    scratch.texts.free();
+    scratch.glyphs.free();
+  }
+
+  /**
+   * Used to close current scope. All objects obtained in this scope could be reused.
+   */
+  @Override
+  public void close() {
+    if (depth == 0) {
+      throw new IllegalStateException("Scratch arena is not pushed.");
+    }
+    depth--;
+    colors.reset(depth);
+    paints.reset(depth);
+    textRows.reset(depth);
+    vectors2.reset(depth);
+    vectors4.reset(depth);
+    arrays4.reset(depth);
+    arrays8.reset(depth);
+    texts.reset(depth);
+    glyphs.reset(depth);
+  }
+
+  /**
+   * Returns color filled with provided values.
+   *
+   * @param r red.
+   * @param g green.
+   * @param b blue.
+   * @param a alpha.
+   * @return color.
+   */
+  public NVGColor color(float r, float g, float b, float a) {
+    NVGColor color = colors.next();
+    NvgColorUtil.fillNvgColorWithRGBA(r, g, b, a, color);
+    return color;
+  }
+
+  /**
+   * Returns color filled with provided values.
+   *
+   * @param rgba rgba color.
+   * @return color.
+   */
+  public NVGColor color(Vector4fc rgba) {
+    NVGColor color = colors.next();
+    NvgColorUtil.fillNvgColorWithRGBA(rgba, color);
+    return color;
+  }
+
+  /**
+   * Returns paint. Paint is not cleared.
+   *
+   * @return paint.
+   */
+  public NVGPaint paint() {
+    return paints.next();
+  }
+
+  /**
+   * Returns text row buffer with capacity of one row.
+   *
+   * @return text row buffer.
+   */
+  public NVGTextRow.Buffer textRow() {
+    return textRows.next();
+  }
+
+  /**
+   * Returns zero vector.
+   *
+   * @return zero vector.
+   */
+  public Vector2f vector2() {
+    return vectors2.next().zero();
+  }
+
+  /**
+   * Returns zero vector.
+   *
+   * @return zero vector.
+   */
+  public Vector4f vector4() {
+    return vectors4.next().zero();
+  }
+
+  /**
+   * Returns array of four floats. Array is not cleared.
+   *
+   * @return array of four floats.
+   */
+  public float[] array4() {
+    return arrays4.next();
+  }
+
+  /**
+   * Returns array of eight floats. Array is not cleared.
+   *
+   * @return array of eight floats.
+   */
+  public float[] array8() {
+    return arrays8.next();
+  }
+
+  /**
+   * Returns direct buffer which contains text encoded in UTF-8. Position of buffer is 0 and limit is
+   * length of encoded text.
+   *
+   * @param text           text to encode.
+   * @param nullTerminated if true null-terminator is added.
+   * @return buffer with encoded text.
+   */
+  public ByteBuffer utf8(CharSequence text, boolean nullTerminated) {
+    TextBuffer textBuffer = texts.next();
+    int length = memLengthUTF8(text, nullTerminated);
+    textBuffer.ensureCapacity(length);
+    ByteBuffer buffer = textBuffer.buffer;
+    buffer.clear();
+    memUTF8(text, nullTerminated, buffer);
+    buffer.limit(length);
+    return buffer;
+  }
+
+  /**
+   * Returns glyph position buffer with at least provided capacity. Position of buffer is 0 and
+   * limit is capacity.
+   *
+   * @param capacity required capacity.
+   * @return glyph position buffer.
+   */
+  public NVGGlyphPosition.Buffer glyphPositions(int capacity) {
+    GlyphBuffer glyphBuffer = glyphs.next();
+    glyphBuffer.ensureCapacity(capacity);
+    return glyphBuffer.buffer.clear();
+  }
+
+  /**
+   * Stack of reusable objects.
+   *
+   * @param <T> object type.
+   */
+  private static final class Slots<T> {
+
+    private final Supplier<T> factory;
+    private final Consumer<T> destructor;
+    private Object[] items = new Object[16];
+    private int[] marks = new int[8];
+    private int created;
+    private int top;
+
+    private Slots(Supplier<T> factory, Consumer<T> destructor) {
+      this.factory = factory;
+      this.destructor = destructor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T next() {
+      if (top == created) {
+        if (created == items.length) {
+          items = Arrays.copyOf(items, created * 2);
+        }
+        items[created++] = factory.get();
+      }
+      return (T) items[top++];
+    }
+
+    private void mark(int depth) {
+      if (depth == marks.length) {
+        marks = Arrays.copyOf(marks, depth * 2);
+      }
+      marks[depth] = top;
+    }
+
+    private void reset(int depth) {
+      top = marks[depth];
+    }
+
+    @SuppressWarnings("unchecked")
+    private void free() {
+      if (destructor != null) {
+        for (int i = 0; i < created; i++) {
+          destructor.accept((T) items[i]);
+        }
+      }
+      Arrays.fill(items, 0, created, null);
+      created = 0;
+      top = 0;
+    }
+  }
+
+  /**
+   * Growable native buffer for encoded text.
+   */
+  private static final class TextBuffer {
+
+    private ByteBuffer buffer = memAlloc(256);
+
+    private void ensureCapacity(int capacity) {
+      if (buffer.capacity() < capacity) {
+        buffer = memRealloc(buffer, Math.max(capacity, buffer.capacity() * 2));
+      }
+    }
+
+    private void free() {
+      memFree(buffer);
+    }
+  }
+
+  /**
+   * Growable buffer of glyph positions.
+   */
+  private static final class GlyphBuffer {
+
+    private NVGGlyphPosition.Buffer buffer;
+
+    private void ensureCapacity(int capacity) {
+      if (buffer == null || buffer.capacity() < capacity) {
+        free();
+        buffer = NVGGlyphPosition.calloc(capacity);
+      }
+    }
+
+    private void free() {
+      if (buffer != null) {
+        buffer.free();
+        buffer = null;
+      }
+    }
+  }
+}
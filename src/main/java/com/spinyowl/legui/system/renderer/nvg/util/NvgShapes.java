@@ -46,7 +46,8 @@ public class NvgShapes {
     if (bgColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGColor fillColor = scratch.color(bgColor);
       nvgBeginPath(nvg);
       nvgFillColor(nvg, fillColor);
       nvgRect(nvg, position.x(), position.y(), size.x(), size.y());
@@ -65,7 +66,8 @@ public class NvgShapes {
     if (bgColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGColor fillColor = scratch.color(bgColor);
       nvgBeginPath(nvg);
       nvgFillColor(nvg, fillColor);
       nvgRect(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w());
@@ -87,7 +89,8 @@ public class NvgShapes {
     if (bgColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGColor fillColor = scratch.color(bgColor);
       nvgBeginPath(nvg);
       nvgFillColor(nvg, fillColor);
       nvgRoundedRect(nvg, position.x(), position.y(), size.x(), size.y(), radius);
@@ -108,7 +111,8 @@ public class NvgShapes {
   public static void drawRect(long nvg, Vector2fc position, Vector2fc size, Vector4fc bgColor,
       Vector4f radius) {
     if (radius != null && !radius.equals(ZERO_CORNDERS)) {
-      try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
+      try (NvgScratch scratch = NvgScratch.push()) {
+        NVGColor fillColor = scratch.color(bgColor);
         nvgBeginPath(nvg);
         nvgFillColor(nvg, fillColor);
         if (radius.x == radius.y && radius.x == radius.z && radius.x == radius.w) {
@@ -136,7 +140,8 @@ public class NvgShapes {
     if (bgColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGColor fillColor = scratch.color(bgColor);
       nvgBeginPath(nvg);
       nvgFillColor(nvg, fillColor);
       nvgRoundedRect(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w(), radius);
@@ -155,7 +160,8 @@ public class NvgShapes {
    */
   public static void drawRect(long nvg, Vector4fc rectangle, Vector4fc bgColor, Vector4f radius) {
     if (radius != null && !radius.equals(ZERO_CORNDERS)) {
-      try (NVGColor fillColor = NvgColorUtil.create(bgColor)) {
+      try (NvgScratch scratch = NvgScratch.push()) {
+        NVGColor fillColor = scratch.color(bgColor);
         nvgBeginPath(nvg);
         nvgFillColor(nvg, fillColor);
         nvgRoundedRectVarying(nvg, rectangle.x(), rectangle.y(), rectangle.z(), rectangle.w(),
@@ -181,7 +187,8 @@ public class NvgShapes {
     if (rectStrokeColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGColor strokeColor = scratch.color(rectStrokeColor);
       nvgBeginPath(nvg);
       nvgStrokeColor(nvg, strokeColor);
       nvgStrokeWidth(nvg, strokeWidth);
@@ -203,7 +210,8 @@ public class NvgShapes {
     if (rectStrokeColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGColor strokeColor = scratch.color(rectStrokeColor);
       nvgBeginPath(nvg);
       nvgStrokeColor(nvg, strokeColor);
       nvgStrokeWidth(nvg, strokeWidth);
@@ -224,7 +232,8 @@ public class NvgShapes {
   public static void drawRectStroke(long nvg, Vector4fc rectangle, Vector4fc rectStrokeColor,
       float strokeWidth, Vector4f radius) {
     if (radius != null && !radius.equals(ZERO_CORNDERS)) {
-      try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
+      try (NvgScratch scratch = NvgScratch.push()) {
+        NVGColor strokeColor = scratch.color(rectStrokeColor);
         nvgBeginPath(nvg);
         nvgStrokeColor(nvg, strokeColor);
         nvgStrokeWidth(nvg, strokeWidth);
@@ -252,7 +261,8 @@ public class NvgShapes {
     if (rectStrokeColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGColor strokeColor = scratch.color(rectStrokeColor);
       nvgBeginPath(nvg);
       nvgStrokeColor(nvg, strokeColor);
       nvgStrokeWidth(nvg, strokeWidth);
@@ -274,7 +284,8 @@ public class NvgShapes {
   public static void drawRectStroke(long nvg, Vector2fc position, Vector2fc size,
       Vector4fc rectStrokeColor, float strokeWidth, Vector4f radius) {
     if (radius != null && !radius.equals(ZERO_CORNDERS)) {
-      try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
+      try (NvgScratch scratch = NvgScratch.push()) {
+        NVGColor strokeColor = scratch.color(rectStrokeColor);
         nvgBeginPath(nvg);
         nvgStrokeColor(nvg, strokeColor);
         nvgStrokeWidth(nvg, strokeWidth);
@@ -301,7 +312,8 @@ public class NvgShapes {
     if (rectStrokeColor.w() <= MIN_ALPHA) {
       return;
     }
-    try (NVGColor strokeColor = NvgColorUtil.create(rectStrokeColor)) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGColor strokeColor = scratch.color(rectStrokeColor);
       nvgBeginPath(nvg);
       nvgStrokeColor(nvg, strokeColor);
       nvgStrokeWidth(nvg, strokeWidth);
@@ -328,7 +340,8 @@ public class NvgShapes {
    */
   public static void drawLine(long nvg, float width, Vector4f color, int lineCap, float fromX,
       float fromY, float toX, float toY) {
-    try (NVGColor colorA = NvgColorUtil.create(color)) {
+    try (NvgScratch scratch = NvgScratch.push()) {
+      NVGColor colorA = scratch.color(color);
       nvgLineCap(nvg, lineCap);
       nvgLineJoin(nvg, NVG_ROUND);
       nvgStrokeWidth(nvg, width);
@@ -1,5 +1,6 @@
 package com.spinyowl.legui.system.renderer.nvg.util;
 
+import static com.spinyowl.legui.system.renderer.nvg.util.NvgRenderUtils.fontFace;
 import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_BASELINE;
 import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_BOTTOM;
 import static org.lwjgl.nanovg.NanoVG.NVG_ALIGN_CENTER;
@@ -11,7 +12,6 @@ import static org.lwjgl.nanovg.NanoVG.nnvgText;
 import static org.lwjgl.nanovg.NanoVG.nnvgTextBreakLines;
 import static org.lwjgl.nanovg.NanoVG.nvgBeginPath;
 import static org.lwjgl.nanovg.NanoVG.nvgFillColor;
-import static org.lwjgl.nanovg.NanoVG.nvgFontFace;
 import static org.lwjgl.nanovg.NanoVG.nvgFontSize;
 import static org.lwjgl.nanovg.NanoVG.nvgRestore;
 import static org.lwjgl.nanovg.NanoVG.nvgRotate;
@@ -19,18 +19,17 @@ import static org.lwjgl.nanovg.NanoVG.nvgSave;
 import static org.lwjgl.nanovg.NanoVG.nvgTextAlign;
 import static org.lwjgl.nanovg.NanoVG.nvgTranslate;
 import static org.lwjgl.system.MemoryUtil.memAddress;
-import static org.lwjgl.system.MemoryUtil.memUTF8;
 
 import com.spinyowl.legui.component.optional.align.HorizontalAlign;
 import com.spinyowl.legui.component.optional.align.VerticalAlign;
 import com.spinyowl.legui.style.font.TextDirection;
+import com.spinyowl.legui.system.renderer.nvg.NvgTextCache;
+import com.spinyowl.legui.system.renderer.nvg.NvgTextCache.TextLayout;
 import java.nio.ByteBuffer;
-import org.joml.Vector2f;
 import org.joml.Vector4f;
 import org.joml.Vector4fc;
 import org.lwjgl.nanovg.NVGColor;
 import org.lwjgl.nanovg.NVGTextRow;
-import org.lwjgl.system.MemoryUtil;
 
 
 public class NvgText {
@@ -52,72 +51,95 @@ public class NvgText {
       HorizontalAlign horizontalAlign, VerticalAlign verticalAlign,
       float fontSize, String font, String textToRender, Vector4f fontColor,
       TextDirection direction) {
+    drawTextLineToRect(nvg, rect, hideOverflow, horizontalAlign, verticalAlign, fontSize, font,
+        textToRender, fontColor, direction, null);
+  }
+
+  /**
+   * Used to draw text line in rectangle. If text cache is provided encoded text and line breaks
+   * are taken from cache.
+   *
+   * @param nvg             nanovg context.
+   * @param rect            rectangle to draw text in.
+   * @param hideOverflow    if true only first row of text which fits rectangle is drawn.
+   * @param horizontalAlign horizontal align.
+   * @param verticalAlign   vertical align.
+   * @param fontSize        font size.
+   * @param font            font name.
+   * @param textToRender    text to draw.
+   * @param fontColor       text color.
+   * @param direction       text direction.
+   * @param textCache       text cache or null.
+   */
+  public static void drawTextLineToRect(long nvg, Vector4fc rect, boolean hideOverflow,
+      HorizontalAlign horizontalAlign, VerticalAlign verticalAlign,
+      float fontSize, String font, String textToRender, Vector4f fontColor,
+      TextDirection direction, NvgTextCache textCache) {
     if (textToRender.length() == 0) {
       return;
     }
     nvgFontSize(nvg, fontSize);
-    nvgFontFace(nvg, font);
+    fontFace(nvg, font);
     textAlign(nvg, horizontalAlign, verticalAlign);
 
-    ByteBuffer byteText = null;
-    try {
-      byteText = memUTF8(textToRender, false);
+    try (NvgScratch scratch = NvgScratch.push()) {
+      ByteBuffer byteText = textCache == null
+          ? scratch.utf8(textToRender, false) : textCache.encode(textToRender);
       long startPointer = memAddress(byteText);
       long endPointer = startPointer + byteText.remaining();
 
       long rowStart = startPointer;
       long rowEnd = endPointer;
-      if (hideOverflow) {
-        try (NVGTextRow.Buffer buffer = NVGTextRow.calloc(1)) {
-          int rows = nnvgTextBreakLines(nvg, startPointer, endPointer,
-              direction == TextDirection.HORIZONTAL ? rect.z() : rect.w(),
-              memAddress(buffer), 1);
-          if (rows != 0) {
-            NVGTextRow row = buffer.get(0);
-            rowStart = row.start();
-            rowEnd = row.end();
-          }
+      if (hideOverflow && textCache != null) {
+        TextLayout layout = textCache.breakLines(nvg, textToRender, font, fontSize,
+            direction == TextDirection.HORIZONTAL ? rect.z() : rect.w());
+        if (layout.getRowCount() != 0) {
+          rowStart = startPointer + layout.getRowStart(0);
+          rowEnd = startPointer + layout.getRowEnd(0);
+        }
+      } else if (hideOverflow) {
+        NVGTextRow.Buffer buffer = scratch.textRow();
+        int rows = nnvgTextBreakLines(nvg, startPointer, endPointer,
+            direction == TextDirection.HORIZONTAL ? rect.z() : rect.w(),
+            memAddress(buffer), 1);
+        if (rows != 0) {
+          NVGTextRow row = buffer.get(0);
+          rowStart = row.start();
+          rowEnd = row.end();
         }
       }
 
-      Vector2f textPosition = new Vector2f(
-          rect.x() + rect.z() * horizontalAlign.index / 2f,
-          rect.y() + rect.w() * verticalAlign.index / 2f
-      );
+      float textPositionX = rect.x() + rect.z() * horizontalAlign.index / 2f;
+      float textPositionY = rect.y() + rect.w() * verticalAlign.index / 2f;
 
       if (rowStart != 0 || rowEnd != 0) {
-        try (NVGColor textColor = NvgColorUtil.create(fontColor)) {
-
-          nvgSave(nvg);
-          nvgBeginPath(nvg);
-
-          nvgFillColor(nvg, textColor);
-          float x;
-          float y;
-          if (direction == TextDirection.VERTICAL_TOP_DOWN) {
-            nvgTranslate(nvg, rect.x() + rect.z(), rect.y());
-            nvgRotate(nvg, _90);
-            x = rect.w() * horizontalAlign.index / 2f;
-            y = rect.z() * verticalAlign.index / 2f;
-          } else if (direction == TextDirection.VERTICAL_DOWN_TOP) {
-            nvgTranslate(nvg, rect.x(), rect.y() + rect.w());
-            nvgRotate(nvg, _270);
-            x = rect.w() * horizontalAlign.index / 2f;
-            y = rect.z() * verticalAlign.index / 2f;
-          } else {
-            nvgTranslate(nvg, rect.x(), rect.y());
-            x = textPosition.x - rect.x();
-            y = (int) textPosition.y - rect.y();
-          }
-          int xx = (int) x;
-          int yy = (int) y;
-          nnvgText(nvg, xx, yy, rowStart, rowEnd);
-          nvgRestore(nvg);
+        NVGColor textColor = scratch.color(fontColor);
+
+        nvgSave(nvg);
+        nvgBeginPath(nvg);
+
+        nvgFillColor(nvg, textColor);
+        float x;
+        float y;
+        if (direction == TextDirection.VERTICAL_TOP_DOWN) {
+          nvgTranslate(nvg, rect.x() + rect.z(), rect.y());
+          nvgRotate(nvg, _90);
+          x = rect.w() * horizontalAlign.index / 2f;
+          y = rect.z() * verticalAlign.index / 2f;
+        } else if (direction == TextDirection.VERTICAL_DOWN_TOP) {
+          nvgTranslate(nvg, rect.x(), rect.y() + rect.w());
+          nvgRotate(nvg, _270);
+          x = rect.w() * horizontalAlign.index / 2f;
+          y = rect.z() * verticalAlign.index / 2f;
+        } else {
+          nvgTranslate(nvg, rect.x(), rect.y());
+          x = textPositionX - rect.x();
+          y = (int) textPositionY - rect.y();
         }
-      }
-    } finally {
-      if (byteText != null) {
-        MemoryUtil.memFree(byteText);
+        int xx = (int) x;
+        int yy = (int) y;
+        nnvgText(nvg, xx, yy, rowStart, rowEnd);
+        nvgRestore(nvg);
       }
     }
   }
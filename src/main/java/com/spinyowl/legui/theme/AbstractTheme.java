@@ -28,7 +28,7 @@ public abstract class AbstractTheme<T extends Component> {
   public void applyAll(T component) {
     apply(component);
 
-    for (Component child : component.getChildComponents()) {
+    for (Component child : component.getChildComponentsSnapshot()) {
       Themes.getDefaultTheme().applyAll(child);
     }
   }
@@ -61,6 +61,7 @@ public final class Themes {
       FlatColoredTheme.FONT_SIZE
   );
   private static Theme DEFAULT_THEME = FLAT_WHITE;
+  private static volatile boolean applyOnAttach;
 
   private Themes() {
   }
@@ -75,4 +76,28 @@ public final class Themes {
     }
   }
 
+  /**
+   * Returns true if default theme is applied to new components when they are attached to frame
+   * instead of applying it in constructors.
+   *
+   * @return true if theme applying is postponed until component is attached to frame.
+   */
+  public static boolean isApplyOnAttach() {
+    return applyOnAttach;
+  }
+
+  /**
+   * Used to postpone applying of default theme to components created after this call until they
+   * are attached to frame. Theme is applied once to whole attached subtree, which makes creation
+   * of big component trees much cheaper.
+   * <p>
+   * <b>Note! Theme overrides style of component when it is attached, so style of components
+   * created in this mode should be changed after they are attached to frame.</b>
+   *
+   * @param applyOnAttach true to postpone theme applying until component is attached to frame.
+   */
+  public static void setApplyOnAttach(boolean applyOnAttach) {
+    Themes.applyOnAttach = applyOnAttach;
+  }
+
 }
@@ -70,7 +70,7 @@ public class FlatComponentTheme<T extends Component> extends AbstractTheme<T> {
     if (tooltip != null) {
       Themes.getDefaultTheme().applyAll(tooltip);
     }
-    List<? extends Component> childComponents = component.getChildComponents();
+    List<? extends Component> childComponents = component.getChildComponentsSnapshot();
     for (Component child : childComponents) {
       Themes.getDefaultTheme().applyAll(child);
     }
@@ -0,0 +1,235 @@
+package com.spinyowl.legui.util;
+
+import com.spinyowl.legui.component.Component;
+import com.spinyowl.legui.component.Frame;
+import com.spinyowl.legui.component.Layer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.joml.Vector2f;
+
+/**
+ * Per-thread cache of absolute component bounds and clip rectangles.
+ * <p>
+ * Cache is filled top-down once per frame by {@link #update(Frame)} and is active in the calling
+ * thread until {@link #clear()} is called. While cache is active {@link
+ * Component#getAbsolutePosition()}, {@link Utilites#visibleInParents(Component)} and scissor
+ * utilities read cached values instead of walking parent chain. Components which were not visible
+ * during update (or were added later) are not cached and are calculated as usual.
+ */
+public final class BoundsCache {
+
+  private static final ThreadLocal<BoundsCache> INSTANCE =
+      ThreadLocal.withInitial(BoundsCache::new);
+
+  private final Map<Component, Bounds> cache = new IdentityHashMap<>();
+  private final List<Bounds> pool = new ArrayList<>();
+  private int used;
+  private boolean active;
+
+  private BoundsCache() {
+  }
+
+  /**
+   * Used to calculate bounds of all visible components of frame and activate cache for current
+   * thread.
+   *
+   * @param frame frame to calculate bounds.
+   */
+  public static void update(Frame frame) {
+    BoundsCache boundsCache = INSTANCE.get();
+    boundsCache.reset();
+    for (Layer layer : frame.getAllLayers()) {
+      Vector2f position = layer.getPosition();
+      Vector2f size = layer.getSize();
+      Bounds bounds = boundsCache.put(layer, position.x, position.y, size.x, size.y);
+      bounds.visible = true;
+      bounds.clipped = false;
+      boundsCache.collectChildren(layer, bounds);
+    }
+    boundsCache.active = true;
+  }
+
+  /**
+   * Used to deactivate cache for current thread and release cached components.
+   */
+  public static void clear() {
+    INSTANCE.get().reset();
+  }
+
+  /**
+   * Returns cached bounds of component or null if cache is not active in current thread or
+   * component is not cached.
+   *
+   * @param component component to get bounds.
+   * @return cached bounds or null.
+   */
+  public static Bounds get(Component component) {
+    BoundsCache boundsCache = INSTANCE.get();
+    return boundsCache.active ? boundsCache.cache.get(component) : null;
+  }
+
+  private void collectChildren(Component parent, Bounds parentBounds) {
+    // clip rectangle of child components is intersection of parent clip and parent bounds.
+    float minX = parentBounds.x;
+    float minY = parentBounds.y;
+    float maxX = parentBounds.x + parentBounds.width;
+    float maxY = parentBounds.y + parentBounds.height;
+    if (parentBounds.clipped) {
+      minX = Math.max(minX, parentBounds.clipX);
+      minY = Math.max(minY, parentBounds.clipY);
+      maxX = Math.min(maxX, parentBounds.clipX + parentBounds.clipWidth);
+      maxY = Math.min(maxY, parentBounds.clipY + parentBounds.clipHeight);
+    }
+    for (Iterator<Component> i = parent.containerIterator(); i.hasNext(); ) {
+      Component component = i.next();
+      if (!component.isVisible()) {
+        continue;
+      }
+      Vector2f position = component.getPosition();
+      Vector2f size = component.getSize();
+      float x = parentBounds.x + position.x;
+      float y = parentBounds.y + position.y;
+      Bounds bounds = put(component, x, y, size.x, size.y);
+      bounds.clipped = true;
+      bounds.clipX = minX;
+      bounds.clipY = minY;
+      bounds.clipWidth = Math.max(0, maxX - minX);
+      bounds.clipHeight = Math.max(0, maxY - minY);
+      bounds.visible = parentBounds.visible && x <= maxX && x + size.x >= minX
+          && y <= maxY && y + size.y >= minY;
+      collectChildren(component, bounds);
+    }
+  }
+
+  private Bounds put(Component component, float x, float y, float width, float height) {
+    if (used == pool.size()) {
+      pool.add(new Bounds());
+    }
+    Bounds bounds = pool.get(used++);
+    bounds.x = x;
+    bounds.y = y;
+    bounds.width = width;
+    bounds.height = height;
+    cache.put(component, bounds);
+    return bounds;
+  }
+
+  private void reset() {
+    active = false;
+    cache.clear();
+    used = 0;
+  }
+
+  /**
+   * Absolute bounds of component and clip rectangle created by its parent components.
+   */
+  public static final class Bounds {
+
+    private float x;
+    private float y;
+    private float width;
+    private float height;
+    private boolean clipped;
+    private float clipX;
+    private float clipY;
+    private float clipWidth;
+    private float clipHeight;
+    private boolean visible;
+
+    private Bounds() {
+    }
+
+    /**
+     * Returns absolute x position of component.
+     *
+     * @return absolute x position.
+     */
+    public float getX() {
+      return x;
+    }
+
+    /**
+     * Returns absolute y position of component.
+     *
+     * @return absolute y position.
+     */
+    public float getY() {
+      return y;
+    }
+
+    /**
+     * Returns width of component.
+     *
+     * @return width of component.
+     */
+    public float getWidth() {
+      return width;
+    }
+
+    /**
+     * Returns height of component.
+     *
+     * @return height of component.
+     */
+    public float getHeight() {
+      return height;
+    }
+
+    /**
+     * Returns true if component has parent components and clip rectangle is defined.
+     *
+     * @return true if clip rectangle is defined.
+     */
+    public boolean isClipped() {
+      return clipped;
+    }
+
+    /**
+     * Returns x position of clip rectangle (intersection of all parent bounds).
+     *
+     * @return x position of clip rectangle.
+     */
+    public float getClipX() {
+      return clipX;
+    }
+
+    /**
+     * Returns y position of clip rectangle (intersection of all parent bounds).
+     *
+     * @return y position of clip rectangle.
+     */
+    public float getClipY() {
+      return clipY;
+    }
+
+    /**
+     * Returns width of clip rectangle (intersection of all parent bounds).
+     *
+     * @return width of clip rectangle.
+     */
+    public float getClipWidth() {
+      return clipWidth;
+    }
+
+    /**
+     * Returns height of clip rectangle (intersection of all parent bounds).
+     *
+     * @return height of clip rectangle.
+     */
+    public float getClipHeight() {
+      return clipHeight;
+    }
+
+    /**
+     * Returns true if component intersects clip rectangle of its parents.
+     *
+     * @return true if component is visible in parents.
+     */
+    public boolean isVisibleInParents() {
+      return visible;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.spinyowl.legui.util;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Multi producer single consumer event queue which allows consumer to park until events arrive and
+ * to drain events in batches.
+ * <p>
+ * Producers do not take any lock unless consumer is waiting for events.
+ *
+ * @param <E> event type.
+ */
+public class EventQueue<E> {
+
+  private final Queue<Entry<E>> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final EventQueueStatistics statistics = new EventQueueStatistics();
+
+  /**
+   * Used to push event to queue.
+   *
+   * @param event event to push.
+   */
+  public void push(E event) {
+    queue.add(new Entry<>(event, System.nanoTime()));
+    statistics.pushed();
+    if (waiters.get() > 0) {
+      lock.lock();
+      try {
+        notEmpty.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Returns true if queue has no events.
+   *
+   * @return true if queue has no events.
+   */
+  public boolean isEmpty() {
+    return queue.isEmpty();
+  }
+
+  /**
+   * Used to wait until queue has events or timeout is elapsed.
+   *
+   * @param timeout maximum time to wait.
+   * @param unit    timeout time unit.
+   * @return true if queue has events.
+   * @throws InterruptedException if current thread was interrupted while waiting.
+   */
+  public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+    if (!queue.isEmpty()) {
+      return true;
+    }
+    long nanos = unit.toNanos(timeout);
+    lock.lock();
+    waiters.incrementAndGet();
+    try {
+      while (queue.isEmpty()) {
+        if (nanos <= 0) {
+          return false;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      return true;
+    } finally {
+      waiters.decrementAndGet();
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Used to move events which are currently in queue to provided batch list. Events pushed during
+   * draining are left for the next batch.
+   *
+   * @param batch list to add events to.
+   * @return number of drained events.
+   */
+  public int drain(List<E> batch) {
+    int count = statistics.getQueueDepth();
+    int drained = 0;
+    long now = System.nanoTime();
+    for (Entry<E> entry; drained < count && (entry = queue.poll()) != null; drained++) {
+      batch.add(entry.event);
+      statistics.drained(now - entry.time);
+    }
+    return drained;
+  }
+
+  /**
+   * Used to register events which were merged into other events.
+   *
+   * @param count number of coalesced events.
+   */
+  public void coalesced(int count) {
+    if (count > 0) {
+      statistics.coalesced(count);
+    }
+  }
+
+  /**
+   * Returns queue statistics.
+   *
+   * @return queue statistics.
+   */
+  public EventQueueStatistics getStatistics() {
+    return statistics;
+  }
+
+  private static class Entry<E> {
+
+    private final E event;
+    private final long time;
+
+    private Entry(E event, long time) {
+      this.event = event;
+      this.time = time;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package com.spinyowl.legui.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Counters of {@link EventQueue}. Latency is time between event push and event drain in
+ * nanoseconds.
+ */
+public class EventQueueStatistics {
+
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final AtomicInteger maxQueueDepth = new AtomicInteger();
+  private final AtomicLong pushedEvents = new AtomicLong();
+  private final AtomicLong processedEvents = new AtomicLong();
+  private final AtomicLong coalescedEvents = new AtomicLong();
+  private final AtomicLong totalLatency = new AtomicLong();
+  private final AtomicLong maxLatency = new AtomicLong();
+  private volatile long lastLatency;
+
+  void pushed() {
+    pushedEvents.incrementAndGet();
+    int depth = queueDepth.incrementAndGet();
+    maxQueueDepth.accumulateAndGet(depth, Math::max);
+  }
+
+  void drained(long latency) {
+    queueDepth.decrementAndGet();
+    processedEvents.incrementAndGet();
+    totalLatency.addAndGet(latency);
+    maxLatency.accumulateAndGet(latency, Math::max);
+    lastLatency = latency;
+  }
+
+  void coalesced(int count) {
+    coalescedEvents.addAndGet(count);
+  }
+
+  /**
+   * Returns number of events which are waiting in queue.
+   *
+   * @return number of events in queue.
+   */
+  public int getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  /**
+   * Returns maximum number of events which were waiting in queue.
+   *
+   * @return maximum queue depth.
+   */
+  public int getMaxQueueDepth() {
+    return maxQueueDepth.get();
+  }
+
+  /**
+   * Returns number of pushed events.
+   *
+   * @return number of pushed events.
+   */
+  public long getPushedEvents() {
+    return pushedEvents.get();
+  }
+
+  /**
+   * Returns number of events drained from queue (including coalesced events).
+   *
+   * @return number of drained events.
+   */
+  public long getProcessedEvents() {
+    return processedEvents.get();
+  }
+
+  /**
+   * Returns number of events which were merged into other events and were not dispatched.
+   *
+   * @return number of coalesced events.
+   */
+  public long getCoalescedEvents() {
+    return coalescedEvents.get();
+  }
+
+  /**
+   * Returns latency of last drained event in nanoseconds.
+   *
+   * @return latency of last drained event.
+   */
+  public long getLastLatency() {
+    return lastLatency;
+  }
+
+  /**
+   * Returns maximum latency in nanoseconds.
+   *
+   * @return maximum latency.
+   */
+  public long getMaxLatency() {
+    return maxLatency.get();
+  }
+
+  /**
+   * Returns average latency in nanoseconds.
+   *
+   * @return average latency.
+   */
+  public long getAverageLatency() {
+    long processed = processedEvents.get();
+    return processed == 0 ? 0 : totalLatency.get() / processed;
+  }
+
+  /**
+   * Used to reset all counters except queue depth.
+   */
+  public void reset() {
+    maxQueueDepth.set(queueDepth.get());
+    pushedEvents.set(0);
+    processedEvents.set(0);
+    coalescedEvents.set(0);
+    totalLatency.set(0);
+    maxLatency.set(0);
+    lastLatency = 0;
+  }
+
+  @Override
+  public String toString() {
+    return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+        .append("queueDepth", getQueueDepth())
+        .append("maxQueueDepth", getMaxQueueDepth())
+        .append("pushedEvents", getPushedEvents())
+        .append("processedEvents", getProcessedEvents())
+        .append("coalescedEvents", getCoalescedEvents())
+        .append("averageLatency", getAverageLatency())
+        .append("maxLatency", getMaxLatency())
+        .toString();
+  }
+}
@@ -1,22 +1,71 @@
 package com.spinyowl.legui.util;
 
-import com.google.common.io.ByteStreams;
+import static org.lwjgl.system.MemoryUtil.memAddress0;
+
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.Cleaner;
+import java.lang.reflect.Field;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-/** IO utility. Used to read resource as {@link ByteBuffer} or as {@link String}.. */
+/**
+ * IO utility. Used to read resource as {@link ByteBuffer} or as {@link String}..
+ *
+ * <p>Files (including classpath resources located in directories) are memory-mapped, so data is
+ * not copied to java heap. Other resources (for example from jar files or urls) are read directly
+ * to direct buffers which are pre-sized when length of resource is known. Buffers returned by this
+ * utility could be released with {@link #free(ByteBuffer)} without waiting for garbage collection.
+ */
 public final class IOUtil {
 
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  /**
+   * Buffers created by this utility which are not released yet, by buffer address.
+   */
+  private static final Map<Long, TrackedBuffer> buffers = new ConcurrentHashMap<>();
+  private static final Cleaner CLEANER = Cleaner.create();
+  private static final AtomicLong allocatedBytes = new AtomicLong();
+
+  private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
   private IOUtil() {}
 
+  private static MethodHandle findCleaner() {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field field = unsafeClass.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      Object unsafe = field.get(null);
+      return MethodHandles.lookup()
+          .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class,
+              ByteBuffer.class))
+          .bindTo(unsafe);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // buffers will be released by garbage collector
+      return null;
+    }
+  }
+
   /**
    * Creates {@link ByteBuffer} from:
    *
@@ -31,27 +80,34 @@ public final class IOUtil {
    * @throws IOException in case if any IO exception occurs.
    */
   public static ByteBuffer resourceToByteBuffer(String path) throws IOException {
-    byte[] bytes;
     path = path.trim();
-    InputStream stream;
     if (path.startsWith("http")) {
-      stream = new URL(path).openStream();
-    } else {
-      File file = new File(path);
-      if (file.exists() && file.isFile()) {
-        stream = new FileInputStream(file);
-      } else {
-        stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(path);
-      }
-      if (stream == null) {
-        throw new FileNotFoundException(path);
+      return urlToByteBuffer(new URL(path));
+    }
+    File file = new File(path);
+    if (file.exists() && file.isFile()) {
+      return resourceToByteBuffer(file);
+    }
+    URL url = Thread.currentThread().getContextClassLoader().getResource(path);
+    if (url == null) {
+      throw new FileNotFoundException(path);
+    }
+    return urlToByteBuffer(url);
+  }
+
+  private static ByteBuffer urlToByteBuffer(URL url) throws IOException {
+    if ("file".equals(url.getProtocol())) {
+      try {
+        return resourceToByteBuffer(new File(url.toURI()));
+      } catch (URISyntaxException | IllegalArgumentException e) {
+        // not a local file, read it as stream
       }
     }
-    bytes = ByteStreams.toByteArray(stream);
-    ByteBuffer data =
-        ByteBuffer.allocateDirect(bytes.length).order(ByteOrder.nativeOrder()).put(bytes);
-    data.flip();
-    return data;
+    URLConnection connection = url.openConnection();
+    long length = connection.getContentLengthLong();
+    try (InputStream stream = connection.getInputStream()) {
+      return read(stream, length);
+    }
   }
 
   /**
@@ -65,15 +121,11 @@ public final class IOUtil {
     if (stream == null) {
       throw new IllegalArgumentException("InputStream can not be null!");
     }
-    byte[] bytes = ByteStreams.toByteArray(stream);
-    ByteBuffer data =
-        ByteBuffer.allocateDirect(bytes.length).order(ByteOrder.nativeOrder()).put(bytes);
-    data.flip();
-    return data;
+    return read(stream, -1);
   }
 
   /**
-   * Creates {@link ByteBuffer} from file.
+   * Creates {@link ByteBuffer} from file. File is mapped to memory in read-only mode.
    *
    * @param file file to read.
    * @return file or null.
@@ -83,14 +135,119 @@ public final class IOUtil {
     if (!file.exists() || !file.isFile()) {
       throw new IllegalArgumentException("File does not exist or is not a file.");
     }
-    InputStream stream = new FileInputStream(file);
-    byte[] bytes = ByteStreams.toByteArray(stream);
-    ByteBuffer data =
-        ByteBuffer.allocateDirect(bytes.length).order(ByteOrder.nativeOrder()).put(bytes);
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer data = channel.map(MapMode.READ_ONLY, 0, channel.size())
+          .order(ByteOrder.nativeOrder());
+      return track(data);
+    }
+  }
+
+  /**
+   * Used to read stream to direct buffer.
+   *
+   * @param stream stream to read.
+   * @param length length of stream data or -1 if unknown.
+   * @return direct buffer with stream data.
+   */
+  private static ByteBuffer read(InputStream stream, long length) throws IOException {
+    ReadableByteChannel channel = Channels.newChannel(stream);
+    boolean sized = length >= 0 && length < Integer.MAX_VALUE;
+    ByteBuffer data = allocate(sized ? (int) length : DEFAULT_BUFFER_SIZE);
+    while (true) {
+      if (!data.hasRemaining()) {
+        // buffer is full, check end of stream before growing buffer
+        int next = stream.read();
+        if (next < 0) {
+          break;
+        }
+        data = grow(data);
+        data.put((byte) next);
+      }
+      if (channel.read(data) < 0) {
+        break;
+      }
+    }
+    data.flip();
+    return track(data);
+  }
+
+  private static ByteBuffer allocate(int capacity) {
+    return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+  }
+
+  private static ByteBuffer grow(ByteBuffer data) {
+    int capacity = data.capacity();
+    if (capacity == Integer.MAX_VALUE) {
+      throw new OutOfMemoryError("Resource is too large");
+    }
+    ByteBuffer grown = allocate((int) Math.min(Integer.MAX_VALUE, Math.max(capacity * 2L, 16)));
     data.flip();
+    grown.put(data);
+    release(data);
+    return grown;
+  }
+
+  private static ByteBuffer track(ByteBuffer data) {
+    if (data.capacity() == 0) {
+      return data;
+    }
+    TrackedBuffer tracked = new TrackedBuffer(memAddress0(data), data.capacity());
+    buffers.put(tracked.address, tracked);
+    allocatedBytes.addAndGet(tracked.capacity);
+    tracked.cleanable = CLEANER.register(data, tracked);
     return data;
   }
 
+  /**
+   * Used to release buffer created by this utility (unmap file or free direct memory) without
+   * waiting for garbage collection. Buffer should not be used after this call. Buffers which were
+   * not created by this utility (and their slices) are ignored.
+   *
+   * @param buffer buffer to release.
+   * @return true if buffer was released.
+   */
+  public static boolean free(ByteBuffer buffer) {
+    if (buffer == null || !buffer.isDirect()) {
+      return false;
+    }
+    TrackedBuffer tracked = buffers.get(memAddress0(buffer));
+    if (tracked == null || tracked.capacity != buffer.capacity()) {
+      return false;
+    }
+    tracked.cleanable.clean();
+    release(buffer);
+    return true;
+  }
+
+  private static void release(ByteBuffer buffer) {
+    if (INVOKE_CLEANER != null) {
+      try {
+        INVOKE_CLEANER.invokeExact(buffer);
+      } catch (Throwable e) {
+        // buffer will be released by garbage collector
+      }
+    }
+  }
+
+  /**
+   * Returns size of buffers created by this utility which are not released yet (with {@link
+   * #free(ByteBuffer)} or by garbage collector).
+   *
+   * @return size of not released buffers in bytes.
+   */
+  public static long getAllocatedBytes() {
+    return allocatedBytes.get();
+  }
+
+  /**
+   * Returns number of buffers created by this utility which are not released yet.
+   *
+   * @return number of not released buffers.
+   */
+  public static int getAllocatedBufferCount() {
+    return buffers.size();
+  }
+
   /**
    * Creates {@link String} from file or resource.
    *
@@ -99,7 +256,7 @@ public final class IOUtil {
    * @throws IOException in case if any IO exception occurs.
    */
   public static String resourceToString(String path) throws IOException {
-    return byteBufferToString(resourceToByteBuffer(path));
+    return byteBufferToStringAndFree(resourceToByteBuffer(path));
   }
 
   /**
@@ -110,7 +267,7 @@ public final class IOUtil {
    * @throws IOException in case if any IO exception occurs.
    */
   public static String resourceToString(InputStream stream) throws IOException {
-    return byteBufferToString(resourceToByteBuffer(stream));
+    return byteBufferToStringAndFree(resourceToByteBuffer(stream));
   }
 
   /**
@@ -121,7 +278,13 @@ public final class IOUtil {
    * @throws IOException in case if any IO exception occurs.
    */
   public static String resourceToString(File file) throws IOException {
-    return byteBufferToString(resourceToByteBuffer(file));
+    return byteBufferToStringAndFree(resourceToByteBuffer(file));
+  }
+
+  private static String byteBufferToStringAndFree(ByteBuffer byteBuffer) {
+    String result = byteBufferToString(byteBuffer);
+    free(byteBuffer);
+    return result;
   }
 
   /**
@@ -151,4 +314,26 @@ public final class IOUtil {
     byteBuffer.get(buffer);
     return new String(buffer, charset);
   }
+
+  /**
+   * Tracked buffer. Removed from tracked buffers when buffer is released or garbage collected.
+   */
+  private static final class TrackedBuffer implements Runnable {
+
+    private final long address;
+    private final int capacity;
+    private Cleaner.Cleanable cleanable;
+
+    private TrackedBuffer(long address, int capacity) {
+      this.address = address;
+      this.capacity = capacity;
+    }
+
+    @Override
+    public void run() {
+      if (buffers.remove(address, this)) {
+        allocatedBytes.addAndGet(-capacity);
+      }
+    }
+  }
 }
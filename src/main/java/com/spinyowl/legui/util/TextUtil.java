@@ -40,7 +40,7 @@ public class TextUtil {
    * @param current current character index(current caret position in text).
    * @return character index where starts next word.
    */
-  public static int findNextWord(String text, int current) {
+  public static int findNextWord(CharSequence text, int current) {
     int length = text.length();
     if (current == length) {
       return length;
@@ -72,7 +72,7 @@ public class TextUtil {
    * @param current current character index(current caret position in text).
    * @return character index where starts previous word.
    */
-  public static int findPrevWord(String text, int current) {
+  public static int findPrevWord(CharSequence text, int current) {
     if (current == 0) {
       return 0;
     }
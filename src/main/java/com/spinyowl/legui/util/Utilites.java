@@ -21,6 +21,10 @@ public final class Utilites {
    * @return true if component is visible in all chain of parent components.
    */
   public static boolean visibleInParents(Component component) {
+    BoundsCache.Bounds bounds = BoundsCache.get(component);
+    if (bounds != null) {
+      return bounds.isVisibleInParents();
+    }
     List<Component> parentList = new ArrayList<>();
     for (Component parent = component.getParent(); parent != null; parent = parent.getParent()) {
       parentList.add(parent);